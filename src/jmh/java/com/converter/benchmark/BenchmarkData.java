@@ -0,0 +1,59 @@
+package com.converter.benchmark;
+
+import com.converter.generator.GeneratorFactory;
+import com.converter.model.DataRecord;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Synthetic data shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private BenchmarkData() {
+    }
+
+    /**
+     * Builds flat records with predictable field names and values.
+     *
+     * @param recordCount the number of records
+     * @param fieldCount  the number of fields per record
+     * @return the generated records
+     */
+    static List<DataRecord> records(final int recordCount,
+                                    final int fieldCount) {
+        List<DataRecord> records = new ArrayList<>(recordCount);
+        for (int i = 0; i < recordCount; i++) {
+            DataRecord record = new DataRecord();
+            for (int j = 0; j < fieldCount; j++) {
+                record.setField("field" + j, "value-" + i + "-" + j);
+            }
+            records.add(record);
+        }
+        return records;
+    }
+
+    /**
+     * Writes synthetic records to a temporary file in the given format.
+     *
+     * @param format      the file extension of the format
+     * @param recordCount the number of records
+     * @param fieldCount  the number of fields per record
+     * @return the path of the written file
+     * @throws IOException if the temporary file cannot be created
+     */
+    static Path writeInput(final String format, final int recordCount,
+                           final int fieldCount) throws IOException {
+        Path file = Files.createTempFile("bench-input", "." + format);
+        GeneratorFactory.createGeneratorByExtension(format)
+                .generate(records(recordCount, fieldCount), file.toString());
+        return file;
+    }
+}
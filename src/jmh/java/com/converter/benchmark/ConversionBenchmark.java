@@ -0,0 +1,103 @@
+package com.converter.benchmark;
+
+import com.converter.converter.FileConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures end-to-end conversion for every input/output format pair.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConversionBenchmark {
+
+    /**
+     * The input format.
+     */
+    @Param({"csv", "json", "xml"})
+    private String from;
+
+    /**
+     * The output format.
+     */
+    @Param({"csv", "json", "xml"})
+    private String to;
+
+    /**
+     * Number of records in the generated input file.
+     */
+    @Param({"1000", "100000"})
+    private int recordCount;
+
+    /**
+     * Number of fields per generated record.
+     */
+    @Param({"5", "20"})
+    private int fieldCount;
+
+    /**
+     * The generated input file.
+     */
+    private Path input;
+
+    /**
+     * The output file.
+     */
+    private Path output;
+
+    /**
+     * The converter under test.
+     */
+    private FileConverter converter;
+
+    /**
+     * Writes the synthetic input file.
+     *
+     * @throws IOException if the files cannot be created
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        input = BenchmarkData.writeInput(from, recordCount, fieldCount);
+        output = Files.createTempFile("bench-output", "." + to);
+        converter = new FileConverter(input.toString(), output.toString());
+    }
+
+    /**
+     * Deletes the input and output files.
+     *
+     * @throws IOException if the files cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(input);
+        Files.deleteIfExists(output);
+    }
+
+    /**
+     * Converts the input file to the output format.
+     */
+    @Benchmark
+    public void convert() {
+        converter.convert(input.toString(), output.toString());
+    }
+}
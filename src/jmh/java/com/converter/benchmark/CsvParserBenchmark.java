@@ -0,0 +1,121 @@
+package com.converter.benchmark;
+
+import com.converter.parser.CsvParser;
+import com.converter.parser.RecordReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the sequential and parallel CSV parser modes.
+ *
+ * <p>Run with {@code java -jar target/benchmarks.jar CsvParserBenchmark
+ * -prof gc} to include allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvParserBenchmark {
+
+    /**
+     * Number of records in the generated input file.
+     */
+    @Param({"100000", "1000000"})
+    private int recordCount;
+
+    /**
+     * Number of fields per generated record.
+     */
+    @Param({"10"})
+    private int fieldCount;
+
+    /**
+     * The generated input file.
+     */
+    private Path input;
+
+    /**
+     * Parser reading rows on the calling thread.
+     */
+    private CsvParser sequentialParser;
+
+    /**
+     * Parser reading chunks concurrently.
+     */
+    private CsvParser parallelParser;
+
+    /**
+     * Writes the synthetic input file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        input = BenchmarkData.writeInput("csv", recordCount, fieldCount);
+        sequentialParser = new CsvParser(CsvParser.Mode.SEQUENTIAL);
+        parallelParser = new CsvParser(CsvParser.Mode.PARALLEL);
+    }
+
+    /**
+     * Deletes the synthetic input file.
+     *
+     * @throws IOException if the file cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(input);
+    }
+
+    /**
+     * Streams the input on the calling thread.
+     *
+     * @param blackhole sink for parsed records
+     */
+    @Benchmark
+    public void sequential(final Blackhole blackhole) {
+        drain(sequentialParser, blackhole);
+    }
+
+    /**
+     * Streams the input through concurrently parsed chunks.
+     *
+     * @param blackhole sink for parsed records
+     */
+    @Benchmark
+    public void parallel(final Blackhole blackhole) {
+        drain(parallelParser, blackhole);
+    }
+
+    /**
+     * Consumes every record the parser streams from the input.
+     *
+     * @param parser    the parser to read with
+     * @param blackhole sink for parsed records
+     */
+    private void drain(final CsvParser parser, final Blackhole blackhole) {
+        try (RecordReader reader = parser.stream(input.toString())) {
+            while (reader.hasNext()) {
+                blackhole.consume(reader.next());
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.converter.benchmark;
+
+import com.converter.io.FileIO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the channel-based I/O layer with buffered {@code java.io}
+ * file streams.
+ *
+ * <p>Reads and writes go through an 8 KiB array, the chunk size the
+ * JSON and XML parsers use. Inputs of 64 MiB take the memory-mapped path.
+ * Run under {@code strace -c -f} to compare system call counts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileIOBenchmark {
+
+    /**
+     * Size of the array each read or write goes through.
+     */
+    private static final int CHUNK = 8 * 1024;
+
+    /**
+     * Size of the file in MiB.
+     */
+    @Param({"4", "64"})
+    private int sizeMb;
+
+    /**
+     * The generated input file.
+     */
+    private Path input;
+
+    /**
+     * The output file.
+     */
+    private Path output;
+
+    /**
+     * The chunk read into and written from.
+     */
+    private byte[] chunk;
+
+    /**
+     * Writes the input file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        byte[] data = new byte[sizeMb * 1024 * 1024];
+        new Random(42).nextBytes(data);
+        input = Files.createTempFile("bench-io-", ".bin");
+        output = Files.createTempFile("bench-io-", ".out");
+        Files.write(input, data);
+        chunk = new byte[CHUNK];
+    }
+
+    /**
+     * Deletes the files.
+     *
+     * @throws IOException if a file cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(input);
+        Files.deleteIfExists(output);
+    }
+
+    /**
+     * Reads the input through a buffered file input stream.
+     *
+     * @return the number of bytes read
+     * @throws IOException if the file cannot be read
+     */
+    @Benchmark
+    public long readStream() throws IOException {
+        try (InputStream in = new BufferedInputStream(
+                new FileInputStream(input.toFile()))) {
+            return drain(in);
+        }
+    }
+
+    /**
+     * Reads the input through the channel-based layer.
+     *
+     * @return the number of bytes read
+     * @throws IOException if the file cannot be read
+     */
+    @Benchmark
+    public long readChannel() throws IOException {
+        try (InputStream in = FileIO.openInput(input)) {
+            return drain(in);
+        }
+    }
+
+    /**
+     * Writes the output through a buffered file output stream.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Benchmark
+    public void writeStream() throws IOException {
+        try (OutputStream out = new BufferedOutputStream(
+                new FileOutputStream(output.toFile()))) {
+            fill(out);
+        }
+    }
+
+    /**
+     * Writes the output through the channel-based layer.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Benchmark
+    public void writeChannel() throws IOException {
+        try (OutputStream out = FileIO.openOutput(output)) {
+            fill(out);
+        }
+    }
+
+    /**
+     * Reads a stream to its end.
+     *
+     * @param in the stream to read
+     * @return the number of bytes read
+     * @throws IOException if the stream cannot be read
+     */
+    private long drain(final InputStream in) throws IOException {
+        long total = 0;
+        int n;
+        while ((n = in.read(chunk)) > 0) {
+            total += n;
+        }
+        return total;
+    }
+
+    /**
+     * Writes the configured number of bytes to a stream.
+     *
+     * @param out the stream to write
+     * @throws IOException if the stream cannot be written
+     */
+    private void fill(final OutputStream out) throws IOException {
+        long total = (long) sizeMb * 1024 * 1024;
+        for (long written = 0; written < total; written += CHUNK) {
+            out.write(chunk);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.converter.benchmark;
+
+import com.converter.generator.Generator;
+import com.converter.generator.GeneratorFactory;
+import com.converter.model.DataRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures each generator writing in-memory records to a file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeneratorBenchmark {
+
+    /**
+     * The output format.
+     */
+    @Param({"csv", "json", "ndjson", "xml", "fcol"})
+    private String format;
+
+    /**
+     * Number of records to write.
+     */
+    @Param({"1000", "100000"})
+    private int recordCount;
+
+    /**
+     * Number of fields per record.
+     */
+    @Param({"5", "20"})
+    private int fieldCount;
+
+    /**
+     * The records to write.
+     */
+    private List<DataRecord> records;
+
+    /**
+     * The output file.
+     */
+    private Path output;
+
+    /**
+     * The generator under test.
+     */
+    private Generator generator;
+
+    /**
+     * Builds the synthetic records.
+     *
+     * @throws IOException if the output file cannot be created
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        records = BenchmarkData.records(recordCount, fieldCount);
+        output = Files.createTempFile("bench-output", "." + format);
+        generator = GeneratorFactory.createGeneratorByExtension(format);
+    }
+
+    /**
+     * Deletes the output file.
+     *
+     * @throws IOException if the file cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(output);
+    }
+
+    /**
+     * Writes all records to the output file.
+     */
+    @Benchmark
+    public void generate() {
+        generator.generate(records, output.toString());
+    }
+}
@@ -0,0 +1,114 @@
+package com.converter.benchmark;
+
+import com.converter.model.DataRecord;
+import com.converter.parser.JsonParser;
+import com.converter.parser.RecordReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the tree-based and token-streaming JSON parser modes.
+ *
+ * <p>Run with {@code java -jar target/benchmarks.jar JsonParserBenchmark
+ * -prof gc} to include allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonParserBenchmark {
+
+    /**
+     * Number of records in the generated input file.
+     */
+    @Param({"1000", "100000"})
+    private int recordCount;
+
+    /**
+     * Number of fields per generated record.
+     */
+    @Param({"10"})
+    private int fieldCount;
+
+    /**
+     * The generated input file.
+     */
+    private Path input;
+
+    /**
+     * Parser reading the whole document into a tree first.
+     */
+    private JsonParser treeParser;
+
+    /**
+     * Parser reading the document token by token.
+     */
+    private JsonParser streamingParser;
+
+    /**
+     * Writes the synthetic input file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        input = BenchmarkData.writeInput("json", recordCount, fieldCount);
+        treeParser = new JsonParser(JsonParser.Mode.TREE);
+        streamingParser = new JsonParser(JsonParser.Mode.STREAMING);
+    }
+
+    /**
+     * Deletes the synthetic input file.
+     *
+     * @throws IOException if the file cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(input);
+    }
+
+    /**
+     * Parses the input with the tree-based path.
+     *
+     * @param blackhole sink for parsed records
+     */
+    @Benchmark
+    public void tree(final Blackhole blackhole) {
+        for (DataRecord record : treeParser.parse(input.toString())) {
+            blackhole.consume(record);
+        }
+    }
+
+    /**
+     * Parses the input with the token-streaming path.
+     *
+     * @param blackhole sink for parsed records
+     */
+    @Benchmark
+    public void streaming(final Blackhole blackhole) {
+        try (RecordReader reader = streamingParser.stream(input.toString())) {
+            while (reader.hasNext()) {
+                blackhole.consume(reader.next());
+            }
+        }
+    }
+}
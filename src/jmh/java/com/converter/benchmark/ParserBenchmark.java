@@ -0,0 +1,109 @@
+package com.converter.benchmark;
+
+import com.converter.parser.Parser;
+import com.converter.parser.ParserFactory;
+import com.converter.parser.RecordReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures each parser reading a synthetic input file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+
+    /**
+     * The input format.
+     */
+    @Param({"csv", "json", "ndjson", "xml", "fcol"})
+    private String format;
+
+    /**
+     * Number of records in the generated input file.
+     */
+    @Param({"1000", "100000"})
+    private int recordCount;
+
+    /**
+     * Number of fields per generated record.
+     */
+    @Param({"5", "20"})
+    private int fieldCount;
+
+    /**
+     * The generated input file.
+     */
+    private Path input;
+
+    /**
+     * The parser under test.
+     */
+    private Parser parser;
+
+    /**
+     * Writes the synthetic input file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        input = BenchmarkData.writeInput(format, recordCount, fieldCount);
+        parser = ParserFactory.createParserByExtension(format);
+    }
+
+    /**
+     * Deletes the synthetic input file.
+     *
+     * @throws IOException if the file cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(input);
+    }
+
+    /**
+     * Parses the whole input into a list.
+     *
+     * @return the parsed records
+     */
+    @Benchmark
+    public Object parse() {
+        return parser.parse(input.toString());
+    }
+
+    /**
+     * Streams the input one record at a time.
+     *
+     * @param blackhole sink for parsed records
+     */
+    @Benchmark
+    public void stream(final Blackhole blackhole) {
+        try (RecordReader reader = parser.stream(input.toString())) {
+            while (reader.hasNext()) {
+                blackhole.consume(reader.next());
+            }
+        }
+    }
+}
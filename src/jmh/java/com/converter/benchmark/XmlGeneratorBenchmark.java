@@ -0,0 +1,154 @@
+package com.converter.benchmark;
+
+import com.converter.generator.RecordWriter;
+import com.converter.generator.XmlGenerator;
+import com.converter.model.DataRecord;
+import com.converter.registry.ComponentRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the XML generator's record encoder with the equivalent
+ * sequence of {@link XMLStreamWriter} calls it replaced.
+ *
+ * <p>Both write to a discarding stream, so only encoding is measured.
+ * Run with {@code -prof gc} to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XmlGeneratorBenchmark {
+
+    /**
+     * Number of records to write.
+     */
+    @Param({"1000", "100000"})
+    private int recordCount;
+
+    /**
+     * Number of fields per record.
+     */
+    @Param({"5", "20"})
+    private int fieldCount;
+
+    /**
+     * The records to write.
+     */
+    private List<DataRecord> records;
+
+    /**
+     * The generator under test.
+     */
+    private XmlGenerator generator;
+
+    /**
+     * Builds the synthetic records.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        records = BenchmarkData.records(recordCount, fieldCount);
+        generator = new XmlGenerator();
+    }
+
+    /**
+     * Writes all records through the generator's byte encoder.
+     */
+    @Benchmark
+    public void encoder() {
+        try (RecordWriter writer = generator.open(
+                OutputStream.nullOutputStream(), "benchmark")) {
+            for (DataRecord record : records) {
+                writer.write(record);
+            }
+        }
+    }
+
+    /**
+     * Writes all records with the StAX calls the generator used to make.
+     *
+     * @throws XMLStreamException if the StAX writer fails
+     * @throws IOException        if the stream cannot be closed
+     */
+    @Benchmark
+    public void stax() throws XMLStreamException, IOException {
+        Writer output = new OutputStreamWriter(
+                OutputStream.nullOutputStream(), StandardCharsets.UTF_8);
+        XMLStreamWriter writer = ComponentRegistry.xmlOutputFactory()
+                .createXMLStreamWriter(output);
+        writer.writeStartDocument("UTF-8", "1.0");
+        writer.writeCharacters("\n");
+        writer.writeStartElement("records");
+        writer.writeCharacters("\n");
+        for (DataRecord record : records) {
+            writer.writeCharacters("  ");
+            writer.writeStartElement("record");
+            writer.writeCharacters("\n");
+            for (Map.Entry<String, String> field
+                    : record.getFieldView().entrySet()) {
+                writer.writeCharacters("    ");
+                writer.writeStartElement(sanitize(field.getKey()));
+                String value = field.getValue();
+                writer.writeCharacters(value != null ? value : "");
+                writer.writeEndElement();
+                writer.writeCharacters("\n");
+            }
+            writer.writeCharacters("  ");
+            writer.writeEndElement();
+            writer.writeCharacters("\n");
+        }
+        writer.writeEndElement();
+        writer.writeCharacters("\n");
+        writer.writeEndDocument();
+        writer.close();
+        output.close();
+    }
+
+    /**
+     * Sanitizes a field name per call, as the StAX generator did.
+     *
+     * @param name the field name
+     * @return a valid XML element name
+     */
+    private static String sanitize(final String name) {
+        StringBuilder sb = new StringBuilder();
+        char first = name.charAt(0);
+        if (Character.isLetter(first) || first == '_') {
+            sb.append(first);
+        } else {
+            sb.append('_');
+            if (Character.isDigit(first)) {
+                sb.append(first);
+            }
+        }
+        for (int i = 1; i < name.length(); i++) {
+            char c = name.charAt(i);
+            sb.append(Character.isLetterOrDigit(c)
+                    || c == '_' || c == '-' || c == '.' ? c : '_');
+        }
+        return sb.toString();
+    }
+}
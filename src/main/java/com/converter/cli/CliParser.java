@@ -1,5 +1,7 @@
 package com.converter.cli;
 
+import com.converter.compression.CompressionOptions;
+import com.converter.converter.ConversionCache;
 import com.converter.exception.ValidationException;
 
 import java.util.HashMap;
@@ -10,6 +12,11 @@ import java.util.Map;
  */
 public class CliParser {
 
+    /**
+     * Path standing for standard input or standard output.
+     */
+    public static final String STANDARD_STREAM = "-";
+
     /**
      * Command-line flag for specifying the input file.
      */
@@ -20,6 +27,106 @@ public class CliParser {
      */
     private static final String OUTPUT_FLAG = "--output";
 
+    /**
+     * Command-line flag for specifying a batch directory or glob pattern.
+     */
+    private static final String BATCH_FLAG = "--batch";
+
+    /**
+     * Command-line flag for specifying the source format.
+     */
+    private static final String FROM_FLAG = "--from";
+
+    /**
+     * Command-line flag for specifying the target format.
+     */
+    private static final String TO_FLAG = "--to";
+
+    /**
+     * Command-line flag for specifying the number of worker threads.
+     */
+    private static final String THREADS_FLAG = "--threads";
+
+    /**
+     * Command-line flag for specifying the compression level.
+     */
+    private static final String LEVEL_FLAG = "--level";
+
+    /**
+     * Command-line flag for specifying the compression buffer size.
+     */
+    private static final String BUFFER_SIZE_FLAG = "--buffer-size";
+
+    /**
+     * Command-line flag for printing conversion metrics.
+     */
+    private static final String STATS_FLAG = "--stats";
+
+    /**
+     * Command-line flag for writing conversion metrics as JSON.
+     */
+    private static final String STATS_JSON_FLAG = "--stats-json";
+
+    /**
+     * Command-line flag for running the conversion server.
+     */
+    private static final String SERVER_FLAG = "--server";
+
+    /**
+     * Command-line flag for specifying the server port.
+     */
+    private static final String PORT_FLAG = "--port";
+
+    /**
+     * Command-line flag for specifying the server queue capacity.
+     */
+    private static final String QUEUE_FLAG = "--queue";
+
+    /**
+     * Command-line flag for specifying the conversion cache directory.
+     */
+    private static final String CACHE_DIR_FLAG = "--cache-dir";
+
+    /**
+     * Command-line flag for specifying the conversion cache size in MiB.
+     */
+    private static final String CACHE_SIZE_FLAG = "--cache-size";
+
+    /**
+     * Command-line flag for bypassing the conversion cache.
+     */
+    private static final String NO_CACHE_FLAG = "--no-cache";
+
+    /**
+     * Command-line flag for appending only new input records.
+     */
+    private static final String INCREMENTAL_FLAG = "--incremental";
+
+    /**
+     * Command-line flag for parsing the input file in parallel chunks.
+     */
+    private static final String PARALLEL_FLAG = "--parallel";
+
+    /**
+     * Environment variable naming a default conversion cache directory.
+     */
+    public static final String CACHE_DIR_ENV = "FILE_CONVERTER_CACHE_DIR";
+
+    /**
+     * Default port of the conversion server.
+     */
+    private static final int DEFAULT_PORT = 8080;
+
+    /**
+     * Default number of requests waiting for a conversion slot.
+     */
+    private static final int DEFAULT_QUEUE = 64;
+
+    /**
+     * Bytes per mebibyte, the unit of the cache size option.
+     */
+    private static final long MIB = 1024 * 1024;
+
     /**
      * Command-line flag for requesting help.
      */
@@ -40,6 +147,76 @@ public class CliParser {
      */
     private String outputPath;
 
+    /**
+     * The parsed batch directory or glob pattern.
+     */
+    private String batchSource;
+
+    /**
+     * The parsed source format.
+     */
+    private String sourceFormat;
+
+    /**
+     * The parsed target format.
+     */
+    private String targetFormat;
+
+    /**
+     * The parsed number of worker threads.
+     */
+    private int threads;
+
+    /**
+     * The parsed compression settings.
+     */
+    private CompressionOptions compressionOptions;
+
+    /**
+     * Flag indicating whether conversion metrics should be printed.
+     */
+    private boolean statsRequested;
+
+    /**
+     * The parsed path of the JSON metrics file.
+     */
+    private String statsJsonPath;
+
+    /**
+     * Flag indicating whether server mode was requested.
+     */
+    private boolean serverMode;
+
+    /**
+     * The parsed server port.
+     */
+    private int port;
+
+    /**
+     * The parsed server queue capacity.
+     */
+    private int queueCapacity;
+
+    /**
+     * The conversion cache directory, or null if caching is disabled.
+     */
+    private String cacheDirectory;
+
+    /**
+     * The parsed conversion cache size limit in bytes.
+     */
+    private long cacheSize;
+
+    /**
+     * Flag indicating whether incremental conversion was requested.
+     */
+    private boolean incremental;
+
+    /**
+     * Flag indicating whether parallel parsing was requested.
+     */
+    private boolean parallel;
+
     /**
      * Flag indicating whether help was requested.
      */
@@ -53,6 +230,19 @@ public class CliParser {
      * @throws ValidationException if required arguments are missing
      */
     public CliParser parse(final String[] args) {
+        return parse(args, System.getenv());
+    }
+
+    /**
+     * Parses the command-line arguments with the given environment.
+     *
+     * @param args        the command-line arguments to parse
+     * @param environment the environment variables
+     * @return this parser instance for method chaining
+     * @throws ValidationException if required arguments are missing
+     */
+    CliParser parse(final String[] args,
+                    final Map<String, String> environment) {
         Map<String, String> argsMap = parseArgsToMap(args);
 
         helpRequested = argsMap.containsKey(HELP_FLAG)
@@ -64,8 +254,37 @@ public class CliParser {
 
         inputPath = argsMap.get(INPUT_FLAG);
         outputPath = argsMap.get(OUTPUT_FLAG);
+        batchSource = argsMap.get(BATCH_FLAG);
+        sourceFormat = argsMap.get(FROM_FLAG);
+        targetFormat = argsMap.get(TO_FLAG);
+        threads = parseThreads(argsMap.get(THREADS_FLAG));
+        statsRequested = argsMap.containsKey(STATS_FLAG);
+        statsJsonPath = argsMap.get(STATS_JSON_FLAG);
+        compressionOptions = new CompressionOptions(
+                parseLevel(argsMap.get(LEVEL_FLAG)),
+                parseBufferSize(argsMap.get(BUFFER_SIZE_FLAG)));
+        serverMode = argsMap.containsKey(SERVER_FLAG);
+        port = parseRange(argsMap.get(PORT_FLAG), PORT_FLAG,
+                0, 65535, DEFAULT_PORT);
+        queueCapacity = parseRange(argsMap.get(QUEUE_FLAG), QUEUE_FLAG,
+                0, Integer.MAX_VALUE, DEFAULT_QUEUE);
+        cacheDirectory = argsMap.containsKey(NO_CACHE_FLAG) ? null
+                : argsMap.getOrDefault(CACHE_DIR_FLAG,
+                        environment.get(CACHE_DIR_ENV));
+        cacheSize = parseRange(argsMap.get(CACHE_SIZE_FLAG), CACHE_SIZE_FLAG,
+                1, Integer.MAX_VALUE,
+                (int) (ConversionCache.DEFAULT_MAX_BYTES >> 20)) * MIB;
+        incremental = argsMap.containsKey(INCREMENTAL_FLAG);
+        parallel = argsMap.containsKey(PARALLEL_FLAG);
 
-        validate();
+        if (serverMode) {
+            return this;
+        }
+        if (isBatchMode()) {
+            validateBatch();
+        } else {
+            validate();
+        }
 
         return this;
     }
@@ -82,7 +301,11 @@ public class CliParser {
         for (int i = 0; i < args.length; i++) {
             String arg = args[i];
 
-            if (arg.equals(HELP_FLAG) || arg.equals(SHORT_HELP_FLAG)) {
+            if (arg.equals(HELP_FLAG) || arg.equals(SHORT_HELP_FLAG)
+                    || arg.equals(STATS_FLAG) || arg.equals(SERVER_FLAG)
+                    || arg.equals(NO_CACHE_FLAG)
+                    || arg.equals(INCREMENTAL_FLAG)
+                    || arg.equals(PARALLEL_FLAG)) {
                 result.put(arg, "true");
             } else if (arg.startsWith("--") && i + 1 < args.length) {
                 result.put(arg, args[++i]);
@@ -106,6 +329,149 @@ public class CliParser {
             throw new ValidationException(
                     "Error: Missing required argument --output");
         }
+        if (STANDARD_STREAM.equals(inputPath) && sourceFormat == null) {
+            throw new ValidationException("Error: " + FROM_FLAG
+                    + " is required when reading standard input");
+        }
+        if (STANDARD_STREAM.equals(outputPath) && targetFormat == null) {
+            throw new ValidationException("Error: " + TO_FLAG
+                    + " is required when writing standard output");
+        }
+        if (incremental && (STANDARD_STREAM.equals(inputPath)
+                || STANDARD_STREAM.equals(outputPath))) {
+            throw new ValidationException("Error: " + INCREMENTAL_FLAG
+                    + " requires an input and output file");
+        }
+        if (incremental && parallel) {
+            throw new ValidationException("Error: " + PARALLEL_FLAG
+                    + " cannot be combined with " + INCREMENTAL_FLAG);
+        }
+    }
+
+    /**
+     * Validates that required batch arguments are present.
+     *
+     * @throws ValidationException if required arguments are missing
+     */
+    private void validateBatch() {
+        if (statsRequested || statsJsonPath != null) {
+            throw new ValidationException("Error: " + STATS_FLAG + " and "
+                    + STATS_JSON_FLAG + " are not supported in batch mode");
+        }
+        if (incremental) {
+            throw new ValidationException("Error: " + INCREMENTAL_FLAG
+                    + " is not supported in batch mode");
+        }
+        if (parallel) {
+            throw new ValidationException("Error: " + PARALLEL_FLAG
+                    + " is not supported in batch mode");
+        }
+        if (batchSource.trim().isEmpty()) {
+            throw new ValidationException(
+                    "Error: Missing required argument --batch");
+        }
+        if (targetFormat == null || targetFormat.trim().isEmpty()) {
+            throw new ValidationException(
+                    "Error: Missing required argument --to");
+        }
+    }
+
+    /**
+     * Parses the worker thread count.
+     *
+     * @param value the raw argument value, or null if absent
+     * @return the thread count, defaulting to the number of processors
+     * @throws ValidationException if the value is not a positive integer
+     */
+    private int parseThreads(final String value) {
+        if (value == null) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        try {
+            int count = Integer.parseInt(value.trim());
+            if (count > 0) {
+                return count;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new ValidationException(
+                "Error: " + THREADS_FLAG + " must be a positive integer");
+    }
+
+    /**
+     * Parses the compression level.
+     *
+     * @param value the raw argument value, or null if absent
+     * @return the level, defaulting to the codec's default level
+     * @throws ValidationException if the value is not between 0 and 9
+     */
+    private int parseLevel(final String value) {
+        if (value == null) {
+            return CompressionOptions.DEFAULT.level();
+        }
+        try {
+            int level = Integer.parseInt(value.trim());
+            if (level >= 0 && level <= 9) {
+                return level;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new ValidationException(
+                "Error: " + LEVEL_FLAG + " must be an integer from 0 to 9");
+    }
+
+    /**
+     * Parses the compression buffer size.
+     *
+     * @param value the raw argument value, or null if absent
+     * @return the buffer size in bytes, defaulting to 64 KiB
+     * @throws ValidationException if the value is not a positive integer
+     */
+    private int parseBufferSize(final String value) {
+        if (value == null) {
+            return CompressionOptions.DEFAULT.bufferSize();
+        }
+        try {
+            int size = Integer.parseInt(value.trim());
+            if (size > 0) {
+                return size;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new ValidationException(
+                "Error: " + BUFFER_SIZE_FLAG + " must be a positive integer");
+    }
+
+    /**
+     * Parses an integer option within a range.
+     *
+     * @param value        the raw argument value, or null if absent
+     * @param flag         the flag name, used in error messages
+     * @param min          the smallest accepted value
+     * @param max          the largest accepted value
+     * @param defaultValue the value used when the option is absent
+     * @return the parsed value
+     * @throws ValidationException if the value is not an integer in range
+     */
+    private int parseRange(final String value, final String flag,
+                           final int min, final int max,
+                           final int defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed >= min && parsed <= max) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new ValidationException("Error: " + flag
+                + " must be an integer from " + min + " to " + max);
     }
 
     /**
@@ -126,6 +492,145 @@ public class CliParser {
         return outputPath;
     }
 
+    /**
+     * Returns the parsed batch directory or glob pattern.
+     *
+     * @return the batch source, or null if not in batch mode
+     */
+    public String getBatchSource() {
+        return batchSource;
+    }
+
+    /**
+     * Returns the parsed source format.
+     *
+     * @return the source format extension, or null to derive it from the
+     *         input path
+     */
+    public String getSourceFormat() {
+        return sourceFormat;
+    }
+
+    /**
+     * Returns the parsed target format.
+     *
+     * @return the target format extension, or null if not given
+     */
+    public String getTargetFormat() {
+        return targetFormat;
+    }
+
+    /**
+     * Returns the parsed number of worker threads.
+     *
+     * @return the thread count
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Returns the parsed compression settings.
+     *
+     * @return the compression level and buffer size
+     */
+    public CompressionOptions getCompressionOptions() {
+        return compressionOptions;
+    }
+
+    /**
+     * Returns whether conversion metrics should be printed.
+     *
+     * @return true if {@code --stats} was given
+     */
+    public boolean isStatsRequested() {
+        return statsRequested;
+    }
+
+    /**
+     * Returns the path the conversion metrics should be written to as
+     * JSON.
+     *
+     * @return the JSON file path, or null if not given
+     */
+    public String getStatsJsonPath() {
+        return statsJsonPath;
+    }
+
+    /**
+     * Returns whether server mode was requested.
+     *
+     * @return true if {@code --server} was given
+     */
+    public boolean isServerMode() {
+        return serverMode;
+    }
+
+    /**
+     * Returns the parsed server port.
+     *
+     * @return the port, 0 for any free port
+     */
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * Returns the parsed server queue capacity.
+     *
+     * @return the number of requests that may wait for a slot
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Returns the conversion cache directory.
+     *
+     * @return the directory given by {@code --cache-dir} or the
+     *         {@value #CACHE_DIR_ENV} environment variable, or null if
+     *         neither is set or {@code --no-cache} was given
+     */
+    public String getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    /**
+     * Returns the conversion cache size limit.
+     *
+     * @return the limit in bytes
+     */
+    public long getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * Returns whether incremental conversion was requested.
+     *
+     * @return true if {@code --incremental} was given
+     */
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    /**
+     * Returns whether the input file should be parsed in parallel chunks.
+     *
+     * @return true if {@code --parallel} was given
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Returns whether batch conversion was requested.
+     *
+     * @return true if a batch source was given, false otherwise
+     */
+    public boolean isBatchMode() {
+        return batchSource != null;
+    }
+
     /**
      * Returns whether help was requested.
      *
@@ -141,26 +646,85 @@ public class CliParser {
      * @return the help message string
      */
     public static String getHelpMessage() {
-        return "File Converter - Convert files between JSON, XML, "
+        return "File Converter - Convert files between JSON, NDJSON, XML, "
                 + "and CSV formats\n\n"
                 + "Usage:\n"
                 + "  java -jar file-converter.jar "
-                + "--input <input-file> --output <output-file>\n\n"
+                + "--input <input-file> --output <output-file> "
+                + "[--from <format>] [--to <format>]\n"
+                + "      [--stats] [--stats-json <file>] "
+                + "[--cache-dir <dir>] [--no-cache]\n"
+                + "      [--incremental] [--parallel]\n"
+                + "  java -jar file-converter.jar "
+                + "--batch <dir-or-glob> --to <format> "
+                + "[--output <dir>] [--threads <n>] [--cache-dir <dir>]\n"
+                + "  java -jar file-converter.jar --server "
+                + "[--port <n>] [--threads <n>] [--queue <n>]\n"
+                + "  Append .gz or .deflate to any file name to compress "
+                + "or decompress it.\n\n"
                 + "Options:\n"
-                + "  --input   Path to the input file (required)\n"
-                + "  --output  Path to the output file (required)\n"
+                + "  --input   Path to the input file (required), "
+                + "or - for standard input\n"
+                + "  --output  Path to the output file (required), "
+                + "- for standard output,\n"
+                + "            or output directory in batch mode\n"
+                + "  --batch   Directory or glob pattern of input files\n"
+                + "  --from    Input format, instead of the input file "
+                + "extension\n"
+                + "  --to      Output format, instead of the output file "
+                + "extension\n"
+                + "            (json, ndjson, jsonl, xml, csv or fcol)\n"
+                + "  --threads Number of worker threads in batch mode "
+                + "(default: number of CPUs)\n"
+                + "  --level   Compression level from 0 (fastest) "
+                + "to 9 (smallest)\n"
+                + "  --buffer-size Compression buffer size in bytes "
+                + "(default: 65536)\n"
+                + "  --stats   Print time, throughput, I/O and heap use "
+                + "of each conversion phase\n"
+                + "  --stats-json Write the same metrics to a JSON file\n"
+                + "  --cache-dir Reuse earlier outputs of unchanged files "
+                + "from this directory\n"
+                + "            (default: $" + CACHE_DIR_ENV + ", "
+                + "else no caching)\n"
+                + "  --cache-size Cache size limit in MiB, least recently "
+                + "used entries are\n"
+                + "            evicted first (default: 1024)\n"
+                + "  --no-cache Convert even if a cached output exists\n"
+                + "  --incremental Append only records added to a growing "
+                + "CSV or NDJSON input\n"
+                + "            since the last run, tracked in "
+                + "<output>.checkpoint\n"
+                + "  --parallel Parse a large CSV or XML input file in "
+                + "chunks on all CPUs\n"
+                + "  --server  Serve conversions over HTTP on 127.0.0.1; "
+                + "--threads limits\n"
+                + "            concurrent conversions\n"
+                + "  --port    Server port (default: 8080)\n"
+                + "  --queue   Requests that may wait for a free slot "
+                + "(default: 64)\n"
                 + "  --help    Show this help message\n\n"
                 + "Supported formats:\n"
                 + "  - JSON (.json)\n"
+                + "  - NDJSON / JSON Lines (.ndjson, .jsonl)\n"
                 + "  - XML (.xml)\n"
-                + "  - CSV (.csv)\n\n"
+                + "  - CSV (.csv)\n"
+                + "  - Binary columnar (.fcol)\n"
+                + "  - Any of the above compressed with gzip (.csv.gz) "
+                + "or deflate (.csv.deflate)\n\n"
                 + "Examples:\n"
                 + "  java -jar file-converter.jar "
                 + "--input data.json --output data.csv\n"
                 + "  java -jar file-converter.jar "
                 + "--input data.xml --output data.json\n"
                 + "  java -jar file-converter.jar "
-                + "--input data.csv --output data.xml\n\n"
+                + "--input data.csv --output data.xml\n"
+                + "  java -jar file-converter.jar "
+                + "--batch 'exports/*.csv' --to json --output out/\n"
+                + "  java -jar file-converter.jar "
+                + "--input data.csv.gz --output data.json.gz --level 9\n"
+                + "  producer | java -jar file-converter.jar "
+                + "--input - --from csv --output - --to json\n\n"
                 + "Note: Only flat data structures are supported. "
                 + "Nested objects/arrays will\ncause an error.\n";
     }
@@ -1,9 +1,31 @@
 package com.converter.cli;
 
+import com.converter.compression.CompressionOptions;
+import com.converter.converter.BatchConverter;
+import com.converter.converter.BatchResult;
+import com.converter.converter.ConcurrentConverter;
+import com.converter.converter.ConversionCache;
 import com.converter.converter.FileConverter;
+import com.converter.converter.IncrementalConverter;
 import com.converter.exception.ConversionException;
 import com.converter.exception.ParseException;
 import com.converter.exception.ValidationException;
+import com.converter.generator.GeneratorFactory;
+import com.converter.io.FileIO;
+import com.converter.metrics.ConversionMetrics;
+import com.converter.parser.ParserFactory;
+import com.converter.server.ConversionServer;
+import com.converter.validator.DataValidator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Facade class providing a simplified interface for file conversions.
@@ -17,8 +39,364 @@ public class ConverterFacade {
      * @param outputPath the path to the output file
      */
     public void convert(final String inputPath, final String outputPath) {
-        FileConverter converter = new FileConverter(inputPath, outputPath);
-        converter.convert(inputPath, outputPath);
+        convert(inputPath, outputPath, CompressionOptions.DEFAULT);
+    }
+
+    /**
+     * Converts a file from one format to another, either of which may be
+     * compressed.
+     *
+     * @param inputPath  the path to the input file
+     * @param outputPath the path to the output file
+     * @param options    the compression settings
+     * @return the timing, throughput, I/O and heap metrics of the
+     *         conversion
+     */
+    public ConversionMetrics convert(final String inputPath,
+                                     final String outputPath,
+                                     final CompressionOptions options) {
+        FileConverter converter = new FileConverter(
+                ParserFactory.createParser(inputPath, options),
+                GeneratorFactory.createGenerator(outputPath, options));
+        return converter.convertWithMetrics(inputPath, outputPath);
+    }
+
+    /**
+     * Converts between files or standard streams, with formats either
+     * given explicitly or taken from the file extensions.
+     *
+     * <p>A path of {@value CliParser#STANDARD_STREAM} stands for standard
+     * input or standard output; records are then streamed a chunk at a
+     * time, so no temporary file is written. CSV written to standard
+     * output therefore keeps the header inferred from its first records
+     * and fails on a later field. Between two files the usual
+     * path-based conversion is used, with memory-mapped reads.
+     *
+     * @param inputPath  the path to the input file, or {@code -}
+     * @param fromFormat the input format extension, or null to take it
+     *                   from the input path
+     * @param outputPath the path to the output file, or {@code -}
+     * @param toFormat   the output format extension, or null to take it
+     *                   from the output path
+     * @param options    the compression settings
+     * @return the timing, throughput, I/O and heap metrics of the
+     *         conversion
+     * @throws ValidationException if a format is missing for a standard
+     *                             stream, or a file cannot be accessed
+     * @throws ConversionException if either format is not supported
+     */
+    public ConversionMetrics convert(final String inputPath,
+                                     final String fromFormat,
+                                     final String outputPath,
+                                     final String toFormat,
+                                     final CompressionOptions options) {
+        return convert(inputPath, fromFormat, outputPath, toFormat,
+                options, null);
+    }
+
+    /**
+     * Converts between files or standard streams like
+     * {@link #convert(String, String, String, String, CompressionOptions)},
+     * reusing a cached result when a file input was converted before.
+     *
+     * <p>The cache applies only between two files; standard streams are
+     * always converted.
+     *
+     * @param inputPath  the path to the input file, or {@code -}
+     * @param fromFormat the input format extension, or null to take it
+     *                   from the input path
+     * @param outputPath the path to the output file, or {@code -}
+     * @param toFormat   the output format extension, or null to take it
+     *                   from the output path
+     * @param options    the compression settings
+     * @param cache      the cache of conversion results, or null to
+     *                   always convert
+     * @return the timing, throughput, I/O and heap metrics of the
+     *         conversion
+     * @throws ValidationException if a format is missing for a standard
+     *                             stream, or a file cannot be accessed
+     * @throws ConversionException if either format is not supported
+     */
+    public ConversionMetrics convert(final String inputPath,
+                                     final String fromFormat,
+                                     final String outputPath,
+                                     final String toFormat,
+                                     final CompressionOptions options,
+                                     final ConversionCache cache) {
+        return convert(inputPath, fromFormat, outputPath, toFormat,
+                options, cache, false);
+    }
+
+    /**
+     * Converts between files or standard streams like
+     * {@link #convert(String, String, String, String, CompressionOptions,
+     * ConversionCache)}, optionally parsing the input file in parallel.
+     *
+     * <p>Parallel parsing splits an uncompressed CSV or XML input file
+     * into chunks parsed on the common fork-join pool; the records keep
+     * their order. Other inputs are read as usual.
+     *
+     * @param inputPath  the path to the input file, or {@code -}
+     * @param fromFormat the input format extension, or null to take it
+     *                   from the input path
+     * @param outputPath the path to the output file, or {@code -}
+     * @param toFormat   the output format extension, or null to take it
+     *                   from the output path
+     * @param options    the compression settings
+     * @param cache      the cache of conversion results, or null to
+     *                   always convert
+     * @param parallel   whether to parse the input file in parallel
+     * @return the timing, throughput, I/O and heap metrics of the
+     *         conversion
+     * @throws ValidationException if a format is missing for a standard
+     *                             stream, or a file cannot be accessed
+     * @throws ConversionException if either format is not supported
+     */
+    public ConversionMetrics convert(final String inputPath,
+                                     final String fromFormat,
+                                     final String outputPath,
+                                     final String toFormat,
+                                     final CompressionOptions options,
+                                     final ConversionCache cache,
+                                     final boolean parallel) {
+        String from = formatOf(inputPath, fromFormat, "--from");
+        String to = formatOf(outputPath, toFormat, "--to");
+        FileConverter converter = new FileConverter(
+                ParserFactory.createParserByExtension(from, options,
+                        parallel),
+                GeneratorFactory.createGeneratorByExtension(to, options));
+
+        boolean stdin = CliParser.STANDARD_STREAM.equals(inputPath);
+        boolean stdout = CliParser.STANDARD_STREAM.equals(outputPath);
+        if (!stdin && !stdout) {
+            if (cache != null) {
+                return cache.convert(converter, inputPath, outputPath,
+                        options);
+            }
+            return converter.convertWithMetrics(inputPath, outputPath);
+        }
+
+        InputStream input = stdin ? FileIO.standardInput() : openInput(inputPath);
+        OutputStream output;
+        try {
+            output = stdout ? FileIO.standardOutput() : openOutput(outputPath);
+        } catch (RuntimeException e) {
+            closeQuietly(input);
+            throw e;
+        }
+        return converter.convert(input, stdin ? "<stdin>" : inputPath,
+                output, stdout ? "<stdout>" : outputPath);
+    }
+
+    /**
+     * Converts the records added to a growing input file since the last
+     * incremental run and appends them to the output.
+     *
+     * <p>The first run, or any run whose checkpoint no longer matches the
+     * files, converts the whole input. The conversion cache is not used,
+     * since the output is extended in place.
+     *
+     * @param inputPath  the path to the CSV or NDJSON input file
+     * @param fromFormat the input format extension, or null to take it
+     *                   from the input path
+     * @param outputPath the path to the output file
+     * @param toFormat   the output format extension, or null to take it
+     *                   from the output path
+     * @param options    the compression settings
+     * @return the metrics of this run
+     * @throws ValidationException if either format cannot be converted
+     *                             incrementally, or a file cannot be
+     *                             accessed
+     * @throws ConversionException if either format is not supported
+     */
+    public ConversionMetrics convertIncrementally(
+            final String inputPath, final String fromFormat,
+            final String outputPath, final String toFormat,
+            final CompressionOptions options) {
+        String from = formatOf(inputPath, fromFormat, "--from");
+        String to = formatOf(outputPath, toFormat, "--to");
+        FileConverter converter = new FileConverter(
+                ParserFactory.createParserByExtension(from, options),
+                GeneratorFactory.createGeneratorByExtension(to, options));
+        return new IncrementalConverter(converter)
+                .convert(inputPath, outputPath);
+    }
+
+    /**
+     * Returns the format of one side of a conversion.
+     *
+     * @param path   the file path, or {@code -}
+     * @param format the explicit format, or null
+     * @param flag   the flag giving the format, used in error messages
+     * @return the format extension
+     * @throws ValidationException if a standard stream has no format
+     */
+    private static String formatOf(final String path, final String format,
+                                   final String flag) {
+        if (format != null) {
+            return format;
+        }
+        if (CliParser.STANDARD_STREAM.equals(path)) {
+            throw new ValidationException("Error: " + flag
+                    + " is required for standard input and output");
+        }
+        return ParserFactory.getFileExtension(path);
+    }
+
+    /**
+     * Opens an input file after checking that it can be read.
+     *
+     * @param filePath the path to the input file
+     * @return a stream over the file
+     * @throws ValidationException if the file is missing or unreadable
+     * @throws ParseException if the file cannot be opened
+     */
+    private static InputStream openInput(final String filePath) {
+        DataValidator.validateInputFile(filePath);
+        try {
+            return FileIO.openInput(Paths.get(filePath));
+        } catch (IOException e) {
+            throw new ParseException("Error: Cannot read file '"
+                    + filePath + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Creates or truncates an output file after checking that it can be
+     * written.
+     *
+     * @param filePath the path to the output file
+     * @return a stream over the file
+     * @throws ValidationException if the file cannot be written
+     * @throws ConversionException if the file cannot be created
+     */
+    private static OutputStream openOutput(final String filePath) {
+        DataValidator.validateOutputFile(filePath);
+        try {
+            return FileIO.openOutput(Paths.get(filePath));
+        } catch (IOException e) {
+            throw new ConversionException("Error: Cannot write file '"
+                    + filePath + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Closes a stream, ignoring any error.
+     *
+     * @param stream the stream to close
+     */
+    private static void closeQuietly(final Closeable stream) {
+        try {
+            stream.close();
+        } catch (IOException ignored) {
+            // nothing useful to report while already failing
+        }
+    }
+
+    /**
+     * Converts records read from a stream in one format and writes them
+     * to another stream in another format.
+     *
+     * <p>Both streams are closed when the conversion ends.
+     *
+     * @param input      the stream to read
+     * @param fromFormat the extension of the input format, such as
+     *                   {@code csv} or {@code json.gz}
+     * @param output     the stream to write
+     * @param toFormat   the extension of the output format
+     * @param options    the compression settings
+     * @return the timing, throughput, I/O and heap metrics of the
+     *         conversion
+     * @throws ConversionException if either format is not supported
+     */
+    public ConversionMetrics convert(final InputStream input,
+                                     final String fromFormat,
+                                     final OutputStream output,
+                                     final String toFormat,
+                                     final CompressionOptions options) {
+        FileConverter converter = new FileConverter(
+                ParserFactory.createParserByExtension(fromFormat, options),
+                GeneratorFactory.createGeneratorByExtension(
+                        toFormat, options));
+        return converter.convert(input, "<input>", output, "<output>");
+    }
+
+    /**
+     * Converts every file matched by a directory or glob pattern.
+     *
+     * @param source       a directory or glob pattern of input files
+     * @param targetFormat the extension of the target format
+     * @param outputDir    the directory for output files, or null to write
+     *                     each output next to its input
+     * @param threads      the number of worker threads
+     * @return one result per matched file
+     */
+    public List<BatchResult> convertBatch(final String source,
+                                          final String targetFormat,
+                                          final String outputDir,
+                                          final int threads) {
+        return convertBatch(source, targetFormat, outputDir, threads,
+                CompressionOptions.DEFAULT);
+    }
+
+    /**
+     * Converts every file matched by a directory or glob pattern, any of
+     * which may be compressed.
+     *
+     * @param source       a directory or glob pattern of input files
+     * @param targetFormat the extension of the target format
+     * @param outputDir    the directory for output files, or null to write
+     *                     each output next to its input
+     * @param threads      the number of worker threads
+     * @param options      the compression settings
+     * @return one result per matched file
+     */
+    public List<BatchResult> convertBatch(final String source,
+                                          final String targetFormat,
+                                          final String outputDir,
+                                          final int threads,
+                                          final CompressionOptions options) {
+        return convertBatch(source, targetFormat, outputDir, threads,
+                options, null);
+    }
+
+    /**
+     * Converts every file matched by a directory or glob pattern, reusing
+     * cached results for inputs converted before.
+     *
+     * @param source       a directory or glob pattern of input files
+     * @param targetFormat the extension of the target format
+     * @param outputDir    the directory for output files, or null to write
+     *                     each output next to its input
+     * @param threads      the number of worker threads
+     * @param options      the compression settings
+     * @param cache        the cache of conversion results, or null to
+     *                     convert every file
+     * @return one result per matched file
+     */
+    public List<BatchResult> convertBatch(final String source,
+                                          final String targetFormat,
+                                          final String outputDir,
+                                          final int threads,
+                                          final CompressionOptions options,
+                                          final ConversionCache cache) {
+        return new BatchConverter(targetFormat, outputDir, threads, options,
+                cache).convert(source);
+    }
+
+    /**
+     * Converts many files concurrently, one virtual thread per file.
+     *
+     * @param jobs          output paths keyed by input path
+     * @param maxConcurrent the maximum number of conversions running at once
+     * @return one result per job, in the map's iteration order
+     */
+    public List<BatchResult> convertConcurrently(
+            final Map<String, String> jobs, final int maxConcurrent) {
+        try (ConcurrentConverter converter =
+                     new ConcurrentConverter(maxConcurrent)) {
+            return converter.convertAll(jobs);
+        }
     }
 
     /**
@@ -36,13 +414,41 @@ public class ConverterFacade {
                 return 0;
             }
 
+            if (cliParser.isServerMode()) {
+                return executeServer(cliParser);
+            }
+            if (cliParser.isBatchMode()) {
+                return executeBatch(cliParser);
+            }
+
             String inputPath = cliParser.getInputPath();
             String outputPath = cliParser.getOutputPath();
 
-            convert(inputPath, outputPath);
+            ConversionMetrics metrics = cliParser.isIncremental()
+                    ? convertIncrementally(
+                            inputPath, cliParser.getSourceFormat(),
+                            outputPath, cliParser.getTargetFormat(),
+                            cliParser.getCompressionOptions())
+                    : convert(
+                            inputPath, cliParser.getSourceFormat(),
+                            outputPath, cliParser.getTargetFormat(),
+                            cliParser.getCompressionOptions(),
+                            cache(cliParser), cliParser.isParallel());
 
-            System.out.println("Successfully converted '"
-                    + inputPath + "' to '" + outputPath + "'");
+            // keep standard output clean when it carries the converted data
+            PrintStream report =
+                    CliParser.STANDARD_STREAM.equals(outputPath)
+                            ? System.err : System.out;
+            if (report == System.out) {
+                System.out.println("Successfully converted '"
+                        + inputPath + "' to '" + outputPath + "'");
+            }
+            if (cliParser.isStatsRequested()) {
+                report.print(metrics.format());
+            }
+            if (cliParser.getStatsJsonPath() != null) {
+                writeStats(metrics, cliParser.getStatsJsonPath());
+            }
             return 0;
 
         } catch (ValidationException | ParseException | ConversionException e) {
@@ -54,4 +460,89 @@ public class ConverterFacade {
             return 1;
         }
     }
+
+    /**
+     * Creates the conversion cache configured on the command line.
+     *
+     * @param cliParser the parsed command-line arguments
+     * @return the cache, or null if caching is not enabled
+     */
+    private static ConversionCache cache(final CliParser cliParser) {
+        if (cliParser.getCacheDirectory() == null) {
+            return null;
+        }
+        return new ConversionCache(Paths.get(cliParser.getCacheDirectory()),
+                cliParser.getCacheSize());
+    }
+
+    /**
+     * Writes conversion metrics to a JSON file.
+     *
+     * @param metrics  the metrics to write
+     * @param filePath the path of the JSON file
+     * @throws ConversionException if the file cannot be written
+     */
+    private void writeStats(final ConversionMetrics metrics,
+                            final String filePath) {
+        try (Writer writer = FileIO.newWriter(Paths.get(filePath))) {
+            writer.write(metrics.toJson());
+            writer.write(System.lineSeparator());
+        } catch (IOException e) {
+            throw new ConversionException(
+                    "Error: Failed to write metrics file '"
+                            + filePath + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Runs the conversion server until the process is stopped.
+     *
+     * @param cliParser the parsed command-line arguments
+     * @return 0 once the server has stopped
+     * @throws InterruptedException if interrupted while serving
+     */
+    private int executeServer(final CliParser cliParser)
+            throws InterruptedException {
+        try (ConversionServer server = new ConversionServer(
+                cliParser.getPort(), cliParser.getThreads(),
+                cliParser.getQueueCapacity(), this,
+                cliParser.getCompressionOptions())) {
+            server.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+            System.out.println("Listening on http://127.0.0.1:"
+                    + server.getPort() + " (POST /convert, GET /health, "
+                    + "GET /metrics)");
+            server.awaitTermination();
+        }
+        return 0;
+    }
+
+    /**
+     * Runs a batch conversion and prints a per-file summary.
+     *
+     * @param cliParser the parsed command-line arguments
+     * @return 0 if every file converted, 1 otherwise
+     */
+    private int executeBatch(final CliParser cliParser) {
+        List<BatchResult> results = convertBatch(
+                cliParser.getBatchSource(), cliParser.getTargetFormat(),
+                cliParser.getOutputPath(), cliParser.getThreads(),
+                cliParser.getCompressionOptions(), cache(cliParser));
+
+        int failed = 0;
+        for (BatchResult result : results) {
+            if (result.isSuccess()) {
+                System.out.println("OK     '" + result.inputPath()
+                        + "' -> '" + result.outputPath() + "'");
+            } else {
+                failed++;
+                System.out.println("FAILED '" + result.inputPath()
+                        + "': " + result.errorMessage());
+            }
+        }
+
+        System.out.println("Converted " + (results.size() - failed)
+                + " of " + results.size() + " files, " + failed + " failed");
+        return failed == 0 ? 0 : 1;
+    }
 }
@@ -0,0 +1,166 @@
+package com.converter.columnar;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Layout constants and primitive encodings shared by the columnar reader
+ * and writer.
+ *
+ * <p>A file is laid out as follows; integers marked varint use the
+ * unsigned LEB128 encoding and strings are a varint byte length followed
+ * by UTF-8 bytes.
+ * <pre>
+ * header   MAGIC, VERSION
+ * block*   rows (varint), columns (varint),
+ *          { column index (varint), chunk length (varint), chunk }*
+ * footer   name count (varint), name*,
+ *          block count (varint), { offset (varint), rows (varint) }*
+ * trailer  footer length (4 bytes, big-endian), MAGIC
+ * </pre>
+ * A column chunk starts with its encoding byte. A {@link #DICTIONARY}
+ * chunk holds the distinct values followed by runs of
+ * {@code (length, id)} pairs, where id 0 marks an absent value and id
+ * {@code k} the k-th dictionary entry. A {@link #PLAIN} chunk holds one
+ * varint per row, 0 for an absent value or the byte length plus one
+ * followed by the bytes. Columns with no value in a block are omitted
+ * from that block.
+ */
+final class ColumnarFormat {
+
+    /**
+     * Bytes identifying a columnar file, at its start and end.
+     */
+    static final byte[] MAGIC = {'F', 'C', 'O', 'L'};
+
+    /**
+     * The format version written by this implementation.
+     */
+    static final byte VERSION = 1;
+
+    /**
+     * Length of the fixed header.
+     */
+    static final int HEADER_LENGTH = MAGIC.length + 1;
+
+    /**
+     * Length of the fixed trailer.
+     */
+    static final int TRAILER_LENGTH = Integer.BYTES + MAGIC.length;
+
+    /**
+     * Encoding byte of a dictionary-encoded column chunk.
+     */
+    static final byte DICTIONARY = 0;
+
+    /**
+     * Encoding byte of a plain column chunk.
+     */
+    static final byte PLAIN = 1;
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private ColumnarFormat() {
+    }
+
+    /**
+     * Writes an unsigned varint.
+     *
+     * @param out   the destination
+     * @param value the non-negative value to write
+     */
+    static void writeVarint(final ByteArrayOutputStream out, final long value) {
+        long v = value;
+        while ((v & ~0x7FL) != 0) {
+            out.write((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.write((int) v);
+    }
+
+    /**
+     * Writes a length-prefixed UTF-8 string.
+     *
+     * @param out   the destination
+     * @param value the string to write
+     */
+    static void writeString(final ByteArrayOutputStream out,
+                            final String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length);
+        out.writeBytes(bytes);
+    }
+
+    /**
+     * Reads an unsigned varint.
+     *
+     * @param in the source, positioned on the varint
+     * @return the value read
+     * @throws IOException if the varint is malformed or truncated
+     */
+    static long readVarint(final ByteBuffer in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            if (!in.hasRemaining()) {
+                throw new IOException("Unexpected end of data");
+            }
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    /**
+     * Reads an unsigned varint that must fit the given bound.
+     *
+     * @param in    the source, positioned on the varint
+     * @param limit the largest accepted value
+     * @return the value read
+     * @throws IOException if the value is malformed or out of range
+     */
+    static int readInt(final ByteBuffer in, final int limit)
+            throws IOException {
+        long value = readVarint(in);
+        if (value > limit) {
+            throw new IOException("Value " + value + " out of range");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Reads a string of the given byte length.
+     *
+     * @param in     the source, positioned on the string bytes
+     * @param length the byte length of the string
+     * @return the decoded string
+     * @throws IOException if fewer bytes remain than the length
+     */
+    static String readBytes(final ByteBuffer in, final int length)
+            throws IOException {
+        if (length > in.remaining()) {
+            throw new IOException("Unexpected end of data");
+        }
+        String value = new String(in.array(),
+                in.arrayOffset() + in.position(), length,
+                StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    /**
+     * Reads a length-prefixed UTF-8 string.
+     *
+     * @param in the source, positioned on the string
+     * @return the decoded string
+     * @throws IOException if the string is malformed or truncated
+     */
+    static String readString(final ByteBuffer in) throws IOException {
+        return readBytes(in, readInt(in, in.remaining()));
+    }
+}
@@ -0,0 +1,274 @@
+package com.converter.columnar;
+
+import com.converter.io.FileIO;
+import com.converter.model.RecordSchema;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads a file in the columnar format one block at a time.
+ *
+ * <p>The footer is read when the reader is opened, so the schema and the
+ * block index are available before any row is decoded. Blocks can be
+ * read in any order.
+ *
+ * @see ColumnarFormat
+ */
+public final class ColumnarReader implements Closeable {
+
+    /**
+     * The file being read.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The schema of every row in the file.
+     */
+    private final RecordSchema schema;
+
+    /**
+     * Start offset of each block, followed by the footer offset.
+     */
+    private final long[] offsets;
+
+    /**
+     * Row count of each block.
+     */
+    private final int[] rowCounts;
+
+    /**
+     * Opens a columnar file and reads its footer.
+     *
+     * @param path the file to read
+     * @throws IOException if the file cannot be read or is not a valid
+     *                     columnar file
+     */
+    public ColumnarReader(final Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < ColumnarFormat.HEADER_LENGTH
+                    + ColumnarFormat.TRAILER_LENGTH) {
+                throw new IOException("File is too short");
+            }
+
+            ByteBuffer header = read(0, ColumnarFormat.HEADER_LENGTH);
+            checkMagic(header);
+            byte version = header.get();
+            if (version != ColumnarFormat.VERSION) {
+                throw new IOException("Unsupported version " + version);
+            }
+
+            ByteBuffer trailer = read(size - ColumnarFormat.TRAILER_LENGTH,
+                    ColumnarFormat.TRAILER_LENGTH);
+            long footerLength = Integer.toUnsignedLong(trailer.getInt());
+            checkMagic(trailer);
+
+            long footerStart = size - ColumnarFormat.TRAILER_LENGTH
+                    - footerLength;
+            if (footerStart < ColumnarFormat.HEADER_LENGTH) {
+                throw new IOException("Invalid footer length");
+            }
+            ByteBuffer footer = read(footerStart, (int) footerLength);
+
+            String[] names = new String[ColumnarFormat.readInt(
+                    footer, footer.remaining())];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = ColumnarFormat.readString(footer);
+            }
+            this.schema = newSchema(names);
+
+            int blocks = ColumnarFormat.readInt(footer, footer.remaining());
+            this.offsets = new long[blocks + 1];
+            this.rowCounts = new int[blocks];
+            long previous = ColumnarFormat.HEADER_LENGTH;
+            for (int b = 0; b < blocks; b++) {
+                offsets[b] = ColumnarFormat.readVarint(footer);
+                rowCounts[b] = ColumnarFormat.readInt(
+                        footer, Integer.MAX_VALUE);
+                if (offsets[b] < previous || offsets[b] >= footerStart) {
+                    throw new IOException("Invalid offset of block " + b);
+                }
+                previous = offsets[b] + 1;
+            }
+            offsets[blocks] = footerStart;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the schema of every row in the file.
+     *
+     * @return the file schema
+     */
+    public RecordSchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Returns the number of blocks in the file.
+     *
+     * @return the block count
+     */
+    public int getBlockCount() {
+        return rowCounts.length;
+    }
+
+    /**
+     * Returns the number of rows in a block.
+     *
+     * @param block the block index
+     * @return the row count of the block
+     */
+    public int getRowCount(final int block) {
+        return rowCounts[block];
+    }
+
+    /**
+     * Returns the number of rows in the file.
+     *
+     * @return the total row count
+     */
+    public long getRowCount() {
+        return Arrays.stream(rowCounts).asLongStream().sum();
+    }
+
+    /**
+     * Reads and decodes one block.
+     *
+     * @param block the block index
+     * @return the rows of the block, each in schema column order with null
+     *         for an absent value
+     * @throws IOException if the block cannot be read or is corrupt
+     */
+    public String[][] readBlock(final int block) throws IOException {
+        long length = offsets[block + 1] - offsets[block];
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Block " + block + " is too large");
+        }
+        ByteBuffer in = read(offsets[block], (int) length);
+
+        int rowCount = ColumnarFormat.readInt(in, Integer.MAX_VALUE);
+        if (rowCount != rowCounts[block]) {
+            throw new IOException("Row count mismatch in block " + block);
+        }
+        int width = schema.size();
+        String[][] rows = new String[rowCount][width];
+
+        int columnCount = ColumnarFormat.readInt(in, width);
+        for (int i = 0; i < columnCount; i++) {
+            int column = ColumnarFormat.readInt(in, width - 1);
+            int chunkLength = ColumnarFormat.readInt(in, in.remaining());
+            decodeColumn(in.slice(in.position(), chunkLength), rows, column);
+            in.position(in.position() + chunkLength);
+        }
+        return rows;
+    }
+
+    /**
+     * Decodes one column chunk into the given rows.
+     *
+     * @param chunk  the encoded chunk
+     * @param rows   the rows to fill
+     * @param column the column index
+     * @throws IOException if the chunk is corrupt
+     */
+    private static void decodeColumn(final ByteBuffer chunk,
+                                     final String[][] rows,
+                                     final int column) throws IOException {
+        if (!chunk.hasRemaining()) {
+            throw new IOException("Empty column chunk");
+        }
+        byte encoding = chunk.get();
+
+        if (encoding == ColumnarFormat.DICTIONARY) {
+            String[] dictionary = new String[ColumnarFormat.readInt(
+                    chunk, chunk.remaining())];
+            for (int i = 0; i < dictionary.length; i++) {
+                dictionary[i] = ColumnarFormat.readString(chunk);
+            }
+            int r = 0;
+            while (r < rows.length) {
+                int run = ColumnarFormat.readInt(chunk, rows.length - r);
+                int id = ColumnarFormat.readInt(chunk, dictionary.length);
+                if (run == 0) {
+                    throw new IOException("Empty run in column " + column);
+                }
+                String value = id == 0 ? null : dictionary[id - 1];
+                for (int end = r + run; r < end; r++) {
+                    rows[r][column] = value;
+                }
+            }
+        } else if (encoding == ColumnarFormat.PLAIN) {
+            for (String[] row : rows) {
+                int length = ColumnarFormat.readInt(chunk, chunk.remaining() + 1);
+                if (length > 0) {
+                    row[column] = ColumnarFormat.readBytes(chunk, length - 1);
+                }
+            }
+        } else {
+            throw new IOException("Unknown encoding " + encoding
+                    + " in column " + column);
+        }
+    }
+
+    /**
+     * Builds the file schema, rejecting duplicate names.
+     *
+     * @param names the column names
+     * @return the schema
+     * @throws IOException if the names are not a valid schema
+     */
+    private static RecordSchema newSchema(final String[] names)
+            throws IOException {
+        if (!RecordSchema.isValid(names)) {
+            throw new IOException("Invalid column names");
+        }
+        return new RecordSchema(names);
+    }
+
+    /**
+     * Checks that the buffer continues with the magic bytes.
+     *
+     * @param in the buffer to check
+     * @throws IOException if the magic bytes do not match
+     */
+    private static void checkMagic(final ByteBuffer in) throws IOException {
+        byte[] magic = new byte[ColumnarFormat.MAGIC.length];
+        in.get(magic);
+        if (!Arrays.equals(magic, ColumnarFormat.MAGIC)) {
+            throw new IOException("Not a columnar file");
+        }
+    }
+
+    /**
+     * Reads a range of the file, memory-mapping large blocks.
+     *
+     * @param position the offset of the first byte
+     * @param length   the number of bytes to read
+     * @return a buffer holding the bytes, positioned at zero
+     * @throws IOException if the range cannot be read in full
+     */
+    private ByteBuffer read(final long position, final int length)
+            throws IOException {
+        return FileIO.read(channel, position, length);
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
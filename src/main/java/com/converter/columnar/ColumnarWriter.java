@@ -0,0 +1,267 @@
+package com.converter.columnar;
+
+import com.converter.model.DataRecord;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes records to a stream in the columnar format.
+ *
+ * <p>Rows are buffered until a block is full, then each column of the
+ * block is encoded and written. The schema grows as new field names
+ * appear, so records need not share the same fields; a field missing
+ * from a record is stored as absent. The footer is written on close.
+ *
+ * @see ColumnarFormat
+ */
+public final class ColumnarWriter implements Closeable {
+
+    /**
+     * Default number of rows per block.
+     */
+    public static final int DEFAULT_BLOCK_ROWS = 16 * 1024;
+
+    /**
+     * The destination stream.
+     */
+    private final OutputStream out;
+
+    /**
+     * The maximum number of rows per block.
+     */
+    private final int blockRows;
+
+    /**
+     * Column index by field name.
+     */
+    private final Map<String, Integer> columns = new HashMap<>();
+
+    /**
+     * Field names in column order.
+     */
+    private final List<String> names = new ArrayList<>();
+
+    /**
+     * Rows of the current block, each as wide as the schema was when the
+     * row was added.
+     */
+    private final List<String[]> rows = new ArrayList<>();
+
+    /**
+     * Block index entries written so far.
+     */
+    private final ByteArrayOutputStream index = new ByteArrayOutputStream();
+
+    /**
+     * Reused buffer for one encoded column chunk.
+     */
+    private final ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+
+    /**
+     * The number of blocks written so far.
+     */
+    private int blockCount;
+
+    /**
+     * The number of bytes written to the stream so far.
+     */
+    private long position;
+
+    /**
+     * Whether this writer has been closed.
+     */
+    private boolean closed;
+
+    /**
+     * Constructs a writer and writes the file header.
+     *
+     * @param output       the destination stream, closed with this writer
+     * @param rowsPerBlock the maximum number of rows per block
+     * @throws IOException if the header cannot be written
+     * @throws IllegalArgumentException if the block size is not positive
+     */
+    public ColumnarWriter(final OutputStream output, final int rowsPerBlock)
+            throws IOException {
+        if (rowsPerBlock <= 0) {
+            throw new IllegalArgumentException(
+                    "Block size must be positive: " + rowsPerBlock);
+        }
+        this.out = output;
+        this.blockRows = rowsPerBlock;
+
+        out.write(ColumnarFormat.MAGIC);
+        out.write(ColumnarFormat.VERSION);
+        position = ColumnarFormat.HEADER_LENGTH;
+    }
+
+    /**
+     * Appends a record.
+     *
+     * @param record the record to write
+     * @throws IOException if a full block cannot be written
+     */
+    public void write(final DataRecord record) throws IOException {
+        record.forEachField((name, value) -> columns.computeIfAbsent(name,
+                key -> {
+                    names.add(key);
+                    return names.size() - 1;
+                }));
+
+        String[] row = new String[names.size()];
+        record.forEachField((name, value) -> row[columns.get(name)] = value);
+        rows.add(row);
+
+        if (rows.size() >= blockRows) {
+            flushBlock();
+        }
+    }
+
+    /**
+     * Encodes and writes the buffered rows as one block.
+     *
+     * @throws IOException if the block cannot be written
+     */
+    private void flushBlock() throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        int written = 0;
+        for (int column = 0; column < names.size(); column++) {
+            chunk.reset();
+            if (encodeColumn(column)) {
+                ColumnarFormat.writeVarint(body, column);
+                ColumnarFormat.writeVarint(body, chunk.size());
+                chunk.writeTo(body);
+                written++;
+            }
+        }
+
+        ByteArrayOutputStream block = new ByteArrayOutputStream(
+                body.size() + 10);
+        ColumnarFormat.writeVarint(block, rows.size());
+        ColumnarFormat.writeVarint(block, written);
+        body.writeTo(block);
+
+        ColumnarFormat.writeVarint(index, position);
+        ColumnarFormat.writeVarint(index, rows.size());
+        blockCount++;
+
+        block.writeTo(out);
+        position += block.size();
+        rows.clear();
+    }
+
+    /**
+     * Encodes one column of the buffered rows into the chunk buffer.
+     *
+     * <p>Dictionary encoding is used when the column has at most half as
+     * many distinct values as rows; otherwise values are stored plain.
+     *
+     * @param column the column index
+     * @return false if the column has no value in any buffered row
+     */
+    private boolean encodeColumn(final int column) {
+        int rowCount = rows.size();
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> distinct = new ArrayList<>();
+        int[] ids = new int[rowCount];
+        boolean present = false;
+
+        for (int r = 0; r < rowCount; r++) {
+            String value = valueAt(r, column);
+            if (value != null) {
+                present = true;
+                ids[r] = dictionary.computeIfAbsent(value, key -> {
+                    distinct.add(key);
+                    return distinct.size();
+                });
+            }
+        }
+        if (!present) {
+            return false;
+        }
+
+        if (distinct.size() <= rowCount / 2) {
+            chunk.write(ColumnarFormat.DICTIONARY);
+            ColumnarFormat.writeVarint(chunk, distinct.size());
+            for (String value : distinct) {
+                ColumnarFormat.writeString(chunk, value);
+            }
+            int r = 0;
+            while (r < rowCount) {
+                int run = 1;
+                while (r + run < rowCount && ids[r + run] == ids[r]) {
+                    run++;
+                }
+                ColumnarFormat.writeVarint(chunk, run);
+                ColumnarFormat.writeVarint(chunk, ids[r]);
+                r += run;
+            }
+        } else {
+            chunk.write(ColumnarFormat.PLAIN);
+            for (int r = 0; r < rowCount; r++) {
+                String value = valueAt(r, column);
+                if (value == null) {
+                    ColumnarFormat.writeVarint(chunk, 0);
+                } else {
+                    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                    ColumnarFormat.writeVarint(chunk, bytes.length + 1L);
+                    chunk.writeBytes(bytes);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a buffered value.
+     *
+     * @param row    the row index within the block
+     * @param column the column index
+     * @return the value, or null if absent
+     */
+    private String valueAt(final int row, final int column) {
+        String[] values = rows.get(row);
+        return column < values.length ? values[column] : null;
+    }
+
+    /**
+     * Writes any buffered rows and the footer, then closes the stream.
+     *
+     * @throws IOException if the data cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try (OutputStream output = out) {
+            if (!rows.isEmpty()) {
+                flushBlock();
+            }
+
+            ByteArrayOutputStream footer = new ByteArrayOutputStream();
+            ColumnarFormat.writeVarint(footer, names.size());
+            for (String name : names) {
+                ColumnarFormat.writeString(footer, name);
+            }
+            ColumnarFormat.writeVarint(footer, blockCount);
+            index.writeTo(footer);
+
+            int length = footer.size();
+            footer.write(length >>> 24);
+            footer.write(length >>> 16);
+            footer.write(length >>> 8);
+            footer.write(length);
+            footer.writeBytes(ColumnarFormat.MAGIC);
+            footer.writeTo(output);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+/**
+ * Binary columnar file format for the file converter application.
+ *
+ * <p>Files are split into blocks of rows. Within a block each column is
+ * stored separately, either dictionary-encoded with run-length encoded
+ * ids or as plain values, and a footer holds the schema and an index of
+ * block offsets so readers can locate blocks without scanning.
+ */
+package com.converter.columnar;
@@ -0,0 +1,141 @@
+package com.converter.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compression codecs available through the JDK.
+ */
+public enum Codec {
+
+    /**
+     * The gzip format.
+     */
+    GZIP("gz") {
+        @Override
+        public InputStream decompress(final InputStream input,
+                                      final CompressionOptions options)
+                throws IOException {
+            return new GZIPInputStream(input, options.bufferSize());
+        }
+
+        @Override
+        public OutputStream compress(final OutputStream output,
+                                     final CompressionOptions options)
+                throws IOException {
+            return new GZIPOutputStream(output, options.bufferSize()) {
+                {
+                    def.setLevel(options.level());
+                }
+            };
+        }
+    },
+
+    /**
+     * The zlib format produced by {@link Deflater}.
+     */
+    DEFLATE("deflate") {
+        @Override
+        public InputStream decompress(final InputStream input,
+                                      final CompressionOptions options) {
+            Inflater inflater = new Inflater();
+            return new InflaterInputStream(
+                    input, inflater, options.bufferSize()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        inflater.end();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public OutputStream compress(final OutputStream output,
+                                     final CompressionOptions options) {
+            Deflater deflater = new Deflater(options.level());
+            return new DeflaterOutputStream(
+                    output, deflater, options.bufferSize()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        deflater.end();
+                    }
+                }
+            };
+        }
+    };
+
+    /**
+     * The file extension selecting this codec, without the dot.
+     */
+    private final String extension;
+
+    /**
+     * Constructs a codec.
+     *
+     * @param fileExtension the file extension selecting this codec
+     */
+    Codec(final String fileExtension) {
+        this.extension = fileExtension;
+    }
+
+    /**
+     * Returns the file extension selecting this codec.
+     *
+     * @return the extension, without the dot
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Finds the codec selected by a file extension.
+     *
+     * @param extension the file extension, without the dot
+     * @return the codec, or null if the extension selects none
+     */
+    public static Codec forExtension(final String extension) {
+        for (Codec codec : values()) {
+            if (codec.extension.equalsIgnoreCase(extension)) {
+                return codec;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Wraps a stream so that reading it yields decompressed bytes.
+     *
+     * @param input   the compressed stream, closed with the returned one
+     * @param options the buffer settings
+     * @return the decompressing stream
+     * @throws IOException if the stream header cannot be read
+     */
+    public abstract InputStream decompress(InputStream input,
+                                           CompressionOptions options)
+            throws IOException;
+
+    /**
+     * Wraps a stream so that bytes written to it are compressed.
+     *
+     * @param output  the destination stream, closed with the returned one
+     * @param options the level and buffer settings
+     * @return the compressing stream
+     * @throws IOException if the stream header cannot be written
+     */
+    public abstract OutputStream compress(OutputStream output,
+                                          CompressionOptions options)
+            throws IOException;
+}
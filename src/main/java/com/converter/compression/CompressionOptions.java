@@ -0,0 +1,37 @@
+package com.converter.compression;
+
+import java.util.zip.Deflater;
+
+/**
+ * Settings trading CPU time against I/O volume for compressed files.
+ *
+ * @param level      the compression level, from 0 (none) to 9 (best), or
+ *                   -1 for the codec default
+ * @param bufferSize the size in bytes of the codec's internal buffer
+ */
+public record CompressionOptions(int level, int bufferSize) {
+
+    /**
+     * The default settings: the codec's default level and a 64 KiB buffer.
+     */
+    public static final CompressionOptions DEFAULT = new CompressionOptions(
+            Deflater.DEFAULT_COMPRESSION, 64 * 1024);
+
+    /**
+     * Validates the settings.
+     *
+     * @throws IllegalArgumentException if the level or buffer size is out
+     *                                  of range
+     */
+    public CompressionOptions {
+        if (level < Deflater.DEFAULT_COMPRESSION
+                || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException(
+                    "Compression level must be between -1 and 9: " + level);
+        }
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException(
+                    "Buffer size must be positive: " + bufferSize);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+/**
+ * Compression codecs for the file converter application.
+ *
+ * <p>Codecs are selected by a trailing file extension such as
+ * {@code .gz} and wrap the streams read by parsers and written by
+ * generators, so compressed files are processed without being expanded
+ * on disk.
+ */
+package com.converter.compression;
@@ -0,0 +1,389 @@
+package com.converter.converter;
+
+import com.converter.compression.CompressionOptions;
+import com.converter.exception.ConversionException;
+import com.converter.exception.ValidationException;
+import com.converter.generator.Generator;
+import com.converter.generator.GeneratorFactory;
+import com.converter.parser.Parser;
+import com.converter.parser.ParserFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Converts many files to one target format within a single process.
+ *
+ * <p>Files are converted on a bounded worker pool. Parsers and the
+ * generator are the factories' shared instances, used by all workers.
+ */
+public class BatchConverter {
+
+    /**
+     * Characters that mark a path as a glob pattern.
+     */
+    private static final String GLOB_CHARS = "*?[{";
+
+    /**
+     * The extension of the target format.
+     */
+    private final String targetFormat;
+
+    /**
+     * The directory for output files, or null to write next to inputs.
+     */
+    private final String outputDir;
+
+    /**
+     * The number of worker threads.
+     */
+    private final int threads;
+
+    /**
+     * The generator shared across conversions.
+     */
+    private final Generator generator;
+
+    /**
+     * The compression settings for compressed inputs and outputs.
+     */
+    private final CompressionOptions compression;
+
+    /**
+     * The cache of earlier conversion results, or null to convert every
+     * file.
+     */
+    private final ConversionCache cache;
+
+    /**
+     * Constructs a batch converter with the default compression settings.
+     *
+     * @param format          the extension of the target format
+     * @param outputDirectory the directory for output files, or null to
+     *                        write each output next to its input
+     * @param workerThreads   the number of worker threads
+     * @throws ConversionException if the target format is not supported
+     * @throws ValidationException if the thread count is not positive
+     */
+    public BatchConverter(final String format, final String outputDirectory,
+                          final int workerThreads) {
+        this(format, outputDirectory, workerThreads,
+                CompressionOptions.DEFAULT);
+    }
+
+    /**
+     * Constructs a batch converter.
+     *
+     * @param format          the extension of the target format, such as
+     *                        {@code json} or {@code csv.gz}
+     * @param outputDirectory the directory for output files, or null to
+     *                        write each output next to its input
+     * @param workerThreads   the number of worker threads
+     * @param options         the compression settings for compressed
+     *                        inputs and outputs
+     * @throws ConversionException if the target format is not supported
+     * @throws ValidationException if the thread count is not positive
+     */
+    public BatchConverter(final String format, final String outputDirectory,
+                          final int workerThreads,
+                          final CompressionOptions options) {
+        this(format, outputDirectory, workerThreads, options, null);
+    }
+
+    /**
+     * Constructs a batch converter that reuses cached results for inputs
+     * converted before.
+     *
+     * @param format          the extension of the target format, such as
+     *                        {@code json} or {@code csv.gz}
+     * @param outputDirectory the directory for output files, or null to
+     *                        write each output next to its input
+     * @param workerThreads   the number of worker threads
+     * @param options         the compression settings for compressed
+     *                        inputs and outputs
+     * @param resultCache     the cache of conversion results, or null to
+     *                        convert every file
+     * @throws ConversionException if the target format is not supported
+     * @throws ValidationException if the thread count is not positive
+     */
+    public BatchConverter(final String format, final String outputDirectory,
+                          final int workerThreads,
+                          final CompressionOptions options,
+                          final ConversionCache resultCache) {
+        if (workerThreads < 1) {
+            throw new ValidationException(
+                    "Error: Thread count must be a positive integer");
+        }
+        this.generator = GeneratorFactory.createGeneratorByExtension(
+                format, options);
+        this.compression = options;
+        this.targetFormat = format.toLowerCase();
+        this.outputDir = outputDirectory;
+        this.threads = workerThreads;
+        this.cache = resultCache;
+    }
+
+    /**
+     * Converts every file matched by a directory or glob pattern.
+     *
+     * <p>A directory matches its regular files with a supported extension;
+     * subdirectories are not searched. A glob such as
+     * {@code data/*.csv} or {@code data/**.json} matches paths as written.
+     *
+     * @param source a directory or glob pattern
+     * @return one result per matched file, in path order
+     * @throws ValidationException if the source matches no files
+     */
+    public List<BatchResult> convert(final String source) {
+        List<Path> inputs = findInputs(source);
+        if (inputs.isEmpty()) {
+            throw new ValidationException(
+                    "Error: No input files match '" + source + "'");
+        }
+
+        Map<Path, String> conflicts = findConflicts(inputs);
+
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(threads, inputs.size()));
+        try {
+            List<Future<BatchResult>> futures = new ArrayList<>();
+            for (Path input : inputs) {
+                String conflict = conflicts.get(input);
+                futures.add(conflict == null
+                        ? executor.submit(() -> convertOne(input))
+                        : CompletableFuture.completedFuture(new BatchResult(
+                                input.toString(), outputPathFor(input),
+                                conflict)));
+            }
+
+            List<BatchResult> results = new ArrayList<>();
+            for (int i = 0; i < futures.size(); i++) {
+                results.add(await(futures.get(i), inputs.get(i)));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Finds inputs whose output would clash with an input or with the
+     * output of another input.
+     *
+     * @param inputs the matched input files
+     * @return an error message for each conflicting input
+     */
+    private Map<Path, String> findConflicts(final List<Path> inputs) {
+        Set<Path> inputSet = new HashSet<>();
+        Map<Path, List<Path>> byOutput = new HashMap<>();
+        for (Path input : inputs) {
+            inputSet.add(normalize(input));
+            byOutput.computeIfAbsent(normalize(Paths.get(outputPathFor(input))),
+                    k -> new ArrayList<>()).add(input);
+        }
+
+        Map<Path, String> conflicts = new HashMap<>();
+        for (Map.Entry<Path, List<Path>> entry : byOutput.entrySet()) {
+            List<Path> sources = entry.getValue();
+            for (Path input : sources) {
+                if (entry.getKey().equals(normalize(input))) {
+                    conflicts.put(input, "Error: Input is already in ."
+                            + targetFormat + " format");
+                } else if (inputSet.contains(entry.getKey())) {
+                    conflicts.put(input, "Error: Output '" + entry.getKey()
+                            + "' would overwrite another input file");
+                } else if (sources.size() > 1) {
+                    conflicts.put(input, "Error: Output '" + entry.getKey()
+                            + "' would be written by more than one input");
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * Converts a path to a normalized absolute path for comparison.
+     *
+     * @param path the path
+     * @return the normalized absolute path
+     */
+    private static Path normalize(final Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Converts a single file, capturing any failure in the result.
+     *
+     * @param input the input file
+     * @return the conversion result
+     */
+    private BatchResult convertOne(final Path input) {
+        String inputPath = input.toString();
+        String outputPath = outputPathFor(input);
+        return BatchResult.capture(inputPath, outputPath, () -> {
+            Parser parser = ParserFactory.createParser(inputPath, compression);
+            FileConverter converter = new FileConverter(parser, generator);
+            if (cache != null) {
+                cache.convert(converter, inputPath, outputPath, compression);
+            } else {
+                converter.convert(inputPath, outputPath);
+            }
+        });
+    }
+
+    /**
+     * Waits for a conversion task to finish.
+     *
+     * @param future the conversion task
+     * @param input  the input file of the task
+     * @return the conversion result
+     */
+    private BatchResult await(final Future<BatchResult> future,
+                              final Path input) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            return new BatchResult(input.toString(), null,
+                    "Error: An unexpected error occurred: "
+                            + e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConversionException(
+                    "Error: Batch conversion was interrupted", e);
+        }
+    }
+
+    /**
+     * Determines the output path for an input file.
+     *
+     * @param input the input file
+     * @return the output path with the target extension
+     */
+    private String outputPathFor(final Path input) {
+        String name = input.getFileName().toString();
+        String baseName = name;
+        try {
+            int extensionDot = name.length()
+                    - ParserFactory.getFileExtension(name).length() - 1;
+            if (extensionDot > 0) {
+                baseName = name.substring(0, extensionDot);
+            }
+        } catch (ConversionException e) {
+            // no extension to replace; the conversion itself will fail
+        }
+        String fileName = baseName + "." + targetFormat;
+
+        if (outputDir != null) {
+            return new File(outputDir, fileName).getPath();
+        }
+        Path parent = input.getParent();
+        return parent != null
+                ? parent.resolve(fileName).toString() : fileName;
+    }
+
+    /**
+     * Lists the input files matched by a directory or glob pattern.
+     *
+     * @param source a directory or glob pattern
+     * @return the matched files in path order
+     * @throws ValidationException if the source cannot be listed
+     */
+    private List<Path> findInputs(final String source) {
+        if (source == null || source.trim().isEmpty()) {
+            throw new ValidationException(
+                    "Error: Batch input cannot be empty");
+        }
+
+        Path directory = Paths.get(source);
+        boolean glob = source.chars().anyMatch(c -> GLOB_CHARS.indexOf(c) >= 0);
+
+        if (!glob) {
+            if (!Files.isDirectory(directory)) {
+                throw new ValidationException(
+                        "Error: '" + source + "' is not a directory");
+            }
+            try (Stream<Path> files = Files.list(directory)) {
+                return files.filter(Files::isRegularFile)
+                        .filter(this::isSupported)
+                        .sorted()
+                        .toList();
+            } catch (IOException e) {
+                throw new ValidationException(
+                        "Error: Cannot list directory '" + source + "': "
+                                + e.getMessage(), e);
+            }
+        }
+
+        PathMatcher matcher =
+                FileSystems.getDefault().getPathMatcher("glob:" + source);
+        Path base = globBase(source);
+        if (!Files.isDirectory(base)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.walk(base)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(matcher::matches)
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new ValidationException(
+                    "Error: Cannot list directory '" + base + "': "
+                            + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the deepest directory of a glob pattern that has no glob
+     * characters.
+     *
+     * @param pattern the glob pattern
+     * @return the directory to search
+     */
+    private static Path globBase(final String pattern) {
+        int firstGlob = pattern.length();
+        for (int i = 0; i < pattern.length(); i++) {
+            if (GLOB_CHARS.indexOf(pattern.charAt(i)) >= 0) {
+                firstGlob = i;
+                break;
+            }
+        }
+        int lastSeparator = Math.max(
+                pattern.lastIndexOf('/', firstGlob),
+                pattern.lastIndexOf(File.separatorChar, firstGlob));
+        return lastSeparator >= 0
+                ? Paths.get(pattern.substring(0, lastSeparator + 1))
+                : Paths.get("");
+    }
+
+    /**
+     * Checks whether a file has an extension with a known parser.
+     *
+     * @param file the file to check
+     * @return true if the file can be parsed
+     */
+    private boolean isSupported(final Path file) {
+        try {
+            ParserFactory.createParser(file.toString());
+            return true;
+        } catch (ConversionException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.converter.converter;
+
+import com.converter.exception.ConversionException;
+import com.converter.exception.ParseException;
+import com.converter.exception.ValidationException;
+
+/**
+ * Outcome of converting one file in a batch.
+ *
+ * @param inputPath    the path of the input file
+ * @param outputPath   the path of the output file, or null if none was
+ *                     determined
+ * @param errorMessage the error message, or null if the conversion
+ *                     succeeded
+ */
+public record BatchResult(String inputPath, String outputPath,
+                          String errorMessage) {
+
+    /**
+     * Checks whether the conversion succeeded.
+     *
+     * @return true if no error occurred
+     */
+    public boolean isSuccess() {
+        return errorMessage == null;
+    }
+
+    /**
+     * Runs a conversion and captures its outcome.
+     *
+     * @param inputPath  the path of the input file
+     * @param outputPath the path of the output file
+     * @param conversion the conversion to run
+     * @return a successful result, or a failed one carrying the error
+     */
+    static BatchResult capture(final String inputPath, final String outputPath,
+                               final Runnable conversion) {
+        try {
+            conversion.run();
+            return new BatchResult(inputPath, outputPath, null);
+        } catch (ValidationException | ParseException | ConversionException e) {
+            return new BatchResult(inputPath, outputPath, e.getMessage());
+        } catch (RuntimeException e) {
+            return new BatchResult(inputPath, outputPath,
+                    "Error: An unexpected error occurred: " + e.getMessage());
+        }
+    }
+}
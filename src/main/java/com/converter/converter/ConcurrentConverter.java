@@ -0,0 +1,101 @@
+package com.converter.converter;
+
+import com.converter.exception.ValidationException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs many independent file conversions concurrently on virtual threads.
+ *
+ * <p>Each conversion gets its own virtual thread, so blocking file I/O
+ * does not tie up a platform thread. A semaphore caps how many
+ * conversions run at the same time; waiting conversions park cheaply.
+ */
+public class ConcurrentConverter implements AutoCloseable {
+
+    /**
+     * Executor starting one virtual thread per conversion.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Permits limiting the number of conversions running at once.
+     */
+    private final Semaphore permits;
+
+    /**
+     * Constructs a converter running at most the given number of
+     * conversions at once.
+     *
+     * @param maxConcurrent the concurrency limit
+     * @throws ValidationException if the limit is not positive
+     */
+    public ConcurrentConverter(final int maxConcurrent) {
+        if (maxConcurrent < 1) {
+            throw new ValidationException(
+                    "Error: Concurrency limit must be a positive integer");
+        }
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Schedules a single conversion.
+     *
+     * @param inputPath  the path to the input file
+     * @param outputPath the path to the output file
+     * @return a future completing with the conversion result
+     */
+    public CompletableFuture<BatchResult> submit(final String inputPath,
+                                                 final String outputPath) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new BatchResult(inputPath, outputPath,
+                        "Error: Conversion was interrupted");
+            }
+            try {
+                return BatchResult.capture(inputPath, outputPath,
+                        () -> new FileConverter(inputPath, outputPath)
+                                .convert(inputPath, outputPath));
+            } finally {
+                permits.release();
+            }
+        }, executor);
+    }
+
+    /**
+     * Runs all conversions and waits for them to finish.
+     *
+     * @param jobs output paths keyed by input path
+     * @return one result per job, in the map's iteration order
+     */
+    public List<BatchResult> convertAll(final Map<String, String> jobs) {
+        List<CompletableFuture<BatchResult>> futures = new ArrayList<>();
+        for (Map.Entry<String, String> job : jobs.entrySet()) {
+            futures.add(submit(job.getKey(), job.getValue()));
+        }
+
+        List<BatchResult> results = new ArrayList<>();
+        for (CompletableFuture<BatchResult> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    /**
+     * Waits for scheduled conversions to finish and stops the executor.
+     */
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
@@ -0,0 +1,426 @@
+package com.converter.converter;
+
+import com.converter.compression.CompressionOptions;
+import com.converter.io.FileIO;
+import com.converter.metrics.ConversionMetrics;
+import com.converter.metrics.MetricsRecorder;
+import com.converter.metrics.Phase;
+import com.converter.validator.DataValidator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Directory of earlier conversion outputs, reused when the same input is
+ * converted again with the same settings.
+ *
+ * <p>An entry is keyed by the SHA-256 hash of the input's content, the
+ * source and target formats and the compression settings, so renaming or
+ * touching an input still hits while any change to its bytes misses. A
+ * hit hard-links the cached file to the output path, or copies it where
+ * links are not supported, without parsing the input.
+ *
+ * <p>Each entry is a data file named by its key and a {@code .meta} file
+ * holding the record count and the data file's size and modification
+ * time. Because a hard-linked output shares the cached file, an output
+ * later rewritten in place would change the entry too; such entries no
+ * longer match their metadata and are discarded on the next lookup. The
+ * total size of the data files is kept under a limit by evicting the
+ * least recently used entries, as recorded by the modification time of
+ * their metadata files.
+ *
+ * <p>The cache is an optimisation only: if it cannot be read or written,
+ * a warning is printed and the input is converted as usual. A cache may
+ * be shared by concurrent conversions.
+ */
+public final class ConversionCache {
+
+    /**
+     * Default limit on the total size of cached outputs, 1 GiB.
+     */
+    public static final long DEFAULT_MAX_BYTES = 1024L * 1024 * 1024;
+
+    /**
+     * Version of the entry layout and output formats, part of every key.
+     */
+    private static final String VERSION = "1";
+
+    /**
+     * Suffix of entry metadata files.
+     */
+    private static final String META_SUFFIX = ".meta";
+
+    /**
+     * Suffix of files being written into the cache.
+     */
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /**
+     * Size of the buffer the input is hashed through.
+     */
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The directory holding the entries.
+     */
+    private final Path directory;
+
+    /**
+     * The limit on the total size of cached outputs.
+     */
+    private final long maxBytes;
+
+    /**
+     * The metadata of a cached output.
+     *
+     * @param records  the number of records converted
+     * @param size     the size of the data file
+     * @param modified the modification time of the data file, in
+     *                 nanoseconds since the epoch
+     */
+    private record Meta(long records, long size, long modified) {
+    }
+
+    /**
+     * Constructs a cache in the given directory, which is created on
+     * first use.
+     *
+     * @param cacheDirectory the directory holding the entries
+     * @param maxSize        the limit on the total size of cached outputs
+     * @throws IllegalArgumentException if the limit is not positive
+     */
+    public ConversionCache(final Path cacheDirectory, final long maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException(
+                    "Cache size must be positive: " + maxSize);
+        }
+        this.directory = cacheDirectory;
+        this.maxBytes = maxSize;
+    }
+
+    /**
+     * Converts a file, reusing a cached output if the same input was
+     * converted before with the same formats and settings.
+     *
+     * <p>On a hit the returned metrics hold the cached record count and
+     * charge the time spent hashing the input to validation; on a miss
+     * they are those of the conversion, which is then cached.
+     *
+     * @param converter  the converter to run on a miss
+     * @param inputPath  the path to the input file
+     * @param outputPath the path to the output file
+     * @param options    the compression settings the converter uses
+     * @return the metrics of the conversion
+     */
+    public ConversionMetrics convert(final FileConverter converter,
+                                     final String inputPath,
+                                     final String outputPath,
+                                     final CompressionOptions options) {
+        MetricsRecorder metrics = new MetricsRecorder();
+        metrics.enter(Phase.VALIDATE);
+        DataValidator.validateInputFile(inputPath);
+        DataValidator.validateOutputFile(outputPath);
+        Path input = Paths.get(inputPath);
+        Path output = Paths.get(outputPath);
+
+        String key;
+        try {
+            key = key(input, converter.getParser().getSupportedExtension(),
+                    converter.getGenerator().getConfiguration(),
+                    options);
+        } catch (IOException e) {
+            warn(e);
+            return converter.convertWithMetrics(inputPath, outputPath);
+        }
+
+        Meta hit = fetch(key, output);
+        if (hit != null) {
+            metrics.addBytesRead(Phase.VALIDATE, input.toFile().length());
+            return metrics.finish(inputPath, outputPath, hit.records());
+        }
+
+        detach(output);
+        ConversionMetrics result =
+                converter.convertWithMetrics(inputPath, outputPath);
+        store(key, output, result.getRecordCount());
+        return result;
+    }
+
+    /**
+     * Computes the key of a conversion.
+     *
+     * @param input   the input file
+     * @param from    the source format extension
+     * @param to      the target format and its settings, as described by
+     *                {@link com.converter.generator.Generator#getConfiguration()}
+     * @param options the compression settings
+     * @return the hexadecimal SHA-256 hash of the input and settings
+     * @throws IOException if the input cannot be read
+     */
+    static String key(final Path input, final String from, final String to,
+                      final CompressionOptions options) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        try (InputStream in = FileIO.openInput(input)) {
+            byte[] buffer = new byte[HASH_BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        digest.update(("\n" + VERSION + "\n" + from + "\n" + to + "\n"
+                + options.level() + "\n" + options.bufferSize())
+                .getBytes(FileIO.CHARSET));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Places a cached output at the output path.
+     *
+     * @param key    the key of the conversion
+     * @param output the output path
+     * @return the entry's metadata, or null on a miss
+     */
+    private Meta fetch(final String key, final Path output) {
+        Path data = directory.resolve(key);
+        Path metaFile = directory.resolve(key + META_SUFFIX);
+        try {
+            Meta meta = readMeta(metaFile);
+            if (meta == null) {
+                return null;
+            }
+            if (!meta.equals(describe(data, meta.records()))) {
+                remove(key);
+                return null;
+            }
+            Path parent = output.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.deleteIfExists(output);
+            link(data, output);
+            Files.setLastModifiedTime(metaFile,
+                    FileTime.fromMillis(System.currentTimeMillis()));
+            return meta;
+        } catch (NoSuchFileException e) {
+            // evicted by a concurrent conversion
+            return null;
+        } catch (IOException e) {
+            warn(e);
+            return null;
+        }
+    }
+
+    /**
+     * Adds a freshly written output to the cache and evicts entries over
+     * the size limit.
+     *
+     * @param key     the key of the conversion
+     * @param output  the output file
+     * @param records the number of records converted
+     */
+    private void store(final String key, final Path output,
+                       final long records) {
+        try {
+            if (Files.size(output) > maxBytes) {
+                return;
+            }
+            Files.createDirectories(directory);
+            String unique = "-" + ProcessHandle.current().pid() + "-"
+                    + Thread.currentThread().threadId() + TEMP_SUFFIX;
+            Path data = directory.resolve(key);
+            Path tempData = directory.resolve(key + unique);
+            Files.deleteIfExists(tempData);
+            link(output, tempData);
+            Files.move(tempData, data, StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+
+            Path tempMeta = directory.resolve(key + META_SUFFIX + unique);
+            writeMeta(tempMeta, describe(data, records));
+            Files.move(tempMeta, directory.resolve(key + META_SUFFIX),
+                    StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+            evict();
+        } catch (IOException e) {
+            warn(e);
+        }
+    }
+
+    /**
+     * Removes the least recently used entries until the cached outputs
+     * fit the size limit.
+     *
+     * @throws IOException if the directory cannot be listed
+     */
+    private synchronized void evict() throws IOException {
+        record Used(String key, long size, long lastUsed) {
+        }
+        List<Used> entries = new ArrayList<>();
+        long total = 0;
+        try (DirectoryStream<Path> metas = Files.newDirectoryStream(
+                directory, "*" + META_SUFFIX)) {
+            for (Path metaFile : metas) {
+                String name = metaFile.getFileName().toString();
+                String key = name.substring(0,
+                        name.length() - META_SUFFIX.length());
+                try {
+                    long size = Files.size(directory.resolve(key));
+                    entries.add(new Used(key, size,
+                            Files.getLastModifiedTime(metaFile).toMillis()));
+                    total += size;
+                } catch (NoSuchFileException e) {
+                    remove(key);
+                }
+            }
+        }
+        if (total <= maxBytes) {
+            return;
+        }
+        entries.sort(Comparator.comparingLong(Used::lastUsed));
+        for (Used entry : entries) {
+            if (total <= maxBytes) {
+                break;
+            }
+            remove(entry.key());
+            total -= entry.size();
+        }
+    }
+
+    /**
+     * Deletes an entry, metadata first so that it is never seen without
+     * its data.
+     *
+     * @param key the key of the entry
+     * @throws IOException if a file cannot be deleted
+     */
+    private void remove(final String key) throws IOException {
+        Files.deleteIfExists(directory.resolve(key + META_SUFFIX));
+        Files.deleteIfExists(directory.resolve(key));
+    }
+
+    /**
+     * Deletes an output that is hard-linked to a cached file, so that
+     * converting into it does not rewrite the cache entry in place.
+     *
+     * @param output the output path
+     */
+    private static void detach(final Path output) {
+        try {
+            Object links = Files.getAttribute(output, "unix:nlink",
+                    LinkOption.NOFOLLOW_LINKS);
+            if (links instanceof Integer count && count > 1) {
+                Files.delete(output);
+            }
+        } catch (UnsupportedOperationException | IOException ignored) {
+            // no such file, or no link counts on this file system
+        }
+    }
+
+    /**
+     * Hard-links a file to a new path, copying it if links are not
+     * supported.
+     *
+     * @param source the existing file
+     * @param target the new path, which must not exist
+     * @throws IOException if the file can be neither linked nor copied
+     */
+    private static void link(final Path source, final Path target)
+            throws IOException {
+        try {
+            Files.createLink(target, source);
+        } catch (UnsupportedOperationException | IOException e) {
+            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Describes a data file as it is now.
+     *
+     * @param data    the data file
+     * @param records the number of records it holds
+     * @return its metadata
+     * @throws IOException if the file cannot be read
+     */
+    private static Meta describe(final Path data, final long records)
+            throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(
+                data, BasicFileAttributes.class);
+        return new Meta(records, attributes.size(),
+                attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Reads a metadata file.
+     *
+     * @param metaFile the metadata file
+     * @return the metadata, or null if the file does not exist or is not
+     *         valid
+     * @throws IOException if the file cannot be read
+     */
+    private static Meta readMeta(final Path metaFile) throws IOException {
+        if (!Files.exists(metaFile)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = FileIO.newReader(metaFile)) {
+            properties.load(reader);
+        }
+        try {
+            return new Meta(
+                    Long.parseLong(properties.getProperty("records")),
+                    Long.parseLong(properties.getProperty("size")),
+                    Long.parseLong(properties.getProperty("modified")));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes a metadata file.
+     *
+     * @param metaFile the metadata file
+     * @param meta     the metadata
+     * @throws IOException if the file cannot be written
+     */
+    private static void writeMeta(final Path metaFile, final Meta meta)
+            throws IOException {
+        try (Writer writer = FileIO.newWriter(metaFile)) {
+            writer.write("records=" + meta.records() + "\n"
+                    + "size=" + meta.size() + "\n"
+                    + "modified=" + meta.modified() + "\n");
+        }
+    }
+
+    /**
+     * Reports that the cache could not be used.
+     *
+     * @param e the failure
+     */
+    private static void warn(final IOException e) {
+        System.err.println("Warning: Conversion cache unavailable: "
+                + e.getMessage());
+    }
+}
@@ -1,6 +1,8 @@
 package com.converter.converter;
 
+import com.converter.generator.RecordWriter;
 import com.converter.model.DataRecord;
+import com.converter.parser.RecordReader;
 
 import java.util.List;
 
@@ -32,4 +34,20 @@ public interface ConversionStrategy {
      * @param outputPath the path to the output file
      */
     void generate(List<DataRecord> records, String outputPath);
+
+    /**
+     * Opens the input file as a stream of data records.
+     *
+     * @param inputPath the path to the input file
+     * @return a reader producing the parsed data records
+     */
+    RecordReader stream(String inputPath);
+
+    /**
+     * Opens the output file as a sink for data records.
+     *
+     * @param outputPath the path to the output file
+     * @return a writer accepting data records
+     */
+    RecordWriter open(String outputPath);
 }
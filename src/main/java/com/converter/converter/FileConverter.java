@@ -1,12 +1,33 @@
 package com.converter.converter;
 
+import com.converter.exception.ConversionException;
 import com.converter.generator.Generator;
 import com.converter.generator.GeneratorFactory;
+import com.converter.generator.RecordWriter;
+import com.converter.io.CountingInputStream;
+import com.converter.io.CountingOutputStream;
+import com.converter.io.FileIO;
+import com.converter.metrics.ConversionEvent;
+import com.converter.metrics.ConversionMetrics;
+import com.converter.metrics.GenerateChunkEvent;
+import com.converter.metrics.MetricsRecorder;
+import com.converter.metrics.ParseChunkEvent;
+import com.converter.metrics.Phase;
 import com.converter.model.DataRecord;
 import com.converter.parser.Parser;
 import com.converter.parser.ParserFactory;
+import com.converter.parser.RecordReader;
 import com.converter.validator.DataValidator;
 
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
 /**
@@ -14,6 +35,16 @@ import java.util.List;
  */
 public class FileConverter implements ConversionStrategy {
 
+    /**
+     * Number of records read, validated and written as one unit.
+     */
+    private static final int CHUNK_SIZE = 256;
+
+    /**
+     * Number of trailing output bytes kept to undo a failed append.
+     */
+    private static final int APPEND_TAIL_BYTES = 4096;
+
     /**
      * The parser used to read input files.
      */
@@ -49,17 +80,324 @@ public class FileConverter implements ConversionStrategy {
 
     /**
      * {@inheritDoc}
+     *
+     * <p>Records are streamed from the parser to the generator a small
+     * chunk at a time, so memory use does not grow with the size of the
+     * input. If the conversion fails part way, the partially written
+     * output file is removed.
      */
     @Override
     public void convert(final String inputPath, final String outputPath) {
+        convertWithMetrics(inputPath, outputPath);
+    }
+
+    /**
+     * Converts a file like {@link #convert(String, String)} and reports
+     * where the time went.
+     *
+     * <p>Parsing, record validation and generation are interleaved, so
+     * each phase is charged for its share of every chunk of
+     * {@value #CHUNK_SIZE} records.
+     *
+     * @param inputPath  the path to the input file
+     * @param outputPath the path to the output file
+     * @return the timing, throughput, I/O and heap metrics of each phase
+     */
+    public ConversionMetrics convertWithMetrics(final String inputPath,
+                                                final String outputPath) {
+        ConversionEvent event = new ConversionEvent();
+        event.begin();
+        MetricsRecorder metrics = new MetricsRecorder();
+        boolean success = false;
+        try {
+            run(inputPath, outputPath, metrics);
+            success = true;
+        } finally {
+            metrics.addBytesRead(Phase.PARSE, length(inputPath));
+            metrics.addBytesWritten(Phase.GENERATE, length(outputPath));
+            finish(event, metrics, inputPath, outputPath, success);
+        }
+        return metrics.finish(inputPath, outputPath,
+                metrics.getRecords(Phase.GENERATE));
+    }
+
+    /**
+     * Converts records read from a stream and writes them to another
+     * stream, both in this converter's formats.
+     *
+     * <p>Records are streamed a chunk at a time, so memory use does not
+     * grow with the size of the input. Both streams are closed when the
+     * conversion ends. Nothing is written to the output if reading the
+     * first record fails.
+     *
+     * @param input      the stream to read
+     * @param inputName  the name of the input, used in error messages
+     * @param output     the stream to write
+     * @param outputName the name of the output, used in error messages
+     * @return the timing, throughput, I/O and heap metrics of each phase
+     */
+    public ConversionMetrics convert(final InputStream input,
+                                     final String inputName,
+                                     final OutputStream output,
+                                     final String outputName) {
+        ConversionEvent event = new ConversionEvent();
+        event.begin();
+        MetricsRecorder metrics = new MetricsRecorder();
+        CountingInputStream in = new CountingInputStream(input);
+        CountingOutputStream out = new CountingOutputStream(output);
+        boolean success = false;
+        try {
+            metrics.enter(Phase.PARSE);
+            try (RecordReader reader = parser.stream(in, inputName)) {
+                reader.hasNext();
+                metrics.enter(Phase.GENERATE);
+                try (RecordWriter writer = generator.open(out, outputName)) {
+                    transfer(reader, writer, inputName, outputName, metrics);
+                    metrics.enter(Phase.GENERATE);
+                }
+            }
+            success = true;
+        } finally {
+            closeQuietly(in);
+            closeQuietly(out);
+            metrics.addBytesRead(Phase.PARSE, in.getCount());
+            metrics.addBytesWritten(Phase.GENERATE, out.getCount());
+            finish(event, metrics, inputName, outputName, success);
+        }
+        return metrics.finish(inputName, outputName,
+                metrics.getRecords(Phase.GENERATE));
+    }
+
+    /**
+     * Converts records read from a stream and appends them to an output
+     * file previously written in this converter's output format.
+     *
+     * <p>Records are streamed a chunk at a time and written through the
+     * generator's {@link Generator#append(String)}, so the existing output
+     * is extended rather than rewritten. The input stream is closed when
+     * the conversion ends. If the conversion fails part way, the output
+     * file is restored to the bytes it held before, so the records of
+     * earlier runs are kept.
+     *
+     * @param input      the stream to read
+     * @param inputName  the name of the input, used in error messages
+     * @param outputPath the path to the output file
+     * @return the metrics of the appended part, counting only the bytes
+     *         added to the output
+     */
+    public ConversionMetrics append(final InputStream input,
+                                    final String inputName,
+                                    final String outputPath) {
+        ConversionEvent event = new ConversionEvent();
+        event.begin();
+        MetricsRecorder metrics = new MetricsRecorder();
+        CountingInputStream in = new CountingInputStream(input);
+        File outputFile = new File(outputPath);
+        long initialSize = outputFile.length();
+        boolean success = false;
+        try {
+            metrics.enter(Phase.PARSE);
+            try (RecordReader reader = parser.stream(in, inputName)) {
+                reader.hasNext();
+                metrics.enter(Phase.GENERATE);
+                byte[] tail = readTail(outputFile.toPath(), initialSize);
+                try (RecordWriter writer = generator.append(outputPath)) {
+                    transfer(reader, writer, inputName, outputPath, metrics);
+                    metrics.enter(Phase.GENERATE);
+                } catch (RuntimeException e) {
+                    restoreTail(outputFile.toPath(), initialSize, tail, e);
+                    throw e;
+                }
+            }
+            success = true;
+        } finally {
+            closeQuietly(in);
+            metrics.addBytesRead(Phase.PARSE, in.getCount());
+            metrics.addBytesWritten(Phase.GENERATE,
+                    Math.max(outputFile.length() - initialSize, 0));
+            finish(event, metrics, inputName, outputPath, success);
+        }
+        return metrics.finish(inputName, outputPath,
+                metrics.getRecords(Phase.GENERATE));
+    }
+
+    /**
+     * Reads the end of an output file before records are appended to it.
+     *
+     * <p>Generators reopen a file by cutting it within its last
+     * {@value #APPEND_TAIL_BYTES} bytes, such as before a closing bracket
+     * or end tag, so these bytes are all that appending can overwrite.
+     *
+     * @param output the output file
+     * @param size   the size of the file, 0 if it does not exist
+     * @return the last bytes of the file
+     * @throws ConversionException if the file cannot be read
+     */
+    private static byte[] readTail(final Path output, final long size) {
+        if (size == 0) {
+            return new byte[0];
+        }
+        int length = (int) Math.min(size, APPEND_TAIL_BYTES);
+        try (FileChannel channel = FileChannel.open(output)) {
+            ByteBuffer bytes = FileIO.read(channel, size - length, length);
+            byte[] tail = new byte[length];
+            bytes.get(tail);
+            return tail;
+        } catch (IOException e) {
+            throw new ConversionException("Error: Cannot read file '"
+                    + output + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns an output file to the size and end it had before a failed
+     * append.
+     *
+     * @param output  the output file
+     * @param size    the size of the file before the append
+     * @param tail    the last bytes of the file before the append
+     * @param failure the error that ended the append, to which a failure
+     *                to restore the file is added as suppressed
+     */
+    private static void restoreTail(final Path output, final long size,
+                                    final byte[] tail,
+                                    final RuntimeException failure) {
+        try {
+            if (size == 0) {
+                Files.deleteIfExists(output);
+                return;
+            }
+            try (OutputStream out =
+                         FileIO.openAppend(output, size - tail.length)) {
+                out.write(tail);
+            }
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Ends the Flight Recorder event of a conversion.
+     *
+     * @param event      the event begun when the conversion started
+     * @param metrics    the recorder holding the record and byte counts
+     * @param inputName  the path or name of the input
+     * @param outputName the path or name of the output
+     * @param success    whether the conversion completed
+     */
+    private void finish(final ConversionEvent event,
+                        final MetricsRecorder metrics,
+                        final String inputName, final String outputName,
+                        final boolean success) {
+        event.finish(inputName, outputName,
+                parser.getSupportedExtension(),
+                generator.getSupportedExtension(),
+                metrics.getRecords(Phase.GENERATE),
+                metrics.getBytesRead(Phase.PARSE),
+                metrics.getBytesWritten(Phase.GENERATE), success);
+    }
+
+    /**
+     * Returns the size of a file, or zero when no path was given.
+     *
+     * @param path the path to the file, or {@code null}
+     * @return the size of the file in bytes
+     */
+    private static long length(final String path) {
+        return path == null ? 0 : new File(path).length();
+    }
+
+    /**
+     * Closes a stream, ignoring any error.
+     *
+     * @param stream the stream to close
+     */
+    private static void closeQuietly(final Closeable stream) {
+        try {
+            stream.close();
+        } catch (IOException ignored) {
+            // the conversion outcome has already been decided
+        }
+    }
+
+    /**
+     * Validates the paths and streams every record from input to output.
+     *
+     * @param inputPath  the path to the input file
+     * @param outputPath the path to the output file
+     * @param metrics    the recorder charged for each phase
+     */
+    private void run(final String inputPath, final String outputPath,
+                     final MetricsRecorder metrics) {
+        metrics.enter(Phase.VALIDATE);
         DataValidator.validateInputFile(inputPath);
         DataValidator.validateOutputFile(outputPath);
 
-        List<DataRecord> records = parse(inputPath);
+        metrics.enter(Phase.PARSE);
+        try (RecordReader reader = stream(inputPath)) {
+            // Read ahead one record so that errors at the start of the
+            // input surface before the output file is created.
+            reader.hasNext();
+            metrics.enter(Phase.GENERATE);
+            try (RecordWriter writer = open(outputPath)) {
+                transfer(reader, writer, inputPath, outputPath, metrics);
+                metrics.enter(Phase.GENERATE);
+            } catch (RuntimeException e) {
+                new File(outputPath).delete();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Copies every remaining record from a reader to a writer, one chunk
+     * at a time, recording a Flight Recorder event per chunk read and
+     * written.
+     *
+     * @param reader     the source of records
+     * @param writer     the destination of records
+     * @param inputPath  the path to the input file
+     * @param outputPath the path to the output file
+     * @param metrics    the recorder charged for each phase
+     */
+    private void transfer(final RecordReader reader,
+                          final RecordWriter writer,
+                          final String inputPath, final String outputPath,
+                          final MetricsRecorder metrics) {
+        String inputFormat = parser.getSupportedExtension();
+        String outputFormat = generator.getSupportedExtension();
+        DataRecord[] chunk = new DataRecord[CHUNK_SIZE];
+        while (true) {
+            metrics.enter(Phase.PARSE);
+            ParseChunkEvent parseEvent = new ParseChunkEvent();
+            parseEvent.begin();
+            int count = 0;
+            while (count < chunk.length && reader.hasNext()) {
+                chunk[count++] = reader.next();
+            }
+            if (count == 0) {
+                return;
+            }
+            parseEvent.finishChunk(inputFormat, inputPath, count);
+
+            metrics.enter(Phase.VALIDATE_DATA);
+            for (int i = 0; i < count; i++) {
+                DataValidator.validateRecord(chunk[i]);
+            }
 
-        DataValidator.validateData(records);
+            metrics.enter(Phase.GENERATE);
+            GenerateChunkEvent generateEvent = new GenerateChunkEvent();
+            generateEvent.begin();
+            for (int i = 0; i < count; i++) {
+                writer.write(chunk[i]);
+                chunk[i] = null;
+            }
+            generateEvent.finishChunk(outputFormat, outputPath, count);
 
-        generate(records, outputPath);
+            metrics.addRecords(Phase.PARSE, count);
+            metrics.addRecords(Phase.VALIDATE_DATA, count);
+            metrics.addRecords(Phase.GENERATE, count);
+        }
     }
 
     /**
@@ -79,6 +417,22 @@ public class FileConverter implements ConversionStrategy {
         generator.generate(records, outputPath);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RecordReader stream(final String inputPath) {
+        return parser.stream(inputPath);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RecordWriter open(final String outputPath) {
+        return generator.open(outputPath);
+    }
+
     /**
      * Returns the parser used by this converter.
      *
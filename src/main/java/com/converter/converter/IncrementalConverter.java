@@ -0,0 +1,466 @@
+package com.converter.converter;
+
+import com.converter.exception.ConversionException;
+import com.converter.exception.ValidationException;
+import com.converter.generator.Generator;
+import com.converter.io.FileIO;
+import com.converter.metrics.ConversionMetrics;
+import com.converter.metrics.MetricsRecorder;
+import com.converter.parser.CsvParser;
+import com.converter.parser.CsvRecordScanner;
+import com.converter.validator.DataValidator;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.SequenceInputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Converts a growing input file by appending only its new records to the
+ * output of earlier runs.
+ *
+ * <p>CSV and NDJSON inputs such as logs usually grow only at the end. A
+ * checkpoint sidecar next to the output, {@code <output>.checkpoint},
+ * records how far the input has been converted: the byte offset after
+ * the last converted record, the CSV header line, the total number of
+ * records converted, the size of the output and a hash of the input's
+ * first bytes. A later run parses only the bytes after the offset, behind
+ * the stored header for CSV, and appends their records to the output
+ * through {@link Generator#append(String)}.
+ *
+ * <p>Only complete records are converted: bytes after the last line
+ * break, or the last one outside quotes for CSV, are left for the next
+ * run, since a writer may still be in the middle of them. The whole input
+ * is converted again when there is no usable checkpoint, when the output
+ * no longer has the recorded size, or when the input has shrunk or its
+ * first bytes have changed, as happens when a log is rotated.
+ */
+public final class IncrementalConverter {
+
+    /**
+     * Suffix appended to the output path to name the checkpoint file.
+     */
+    public static final String CHECKPOINT_SUFFIX = ".checkpoint";
+
+    /**
+     * Input formats whose records can be split at line breaks.
+     */
+    private static final Set<String> INPUT_FORMATS = Set.of("csv", "ndjson");
+
+    /**
+     * Output formats whose generators can append to an existing file.
+     */
+    private static final Set<String> OUTPUT_FORMATS =
+            Set.of("csv", "json", "ndjson", "xml");
+
+    /**
+     * Number of leading input bytes hashed to recognise the same input.
+     */
+    private static final int FINGERPRINT_BYTES = 4096;
+
+    /**
+     * Size of the blocks the input is scanned in for record boundaries.
+     */
+    private static final int SCAN_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The converter that parses the input and writes the output.
+     */
+    private final FileConverter converter;
+
+    /**
+     * Whether the input is CSV, whose header precedes every tail.
+     */
+    private final boolean csv;
+
+    /**
+     * The state of an output after a run.
+     *
+     * @param offset      the input offset after the last converted record
+     * @param header      the input's CSV header line, including its line
+     *                    break, or empty for NDJSON
+     * @param records     the total number of records in the output
+     * @param outputSize  the size of the output
+     * @param fingerprint the hexadecimal SHA-256 hash of the input's first
+     *                    bytes, up to the offset
+     */
+    record Checkpoint(long offset, String header, long records,
+                      long outputSize, String fingerprint) {
+    }
+
+    /**
+     * Constructs an incremental converter around a file converter.
+     *
+     * @param fileConverter the converter to parse and write with
+     * @throws ValidationException if its input is not uncompressed CSV or
+     *                             NDJSON, or its output format cannot be
+     *                             appended to
+     */
+    public IncrementalConverter(final FileConverter fileConverter) {
+        String from = fileConverter.getParser().getSupportedExtension();
+        String to = fileConverter.getGenerator().getSupportedExtension();
+        if (!INPUT_FORMATS.contains(from)) {
+            throw new ValidationException("Error: Incremental conversion "
+                    + "requires CSV or NDJSON input, not '." + from + "'");
+        }
+        if (!OUTPUT_FORMATS.contains(to)) {
+            throw new ValidationException("Error: Incremental conversion "
+                    + "cannot append to '." + to + "' output");
+        }
+        this.converter = fileConverter;
+        this.csv = from.equals("csv");
+    }
+
+    /**
+     * Returns the path of the checkpoint file kept for an output.
+     *
+     * @param outputPath the path to the output file
+     * @return the path of its checkpoint file
+     */
+    public static String checkpointPath(final String outputPath) {
+        return outputPath + CHECKPOINT_SUFFIX;
+    }
+
+    /**
+     * Converts the records added to the input since the last run, or the
+     * whole input if the checkpoint does not describe the current files.
+     *
+     * @param inputPath  the path to the input file
+     * @param outputPath the path to the output file
+     * @return the metrics of this run, counting only the records converted
+     *         by it
+     * @throws ValidationException if either file cannot be accessed
+     * @throws ConversionException if the checkpoint or the input cannot be
+     *                             read
+     */
+    public ConversionMetrics convert(final String inputPath,
+                                     final String outputPath) {
+        DataValidator.validateInputFile(inputPath);
+        DataValidator.validateOutputFile(outputPath);
+        Path input = Paths.get(inputPath);
+        Path output = Paths.get(outputPath);
+        Path checkpointFile = Paths.get(checkpointPath(outputPath));
+
+        try {
+            long size = Files.size(input);
+            Checkpoint checkpoint = readCheckpoint(checkpointFile);
+            if (checkpoint != null
+                    && isCurrent(checkpoint, input, size, output)) {
+                return convertTail(checkpoint, input, size, checkpointFile,
+                        inputPath, outputPath);
+            }
+            return convertAll(input, size, output, checkpointFile,
+                    inputPath, outputPath);
+        } catch (IOException e) {
+            throw new ConversionException(
+                    "Error: Failed to convert '" + inputPath
+                            + "' incrementally: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Checks whether a checkpoint still describes the input and output.
+     *
+     * @param checkpoint the checkpoint of the last run
+     * @param input      the input file
+     * @param size       the current size of the input
+     * @param output     the output file
+     * @return true if only new records need to be converted
+     * @throws IOException if either file cannot be read
+     */
+    private boolean isCurrent(final Checkpoint checkpoint, final Path input,
+                              final long size, final Path output)
+            throws IOException {
+        return checkpoint.offset() > 0
+                && checkpoint.offset() <= size
+                && (!csv || !checkpoint.header().isEmpty())
+                && Files.isRegularFile(output)
+                && Files.size(output) == checkpoint.outputSize()
+                && checkpoint.fingerprint().equals(
+                        fingerprint(input, checkpoint.offset()));
+    }
+
+    /**
+     * Converts every complete record of the input into a new output.
+     *
+     * @param input          the input file
+     * @param size           the size of the input
+     * @param output         the output file
+     * @param checkpointFile the checkpoint file to write
+     * @param inputPath      the path to the input file
+     * @param outputPath     the path to the output file
+     * @return the metrics of the conversion
+     * @throws IOException if a file cannot be read or written
+     */
+    private ConversionMetrics convertAll(final Path input, final long size,
+                                         final Path output,
+                                         final Path checkpointFile,
+                                         final String inputPath,
+                                         final String outputPath)
+            throws IOException {
+        Files.deleteIfExists(checkpointFile);
+        long end = recordEnd(input, 0, size);
+        String header = "";
+        if (csv && end > 0) {
+            long headerEnd = headerEnd(input, end);
+            try (InputStream in = FileIO.openInput(input, 0, headerEnd)) {
+                header = new String(in.readAllBytes(), FileIO.CHARSET);
+            }
+        }
+
+        Path parent = output.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        // a new file, so an output linked from the conversion cache is
+        // left untouched
+        Files.deleteIfExists(output);
+        InputStream in = FileIO.openInput(input, 0, end);
+        ConversionMetrics metrics;
+        try {
+            OutputStream out;
+            try {
+                out = FileIO.openOutput(output);
+            } catch (IOException e) {
+                in.close();
+                throw e;
+            }
+            metrics = converter.convert(in, inputPath, out, outputPath);
+        } catch (RuntimeException e) {
+            Files.deleteIfExists(output);
+            throw e;
+        }
+
+        writeCheckpoint(checkpointFile, new Checkpoint(end, header,
+                metrics.getRecordCount(), Files.size(output),
+                fingerprint(input, end)));
+        return metrics;
+    }
+
+    /**
+     * Appends the complete records added after the checkpoint to the
+     * output.
+     *
+     * @param checkpoint     the checkpoint of the last run
+     * @param input          the input file
+     * @param size           the size of the input
+     * @param checkpointFile the checkpoint file to update
+     * @param inputPath      the path to the input file
+     * @param outputPath     the path to the output file
+     * @return the metrics of the appended records
+     * @throws IOException if a file cannot be read or written
+     */
+    private ConversionMetrics convertTail(final Checkpoint checkpoint,
+                                          final Path input, final long size,
+                                          final Path checkpointFile,
+                                          final String inputPath,
+                                          final String outputPath)
+            throws IOException {
+        long end = recordEnd(input, checkpoint.offset(), size);
+        if (end == checkpoint.offset()) {
+            return new MetricsRecorder().finish(inputPath, outputPath, 0);
+        }
+
+        InputStream tail = FileIO.openInput(input, checkpoint.offset(), end);
+        if (csv) {
+            tail = new SequenceInputStream(new ByteArrayInputStream(
+                    checkpoint.header().getBytes(FileIO.CHARSET)), tail);
+        }
+        ConversionMetrics metrics =
+                converter.append(tail, inputPath, outputPath);
+
+        writeCheckpoint(checkpointFile, new Checkpoint(end,
+                checkpoint.header(),
+                checkpoint.records() + metrics.getRecordCount(),
+                Files.size(Paths.get(outputPath)), fingerprint(input, end)));
+        return metrics;
+    }
+
+    /**
+     * Finds the end of the last complete record in a range of the input.
+     *
+     * <p>NDJSON records cannot contain raw line breaks, so the range is
+     * searched backwards for the last one. CSV values may, inside quotes,
+     * so the range is scanned forwards tracking quoting; it must start on
+     * a record boundary.
+     *
+     * @param input the input file
+     * @param start the offset of a record boundary to search from
+     * @param end   the end of the range
+     * @return the offset just after the last record's line break, or
+     *         {@code start} if the range holds no complete record
+     * @throws IOException if the input cannot be read
+     */
+    private long recordEnd(final Path input, final long start, final long end)
+            throws IOException {
+        if (csv) {
+            return scanCsv(input, start, end, false);
+        }
+        try (FileChannel channel = FileChannel.open(input)) {
+            for (long blockEnd = end; blockEnd > start;
+                    blockEnd -= SCAN_BUFFER_SIZE) {
+                int length = (int) Math.min(SCAN_BUFFER_SIZE,
+                        blockEnd - start);
+                ByteBuffer block = FileIO.read(channel, blockEnd - length,
+                        length);
+                for (int i = length - 1; i >= 0; i--) {
+                    if (block.get(i) == '\n') {
+                        return blockEnd - length + i + 1;
+                    }
+                }
+            }
+        }
+        return start;
+    }
+
+    /**
+     * Finds the end of the CSV header record.
+     *
+     * @param input the input file
+     * @param end   the end of the complete records
+     * @return the offset just after the header's line break
+     * @throws IOException if the input cannot be read
+     */
+    private long headerEnd(final Path input, final long end)
+            throws IOException {
+        return scanCsv(input, 0, end, true);
+    }
+
+    /**
+     * Scans a range of CSV for the line breaks that end records, with the
+     * parser's delimiter and OpenCSV's default quote and escape handling.
+     *
+     * @param input the input file
+     * @param start the offset of a record boundary to scan from
+     * @param end   the end of the range
+     * @param first whether to stop at the first record boundary
+     * @return the offset just after the first or last record's line break,
+     *         or {@code start} if there is none
+     * @throws IOException if the input cannot be read
+     */
+    private static long scanCsv(final Path input, final long start,
+                                final long end, final boolean first)
+            throws IOException {
+        long last = start;
+        CsvRecordScanner scanner = new CsvRecordScanner(
+                CsvParser.detectDelimiter(input));
+        try (InputStream in = FileIO.openInput(input, start, end)) {
+            byte[] buffer = new byte[SCAN_BUFFER_SIZE];
+            long position = start;
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                for (int i = 0; i < read; i++) {
+                    if (scanner.isRecordEnd(buffer[i])) {
+                        last = position + i + 1;
+                        if (first) {
+                            return last;
+                        }
+                    }
+                }
+                position += read;
+            }
+        }
+        return last;
+    }
+
+    /**
+     * Hashes the first bytes of the input.
+     *
+     * @param input  the input file
+     * @param offset the offset up to which bytes may be hashed
+     * @return the hexadecimal SHA-256 hash of the first
+     *         {@value #FINGERPRINT_BYTES} bytes, or fewer if the offset is
+     *         smaller
+     * @throws IOException if the input cannot be read
+     */
+    static String fingerprint(final Path input, final long offset)
+            throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        try (InputStream in = FileIO.openInput(input, 0,
+                Math.min(offset, FINGERPRINT_BYTES))) {
+            digest.update(in.readAllBytes());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Reads a checkpoint file.
+     *
+     * @param checkpointFile the checkpoint file
+     * @return the checkpoint, or null if the file does not exist or is not
+     *         valid
+     * @throws IOException if the file cannot be read
+     */
+    static Checkpoint readCheckpoint(final Path checkpointFile)
+            throws IOException {
+        if (!Files.exists(checkpointFile)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = FileIO.newReader(checkpointFile)) {
+            properties.load(reader);
+        }
+        String header = properties.getProperty("header");
+        String fingerprint = properties.getProperty("fingerprint");
+        if (header == null || fingerprint == null) {
+            return null;
+        }
+        try {
+            return new Checkpoint(
+                    Long.parseLong(properties.getProperty("offset")),
+                    header,
+                    Long.parseLong(properties.getProperty("records")),
+                    Long.parseLong(properties.getProperty("outputSize")),
+                    fingerprint);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Replaces a checkpoint file atomically.
+     *
+     * @param checkpointFile the checkpoint file
+     * @param checkpoint     the checkpoint to write
+     * @throws IOException if the file cannot be written
+     */
+    private static void writeCheckpoint(final Path checkpointFile,
+                                        final Checkpoint checkpoint)
+            throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("offset", String.valueOf(checkpoint.offset()));
+        properties.setProperty("header", checkpoint.header());
+        properties.setProperty("records",
+                String.valueOf(checkpoint.records()));
+        properties.setProperty("outputSize",
+                String.valueOf(checkpoint.outputSize()));
+        properties.setProperty("fingerprint", checkpoint.fingerprint());
+
+        Path temp = checkpointFile.resolveSibling(
+                checkpointFile.getFileName() + ".tmp");
+        try (Writer writer = FileIO.newWriter(temp)) {
+            properties.store(writer, null);
+        }
+        Files.move(temp, checkpointFile, StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+}
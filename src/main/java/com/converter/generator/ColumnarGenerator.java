@@ -0,0 +1,218 @@
+package com.converter.generator;
+
+import com.converter.columnar.ColumnarWriter;
+import com.converter.exception.ConversionException;
+import com.converter.io.FileIO;
+import com.converter.metrics.GenerateChunkEvent;
+import com.converter.model.DataRecord;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Generator implementation for binary columnar files.
+ *
+ * @see ColumnarWriter
+ */
+public class ColumnarGenerator implements Generator {
+
+    /**
+     * Size of the output buffer.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The maximum number of rows per block.
+     */
+    private final int blockRows;
+
+    /**
+     * Constructs a columnar generator with the default block size.
+     */
+    public ColumnarGenerator() {
+        this(ColumnarWriter.DEFAULT_BLOCK_ROWS);
+    }
+
+    /**
+     * Constructs a columnar generator with the given block size.
+     *
+     * @param rowsPerBlock the maximum number of rows per block
+     * @throws IllegalArgumentException if the block size is not positive
+     */
+    public ColumnarGenerator(final int rowsPerBlock) {
+        if (rowsPerBlock <= 0) {
+            throw new IllegalArgumentException(
+                    "Block size must be positive: " + rowsPerBlock);
+        }
+        this.blockRows = rowsPerBlock;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void generate(final List<DataRecord> data, final String filePath) {
+        GenerateChunkEvent event = new GenerateChunkEvent();
+        event.begin();
+        try (RecordWriter writer = open(filePath)) {
+            for (DataRecord record : data) {
+                writer.write(record);
+            }
+        }
+        event.finish(getSupportedExtension(), filePath, data.size());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>At most one block of rows is held in memory.
+     */
+    @Override
+    public RecordWriter open(final String filePath) {
+        File file = new File(filePath);
+        File parentDir = file.getParentFile();
+        if (parentDir != null && !parentDir.exists()) {
+            if (!parentDir.mkdirs() && !parentDir.isDirectory()) {
+                throw new ConversionException(
+                        "Error: Cannot create directory '"
+                                + parentDir.getPath() + "'");
+            }
+        }
+
+        try {
+            return open(FileIO.openOutput(file.toPath()), filePath);
+        } catch (IOException e) {
+            throw writeError(filePath, e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RecordWriter open(final OutputStream output, final String name) {
+        OutputStream buffered = new BufferedOutputStream(output, BUFFER_SIZE);
+        try {
+            ColumnarWriter writer = new ColumnarWriter(buffered, blockRows);
+            return new ColumnarRecordWriter(writer, buffered, name);
+        } catch (IOException e) {
+            closeQuietly(buffered);
+            throw writeError(name, e);
+        }
+    }
+
+    /**
+     * Converts an I/O error into a conversion exception.
+     *
+     * @param filePath the path of the file being written
+     * @param e        the I/O error
+     * @return a conversion exception describing the failure
+     */
+    private static ConversionException writeError(final String filePath,
+                                                  final IOException e) {
+        return new ConversionException(
+                "Error: Failed to write columnar file '"
+                        + filePath + "': " + e.getMessage(), e);
+    }
+
+    /**
+     * Closes a stream, ignoring any error.
+     *
+     * @param output the stream to close, may be null
+     */
+    private static void closeQuietly(final OutputStream output) {
+        if (output == null) {
+            return;
+        }
+        try {
+            output.close();
+        } catch (IOException ignored) {
+            // nothing useful to report while already failing
+        }
+    }
+
+    /**
+     * Record writer adapting a {@link ColumnarWriter}.
+     */
+    private static final class ColumnarRecordWriter implements RecordWriter {
+
+        /**
+         * The underlying columnar writer.
+         */
+        private final ColumnarWriter writer;
+
+        /**
+         * The stream the columnar writer writes to.
+         */
+        private final OutputStream output;
+
+        /**
+         * The path of the file being written, used in error messages.
+         */
+        private final String filePath;
+
+        /**
+         * Whether this writer has been closed.
+         */
+        private boolean closed;
+
+        /**
+         * Constructs a record writer over the given columnar writer.
+         *
+         * @param columnarWriter the columnar writer
+         * @param stream         the stream backing the columnar writer
+         * @param path           the path of the file being written
+         */
+        private ColumnarRecordWriter(final ColumnarWriter columnarWriter,
+                                     final OutputStream stream,
+                                     final String path) {
+            this.writer = columnarWriter;
+            this.output = stream;
+            this.filePath = path;
+        }
+
+        @Override
+        public void write(final DataRecord record) {
+            try {
+                writer.write(record);
+            } catch (IOException e) {
+                closeQuietly(output);
+                closed = true;
+                throw writeError(filePath, e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                writer.close();
+            } catch (IOException e) {
+                closeQuietly(output);
+                throw writeError(filePath, e);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getSupportedExtension() {
+        return "fcol";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getConfiguration() {
+        return getSupportedExtension() + " rowsPerBlock=" + blockRows;
+    }
+}
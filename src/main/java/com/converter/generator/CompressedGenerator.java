@@ -0,0 +1,144 @@
+package com.converter.generator;
+
+import com.converter.compression.Codec;
+import com.converter.compression.CompressionOptions;
+import com.converter.exception.ConversionException;
+import com.converter.io.FileIO;
+import com.converter.metrics.GenerateChunkEvent;
+import com.converter.model.DataRecord;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Generator for compressed files, compressing the output of the
+ * generator of the underlying format as it is written.
+ */
+public class CompressedGenerator implements Generator {
+
+    /**
+     * The generator of the underlying format.
+     */
+    private final Generator delegate;
+
+    /**
+     * The codec the output is compressed with.
+     */
+    private final Codec codec;
+
+    /**
+     * The level and buffer settings used while compressing.
+     */
+    private final CompressionOptions options;
+
+    /**
+     * Constructs a generator for compressed files.
+     *
+     * @param formatGenerator the generator of the underlying format
+     * @param compression     the codec the output is compressed with
+     * @param settings        the level and buffer settings
+     */
+    public CompressedGenerator(final Generator formatGenerator,
+                               final Codec compression,
+                               final CompressionOptions settings) {
+        this.delegate = formatGenerator;
+        this.codec = compression;
+        this.options = settings;
+    }
+
+    /**
+     * Returns the generator of the underlying format.
+     *
+     * @return the wrapped generator
+     */
+    public Generator getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Returns the codec the output is compressed with.
+     *
+     * @return the codec
+     */
+    public Codec getCodec() {
+        return codec;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void generate(final List<DataRecord> data, final String filePath) {
+        GenerateChunkEvent event = new GenerateChunkEvent();
+        event.begin();
+        try (RecordWriter writer = open(filePath)) {
+            for (DataRecord record : data) {
+                writer.write(record);
+            }
+        }
+        event.finish(getSupportedExtension(), filePath, data.size());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RecordWriter open(final String filePath) {
+        File file = new File(filePath);
+        File parentDir = file.getParentFile();
+        if (parentDir != null && !parentDir.exists()) {
+            if (!parentDir.mkdirs() && !parentDir.isDirectory()) {
+                throw new ConversionException(
+                        "Error: Cannot create directory '"
+                                + parentDir.getPath() + "'");
+            }
+        }
+
+        try {
+            return open(FileIO.openOutput(file.toPath()), filePath);
+        } catch (IOException e) {
+            throw new ConversionException("Error: Failed to write file '"
+                    + filePath + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RecordWriter open(final OutputStream output, final String name) {
+        OutputStream compressed;
+        try {
+            compressed = codec.compress(output, options);
+        } catch (IOException e) {
+            try {
+                output.close();
+            } catch (IOException ignored) {
+                // nothing useful to report while already failing
+            }
+            throw new ConversionException("Error: Failed to compress '"
+                    + name + "': " + e.getMessage(), e);
+        }
+        return delegate.open(compressed, name);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getSupportedExtension() {
+        return delegate.getSupportedExtension() + "." + codec.getExtension();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getConfiguration() {
+        return delegate.getConfiguration() + " " + codec.getExtension()
+                + " level=" + options.level()
+                + " bufferSize=" + options.bufferSize();
+    }
+}
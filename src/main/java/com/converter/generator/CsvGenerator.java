@@ -1,39 +1,179 @@
 package com.converter.generator;
 
 import com.converter.exception.ConversionException;
+import com.converter.io.FileIO;
+import com.converter.metrics.GenerateChunkEvent;
 import com.converter.model.DataRecord;
+import com.converter.model.RecordBatch;
+import com.converter.model.RecordSchema;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
 import com.opencsv.CSVWriter;
+import com.opencsv.RFC4180ParserBuilder;
+import com.opencsv.exceptions.CsvException;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
 /**
  * Generator implementation for CSV files.
+ *
+ * <p>When writing through {@link #open(String)}, the header is fixed
+ * before the first row is written: either from a declared schema or
+ * from the union of fields in the first records of the stream. Fields
+ * that only appear after that point are handled by a
+ * {@link LateFieldPolicy}.
  */
 public class CsvGenerator implements Generator {
 
+    /**
+     * Default number of records used to infer the header.
+     */
+    public static final int DEFAULT_INFERENCE_LIMIT = 1000;
+
+    /**
+     * Ways of handling a field that is not part of the fixed header.
+     */
+    public enum LateFieldPolicy {
+        /**
+         * Add the field to the end of the header. Rows written before it
+         * are padded by rewriting the output once it is closed, so the
+         * header is the union of the fields of all records. Outputs that
+         * cannot be rewritten, such as streams, compressed files and
+         * appends, fail like {@code FAIL} instead.
+         */
+        WIDEN,
+
+        /**
+         * Abort the conversion with an error.
+         */
+        FAIL,
+
+        /**
+         * Leave the field out of the output.
+         */
+        DROP,
+
+        /**
+         * Write the field to a side file next to the output, one line of
+         * {@code record,field,value} per late value.
+         */
+        SPILL
+    }
+
+    /**
+     * The declared header, or null to infer it from the stream.
+     */
+    private final RecordSchema declaredSchema;
+
+    /**
+     * The number of records buffered to infer the header.
+     */
+    private final int inferenceLimit;
+
+    /**
+     * How fields outside the header are handled.
+     */
+    private final LateFieldPolicy lateFieldPolicy;
+
+    /**
+     * Constructs a CSV generator that infers the header from the first
+     * {@value #DEFAULT_INFERENCE_LIMIT} records and widens it for later
+     * fields.
+     */
+    public CsvGenerator() {
+        this(DEFAULT_INFERENCE_LIMIT, LateFieldPolicy.WIDEN);
+    }
+
+    /**
+     * Constructs a CSV generator that infers the header from a prefix of
+     * the stream.
+     *
+     * @param limit  the number of records used to infer the header
+     * @param policy how fields outside the header are handled
+     * @throws IllegalArgumentException if the limit is not positive
+     */
+    public CsvGenerator(final int limit, final LateFieldPolicy policy) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException(
+                    "Inference limit must be positive: " + limit);
+        }
+        this.declaredSchema = null;
+        this.inferenceLimit = limit;
+        this.lateFieldPolicy = policy;
+    }
+
+    /**
+     * Constructs a CSV generator with a declared header.
+     *
+     * @param schema the header columns, in output order
+     * @param policy how fields outside the header are handled
+     */
+    public CsvGenerator(final RecordSchema schema,
+                        final LateFieldPolicy policy) {
+        this.declaredSchema = schema;
+        this.inferenceLimit = 0;
+        this.lateFieldPolicy = policy;
+    }
+
+    /**
+     * Returns the path of the side file that late fields are spilled to.
+     *
+     * @param filePath the path to the CSV output file
+     * @return the path of the side file
+     */
+    public static String spillPath(final String filePath) {
+        String base = filePath.toLowerCase().endsWith(".csv")
+                ? filePath.substring(0, filePath.length() - 4) : filePath;
+        return base + ".late.csv";
+    }
+
     /**
      * {@inheritDoc}
+     *
+     * <p>Without a declared schema, the header is the union of the fields
+     * of all records, since the whole list is already in memory.
      */
     @Override
     public void generate(final List<DataRecord> data, final String filePath) {
-        File file = new File(filePath);
-        File parentDir = file.getParentFile();
-        if (parentDir != null && !parentDir.exists()) {
-            if (!parentDir.mkdirs()) {
-                throw new ConversionException(
-                        "Error: Cannot create directory '"
-                                + parentDir.getPath() + "'");
+        GenerateChunkEvent event = new GenerateChunkEvent();
+        event.begin();
+        writeAll(data, filePath);
+        event.finish(getSupportedExtension(), filePath, data.size());
+    }
+
+    /**
+     * Writes every record of a list to a file.
+     *
+     * @param data     the records to write
+     * @param filePath the path to the output file
+     */
+    private void writeAll(final List<DataRecord> data, final String filePath) {
+        if (declaredSchema != null) {
+            try (RecordWriter writer = open(filePath)) {
+                for (DataRecord record : data) {
+                    writer.write(record);
+                }
             }
+            return;
         }
 
+        File file = new File(filePath);
+        createParentDir(file);
+
         if (data.isEmpty()) {
             try {
-                new FileWriter(file).close();
+                FileIO.openOutput(file.toPath()).close();
             } catch (IOException e) {
                 throw new ConversionException(
                         "Error: Failed to create CSV file '"
@@ -44,18 +184,20 @@ public class CsvGenerator implements Generator {
 
         Set<String> headers = new LinkedHashSet<>();
         for (DataRecord record : data) {
-            headers.addAll(record.getFields().keySet());
+            headers.addAll(record.getFieldView().keySet());
         }
 
         String[] headerArray = headers.toArray(new String[0]);
+        RecordSchema schema = new RecordSchema(headerArray);
 
-        try (CSVWriter writer = new CSVWriter(new FileWriter(file))) {
+        try (CSVWriter writer = new CSVWriter(
+                FileIO.newWriter(file.toPath()))) {
             writer.writeNext(headerArray);
 
+            String[] row = new String[headerArray.length];
             for (DataRecord record : data) {
-                String[] row = new String[headerArray.length];
                 for (int i = 0; i < headerArray.length; i++) {
-                    String value = record.getField(headerArray[i]);
+                    String value = record.getField(schema, i);
                     row[i] = value != null ? value : "";
                 }
                 writer.writeNext(row);
@@ -68,6 +210,436 @@ public class CsvGenerator implements Generator {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The header is taken from the batch schema and rows are written
+     * without building a record per row.
+     */
+    @Override
+    public void generate(final RecordBatch batch, final String filePath) {
+        File file = new File(filePath);
+        createParentDir(file);
+
+        RecordSchema schema = batch.getSchema();
+
+        try (CSVWriter writer = new CSVWriter(
+                FileIO.newWriter(file.toPath()))) {
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            writer.writeNext(schema.getNames().toArray(new String[0]));
+
+            String[] row = new String[schema.size()];
+            for (int r = 0; r < batch.size(); r++) {
+                for (int i = 0; i < row.length; i++) {
+                    String value = batch.getValue(r, i);
+                    row[i] = value != null ? value : "";
+                }
+                writer.writeNext(row);
+            }
+
+        } catch (IOException e) {
+            throw new ConversionException(
+                    "Error: Failed to write CSV file '"
+                            + filePath + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>At most the inference limit of records is held in memory; after
+     * the header is fixed, each record is written as it arrives.
+     */
+    @Override
+    public RecordWriter open(final String filePath) {
+        File file = new File(filePath);
+        createParentDir(file);
+
+        try {
+            return new CsvRecordWriter(new CSVWriter(FileIO.writer(
+                    FileIO.openOutput(file.toPath()))), filePath,
+                    file.toPath(), null);
+        } catch (IOException e) {
+            throw new ConversionException(
+                    "Error: Failed to create CSV file '"
+                            + filePath + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>A side file for late fields is created next to the path given by
+     * {@code name}. Rows are written straight to the stream, so they
+     * cannot be padded later: with the {@code WIDEN} policy a field
+     * outside the inferred header fails like {@code FAIL}.
+     */
+    @Override
+    public RecordWriter open(final OutputStream output, final String name) {
+        return new CsvRecordWriter(
+                new CSVWriter(FileIO.writer(output)), name, null, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The header of the existing file is kept and new rows are written
+     * in its column order; fields outside it are handled by the late-field
+     * policy, except that {@code WIDEN} fails like {@code FAIL}: the rows
+     * of earlier runs are not rewritten. Appending with the {@code SPILL}
+     * policy is not supported, since the side file numbers records from
+     * the start of the output.
+     *
+     * @throws ConversionException if the policy is {@code SPILL} or the
+     *                             existing header cannot be read
+     */
+    @Override
+    public RecordWriter append(final String filePath) {
+        if (lateFieldPolicy == LateFieldPolicy.SPILL) {
+            throw new ConversionException(
+                    "Error: Cannot append to CSV file '" + filePath
+                            + "' while spilling late fields");
+        }
+        Path path = Paths.get(filePath);
+        try {
+            if (!Files.isRegularFile(path) || Files.size(path) == 0) {
+                return open(filePath);
+            }
+            String[] header;
+            try (CSVReader reader = new CSVReader(FileIO.newReader(path))) {
+                header = reader.readNext();
+            }
+            if (header == null) {
+                return open(filePath);
+            }
+            return new CsvRecordWriter(new CSVWriter(FileIO.writer(
+                    FileIO.openAppend(path, Files.size(path)))), filePath,
+                    null, new RecordSchema(header));
+        } catch (IOException | CsvException e) {
+            throw new ConversionException(
+                    "Error: Failed to write CSV file '"
+                            + filePath + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Creates the parent directory of a file if it does not exist.
+     *
+     * @param file the file about to be written
+     * @throws ConversionException if the directory cannot be created
+     */
+    private static void createParentDir(final File file) {
+        File parentDir = file.getParentFile();
+        if (parentDir != null && !parentDir.exists()) {
+            if (!parentDir.mkdirs() && !parentDir.isDirectory()) {
+                throw new ConversionException(
+                        "Error: Cannot create directory '"
+                                + parentDir.getPath() + "'");
+            }
+        }
+    }
+
+    /**
+     * Record writer that fixes the header once and then writes each
+     * record as it arrives.
+     */
+    private final class CsvRecordWriter implements RecordWriter {
+
+        /**
+         * The underlying CSV writer.
+         */
+        private final CSVWriter writer;
+
+        /**
+         * The path of the file being written, used in error messages.
+         */
+        private final String filePath;
+
+        /**
+         * The output file, rewritten when the header is widened, or null
+         * if the output cannot be rewritten.
+         */
+        private final Path target;
+
+        /**
+         * Records held back until the header is fixed.
+         */
+        private List<DataRecord> prefix = new ArrayList<>();
+
+        /**
+         * The fixed header, or null while it is still being inferred.
+         */
+        private RecordSchema schema;
+
+        /**
+         * The number of columns in the header written to the output.
+         */
+        private int headerWidth;
+
+        /**
+         * The reused row buffer.
+         */
+        private String[] row;
+
+        /**
+         * The number of data rows written so far.
+         */
+        private long rowCount;
+
+        /**
+         * The side file for late fields, opened on first use.
+         */
+        private CSVWriter spill;
+
+        /**
+         * Whether this writer has been closed.
+         */
+        private boolean closed;
+
+        /**
+         * Constructs a record writer over the given CSV writer.
+         *
+         * @param csvWriter      the CSV writer for the output file
+         * @param path           the path of the file being written
+         * @param file           the output file if it may be rewritten to
+         *                       widen the header, or null
+         * @param existingHeader the header already present in the output,
+         *                       or null to write one
+         */
+        private CsvRecordWriter(final CSVWriter csvWriter,
+                                final String path,
+                                final Path file,
+                                final RecordSchema existingHeader) {
+            this.writer = csvWriter;
+            this.filePath = path;
+            this.target = file;
+            if (existingHeader != null) {
+                schema = existingHeader;
+                headerWidth = existingHeader.size();
+                row = new String[existingHeader.size()];
+                prefix = null;
+            } else if (declaredSchema != null) {
+                fixSchema(declaredSchema);
+            }
+        }
+
+        @Override
+        public void write(final DataRecord record) {
+            if (schema != null) {
+                writeRow(record);
+                return;
+            }
+
+            prefix.add(record);
+            if (prefix.size() >= inferenceLimit) {
+                fixSchema(inferSchema());
+            }
+        }
+
+        /**
+         * Builds the header from the fields of the buffered records.
+         *
+         * @return the inferred header
+         */
+        private RecordSchema inferSchema() {
+            Set<String> names = new LinkedHashSet<>();
+            for (DataRecord record : prefix) {
+                names.addAll(record.getFieldView().keySet());
+            }
+            return new RecordSchema(names.toArray(new String[0]));
+        }
+
+        /**
+         * Fixes the header, writes it and flushes any buffered records.
+         *
+         * @param header the header to write
+         */
+        private void fixSchema(final RecordSchema header) {
+            schema = header;
+            headerWidth = header.size();
+            row = new String[header.size()];
+            writer.writeNext(header.getNames().toArray(new String[0]));
+
+            List<DataRecord> buffered = prefix;
+            prefix = null;
+            for (DataRecord record : buffered) {
+                writeRow(record);
+            }
+        }
+
+        /**
+         * Writes one record in header order and handles any late fields.
+         *
+         * @param record the record to write
+         */
+        private void writeRow(final DataRecord record) {
+            rowCount++;
+
+            if (fillRow(record) < record.size()) {
+                if (lateFieldPolicy == LateFieldPolicy.WIDEN
+                        && target != null) {
+                    widen(record);
+                    fillRow(record);
+                } else {
+                    handleLateFields(record);
+                }
+            }
+            writer.writeNext(row);
+        }
+
+        /**
+         * Fills the row buffer with the values of a record in header
+         * order.
+         *
+         * @param record the record to copy
+         * @return the number of header fields the record has a value for
+         */
+        private int fillRow(final DataRecord record) {
+            int present = 0;
+            for (int i = 0; i < row.length; i++) {
+                String value = record.getField(schema, i);
+                if (value != null) {
+                    present++;
+                }
+                row[i] = value != null ? value : "";
+            }
+            return present;
+        }
+
+        /**
+         * Adds the fields of a record that are not part of the header to
+         * its end.
+         *
+         * @param record the record holding late fields
+         */
+        private void widen(final DataRecord record) {
+            List<String> names = new ArrayList<>(schema.getNames());
+            record.forEachField((name, value) -> {
+                if (schema.indexOf(name) < 0) {
+                    names.add(name);
+                }
+            });
+            if (names.size() > schema.size()) {
+                schema = new RecordSchema(names.toArray(new String[0]));
+                row = new String[schema.size()];
+            }
+        }
+
+        /**
+         * Rewrites the output with the widened header, padding the rows
+         * written before a column was added.
+         *
+         * @throws IOException  if the output cannot be rewritten
+         * @throws CsvException if the written rows cannot be read back
+         */
+        private void rewrite() throws IOException, CsvException {
+            Path temp = Files.createTempFile("converter-", ".csv");
+            try {
+                try (CSVReader rows = new CSVReaderBuilder(
+                        FileIO.newReader(target))
+                        .withCSVParser(new RFC4180ParserBuilder().build())
+                        .withKeepCarriageReturn(true)
+                        .withSkipLines(1)
+                        .build();
+                     CSVWriter output = new CSVWriter(
+                             FileIO.newWriter(temp))) {
+                    output.writeNext(schema.getNames().toArray(new String[0]));
+                    String[] line;
+                    while ((line = rows.readNext()) != null) {
+                        Arrays.fill(row, "");
+                        System.arraycopy(line, 0, row, 0, line.length);
+                        output.writeNext(row);
+                    }
+                }
+                try (InputStream in = Files.newInputStream(temp);
+                     OutputStream out = FileIO.openOutput(target)) {
+                    in.transferTo(out);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+
+        /**
+         * Applies the late-field policy to the fields of a record that are
+         * not part of the header.
+         *
+         * @param record the record holding late fields
+         * @throws ConversionException if the policy is {@code FAIL}, or
+         *                             {@code WIDEN} on an output that
+         *                             cannot be rewritten
+         */
+        private void handleLateFields(final DataRecord record) {
+            if (lateFieldPolicy == LateFieldPolicy.DROP) {
+                return;
+            }
+            record.forEachField((name, value) -> {
+                if (schema.indexOf(name) >= 0) {
+                    return;
+                }
+                if (lateFieldPolicy != LateFieldPolicy.SPILL) {
+                    throw new ConversionException(
+                            "Error: Field '" + name + "' in record "
+                                    + rowCount
+                                    + " is not part of the CSV header");
+                }
+                spillWriter().writeNext(new String[] {
+                        String.valueOf(rowCount), name,
+                        value != null ? value : ""});
+            });
+        }
+
+        /**
+         * Returns the side file writer, opening it on first use.
+         *
+         * @return the side file writer
+         */
+        private CSVWriter spillWriter() {
+            if (spill == null) {
+                String path = spillPath(filePath);
+                try {
+                    spill = new CSVWriter(
+                            FileIO.newWriter(Paths.get(path)));
+                } catch (IOException e) {
+                    throw new ConversionException(
+                            "Error: Failed to create CSV file '"
+                                    + path + "': " + e.getMessage(), e);
+                }
+                spill.writeNext(new String[] {"record", "field", "value"});
+            }
+            return spill;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                try (writer) {
+                    if (schema == null && !prefix.isEmpty()) {
+                        fixSchema(inferSchema());
+                    }
+                } finally {
+                    if (spill != null) {
+                        spill.close();
+                    }
+                }
+                if (schema != null && schema.size() > headerWidth) {
+                    rewrite();
+                }
+            } catch (IOException | CsvException e) {
+                throw new ConversionException(
+                        "Error: Failed to write CSV file '"
+                                + filePath + "': " + e.getMessage(), e);
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -75,4 +647,16 @@ public class CsvGenerator implements Generator {
     public String getSupportedExtension() {
         return "csv";
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getConfiguration() {
+        String header = declaredSchema == null
+                ? "inferenceLimit=" + inferenceLimit
+                : "header=" + declaredSchema.getNames();
+        return getSupportedExtension() + " " + header
+                + " lateFields=" + lateFieldPolicy;
+    }
 }
@@ -1,7 +1,11 @@
 package com.converter.generator;
 
+import com.converter.exception.ConversionException;
 import com.converter.model.DataRecord;
+import com.converter.model.RecordBatch;
 
+import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -17,10 +21,97 @@ public interface Generator {
      */
     void generate(List<DataRecord> data, String filePath);
 
+    /**
+     * Generates an output file from a batch of rows.
+     *
+     * <p>The default implementation writes the batch through record views
+     * over its rows; generators that can use the schema directly override
+     * this method.
+     *
+     * @param batch    the batch of rows to write
+     * @param filePath the path to the output file
+     */
+    default void generate(final RecordBatch batch, final String filePath) {
+        generate(batch.asRecords(), filePath);
+    }
+
+    /**
+     * Opens an output file as a sink for data records.
+     *
+     * <p>The default implementation buffers all records and writes them
+     * on close; generators that can write incrementally override this
+     * method.
+     *
+     * @param filePath the path to the output file
+     * @return a writer accepting data records
+     */
+    default RecordWriter open(final String filePath) {
+        List<DataRecord> buffer = new ArrayList<>();
+        return new RecordWriter() {
+            @Override
+            public void write(final DataRecord record) {
+                buffer.add(record);
+            }
+
+            @Override
+            public void close() {
+                generate(buffer, filePath);
+            }
+        };
+    }
+
+    /**
+     * Opens an output stream as a sink for data records.
+     *
+     * <p>The default implementation writes to a temporary file and copies
+     * it to the stream on close; generators that can write to a stream
+     * directly override this method. Closing the returned writer closes
+     * the output stream.
+     *
+     * @param output the stream to write to
+     * @param name   the name of the output, used in error messages
+     * @return a writer accepting data records
+     */
+    default RecordWriter open(final OutputStream output, final String name) {
+        return SpooledOutput.open(this, output, name);
+    }
+
+    /**
+     * Reopens an output file written by this generator and appends
+     * records to it.
+     *
+     * <p>Records written through the returned writer continue the existing
+     * output as if they had been written before it was closed; a missing
+     * or empty file is written from the start. The default implementation
+     * rejects the request; generators whose output can be extended in
+     * place override this method.
+     *
+     * @param filePath the path to the output file
+     * @return a writer accepting data records
+     * @throws ConversionException if the file cannot be extended
+     */
+    default RecordWriter append(final String filePath) {
+        throw new ConversionException("Error: Cannot append to "
+                + getSupportedExtension() + " file '" + filePath + "'");
+    }
+
     /**
      * Returns the file extension supported by this generator.
      *
      * @return the supported file extension
      */
     String getSupportedExtension();
+
+    /**
+     * Describes the settings that decide what this generator writes.
+     *
+     * <p>Two generators with the same description write the same bytes for
+     * the same records, so the description can key cached outputs.
+     * Generators with settings must include them.
+     *
+     * @return the format and its settings
+     */
+    default String getConfiguration() {
+        return getSupportedExtension();
+    }
 }
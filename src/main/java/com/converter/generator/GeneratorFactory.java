@@ -1,12 +1,45 @@
 package com.converter.generator;
 
+import com.converter.compression.Codec;
+import com.converter.compression.CompressionOptions;
 import com.converter.exception.ConversionException;
 
+import java.io.File;
+
 /**
  * Factory class for creating generator instances based on file extension.
+ *
+ * <p>Generators hold no per-file state, so one instance per format is
+ * shared by every caller.
  */
 public final class GeneratorFactory {
 
+    /**
+     * The shared JSON generator.
+     */
+    private static final Generator JSON = new JsonGenerator();
+
+    /**
+     * The shared XML generator.
+     */
+    private static final Generator XML = new XmlGenerator();
+
+    /**
+     * The shared CSV generator.
+     */
+    private static final Generator CSV = new CsvGenerator();
+
+    /**
+     * The shared NDJSON generator, used for both {@code .ndjson} and
+     * {@code .jsonl} files.
+     */
+    private static final Generator NDJSON = new NdjsonGenerator();
+
+    /**
+     * The shared binary columnar generator.
+     */
+    private static final Generator COLUMNAR = new ColumnarGenerator();
+
     /**
      * Private constructor to prevent instantiation.
      */
@@ -21,22 +54,66 @@ public final class GeneratorFactory {
      * @throws ConversionException if the file format is not supported
      */
     public static Generator createGenerator(final String filePath) {
+        return createGenerator(filePath, CompressionOptions.DEFAULT);
+    }
+
+    /**
+     * Creates a generator for the given file path based on its extension,
+     * using the given settings if the file is compressed.
+     *
+     * @param filePath the path to the output file
+     * @param options  the compression settings
+     * @return a generator instance appropriate for the file format
+     * @throws ConversionException if the file format is not supported
+     */
+    public static Generator createGenerator(final String filePath,
+                                            final CompressionOptions options) {
         String extension = getFileExtension(filePath);
-        return createGeneratorByExtension(extension);
+        return createGeneratorByExtension(extension, options);
     }
 
     /**
      * Creates a generator for the given file extension.
      *
+     * <p>An extension such as {@code csv.gz}, ending in a codec
+     * extension, selects the generator of the inner format wrapped in a
+     * {@link CompressedGenerator}.
+     *
      * @param extension the file extension (without dot)
      * @return a generator instance appropriate for the file format
      * @throws ConversionException if the file format is not supported
      */
     public static Generator createGeneratorByExtension(final String extension) {
+        return createGeneratorByExtension(
+                extension, CompressionOptions.DEFAULT);
+    }
+
+    /**
+     * Creates a generator for the given file extension, using the given
+     * settings if the extension selects a compressed format.
+     *
+     * @param extension the file extension (without dot)
+     * @param options   the compression settings
+     * @return a generator instance appropriate for the file format
+     * @throws ConversionException if the file format is not supported
+     */
+    public static Generator createGeneratorByExtension(
+            final String extension, final CompressionOptions options) {
+        int dot = extension.lastIndexOf('.');
+        if (dot > 0) {
+            Codec codec = Codec.forExtension(extension.substring(dot + 1));
+            if (codec != null) {
+                return new CompressedGenerator(createGeneratorByExtension(
+                        extension.substring(0, dot)), codec, options);
+            }
+        }
+
         return switch (extension.toLowerCase()) {
-            case "json" -> new JsonGenerator();
-            case "xml" -> new XmlGenerator();
-            case "csv" -> new CsvGenerator();
+            case "json" -> JSON;
+            case "xml" -> XML;
+            case "csv" -> CSV;
+            case "ndjson", "jsonl" -> NDJSON;
+            case "fcol" -> COLUMNAR;
             default -> throw new ConversionException(
                     "Error: Unsupported file format '." + extension + "'");
         };
@@ -45,6 +122,10 @@ public final class GeneratorFactory {
     /**
      * Extracts the file extension from a file path.
      *
+     * <p>If the last extension names a compression codec, the extension
+     * before it is included, so {@code data.csv.gz} yields
+     * {@code csv.gz}.
+     *
      * @param filePath the file path
      * @return the file extension (without dot)
      * @throws ConversionException if the path is invalid or has no extension
@@ -61,6 +142,15 @@ public final class GeneratorFactory {
                     "Error: File must have an extension");
         }
 
+        int nameStart = Math.max(filePath.lastIndexOf('/'),
+                filePath.lastIndexOf(File.separatorChar)) + 1;
+        if (Codec.forExtension(filePath.substring(lastDot + 1)) != null) {
+            int innerDot = filePath.lastIndexOf('.', lastDot - 1);
+            if (innerDot > nameStart && innerDot < lastDot - 1) {
+                return filePath.substring(innerDot + 1);
+            }
+        }
+
         return filePath.substring(lastDot + 1);
     }
 }
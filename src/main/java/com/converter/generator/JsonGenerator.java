@@ -1,32 +1,83 @@
 package com.converter.generator;
 
 import com.converter.exception.ConversionException;
+import com.converter.io.FileIO;
+import com.converter.metrics.GenerateChunkEvent;
 import com.converter.model.DataRecord;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
+import com.converter.registry.ComponentRegistry;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.core.util.Separators;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Generator implementation for JSON files.
+ *
+ * <p>Records are written as a JSON array, one object per record, through
+ * a Jackson token stream, so no intermediate copy of the data is built.
  */
 public class JsonGenerator implements Generator {
 
     /**
-     * Jackson ObjectMapper for JSON processing.
+     * Number of trailing bytes searched for the end of the array when
+     * appending.
      */
-    private final ObjectMapper objectMapper;
+    private static final int TAIL_BYTES = 4096;
+
+    /**
+     * Output layouts.
+     */
+    public enum Mode {
+        /**
+         * Pretty-printed output with line breaks and indentation.
+         */
+        INDENTED,
+
+        /**
+         * Compact output without any whitespace between tokens.
+         */
+        COMPACT
+    }
+
+    /**
+     * The layout of the generated output.
+     */
+    private final Mode mode;
 
     /**
      * Constructs a new JSON generator with indented output.
      */
     public JsonGenerator() {
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
+        this(Mode.INDENTED);
+    }
+
+    /**
+     * Constructs a new JSON generator with the given output layout.
+     *
+     * @param outputMode the layout of the generated output
+     */
+    public JsonGenerator(final Mode outputMode) {
+        this.mode = outputMode;
+    }
+
+    /**
+     * Returns the layout of the generated output.
+     *
+     * @return the generator mode
+     */
+    public Mode getMode() {
+        return mode;
     }
 
     /**
@@ -34,10 +85,25 @@ public class JsonGenerator implements Generator {
      */
     @Override
     public void generate(final List<DataRecord> data, final String filePath) {
+        GenerateChunkEvent event = new GenerateChunkEvent();
+        event.begin();
+        try (RecordWriter writer = open(filePath)) {
+            for (DataRecord record : data) {
+                writer.write(record);
+            }
+        }
+        event.finish(getSupportedExtension(), filePath, data.size());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RecordWriter open(final String filePath) {
         File file = new File(filePath);
         File parentDir = file.getParentFile();
         if (parentDir != null && !parentDir.exists()) {
-            if (!parentDir.mkdirs()) {
+            if (!parentDir.mkdirs() && !parentDir.isDirectory()) {
                 throw new ConversionException(
                         "Error: Cannot create directory '"
                                 + parentDir.getPath() + "'");
@@ -45,15 +111,245 @@ public class JsonGenerator implements Generator {
         }
 
         try {
-            List<Map<String, String>> jsonData = data.stream()
-                    .map(DataRecord::getFields)
-                    .collect(Collectors.toList());
+            return open(FileIO.openOutput(file.toPath()), filePath);
+        } catch (IOException e) {
+            throw writeError(filePath, e);
+        }
+    }
 
-            objectMapper.writeValue(file, jsonData);
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The file is cut just after the last element of the root array
+     * and new objects are written from there, each preceded by the
+     * separator this generator's layout uses, before the array is closed
+     * again.
+     *
+     * @throws ConversionException if the file does not end with a JSON
+     *                             array
+     */
+    @Override
+    public RecordWriter append(final String filePath) {
+        Path path = Paths.get(filePath);
+        try {
+            if (!Files.isRegularFile(path) || Files.size(path) == 0) {
+                return open(filePath);
+            }
+            long end;
+            boolean empty;
+            try (FileChannel channel = FileChannel.open(path)) {
+                long size = channel.size();
+                int length = (int) Math.min(size, TAIL_BYTES);
+                ByteBuffer tail = FileIO.read(channel, size - length, length);
+                int last = skipWhitespace(tail, length - 1);
+                int previous = last >= 0 && tail.get(last) == ']'
+                        ? skipWhitespace(tail, last - 1) : -1;
+                if (previous < 0) {
+                    throw new ConversionException(
+                            "Error: Cannot append to JSON file '" + filePath
+                                    + "': it does not end with an array");
+                }
+                end = size - length + previous + 1;
+                empty = tail.get(previous) == '[';
+            }
+            return start(FileIO.openAppend(path, end), filePath, true, empty);
         } catch (IOException e) {
-            throw new ConversionException(
-                    "Error: Failed to write JSON file '"
-                            + filePath + "': " + e.getMessage(), e);
+            throw writeError(filePath, e);
+        }
+    }
+
+    /**
+     * Returns the offset of the last non-whitespace byte at or before an
+     * offset.
+     *
+     * @param bytes the bytes to search
+     * @param from  the offset to search back from
+     * @return the offset found, or -1 if there is none
+     */
+    private static int skipWhitespace(final ByteBuffer bytes, final int from) {
+        int i = from;
+        while (i >= 0 && (bytes.get(i) == ' ' || bytes.get(i) == '\n'
+                || bytes.get(i) == '\r' || bytes.get(i) == '\t')) {
+            i--;
+        }
+        return i;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RecordWriter open(final OutputStream output, final String name) {
+        return start(output, name, false, true);
+    }
+
+    /**
+     * Starts writing records to a stream.
+     *
+     * @param output   the stream to write to
+     * @param name     the name of the output, used in error messages
+     * @param reopened whether the stream continues an existing array
+     *                 just after its last element
+     * @param empty    whether the array has no elements yet
+     * @return a writer accepting data records
+     */
+    private RecordWriter start(final OutputStream output, final String name,
+                               final boolean reopened, final boolean empty) {
+        com.fasterxml.jackson.core.JsonGenerator tokens = null;
+        try {
+            tokens = ComponentRegistry.jsonMapper().getFactory()
+                    .createGenerator(output, JsonEncoding.UTF8);
+            if (!reopened) {
+                if (mode == Mode.INDENTED) {
+                    tokens.useDefaultPrettyPrinter();
+                }
+                tokens.writeStartArray();
+                return new JsonRecordWriter(tokens, name, null, null, null);
+            }
+            // objects are written as root values, separated by hand
+            if (mode == Mode.INDENTED) {
+                tokens.setPrettyPrinter(new DefaultPrettyPrinter(
+                        Separators.createDefaultInstance()
+                                .withRootSeparator(null)));
+                return new JsonRecordWriter(tokens, name,
+                        empty ? " " : ", ", ", ", " ]");
+            }
+            tokens.setRootValueSeparator(null);
+            return new JsonRecordWriter(tokens, name, empty ? "" : ",", ",",
+                    "]");
+        } catch (IOException e) {
+            closeQuietly(tokens != null ? tokens : output);
+            throw writeError(name, e);
+        }
+    }
+
+    /**
+     * Converts an I/O error into a conversion exception.
+     *
+     * @param filePath the path of the file being written
+     * @param e        the I/O error
+     * @return a conversion exception describing the failure
+     */
+    private static ConversionException writeError(final String filePath,
+                                                  final IOException e) {
+        return new ConversionException(
+                "Error: Failed to write JSON file '"
+                        + filePath + "': " + e.getMessage(), e);
+    }
+
+    /**
+     * Closes a token generator or stream, ignoring any error.
+     *
+     * @param output the generator or stream to close
+     */
+    private static void closeQuietly(final Closeable output) {
+        try {
+            output.close();
+        } catch (IOException ignored) {
+            // nothing useful to report while already failing
+        }
+    }
+
+    /**
+     * Record writer that emits each record as a JSON object as it
+     * arrives.
+     */
+    private static final class JsonRecordWriter implements RecordWriter {
+
+        /**
+         * The underlying Jackson token stream, positioned inside the
+         * root array.
+         */
+        private final com.fasterxml.jackson.core.JsonGenerator tokens;
+
+        /**
+         * The path of the file being written, used in error messages.
+         */
+        private final String filePath;
+
+        /**
+         * The raw text written before the next object of a reopened
+         * array, or null if the array is written by the token stream.
+         */
+        private String separator;
+
+        /**
+         * The raw text written between objects of a reopened array, or
+         * null if the array is written by the token stream.
+         */
+        private final String nextSeparator;
+
+        /**
+         * The raw text closing a reopened array, or null if the array is
+         * written by the token stream.
+         */
+        private final String arrayEnd;
+
+        /**
+         * Whether this writer has been closed.
+         */
+        private boolean closed;
+
+        /**
+         * Constructs a record writer over the given token stream.
+         *
+         * @param tokenStream    the token stream positioned inside the array
+         * @param path           the path of the file being written
+         * @param firstSeparator the raw text before the first object of a
+         *                       reopened array, or null
+         * @param between        the raw text between objects of a reopened
+         *                       array, or null
+         * @param end            the raw text closing a reopened array, or
+         *                       null
+         */
+        private JsonRecordWriter(
+                final com.fasterxml.jackson.core.JsonGenerator tokenStream,
+                final String path, final String firstSeparator,
+                final String between, final String end) {
+            this.tokens = tokenStream;
+            this.filePath = path;
+            this.separator = firstSeparator;
+            this.nextSeparator = between;
+            this.arrayEnd = end;
+        }
+
+        @Override
+        public void write(final DataRecord record) {
+            try {
+                if (arrayEnd != null) {
+                    tokens.writeRaw(separator);
+                    separator = nextSeparator;
+                }
+                tokens.writeStartObject();
+                for (Map.Entry<String, String> field
+                        : record.getFieldView().entrySet()) {
+                    tokens.writeStringField(field.getKey(), field.getValue());
+                }
+                tokens.writeEndObject();
+            } catch (IOException e) {
+                closeQuietly(tokens);
+                closed = true;
+                throw writeError(filePath, e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                if (arrayEnd != null) {
+                    tokens.writeRaw(arrayEnd);
+                } else {
+                    tokens.writeEndArray();
+                }
+                tokens.close();
+            } catch (IOException e) {
+                closeQuietly(tokens);
+                throw writeError(filePath, e);
+            }
         }
     }
 
@@ -64,4 +360,12 @@ public class JsonGenerator implements Generator {
     public String getSupportedExtension() {
         return "json";
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getConfiguration() {
+        return getSupportedExtension() + " mode=" + mode;
+    }
 }
@@ -0,0 +1,200 @@
+package com.converter.generator;
+
+import com.converter.exception.ConversionException;
+import com.converter.io.FileIO;
+import com.converter.metrics.GenerateChunkEvent;
+import com.converter.model.DataRecord;
+import com.converter.registry.ComponentRegistry;
+import com.fasterxml.jackson.core.JsonEncoding;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generator implementation for newline-delimited JSON (NDJSON / JSON
+ * Lines) files.
+ *
+ * <p>Each record is written as one compact JSON object followed by a
+ * line break.
+ */
+public class NdjsonGenerator implements Generator {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void generate(final List<DataRecord> data, final String filePath) {
+        GenerateChunkEvent event = new GenerateChunkEvent();
+        event.begin();
+        try (RecordWriter writer = open(filePath)) {
+            for (DataRecord record : data) {
+                writer.write(record);
+            }
+        }
+        event.finish(getSupportedExtension(), filePath, data.size());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RecordWriter open(final String filePath) {
+        File file = new File(filePath);
+        File parentDir = file.getParentFile();
+        if (parentDir != null && !parentDir.exists()) {
+            if (!parentDir.mkdirs() && !parentDir.isDirectory()) {
+                throw new ConversionException(
+                        "Error: Cannot create directory '"
+                                + parentDir.getPath() + "'");
+            }
+        }
+
+        try {
+            return open(FileIO.openOutput(file.toPath()), filePath);
+        } catch (IOException e) {
+            throw writeError(filePath, e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Lines are self-contained, so new records are simply written after
+     * the existing ones.
+     */
+    @Override
+    public RecordWriter append(final String filePath) {
+        Path path = Paths.get(filePath);
+        if (!Files.isRegularFile(path)) {
+            return open(filePath);
+        }
+        try {
+            return open(FileIO.openAppend(path, Files.size(path)), filePath);
+        } catch (IOException e) {
+            throw writeError(filePath, e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RecordWriter open(final OutputStream output, final String name) {
+        try {
+            com.fasterxml.jackson.core.JsonGenerator tokens =
+                    ComponentRegistry.jsonMapper().getFactory()
+                            .createGenerator(output, JsonEncoding.UTF8);
+            tokens.setRootValueSeparator(null);
+            return new NdjsonRecordWriter(tokens, name);
+        } catch (IOException e) {
+            closeQuietly(output);
+            throw writeError(name, e);
+        }
+    }
+
+    /**
+     * Converts an I/O error into a conversion exception.
+     *
+     * @param filePath the path of the file being written
+     * @param e        the I/O error
+     * @return a conversion exception describing the failure
+     */
+    private static ConversionException writeError(final String filePath,
+                                                  final IOException e) {
+        return new ConversionException(
+                "Error: Failed to write NDJSON file '"
+                        + filePath + "': " + e.getMessage(), e);
+    }
+
+    /**
+     * Closes a token generator or stream, ignoring any error.
+     *
+     * @param output the generator or stream to close
+     */
+    private static void closeQuietly(final Closeable output) {
+        try {
+            output.close();
+        } catch (IOException ignored) {
+            // nothing useful to report while already failing
+        }
+    }
+
+    /**
+     * Record writer that emits one line per record as it arrives.
+     */
+    private static final class NdjsonRecordWriter implements RecordWriter {
+
+        /**
+         * The underlying Jackson token stream.
+         */
+        private final com.fasterxml.jackson.core.JsonGenerator tokens;
+
+        /**
+         * The path of the file being written, used in error messages.
+         */
+        private final String filePath;
+
+        /**
+         * Whether this writer has been closed.
+         */
+        private boolean closed;
+
+        /**
+         * Constructs a record writer over the given token stream.
+         *
+         * @param tokenStream the token stream to write to
+         * @param path        the path of the file being written
+         */
+        private NdjsonRecordWriter(
+                final com.fasterxml.jackson.core.JsonGenerator tokenStream,
+                final String path) {
+            this.tokens = tokenStream;
+            this.filePath = path;
+        }
+
+        @Override
+        public void write(final DataRecord record) {
+            try {
+                tokens.writeStartObject();
+                for (Map.Entry<String, String> field
+                        : record.getFieldView().entrySet()) {
+                    tokens.writeStringField(field.getKey(), field.getValue());
+                }
+                tokens.writeEndObject();
+                tokens.writeRaw('\n');
+            } catch (IOException e) {
+                closeQuietly(tokens);
+                closed = true;
+                throw writeError(filePath, e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                tokens.close();
+            } catch (IOException e) {
+                throw writeError(filePath, e);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getSupportedExtension() {
+        return "ndjson";
+    }
+}
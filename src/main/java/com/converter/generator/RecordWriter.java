@@ -0,0 +1,25 @@
+package com.converter.generator;
+
+import com.converter.model.DataRecord;
+
+/**
+ * Push-based sink that writes data records to an output destination.
+ *
+ * <p>Records are written as they arrive; closing the writer completes
+ * the output document and releases the underlying file handle.
+ */
+public interface RecordWriter extends AutoCloseable {
+
+    /**
+     * Writes a single data record.
+     *
+     * @param record the data record to write
+     */
+    void write(DataRecord record);
+
+    /**
+     * Completes the output and releases any underlying resources.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,96 @@
+package com.converter.generator;
+
+import com.converter.exception.ConversionException;
+import com.converter.model.DataRecord;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes to an output stream through a generator that only accepts
+ * files, by writing a temporary file and copying it to the stream.
+ */
+final class SpooledOutput {
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private SpooledOutput() {
+    }
+
+    /**
+     * Opens a temporary file with a generator and arranges for it to be
+     * copied to a stream on close.
+     *
+     * @param generator the generator writing the temporary file
+     * @param output    the stream to copy to, closed with the writer
+     * @param name      the name of the output, used in error messages
+     * @return a writer accepting data records
+     * @throws ConversionException if the temporary file cannot be created
+     */
+    static RecordWriter open(final Generator generator,
+                             final OutputStream output, final String name) {
+        Path spool;
+        try {
+            spool = Files.createTempFile(
+                    "converter-", "." + generator.getSupportedExtension());
+        } catch (IOException e) {
+            throw writeError(name, e);
+        }
+
+        RecordWriter writer;
+        try {
+            writer = generator.open(spool.toString());
+        } catch (RuntimeException e) {
+            deleteQuietly(spool);
+            throw e;
+        }
+
+        return new RecordWriter() {
+            @Override
+            public void write(final DataRecord record) {
+                writer.write(record);
+            }
+
+            @Override
+            public void close() {
+                try (OutputStream out = output) {
+                    writer.close();
+                    Files.copy(spool, out);
+                } catch (IOException e) {
+                    throw writeError(name, e);
+                } finally {
+                    deleteQuietly(spool);
+                }
+            }
+        };
+    }
+
+    /**
+     * Converts an I/O error into a conversion exception.
+     *
+     * @param name the name of the output
+     * @param e    the I/O error
+     * @return a conversion exception describing the failure
+     */
+    private static ConversionException writeError(final String name,
+                                                  final IOException e) {
+        return new ConversionException("Error: Failed to write '"
+                + name + "': " + e.getMessage(), e);
+    }
+
+    /**
+     * Deletes a file, ignoring any error.
+     *
+     * @param file the file to delete
+     */
+    private static void deleteQuietly(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // a leftover temporary file is not worth failing for
+        }
+    }
+}
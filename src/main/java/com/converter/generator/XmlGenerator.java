@@ -1,18 +1,20 @@
 package com.converter.generator;
 
 import com.converter.exception.ConversionException;
+import com.converter.io.FileIO;
+import com.converter.metrics.GenerateChunkEvent;
 import com.converter.model.DataRecord;
 
-import javax.xml.stream.XMLOutputFactory;
-import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.XMLStreamWriter;
 import java.io.File;
-import java.io.FileOutputStream;
+import java.io.OutputStream;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
-import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Generator implementation for XML files.
@@ -20,57 +22,131 @@ import java.util.Map;
 public class XmlGenerator implements Generator {
 
     /**
-     * The root element name for XML output.
+     * Field tags shared by all XML output.
      */
-    private static final String ROOT_ELEMENT = "records";
+    private static final XmlTagCache TAGS =
+            new XmlTagCache(XmlTagCache.DEFAULT_CAPACITY);
 
     /**
-     * The element name for each record in XML output.
+     * The root end tag searched for when appending.
      */
-    private static final String RECORD_ELEMENT = "record";
+    private static final byte[] ROOT_END =
+            "</records>".getBytes(FileIO.CHARSET);
+
+    /**
+     * Number of trailing bytes searched for the root end tag when
+     * appending.
+     */
+    private static final int TAIL_BYTES = 4096;
+
+    /**
+     * Receives warnings about field names that collide as elements.
+     */
+    private final Consumer<String> warnings;
+
+    /**
+     * Constructs a generator that prints warnings to standard error.
+     */
+    public XmlGenerator() {
+        this(System.err::println);
+    }
+
+    /**
+     * Constructs a generator that reports warnings to the given sink.
+     *
+     * @param warningSink receives warnings about field names that
+     *                    sanitize to the same element name
+     */
+    XmlGenerator(final Consumer<String> warningSink) {
+        this.warnings = warningSink;
+    }
 
     /**
      * {@inheritDoc}
      */
     @Override
     public void generate(final List<DataRecord> data, final String filePath) {
+        GenerateChunkEvent event = new GenerateChunkEvent();
+        event.begin();
+        try (RecordWriter writer = open(filePath)) {
+            for (DataRecord record : data) {
+                writer.write(record);
+            }
+        }
+        event.finish(getSupportedExtension(), filePath, data.size());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RecordWriter open(final String filePath) {
         File file = new File(filePath);
         File parentDir = file.getParentFile();
         if (parentDir != null && !parentDir.exists()) {
-            if (!parentDir.mkdirs()) {
+            if (!parentDir.mkdirs() && !parentDir.isDirectory()) {
                 throw new ConversionException(
                         "Error: Cannot create directory '"
                                 + parentDir.getPath() + "'");
             }
         }
 
-        XMLOutputFactory factory = XMLOutputFactory.newInstance();
-
-        try (FileOutputStream fos = new FileOutputStream(file);
-             OutputStreamWriter osw =
-                     new OutputStreamWriter(fos, StandardCharsets.UTF_8)) {
-
-            XMLStreamWriter writer = factory.createXMLStreamWriter(osw);
+        try {
+            return open(FileIO.openOutput(file.toPath()), filePath);
+        } catch (IOException e) {
+            throw new ConversionException(
+                    "Error: Failed to write XML file '"
+                            + filePath + "': " + e.getMessage(), e);
+        }
+    }
 
-            writer.writeStartDocument("UTF-8", "1.0");
-            writer.writeCharacters("\n");
-            writer.writeStartElement(ROOT_ELEMENT);
-            writer.writeCharacters("\n");
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RecordWriter open(final OutputStream output, final String name) {
+        XmlRecordEncoder encoder = new XmlRecordEncoder(output, TAGS,
+                warnings);
+        encoder.writeHeader();
+        return new XmlRecordWriter(encoder, output, name);
+    }
 
-            for (DataRecord record : data) {
-                writeRecord(writer, record);
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The file is cut at its root end tag and new records are written
+     * in its place, followed by a new end tag.
+     *
+     * @throws ConversionException if the file does not end with the root
+     *                             element this generator writes
+     */
+    @Override
+    public RecordWriter append(final String filePath) {
+        Path path = Paths.get(filePath);
+        OutputStream output = null;
+        try {
+            if (!Files.isRegularFile(path) || Files.size(path) == 0) {
+                return open(filePath);
             }
-
-            writer.writeEndElement();
-            writer.writeCharacters("\n");
-            writer.writeEndDocument();
-            writer.flush();
-            writer.close();
-
-        } catch (XMLStreamException e) {
-            throw new ConversionException(
-                    "Error: Failed to generate XML: " + e.getMessage(), e);
+            long end;
+            try (FileChannel channel = FileChannel.open(path)) {
+                long size = channel.size();
+                int length = (int) Math.min(size, TAIL_BYTES);
+                int at = lastIndexOf(FileIO.read(channel, size - length,
+                        length), ROOT_END);
+                if (at < 0) {
+                    throw new ConversionException(
+                            "Error: Cannot append to XML file '" + filePath
+                                    + "': no </records> end tag found");
+                }
+                end = size - length + at;
+            }
+            output = FileIO.openAppend(path, end);
+            return new XmlRecordWriter(
+                    new XmlRecordEncoder(output, TAGS, warnings), output,
+                    filePath);
         } catch (IOException e) {
+            closeQuietly(output);
             throw new ConversionException(
                     "Error: Failed to write XML file '"
                             + filePath + "': " + e.getMessage(), e);
@@ -78,31 +154,121 @@ public class XmlGenerator implements Generator {
     }
 
     /**
-     * Writes a single data record to the XML stream.
+     * Finds the last occurrence of a byte sequence.
      *
-     * @param writer the XML stream writer
-     * @param record the data record to write
-     * @throws XMLStreamException if writing fails
+     * @param bytes  the bytes to search
+     * @param target the sequence to find
+     * @return the offset of its first byte, or -1 if it does not occur
+     */
+    private static int lastIndexOf(final ByteBuffer bytes,
+                                   final byte[] target) {
+        outer:
+        for (int i = bytes.limit() - target.length; i >= 0; i--) {
+            for (int j = 0; j < target.length; j++) {
+                if (bytes.get(i + j) != target[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Closes a stream, ignoring any error.
+     *
+     * @param output the stream to close, may be null
+     */
+    private static void closeQuietly(final OutputStream output) {
+        if (output == null) {
+            return;
+        }
+        try {
+            output.close();
+        } catch (IOException ignored) {
+            // nothing useful to report while already failing
+        }
+    }
+
+    /**
+     * Record writer that encodes each record as it arrives.
      */
-    private void writeRecord(
-            final XMLStreamWriter writer,
-            final DataRecord record) throws XMLStreamException {
-        writer.writeCharacters("  ");
-        writer.writeStartElement(RECORD_ELEMENT);
-        writer.writeCharacters("\n");
-
-        for (Map.Entry<String, String> field : record.getFields().entrySet()) {
-            writer.writeCharacters("    ");
-            writer.writeStartElement(sanitizeElementName(field.getKey()));
-            String value = field.getValue();
-            writer.writeCharacters(value != null ? value : "");
-            writer.writeEndElement();
-            writer.writeCharacters("\n");
+    private static final class XmlRecordWriter implements RecordWriter {
+
+        /**
+         * The encoder records are written through.
+         */
+        private final XmlRecordEncoder encoder;
+
+        /**
+         * The byte stream the encoder writes to.
+         */
+        private final OutputStream output;
+
+        /**
+         * The path of the file being written, used in error messages.
+         */
+        private final String filePath;
+
+        /**
+         * Whether this writer has been closed.
+         */
+        private boolean closed;
+
+        /**
+         * Constructs a record writer over the given encoder.
+         *
+         * @param xmlEncoder the encoder positioned inside the root
+         * @param stream     the byte stream backing the encoder
+         * @param path       the path of the file being written
+         */
+        private XmlRecordWriter(final XmlRecordEncoder xmlEncoder,
+                                final OutputStream stream,
+                                final String path) {
+            this.encoder = xmlEncoder;
+            this.output = stream;
+            this.filePath = path;
         }
 
-        writer.writeCharacters("  ");
-        writer.writeEndElement();
-        writer.writeCharacters("\n");
+        @Override
+        public void write(final DataRecord record) {
+            try {
+                encoder.writeRecord(record);
+            } catch (IOException e) {
+                fail();
+                throw new ConversionException(
+                        "Error: Failed to write XML file '"
+                                + filePath + "': " + e.getMessage(), e);
+            } catch (ConversionException e) {
+                fail();
+                throw e;
+            }
+        }
+
+        /**
+         * Closes the stream after a failed write.
+         */
+        private void fail() {
+            closeQuietly(output);
+            closed = true;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                encoder.finish();
+                output.close();
+            } catch (IOException e) {
+                closeQuietly(output);
+                throw new ConversionException(
+                        "Error: Failed to write XML file '"
+                                + filePath + "': " + e.getMessage(), e);
+            }
+        }
     }
 
     /**
@@ -111,7 +277,7 @@ public class XmlGenerator implements Generator {
      * @param name the original name
      * @return a valid XML element name
      */
-    private String sanitizeElementName(final String name) {
+    static String sanitizeElementName(final String name) {
         if (name == null || name.isEmpty()) {
             return "field";
         }
@@ -0,0 +1,390 @@
+package com.converter.generator;
+
+import com.converter.exception.ConversionException;
+import com.converter.generator.XmlTagCache.Tag;
+import com.converter.io.FileIO;
+import com.converter.model.DataRecord;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Writes records as UTF-8 XML of the fixed
+ * {@code <records>/<record>/<field>} shape straight into a reusable byte
+ * buffer.
+ *
+ * <p>The output is byte-for-byte what the StAX writer previously produced
+ * for the same calls: a single-quoted declaration, two- and four-space
+ * indentation, and the same escaping of character data. {@code <} and
+ * {@code &} are always escaped; carriage returns, C1 controls and the
+ * noncharacters U+FFFE and U+FFFF become character references; an
+ * unpaired surrogate becomes {@code ?}. Other control characters cannot
+ * be represented in XML 1.0 and fail the conversion.
+ *
+ * <p>{@code >} is escaped where Woodstox escapes it, which depends on how
+ * it walks the value: always after {@code ]}, so {@code ]]>} never
+ * appears, and at the start of a run of unescaped characters. A value
+ * shorter than {@value #STAX_COPY_THRESHOLD} characters is one run.
+ * Longer values are copied in {@value #STAX_COPY_CHUNK}-character chunks,
+ * and a run also restarts at each chunk and after every escaped
+ * character.
+ *
+ * <p>Field tags come from a {@link XmlTagCache} shared with other
+ * writers. The first time a field name appears in this output its
+ * element name is checked against those already written; two different
+ * names that sanitize to the same element are reported once as a
+ * warning, since a reader cannot tell their values apart.
+ */
+final class XmlRecordEncoder implements BiConsumer<String, String> {
+
+    /**
+     * The XML declaration and root start tag.
+     */
+    private static final byte[] HEADER = ascii(
+            "<?xml version='1.0' encoding='UTF-8'?>\n<records>\n");
+
+    /**
+     * The root end tag.
+     */
+    private static final byte[] FOOTER = ascii("</records>\n");
+
+    /**
+     * The indented record start tag.
+     */
+    private static final byte[] RECORD_START = ascii("  <record>\n");
+
+    /**
+     * The indented record end tag.
+     */
+    private static final byte[] RECORD_END = ascii("  </record>\n");
+
+    /**
+     * Size of the byte buffer records are encoded into.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Longest encoding of a single character, {@code &#xffff;}.
+     */
+    private static final int MAX_CHAR_BYTES = 8;
+
+    /**
+     * Length from which Woodstox copies a value in chunks before escaping
+     * it.
+     */
+    private static final int STAX_COPY_THRESHOLD = 12;
+
+    /**
+     * Size of the chunks Woodstox copies long values in.
+     */
+    private static final int STAX_COPY_CHUNK = 512;
+
+    /**
+     * Lower-case hexadecimal digits for character references.
+     */
+    private static final byte[] HEX = ascii("0123456789abcdef");
+
+    /**
+     * The stream encoded bytes are flushed to.
+     */
+    private final OutputStream output;
+
+    /**
+     * The buffer records are encoded into.
+     */
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    /**
+     * The number of bytes pending in the buffer.
+     */
+    private int position;
+
+    /**
+     * The shared cache field tags are taken from.
+     */
+    private final XmlTagCache tagCache;
+
+    /**
+     * Receives warnings about colliding element names.
+     */
+    private final Consumer<String> warnings;
+
+    /**
+     * Tags of the field names seen in this output.
+     */
+    private final Map<String, Tag> tags = new HashMap<>();
+
+    /**
+     * The first field name written under each element name.
+     */
+    private final Map<String, String> fieldsByElement = new HashMap<>();
+
+    /**
+     * Constructs an encoder writing to the given stream.
+     *
+     * @param stream      the stream to write to
+     * @param cache       the shared cache of field tags
+     * @param warningSink receives warnings about colliding element names
+     */
+    XmlRecordEncoder(final OutputStream stream, final XmlTagCache cache,
+                     final Consumer<String> warningSink) {
+        this.output = stream;
+        this.tagCache = cache;
+        this.warnings = warningSink;
+    }
+
+    /**
+     * Writes the XML declaration and the root start tag.
+     */
+    void writeHeader() {
+        writeBytes(HEADER);
+    }
+
+    /**
+     * Encodes a record into the buffer, flushing it whenever it fills.
+     *
+     * @param record the record to write
+     * @throws IOException         if the stream cannot be written
+     * @throws ConversionException if a value holds a character XML 1.0
+     *                             cannot represent
+     */
+    void writeRecord(final DataRecord record) throws IOException {
+        try {
+            writeBytes(RECORD_START);
+            record.forEachField(this);
+            writeBytes(RECORD_END);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Writes the root end tag and flushes everything to the stream.
+     *
+     * @throws IOException if the stream cannot be written
+     */
+    void finish() throws IOException {
+        try {
+            writeBytes(FOOTER);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        flushBuffer();
+    }
+
+    /**
+     * Encodes one field of the current record.
+     *
+     * @param name  the raw field name
+     * @param value the field value, may be null
+     */
+    @Override
+    public void accept(final String name, final String value) {
+        Tag tag = tags.get(name);
+        if (tag == null) {
+            tag = firstUse(name);
+        }
+        writeBytes(tag.open());
+        if (value != null) {
+            writeText(name, value);
+        }
+        writeBytes(tag.close());
+    }
+
+    /**
+     * Looks up the tags of a field name new to this output and checks its
+     * element name for a collision with an earlier field.
+     *
+     * @param name the raw field name
+     * @return the encoded tags
+     */
+    private Tag firstUse(final String name) {
+        Tag tag = tagCache.get(name);
+        tags.put(name, tag);
+        String earlier = fieldsByElement.putIfAbsent(tag.element(), name);
+        if (earlier != null) {
+            warnings.accept("Warning: Fields '" + earlier + "' and '" + name
+                    + "' are both written as XML element <" + tag.element()
+                    + ">");
+        }
+        return tag;
+    }
+
+    /**
+     * Escapes character data into the buffer.
+     *
+     * @param name  the field name, used in error messages
+     * @param value the text to escape
+     */
+    private void writeText(final String name, final String value) {
+        byte[] buf = buffer;
+        int pos = position;
+        int length = value.length();
+        boolean chunked = length >= STAX_COPY_THRESHOLD;
+        // start of the current run of unescaped characters
+        int run = 0;
+        for (int i = 0; i < length; i++) {
+            if (pos > buf.length - MAX_CHAR_BYTES) {
+                position = pos;
+                flushUnchecked();
+                pos = 0;
+            }
+            if (chunked && i % STAX_COPY_CHUNK == 0) {
+                run = i;
+            }
+            char c = value.charAt(i);
+            int before = pos;
+            if (c < 0x80) {
+                if (c >= 0x20 && c != '<' && c != '&' && c != '>'
+                        && c != 0x7F) {
+                    buf[pos++] = (byte) c;
+                } else if (c == '<') {
+                    pos = put(buf, pos, "&lt;");
+                } else if (c == '&') {
+                    pos = put(buf, pos, "&amp;");
+                } else if (c == '>') {
+                    if (i == run || value.charAt(i - 1) == ']') {
+                        pos = put(buf, pos, "&gt;");
+                    } else {
+                        buf[pos++] = '>';
+                    }
+                } else if (c == '\n' || c == '\t') {
+                    buf[pos++] = (byte) c;
+                } else if (c == '\r' || c == 0x7F) {
+                    pos = putReference(buf, pos, c);
+                } else {
+                    throw new ConversionException(
+                            "Error: Failed to generate XML: Invalid character 0x"
+                                    + Integer.toHexString(c) + " in field '"
+                                    + name + "'");
+                }
+            } else if (c < 0x800) {
+                if (c < 0xA0) {
+                    pos = putReference(buf, pos, c);
+                } else {
+                    buf[pos++] = (byte) (0xC0 | (c >> 6));
+                    buf[pos++] = (byte) (0x80 | (c & 0x3F));
+                }
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < length
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, value.charAt(++i));
+                    buf[pos++] = (byte) (0xF0 | (cp >> 18));
+                    buf[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                    buf[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                    buf[pos++] = (byte) (0x80 | (cp & 0x3F));
+                } else {
+                    buf[pos++] = '?';
+                }
+            } else if (c >= 0xFFFE) {
+                pos = putReference(buf, pos, c);
+            } else {
+                buf[pos++] = (byte) (0xE0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+            // every escaped character is written starting with '&'
+            if (chunked && buf[before] == '&') {
+                run = i + 1;
+            }
+        }
+        position = pos;
+    }
+
+    /**
+     * Copies an ASCII entity into the buffer.
+     *
+     * @param buf    the buffer
+     * @param pos    the offset to write at
+     * @param entity the entity text
+     * @return the offset after the entity
+     */
+    private static int put(final byte[] buf, final int pos,
+                           final String entity) {
+        int p = pos;
+        for (int i = 0; i < entity.length(); i++) {
+            buf[p++] = (byte) entity.charAt(i);
+        }
+        return p;
+    }
+
+    /**
+     * Writes a hexadecimal character reference such as {@code &#xd;}.
+     *
+     * @param buf the buffer
+     * @param pos the offset to write at
+     * @param c   the character to reference
+     * @return the offset after the reference
+     */
+    private static int putReference(final byte[] buf, final int pos,
+                                    final char c) {
+        int p = pos;
+        buf[p++] = '&';
+        buf[p++] = '#';
+        buf[p++] = 'x';
+        int shift = (31 - Integer.numberOfLeadingZeros(c)) & ~3;
+        for (; shift >= 0; shift -= 4) {
+            buf[p++] = HEX[(c >> shift) & 0xF];
+        }
+        buf[p++] = ';';
+        return p;
+    }
+
+    /**
+     * Copies bytes into the buffer, flushing it as it fills.
+     *
+     * @param bytes the bytes to copy
+     */
+    private void writeBytes(final byte[] bytes) {
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (position == buffer.length) {
+                flushUnchecked();
+            }
+            int count = Math.min(bytes.length - offset,
+                    buffer.length - position);
+            System.arraycopy(bytes, offset, buffer, position, count);
+            position += count;
+            offset += count;
+        }
+    }
+
+    /**
+     * Flushes the buffer from inside the field callback, which cannot
+     * throw checked exceptions.
+     */
+    private void flushUnchecked() {
+        try {
+            flushBuffer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the pending bytes to the stream.
+     *
+     * @throws IOException if the stream cannot be written
+     */
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            output.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    /**
+     * Encodes an ASCII string.
+     *
+     * @param text the text
+     * @return its bytes
+     */
+    private static byte[] ascii(final String text) {
+        return text.getBytes(FileIO.CHARSET);
+    }
+}
@@ -0,0 +1,103 @@
+package com.converter.generator;
+
+import com.converter.io.FileIO;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded, thread-safe cache from raw field names to the encoded XML tags
+ * written for them.
+ *
+ * <p>Field names repeat across every record of a file and usually across
+ * files, so each name is sanitized and encoded once and shared by all
+ * writers. Once the cache holds its maximum number of names, further
+ * names are encoded on every lookup instead of being stored, which keeps
+ * memory bounded for inputs with unbounded key sets.
+ */
+final class XmlTagCache {
+
+    /**
+     * Default maximum number of cached field names.
+     */
+    static final int DEFAULT_CAPACITY = 4096;
+
+    /**
+     * The tag written for a null field name, which cannot be a map key.
+     */
+    private static final Tag NULL_NAME = Tag.of(null);
+
+    /**
+     * Encoded tags by raw field name.
+     */
+    private final ConcurrentHashMap<String, Tag> tags =
+            new ConcurrentHashMap<>();
+
+    /**
+     * The maximum number of cached field names.
+     */
+    private final int capacity;
+
+    /**
+     * The encoded open and close tags of one field.
+     *
+     * @param element the sanitized element name
+     * @param open    the indented start tag
+     * @param close   the end tag and line break
+     */
+    record Tag(String element, byte[] open, byte[] close) {
+
+        /**
+         * Sanitizes and encodes the tags of a field name.
+         *
+         * @param name the raw field name, may be null
+         * @return the encoded tags
+         */
+        static Tag of(final String name) {
+            String element = XmlGenerator.sanitizeElementName(name);
+            return new Tag(element,
+                    ("    <" + element + ">").getBytes(FileIO.CHARSET),
+                    ("</" + element + ">\n").getBytes(FileIO.CHARSET));
+        }
+    }
+
+    /**
+     * Constructs an empty cache.
+     *
+     * @param maxNames the maximum number of field names to keep
+     */
+    XmlTagCache(final int maxNames) {
+        this.capacity = maxNames;
+    }
+
+    /**
+     * Returns the tags of a field name, encoding them on first use.
+     *
+     * @param name the raw field name, may be null
+     * @return the encoded tags
+     */
+    Tag get(final String name) {
+        if (name == null) {
+            return NULL_NAME;
+        }
+        Tag tag = tags.get(name);
+        if (tag == null) {
+            tag = Tag.of(name);
+            if (tags.size() < capacity) {
+                Tag existing = tags.putIfAbsent(name, tag);
+                if (existing != null) {
+                    tag = existing;
+                }
+            }
+        }
+        return tag;
+    }
+
+    /**
+     * Returns the number of cached field names.
+     *
+     * @return the cache size
+     */
+    int size() {
+        return tags.size();
+    }
+}
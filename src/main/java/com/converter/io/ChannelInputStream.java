@@ -0,0 +1,141 @@
+package com.converter.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Input stream reading a file channel through a direct buffer, up to the
+ * end of the file or of a given range.
+ */
+final class ChannelInputStream extends InputStream {
+
+    /**
+     * The file being read.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The direct buffer, in read mode between refills.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * The offset at which reading stops.
+     */
+    private final long end;
+
+    /**
+     * Whether the end of the file has been reached.
+     */
+    private boolean finished;
+
+    /**
+     * Constructs a stream over the given channel.
+     *
+     * @param file       the channel to read, positioned at the first byte
+     * @param bufferSize the size of the direct buffer
+     */
+    ChannelInputStream(final FileChannel file, final int bufferSize) {
+        this(file, bufferSize, Long.MAX_VALUE);
+    }
+
+    /**
+     * Constructs a stream over the given channel that stops at an offset.
+     *
+     * @param file       the channel to read, positioned at the first byte
+     * @param bufferSize the size of the direct buffer
+     * @param endOffset  the offset after the last byte to read
+     */
+    ChannelInputStream(final FileChannel file, final int bufferSize,
+                       final long endOffset) {
+        this.channel = file;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize).flip();
+        this.end = endOffset;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return buffer.get() & 0xFF;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len)
+            throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        int n = Math.min(len, buffer.remaining());
+        buffer.get(b, off, n);
+        return n;
+    }
+
+    @Override
+    public long skip(final long n) throws IOException {
+        if (n <= 0) {
+            return 0;
+        }
+        long buffered = Math.min(n, buffer.remaining());
+        buffer.position(buffer.position() + (int) buffered);
+        long rest = Math.min(n - buffered, limit() - channel.position());
+        if (rest > 0) {
+            channel.position(channel.position() + rest);
+        }
+        return buffered + Math.max(rest, 0);
+    }
+
+    @Override
+    public int available() throws IOException {
+        long left = buffer.remaining()
+                + Math.max(limit() - channel.position(), 0);
+        return (int) Math.min(left, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Refills the buffer if it is empty.
+     *
+     * @return false if the end of the file has been reached
+     * @throws IOException if the file cannot be read
+     */
+    private boolean fill() throws IOException {
+        while (!buffer.hasRemaining()) {
+            if (finished) {
+                return false;
+            }
+            buffer.clear();
+            long left = end - channel.position();
+            if (left < buffer.capacity()) {
+                buffer.limit((int) Math.max(left, 0));
+            }
+            if (left <= 0 || channel.read(buffer) < 0) {
+                finished = true;
+            }
+            buffer.flip();
+        }
+        return true;
+    }
+
+    /**
+     * Returns the offset at which reading stops.
+     *
+     * @return the smaller of the range end and the file size
+     * @throws IOException if the file size cannot be read
+     */
+    private long limit() throws IOException {
+        return Math.min(end, channel.size());
+    }
+
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        buffer.position(buffer.limit());
+        channel.close();
+    }
+}
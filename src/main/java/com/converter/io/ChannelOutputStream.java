@@ -0,0 +1,106 @@
+package com.converter.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Output stream writing a file channel through a direct buffer.
+ *
+ * <p>Writes at least as large as the buffer bypass it.
+ */
+final class ChannelOutputStream extends OutputStream {
+
+    /**
+     * The file being written.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The direct buffer, in write mode between drains.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Whether this stream has been closed.
+     */
+    private boolean closed;
+
+    /**
+     * Constructs a stream over the given channel.
+     *
+     * @param file       the channel to write, positioned at the first byte
+     * @param bufferSize the size of the direct buffer
+     */
+    ChannelOutputStream(final FileChannel file, final int bufferSize) {
+        this.channel = file;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        if (!buffer.hasRemaining()) {
+            drain();
+        }
+        buffer.put((byte) b);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len)
+            throws IOException {
+        if (len >= buffer.capacity()) {
+            drain();
+            writeFully(ByteBuffer.wrap(b, off, len));
+            return;
+        }
+        if (len > buffer.remaining()) {
+            drain();
+        }
+        buffer.put(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+    }
+
+    /**
+     * Writes the buffered bytes to the file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    private void drain() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Writes every remaining byte of a buffer to the file.
+     *
+     * @param bytes the bytes to write
+     * @throws IOException if the file cannot be written
+     */
+    private void writeFully(final ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            drain();
+        } finally {
+            closed = true;
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.converter.io;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Input stream counting the bytes read through it.
+ */
+public final class CountingInputStream extends FilterInputStream {
+
+    /**
+     * The number of bytes read so far.
+     */
+    private long count;
+
+    /**
+     * Constructs a counting stream.
+     *
+     * @param input the stream to read from
+     */
+    public CountingInputStream(final InputStream input) {
+        super(input);
+    }
+
+    /**
+     * Returns the number of bytes read so far.
+     *
+     * @return the byte count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = in.read();
+        if (b >= 0) {
+            count++;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len)
+            throws IOException {
+        int n = in.read(b, off, len);
+        if (n > 0) {
+            count += n;
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(final long n) throws IOException {
+        long skipped = in.skip(n);
+        count += skipped;
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+}
@@ -0,0 +1,47 @@
+package com.converter.io;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Output stream counting the bytes written through it.
+ */
+public final class CountingOutputStream extends FilterOutputStream {
+
+    /**
+     * The number of bytes written so far.
+     */
+    private long count;
+
+    /**
+     * Constructs a counting stream.
+     *
+     * @param output the stream to write to
+     */
+    public CountingOutputStream(final OutputStream output) {
+        super(output);
+    }
+
+    /**
+     * Returns the number of bytes written so far.
+     *
+     * @return the byte count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        out.write(b);
+        count++;
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len)
+            throws IOException {
+        out.write(b, off, len);
+        count += len;
+    }
+}
@@ -0,0 +1,230 @@
+package com.converter.io;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Opens files for reading and writing through {@link FileChannel}.
+ *
+ * <p>Inputs of at least {@value #MAP_THRESHOLD} bytes are memory-mapped;
+ * smaller inputs and all outputs use a direct buffer of
+ * {@value #BUFFER_SIZE} bytes. Readers and writers always use
+ * {@link #CHARSET}, never the platform default.
+ */
+public final class FileIO {
+
+    /**
+     * The charset of all text files.
+     */
+    public static final Charset CHARSET = StandardCharsets.UTF_8;
+
+    /**
+     * Size of the direct buffer used for channel reads and writes.
+     */
+    public static final int BUFFER_SIZE = 256 * 1024;
+
+    /**
+     * Input size from which files are memory-mapped instead of read.
+     */
+    public static final long MAP_THRESHOLD = 8L * 1024 * 1024;
+
+    /**
+     * Size of the character buffer of readers and writers.
+     */
+    private static final int CHAR_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private FileIO() {
+    }
+
+    /**
+     * Opens a file for sequential reading, memory-mapping it if it is at
+     * least {@value #MAP_THRESHOLD} bytes long.
+     *
+     * @param path the file to read
+     * @return a stream positioned at the start of the file
+     * @throws IOException if the file cannot be opened
+     */
+    public static InputStream openInput(final Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            if (channel.size() >= MAP_THRESHOLD) {
+                return new MappedInputStream(channel);
+            }
+            return new ChannelInputStream(channel, BUFFER_SIZE);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a range of a file for sequential reading.
+     *
+     * @param path  the file to read
+     * @param start the offset of the first byte
+     * @param end   the offset after the last byte
+     * @return a stream over the bytes of the range
+     * @throws IOException if the file cannot be opened
+     */
+    public static InputStream openInput(final Path path, final long start,
+                                        final long end) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            channel.position(start);
+            return new ChannelInputStream(channel, BUFFER_SIZE, end);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens an existing file for writing from an offset, discarding any
+     * bytes after it.
+     *
+     * @param path     the file to write
+     * @param position the offset to continue writing at
+     * @return a stream positioned at the offset
+     * @throws IOException if the file cannot be opened
+     */
+    public static OutputStream openAppend(final Path path, final long position)
+            throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE);
+        try {
+            channel.truncate(position);
+            channel.position(position);
+            return new ChannelOutputStream(channel, BUFFER_SIZE);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Creates or truncates a file and opens it for writing.
+     *
+     * @param path the file to write
+     * @return a stream positioned at the start of the empty file
+     * @throws IOException if the file cannot be opened
+     */
+    public static OutputStream openOutput(final Path path) throws IOException {
+        return new ChannelOutputStream(FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING), BUFFER_SIZE);
+    }
+
+    /**
+     * Opens a text file for reading as UTF-8.
+     *
+     * @param path the file to read
+     * @return a buffered reader over the file
+     * @throws IOException if the file cannot be opened
+     */
+    public static BufferedReader newReader(final Path path)
+            throws IOException {
+        return new BufferedReader(reader(openInput(path)), CHAR_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates or truncates a text file and opens it for writing as UTF-8.
+     *
+     * @param path the file to write
+     * @return a buffered writer over the file
+     * @throws IOException if the file cannot be opened
+     */
+    public static Writer newWriter(final Path path) throws IOException {
+        return new BufferedWriter(writer(openOutput(path)), CHAR_BUFFER_SIZE);
+    }
+
+    /**
+     * Decodes a byte stream as UTF-8.
+     *
+     * @param input the stream to decode
+     * @return an unbuffered reader over the stream
+     */
+    public static Reader reader(final InputStream input) {
+        return new InputStreamReader(input, CHARSET);
+    }
+
+    /**
+     * Encodes characters to a byte stream as UTF-8.
+     *
+     * @param output the stream to write to
+     * @return an unbuffered writer over the stream
+     */
+    public static Writer writer(final OutputStream output) {
+        return new OutputStreamWriter(output, CHARSET);
+    }
+
+    /**
+     * Returns standard input as a stream whose {@code close} leaves the
+     * process's standard input open.
+     *
+     * @return the standard input stream
+     */
+    public static InputStream standardInput() {
+        return new FilterInputStream(System.in) {
+            @Override
+            public void close() {
+                // standard input belongs to the process, not the caller
+            }
+        };
+    }
+
+    /**
+     * Returns standard output as a stream whose {@code close} flushes but
+     * leaves the process's standard output open.
+     *
+     * @return the standard output stream
+     */
+    public static OutputStream standardOutput() {
+        return new StandardOutputStream(System.out);
+    }
+
+    /**
+     * Reads a range of a file, memory-mapping it if it is at least
+     * {@value #MAP_THRESHOLD} bytes long.
+     *
+     * @param channel  the file
+     * @param position the offset of the first byte
+     * @param length   the number of bytes to read
+     * @return a read-only or heap buffer holding the bytes, positioned at
+     *         zero
+     * @throws IOException if the range cannot be read in full
+     */
+    public static ByteBuffer read(final FileChannel channel,
+                                  final long position, final int length)
+            throws IOException {
+        if (length >= MAP_THRESHOLD) {
+            if (position + length > channel.size()) {
+                throw new IOException("Unexpected end of file");
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY,
+                    position, length);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file");
+            }
+        }
+        return buffer.flip();
+    }
+}
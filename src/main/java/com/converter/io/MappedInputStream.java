@@ -0,0 +1,116 @@
+package com.converter.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Input stream reading a file through memory-mapped windows.
+ *
+ * <p>The file is mapped one window at a time, so files larger than a
+ * single mapping can hold are read as well.
+ */
+final class MappedInputStream extends InputStream {
+
+    /**
+     * Size of each mapped window.
+     */
+    private static final long WINDOW_SIZE = 256L * 1024 * 1024;
+
+    /**
+     * The file being read.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The size of the file when it was opened.
+     */
+    private final long size;
+
+    /**
+     * The currently mapped window, or null before the first read.
+     */
+    private MappedByteBuffer window;
+
+    /**
+     * The file offset of the byte after the current window.
+     */
+    private long mapped;
+
+    /**
+     * Constructs a stream over the given channel.
+     *
+     * @param file the channel to read
+     * @throws IOException if the file size cannot be read
+     */
+    MappedInputStream(final FileChannel file) throws IOException {
+        this.channel = file;
+        this.size = file.size();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return window.get() & 0xFF;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len)
+            throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        int n = Math.min(len, window.remaining());
+        window.get(b, off, n);
+        return n;
+    }
+
+    @Override
+    public long skip(final long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n && fill()) {
+            int step = (int) Math.min(n - skipped, window.remaining());
+            window.position(window.position() + step);
+            skipped += step;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        long left = size - mapped + (window != null ? window.remaining() : 0);
+        return (int) Math.min(left, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Maps the next window if the current one is used up.
+     *
+     * @return false if the end of the file has been reached
+     * @throws IOException if the file cannot be mapped
+     */
+    private boolean fill() throws IOException {
+        if (window != null && window.hasRemaining()) {
+            return true;
+        }
+        if (mapped >= size) {
+            return false;
+        }
+        long length = Math.min(WINDOW_SIZE, size - mapped);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, mapped, length);
+        mapped += length;
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        mapped = size;
+        channel.close();
+    }
+}
@@ -0,0 +1,57 @@
+package com.converter.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Output stream writing to standard output without closing it.
+ *
+ * <p>{@link PrintStream} swallows write errors, so they are checked on
+ * every flush and reported as an {@link IOException}; a consumer that
+ * goes away mid-pipeline then ends the conversion instead of letting it
+ * run to completion for nobody.
+ */
+final class StandardOutputStream extends OutputStream {
+
+    /**
+     * The print stream standard output is written through.
+     */
+    private final PrintStream out;
+
+    /**
+     * Constructs a stream over the given print stream.
+     *
+     * @param target the print stream to write
+     */
+    StandardOutputStream(final PrintStream target) {
+        this.out = target;
+    }
+
+    @Override
+    public void write(final int b) {
+        out.write(b);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) {
+        out.write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (out.checkError()) {
+            throw new IOException("Standard output is closed");
+        }
+    }
+
+    /**
+     * Flushes the stream, leaving standard output open.
+     *
+     * @throws IOException if standard output could not be written
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+}
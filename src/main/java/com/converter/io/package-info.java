@@ -0,0 +1,9 @@
+/**
+ * File I/O layer shared by the parsers and generators.
+ *
+ * <p>Files are read and written through {@link java.nio.channels.FileChannel}
+ * with large direct buffers, and large inputs are memory-mapped, so each
+ * system call moves far more data than the small buffers of the
+ * {@code java.io} file streams. Text is always UTF-8.
+ */
+package com.converter.io;
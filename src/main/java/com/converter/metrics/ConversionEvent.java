@@ -0,0 +1,102 @@
+package com.converter.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event covering one file conversion.
+ *
+ * <p>Fields are only filled in when the event is going to be recorded,
+ * so the event costs next to nothing while recording is disabled.
+ */
+@Name("com.converter.Conversion")
+@Label("Conversion")
+@Category({"File Converter"})
+@Description("Conversion of one file from one format to another")
+public final class ConversionEvent extends Event {
+
+    /**
+     * The path of the input file.
+     */
+    @Label("Input Path")
+    String inputPath;
+
+    /**
+     * The path of the output file.
+     */
+    @Label("Output Path")
+    String outputPath;
+
+    /**
+     * The extension of the input format.
+     */
+    @Label("Input Format")
+    String inputFormat;
+
+    /**
+     * The extension of the output format.
+     */
+    @Label("Output Format")
+    String outputFormat;
+
+    /**
+     * The number of records converted.
+     */
+    @Label("Records")
+    long records;
+
+    /**
+     * The number of input bytes read.
+     */
+    @Label("Bytes Read")
+    @DataAmount
+    long bytesRead;
+
+    /**
+     * The number of output bytes written.
+     */
+    @Label("Bytes Written")
+    @DataAmount
+    long bytesWritten;
+
+    /**
+     * Whether the conversion completed.
+     */
+    @Label("Succeeded")
+    boolean succeeded;
+
+    /**
+     * Ends the event and records it if it is enabled.
+     *
+     * @param input        the path of the input file
+     * @param output       the path of the output file
+     * @param fromFormat   the extension of the input format
+     * @param toFormat     the extension of the output format
+     * @param recordCount  the number of records converted
+     * @param inputBytes   the number of input bytes read
+     * @param outputBytes  the number of output bytes written
+     * @param success      whether the conversion completed
+     */
+    public void finish(final String input, final String output,
+                       final String fromFormat, final String toFormat,
+                       final long recordCount, final long inputBytes,
+                       final long outputBytes, final boolean success) {
+        end();
+        if (!shouldCommit()) {
+            return;
+        }
+        inputPath = input;
+        outputPath = output;
+        inputFormat = fromFormat;
+        outputFormat = toFormat;
+        records = recordCount;
+        bytesRead = inputBytes;
+        bytesWritten = outputBytes;
+        succeeded = success;
+        commit();
+    }
+}
@@ -0,0 +1,263 @@
+package com.converter.metrics;
+
+import com.converter.registry.ComponentRegistry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Measurements of one file conversion, broken down by {@link Phase}.
+ */
+public final class ConversionMetrics {
+
+    /**
+     * Nanoseconds per second.
+     */
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    /**
+     * Nanoseconds per millisecond.
+     */
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /**
+     * The path of the input file.
+     */
+    private final String inputPath;
+
+    /**
+     * The path of the output file.
+     */
+    private final String outputPath;
+
+    /**
+     * The number of records converted.
+     */
+    private final long records;
+
+    /**
+     * The wall time of the whole conversion.
+     */
+    private final long elapsedNanos;
+
+    /**
+     * The measurements of each phase, in {@link Phase} order.
+     */
+    private final List<PhaseMetrics> phases;
+
+    /**
+     * Constructs the metrics of a conversion.
+     *
+     * @param input       the path of the input file
+     * @param output      the path of the output file
+     * @param recordCount the number of records converted
+     * @param nanos       the wall time of the whole conversion
+     * @param phaseList   the measurements of each phase, in phase order
+     */
+    public ConversionMetrics(final String input, final String output,
+                             final long recordCount, final long nanos,
+                             final List<PhaseMetrics> phaseList) {
+        this.inputPath = input;
+        this.outputPath = output;
+        this.records = recordCount;
+        this.elapsedNanos = nanos;
+        this.phases = List.copyOf(phaseList);
+    }
+
+    /**
+     * Returns the path of the input file.
+     *
+     * @return the input path
+     */
+    public String getInputPath() {
+        return inputPath;
+    }
+
+    /**
+     * Returns the path of the output file.
+     *
+     * @return the output path
+     */
+    public String getOutputPath() {
+        return outputPath;
+    }
+
+    /**
+     * Returns the number of records converted.
+     *
+     * @return the record count
+     */
+    public long getRecordCount() {
+        return records;
+    }
+
+    /**
+     * Returns the wall time of the whole conversion.
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the overall throughput.
+     *
+     * @return records converted per second, or 0 if no time was measured
+     */
+    public double getRecordsPerSecond() {
+        return perSecond(records, elapsedNanos);
+    }
+
+    /**
+     * Returns the number of input bytes read.
+     *
+     * @return the input size in bytes
+     */
+    public long getBytesRead() {
+        return phases.stream().mapToLong(PhaseMetrics::bytesRead).sum();
+    }
+
+    /**
+     * Returns the number of output bytes written.
+     *
+     * @return the output size in bytes
+     */
+    public long getBytesWritten() {
+        return phases.stream().mapToLong(PhaseMetrics::bytesWritten).sum();
+    }
+
+    /**
+     * Returns the highest heap use seen during the conversion.
+     *
+     * @return the peak heap use in bytes
+     */
+    public long getPeakHeapBytes() {
+        return phases.stream().mapToLong(PhaseMetrics::peakHeapBytes)
+                .max().orElse(0);
+    }
+
+    /**
+     * Returns the measurements of each phase.
+     *
+     * @return an unmodifiable list in {@link Phase} order
+     */
+    public List<PhaseMetrics> getPhases() {
+        return Collections.unmodifiableList(phases);
+    }
+
+    /**
+     * Returns the measurements of one phase.
+     *
+     * @param phase the phase
+     * @return the phase measurements
+     */
+    public PhaseMetrics getPhase(final Phase phase) {
+        return phases.get(phase.ordinal());
+    }
+
+    /**
+     * Formats the metrics as a human-readable table.
+     *
+     * @return the table, one line per phase followed by a total line
+     */
+    public String format() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT,
+                "%-13s %10s %10s %14s %12s %12s %10s%n", "Phase", "Time (ms)", "Records", "Records/s",
+                "Read (B)", "Written (B)", "Heap (MB)"));
+        for (PhaseMetrics phase : phases) {
+            appendRow(out, phase.phase().getKey(), phase.elapsedNanos(),
+                    phase.records(), phase.recordsPerSecond(),
+                    phase.bytesRead(), phase.bytesWritten(),
+                    phase.peakHeapBytes());
+        }
+        appendRow(out, "total", elapsedNanos, records,
+                getRecordsPerSecond(), getBytesRead(), getBytesWritten(),
+                getPeakHeapBytes());
+        return out.toString();
+    }
+
+    /**
+     * Appends one table row.
+     *
+     * @param out     the table being built
+     * @param name    the row label
+     * @param nanos   the elapsed time
+     * @param count   the record count
+     * @param rate    the records per second
+     * @param read    the bytes read
+     * @param written the bytes written
+     * @param heap    the peak heap use in bytes
+     */
+    private static void appendRow(final StringBuilder out, final String name,
+                                  final long nanos, final long count,
+                                  final double rate, final long read,
+                                  final long written, final long heap) {
+        out.append(String.format(Locale.ROOT,
+                "%-13s %10.1f %10d %14.0f %12d %12d %10.1f%n",
+                name, nanos / NANOS_PER_MILLI, count, rate, read, written,
+                heap / (1024.0 * 1024.0)));
+    }
+
+    /**
+     * Exports the metrics as a JSON object.
+     *
+     * <p>Times are in nanoseconds and sizes in bytes, so the values can
+     * be fed to monitoring systems without unit conversion.
+     *
+     * @return the JSON text
+     */
+    public String toJson() {
+        ObjectNode root = ComponentRegistry.jsonMapper().createObjectNode();
+        root.put("input", inputPath);
+        root.put("output", outputPath);
+        root.put("records", records);
+        root.put("elapsedNanos", elapsedNanos);
+        root.put("recordsPerSecond", getRecordsPerSecond());
+        root.put("bytesRead", getBytesRead());
+        root.put("bytesWritten", getBytesWritten());
+        root.put("peakHeapBytes", getPeakHeapBytes());
+
+        ObjectNode phaseNodes = root.putObject("phases");
+        for (PhaseMetrics phase : phases) {
+            ObjectNode node = phaseNodes.putObject(phase.phase().getKey());
+            node.put("elapsedNanos", phase.elapsedNanos());
+            node.put("records", phase.records());
+            node.put("recordsPerSecond", phase.recordsPerSecond());
+            node.put("bytesRead", phase.bytesRead());
+            node.put("bytesWritten", phase.bytesWritten());
+            node.put("peakHeapBytes", phase.peakHeapBytes());
+        }
+
+        try {
+            return ComponentRegistry.jsonMapper()
+                    .writerWithDefaultPrettyPrinter()
+                    .writeValueAsString(root);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(
+                    "Cannot serialize conversion metrics", e);
+        }
+    }
+
+    /**
+     * Computes a per-second rate.
+     *
+     * @param count the number of items
+     * @param nanos the time taken
+     * @return items per second, or 0 if no time was measured
+     */
+    static double perSecond(final long count, final long nanos) {
+        return nanos > 0 ? count * NANOS_PER_SECOND / nanos : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "ConversionMetrics[" + inputPath + " -> " + outputPath
+                + ", records=" + records + ", elapsedNanos=" + elapsedNanos
+                + "]";
+    }
+}
@@ -0,0 +1,97 @@
+package com.converter.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.io.File;
+
+/**
+ * Flight Recorder event covering a run of records written in one format.
+ *
+ * <p>A list-based {@code generate} call records one event for the whole
+ * file. A streaming conversion records one event per chunk of records;
+ * those events leave the byte count at zero, since it is not known per
+ * chunk.
+ */
+@Name("com.converter.GenerateChunk")
+@Label("Generate Chunk")
+@Category({"File Converter"})
+@Description("Records written by a generator")
+public final class GenerateChunkEvent extends Event {
+
+    /**
+     * The extension of the format.
+     */
+    @Label("Format")
+    String format;
+
+    /**
+     * The path of the output file.
+     */
+    @Label("Path")
+    String path;
+
+    /**
+     * The number of records written.
+     */
+    @Label("Records")
+    long records;
+
+    /**
+     * The size of the output file, or zero for a chunk of a stream.
+     */
+    @Label("Bytes Written")
+    @DataAmount
+    long bytesWritten;
+
+    /**
+     * Ends the event for a whole file and records it if it is enabled.
+     *
+     * @param fileFormat  the extension of the format
+     * @param filePath    the path of the output file
+     * @param recordCount the number of records written
+     */
+    public void finish(final String fileFormat, final String filePath,
+                       final long recordCount) {
+        end();
+        if (shouldCommit()) {
+            bytesWritten = new File(filePath).length();
+            commitWith(fileFormat, filePath, recordCount);
+        }
+    }
+
+    /**
+     * Ends the event for one chunk of a stream and records it if it is
+     * enabled.
+     *
+     * @param fileFormat  the extension of the format
+     * @param filePath    the path of the output file
+     * @param recordCount the number of records in the chunk
+     */
+    public void finishChunk(final String fileFormat, final String filePath,
+                            final long recordCount) {
+        end();
+        if (shouldCommit()) {
+            commitWith(fileFormat, filePath, recordCount);
+        }
+    }
+
+    /**
+     * Sets the common fields and records the event.
+     *
+     * @param fileFormat  the extension of the format
+     * @param filePath    the path of the output file
+     * @param recordCount the number of records
+     */
+    private void commitWith(final String fileFormat, final String filePath,
+                            final long recordCount) {
+        format = fileFormat;
+        path = filePath;
+        records = recordCount;
+        commit();
+    }
+}
@@ -0,0 +1,189 @@
+package com.converter.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stopwatch splitting the time of one conversion into {@link Phase}s.
+ *
+ * <p>Exactly one phase is active at a time; {@link #enter(Phase)} charges
+ * the time since the previous switch to the phase being left. Heap use is
+ * sampled at each switch, so callers should switch phases every few
+ * hundred records rather than per record to keep the overhead low.
+ * A recorder is used by one thread only.
+ */
+public final class MetricsRecorder {
+
+    /**
+     * Number of phases.
+     */
+    private static final int PHASES = Phase.values().length;
+
+    /**
+     * The runtime sampled for heap use.
+     */
+    private final Runtime runtime = Runtime.getRuntime();
+
+    /**
+     * Time charged to each phase.
+     */
+    private final long[] nanos = new long[PHASES];
+
+    /**
+     * Records handled by each phase.
+     */
+    private final long[] records = new long[PHASES];
+
+    /**
+     * Bytes read by each phase.
+     */
+    private final long[] bytesRead = new long[PHASES];
+
+    /**
+     * Bytes written by each phase.
+     */
+    private final long[] bytesWritten = new long[PHASES];
+
+    /**
+     * Highest heap use sampled during each phase.
+     */
+    private final long[] peakHeap = new long[PHASES];
+
+    /**
+     * When the recorder was started.
+     */
+    private final long startNanos;
+
+    /**
+     * When the active phase was entered.
+     */
+    private long phaseStart;
+
+    /**
+     * The active phase, or null if none.
+     */
+    private Phase current;
+
+    /**
+     * Starts a recorder with no phase active.
+     */
+    public MetricsRecorder() {
+        this.startNanos = System.nanoTime();
+        this.phaseStart = startNanos;
+    }
+
+    /**
+     * Makes the given phase the active one, charging the time since the
+     * last switch to the previously active phase.
+     *
+     * @param phase the phase to enter
+     */
+    public void enter(final Phase phase) {
+        long now = System.nanoTime();
+        leave(now);
+        current = phase;
+        phaseStart = now;
+    }
+
+    /**
+     * Adds to the number of records a phase handled.
+     *
+     * @param phase the phase
+     * @param count the number of records
+     */
+    public void addRecords(final Phase phase, final long count) {
+        records[phase.ordinal()] += count;
+    }
+
+    /**
+     * Returns the number of records a phase has handled so far.
+     *
+     * @param phase the phase
+     * @return the record count
+     */
+    public long getRecords(final Phase phase) {
+        return records[phase.ordinal()];
+    }
+
+    /**
+     * Returns the number of bytes a phase has read so far.
+     *
+     * @param phase the phase
+     * @return the byte count
+     */
+    public long getBytesRead(final Phase phase) {
+        return bytesRead[phase.ordinal()];
+    }
+
+    /**
+     * Returns the number of bytes a phase has written so far.
+     *
+     * @param phase the phase
+     * @return the byte count
+     */
+    public long getBytesWritten(final Phase phase) {
+        return bytesWritten[phase.ordinal()];
+    }
+
+    /**
+     * Adds to the number of bytes a phase read.
+     *
+     * @param phase the phase
+     * @param count the number of bytes
+     */
+    public void addBytesRead(final Phase phase, final long count) {
+        bytesRead[phase.ordinal()] += count;
+    }
+
+    /**
+     * Adds to the number of bytes a phase wrote.
+     *
+     * @param phase the phase
+     * @param count the number of bytes
+     */
+    public void addBytesWritten(final Phase phase, final long count) {
+        bytesWritten[phase.ordinal()] += count;
+    }
+
+    /**
+     * Stops the active phase and returns the collected metrics.
+     *
+     * @param inputPath  the path of the input file
+     * @param outputPath the path of the output file
+     * @param total      the number of records converted
+     * @return the metrics of the conversion
+     */
+    public ConversionMetrics finish(final String inputPath,
+                                    final String outputPath,
+                                    final long total) {
+        long now = System.nanoTime();
+        leave(now);
+        current = null;
+
+        List<PhaseMetrics> phases = new ArrayList<>(PHASES);
+        for (Phase phase : Phase.values()) {
+            int i = phase.ordinal();
+            phases.add(new PhaseMetrics(phase, nanos[i], records[i],
+                    bytesRead[i], bytesWritten[i], peakHeap[i]));
+        }
+        return new ConversionMetrics(inputPath, outputPath, total,
+                now - startNanos, phases);
+    }
+
+    /**
+     * Charges time and the current heap use to the active phase.
+     *
+     * @param now the current time
+     */
+    private void leave(final long now) {
+        if (current == null) {
+            return;
+        }
+        int i = current.ordinal();
+        nanos[i] += now - phaseStart;
+        long used = runtime.totalMemory() - runtime.freeMemory();
+        if (used > peakHeap[i]) {
+            peakHeap[i] = used;
+        }
+    }
+}
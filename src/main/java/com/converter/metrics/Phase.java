@@ -0,0 +1,50 @@
+package com.converter.metrics;
+
+/**
+ * Phases of a file conversion.
+ */
+public enum Phase {
+
+    /**
+     * Checking the input and output paths.
+     */
+    VALIDATE("validate"),
+
+    /**
+     * Reading records from the input.
+     */
+    PARSE("parse"),
+
+    /**
+     * Checking each record before it is written.
+     */
+    VALIDATE_DATA("validateData"),
+
+    /**
+     * Writing records to the output.
+     */
+    GENERATE("generate");
+
+    /**
+     * The name of the phase in reports and JSON exports.
+     */
+    private final String key;
+
+    /**
+     * Constructs a phase.
+     *
+     * @param name the name of the phase in reports and JSON exports
+     */
+    Phase(final String name) {
+        this.key = name;
+    }
+
+    /**
+     * Returns the name of the phase in reports and JSON exports.
+     *
+     * @return the phase name
+     */
+    public String getKey() {
+        return key;
+    }
+}
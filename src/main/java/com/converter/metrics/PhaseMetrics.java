@@ -0,0 +1,26 @@
+package com.converter.metrics;
+
+/**
+ * Measurements of one phase of a conversion.
+ *
+ * @param phase         the phase
+ * @param elapsedNanos  the wall time spent in the phase
+ * @param records       the number of records the phase handled
+ * @param bytesRead     the number of input bytes the phase read
+ * @param bytesWritten  the number of output bytes the phase wrote
+ * @param peakHeapBytes the highest heap use seen during the phase
+ */
+public record PhaseMetrics(Phase phase, long elapsedNanos, long records,
+                           long bytesRead, long bytesWritten,
+                           long peakHeapBytes) {
+
+    /**
+     * Returns the throughput of the phase.
+     *
+     * @return records handled per second of phase time, or 0 if no time
+     *         was measured
+     */
+    public double recordsPerSecond() {
+        return ConversionMetrics.perSecond(records, elapsedNanos);
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Timing and resource metrics of file conversions.
+ */
+package com.converter.metrics;
@@ -1,8 +1,10 @@
 package com.converter.model;
 
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.BiConsumer;
 
 /**
  * Represents a single data record with key-value field pairs.
@@ -11,8 +13,12 @@ public class DataRecord {
 
     /**
      * The fields of this record stored as key-value pairs.
+     *
+     * <p>Either a record-owned map or a view over a row of a shared
+     * schema; a view is copied into an owned map the first time a field
+     * outside its schema is set.
      */
-    private final Map<String, String> fields;
+    private Map<String, String> fields;
 
     /**
      * Constructs an empty data record.
@@ -30,6 +36,15 @@ public class DataRecord {
         this.fields = new LinkedHashMap<>(initialFields);
     }
 
+    /**
+     * Constructs a data record that is a view over a schema row.
+     *
+     * @param row the row view backing this record
+     */
+    DataRecord(final RowMap row) {
+        this.fields = row;
+    }
+
     /**
      * Returns a copy of all fields in this record.
      *
@@ -39,13 +54,41 @@ public class DataRecord {
         return new LinkedHashMap<>(fields);
     }
 
+    /**
+     * Returns a read-only view of all fields in this record.
+     *
+     * <p>Unlike {@link #getFields()}, the fields are not copied; the view
+     * reflects later changes to this record.
+     *
+     * @return an unmodifiable map of field key-value pairs
+     */
+    public Map<String, String> getFieldView() {
+        return Collections.unmodifiableMap(fields);
+    }
+
+    /**
+     * Passes each field of this record to the given action, in order.
+     *
+     * @param action the action to apply to each field name and value
+     */
+    public void forEachField(final BiConsumer<String, String> action) {
+        fields.forEach(action);
+    }
+
     /**
      * Sets a field value in this record.
      *
+     * <p>A null value keeps the field, with no value, whichever way the
+     * record is stored.
+     *
      * @param key   the field name
-     * @param value the field value
+     * @param value the field value, or null
      */
     public void setField(final String key, final String value) {
+        if (fields instanceof RowMap row
+                && (value == null || !row.accepts(key))) {
+            fields = new LinkedHashMap<>(fields);
+        }
         fields.put(key, value);
     }
 
@@ -59,6 +102,23 @@ public class DataRecord {
         return fields.get(key);
     }
 
+    /**
+     * Gets the value of a field by its column in a schema.
+     *
+     * <p>Records that are views over rows of the same schema answer
+     * directly from the row without a name lookup.
+     *
+     * @param schema the schema defining the column
+     * @param column the column index in the schema
+     * @return the field value, or null if not present
+     */
+    public String getField(final RecordSchema schema, final int column) {
+        if (fields instanceof RowMap row) {
+            return row.valueAt(schema, column);
+        }
+        return fields.get(schema.getName(column));
+    }
+
     /**
      * Checks if this record contains a field with the given key.
      *
@@ -0,0 +1,160 @@
+package com.converter.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A batch of records sharing a single schema, stored row by row.
+ *
+ * <p>Each row is a plain {@code String[]} in schema column order, so the
+ * field names are held once per batch instead of once per record. A null
+ * value marks a field that is absent from that row.
+ */
+public final class RecordBatch {
+
+    /**
+     * The schema shared by every row.
+     */
+    private final RecordSchema schema;
+
+    /**
+     * The row values in column order.
+     */
+    private final List<String[]> rows;
+
+    /**
+     * Constructs an empty batch with the given schema.
+     *
+     * @param batchSchema the schema shared by every row
+     */
+    public RecordBatch(final RecordSchema batchSchema) {
+        this.schema = batchSchema;
+        this.rows = new ArrayList<>();
+    }
+
+    /**
+     * Builds a batch from a list of records.
+     *
+     * <p>The schema is the union of all field names in order of first
+     * appearance.
+     *
+     * @param records the records to copy into the batch
+     * @return a batch holding the records' values
+     */
+    public static RecordBatch of(final List<DataRecord> records) {
+        Set<String> names = new LinkedHashSet<>();
+        for (DataRecord record : records) {
+            names.addAll(record.getFieldView().keySet());
+        }
+
+        RecordBatch batch = new RecordBatch(
+                new RecordSchema(names.toArray(new String[0])));
+        for (DataRecord record : records) {
+            batch.add(record);
+        }
+        return batch;
+    }
+
+    /**
+     * Returns the schema shared by every row.
+     *
+     * @return the batch schema
+     */
+    public RecordSchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Appends a row of values.
+     *
+     * <p>The array is stored as is, not copied.
+     *
+     * @param values the row values in schema column order
+     * @throws IllegalArgumentException if the row width does not match
+     */
+    public void addRow(final String[] values) {
+        schema.checkWidth(values);
+        rows.add(values);
+    }
+
+    /**
+     * Appends the values of a record.
+     *
+     * @param record the record to copy
+     * @throws IllegalArgumentException if the record has a field outside
+     *                                  the schema
+     */
+    public void add(final DataRecord record) {
+        String[] values = new String[schema.size()];
+        record.forEachField((name, value) -> {
+            int column = schema.indexOf(name);
+            if (column < 0) {
+                throw new IllegalArgumentException(
+                        "Field '" + name + "' is not part of the schema");
+            }
+            values[column] = value;
+        });
+        rows.add(values);
+    }
+
+    /**
+     * Returns the value at the given row and column.
+     *
+     * @param row    the row index
+     * @param column the column index
+     * @return the value, or null if the field is absent from the row
+     */
+    public String getValue(final int row, final int column) {
+        return rows.get(row)[column];
+    }
+
+    /**
+     * Returns a record that is a view over the given row.
+     *
+     * @param row the row index
+     * @return a data record backed by the row
+     */
+    public DataRecord getRecord(final int row) {
+        return schema.newRecord(rows.get(row));
+    }
+
+    /**
+     * Returns the rows of this batch as a list of record views.
+     *
+     * @return an unmodifiable list of records backed by this batch
+     */
+    public List<DataRecord> asRecords() {
+        return new AbstractList<>() {
+            @Override
+            public DataRecord get(final int index) {
+                return getRecord(index);
+            }
+
+            @Override
+            public int size() {
+                return rows.size();
+            }
+        };
+    }
+
+    /**
+     * Returns the number of rows in this batch.
+     *
+     * @return the row count
+     */
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * Checks if this batch has no rows.
+     *
+     * @return true if the batch is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return rows.isEmpty();
+    }
+}
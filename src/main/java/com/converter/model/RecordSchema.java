@@ -0,0 +1,163 @@
+package com.converter.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Ordered, immutable set of field names shared by many records.
+ *
+ * <p>Field names are interned, so every record built from the same schema
+ * refers to a single copy of each name instead of holding its own keys.
+ */
+public final class RecordSchema {
+
+    /**
+     * The field names in column order.
+     */
+    private final String[] names;
+
+    /**
+     * Lookup from field name to column index.
+     */
+    private final Map<String, Integer> index;
+
+    /**
+     * Constructs a schema from the given field names.
+     *
+     * @param fieldNames the field names in column order
+     * @throws IllegalArgumentException if a name is null or repeated
+     */
+    public RecordSchema(final String... fieldNames) {
+        this.names = new String[fieldNames.length];
+        this.index = new HashMap<>(fieldNames.length * 2);
+        for (int i = 0; i < fieldNames.length; i++) {
+            if (fieldNames[i] == null) {
+                throw new IllegalArgumentException(
+                        "Field name at column " + i + " is null");
+            }
+            names[i] = fieldNames[i].intern();
+            if (index.put(names[i], i) != null) {
+                throw new IllegalArgumentException(
+                        "Duplicate field name '" + names[i] + "'");
+            }
+        }
+    }
+
+    /**
+     * Checks whether the given names can form a schema.
+     *
+     * @param fieldNames the candidate field names
+     * @return true if no name is null or repeated
+     */
+    public static boolean isValid(final String... fieldNames) {
+        Set<String> seen = new HashSet<>();
+        for (String name : fieldNames) {
+            if (name == null || !seen.add(name)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of fields in this schema.
+     *
+     * @return the field count
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Returns the field name at the given column.
+     *
+     * @param column the column index
+     * @return the field name
+     */
+    public String getName(final int column) {
+        return names[column];
+    }
+
+    /**
+     * Returns the column index of a field.
+     *
+     * @param name the field name
+     * @return the column index, or -1 if the field is not in this schema
+     */
+    public int indexOf(final String name) {
+        Integer column = index.get(name);
+        return column != null ? column : -1;
+    }
+
+    /**
+     * Returns the field names in column order.
+     *
+     * @return an unmodifiable list of field names
+     */
+    public List<String> getNames() {
+        return Collections.unmodifiableList(Arrays.asList(names));
+    }
+
+    /**
+     * Creates a record that is a view over a row of values.
+     *
+     * <p>The array is not copied; updates to existing fields of the
+     * record write through to it. A null value marks an absent field.
+     *
+     * @param values the row values in column order
+     * @return a data record backed by the row
+     * @throws IllegalArgumentException if the row width does not match
+     */
+    public DataRecord newRecord(final String[] values) {
+        checkWidth(values);
+        return new DataRecord(new RowMap(this, values));
+    }
+
+    /**
+     * Checks that a row has one value per field.
+     *
+     * @param values the row values
+     * @throws IllegalArgumentException if the row width does not match
+     */
+    void checkWidth(final String[] values) {
+        if (values.length != names.length) {
+            throw new IllegalArgumentException("Row has " + values.length
+                    + " values but schema has " + names.length + " fields");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return Arrays.equals(names, ((RecordSchema) o).names);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(names);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "RecordSchema" + Arrays.toString(names);
+    }
+}
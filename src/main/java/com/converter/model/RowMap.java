@@ -0,0 +1,149 @@
+package com.converter.model;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Map view over a single row of values keyed by a shared schema.
+ *
+ * <p>Null values are treated as absent fields. Existing fields can be
+ * updated in place; fields outside the schema cannot be added. A record
+ * setting a field to null therefore copies its fields to a map first.
+ */
+final class RowMap extends AbstractMap<String, String> {
+
+    /**
+     * The schema naming each column.
+     */
+    private final RecordSchema schema;
+
+    /**
+     * The row values in column order.
+     */
+    private final String[] values;
+
+    /**
+     * Constructs a view over a row.
+     *
+     * @param rowSchema the schema naming each column
+     * @param rowValues the row values in column order
+     */
+    RowMap(final RecordSchema rowSchema, final String[] rowValues) {
+        this.schema = rowSchema;
+        this.values = rowValues;
+    }
+
+    /**
+     * Checks whether a field can be stored in this row.
+     *
+     * @param key the field name
+     * @return true if the schema contains the field
+     */
+    boolean accepts(final String key) {
+        return schema.indexOf(key) >= 0;
+    }
+
+    /**
+     * Returns the value at a column of the given schema.
+     *
+     * @param columnSchema the schema defining the column
+     * @param column       the column index in that schema
+     * @return the value, or null if the field is absent
+     */
+    String valueAt(final RecordSchema columnSchema, final int column) {
+        if (columnSchema == schema) {
+            return values[column];
+        }
+        return get(columnSchema.getName(column));
+    }
+
+    @Override
+    public void forEach(
+            final BiConsumer<? super String, ? super String> action) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                action.accept(schema.getName(i), values[i]);
+            }
+        }
+    }
+
+    @Override
+    public String get(final Object key) {
+        int column = key instanceof String ? schema.indexOf((String) key) : -1;
+        return column >= 0 ? values[column] : null;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public String put(final String key, final String value) {
+        int column = schema.indexOf(key);
+        if (column < 0) {
+            throw new UnsupportedOperationException(
+                    "Field '" + key + "' is not part of the schema");
+        }
+        String previous = values[column];
+        values[column] = value;
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        int count = 0;
+        for (String value : values) {
+            if (value != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, String>> iterator() {
+                return new Iterator<>() {
+                    private int next = advance(0);
+
+                    private int advance(final int from) {
+                        int column = from;
+                        while (column < values.length
+                                && values[column] == null) {
+                            column++;
+                        }
+                        return column;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < values.length;
+                    }
+
+                    @Override
+                    public Entry<String, String> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        int column = next;
+                        next = advance(column + 1);
+                        return new SimpleImmutableEntry<>(
+                                schema.getName(column), values[column]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return RowMap.this.size();
+            }
+        };
+    }
+}
@@ -0,0 +1,199 @@
+package com.converter.parser;
+
+import com.converter.columnar.ColumnarReader;
+import com.converter.exception.ParseException;
+import com.converter.metrics.ParseChunkEvent;
+import com.converter.model.DataRecord;
+import com.converter.model.RecordBatch;
+import com.converter.model.RecordSchema;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Parser implementation for binary columnar files.
+ *
+ * @see ColumnarReader
+ */
+public class ColumnarParser implements Parser {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<DataRecord> parse(final String filePath) {
+        ParseChunkEvent event = new ParseChunkEvent();
+        event.begin();
+        try (RecordReader reader = stream(filePath)) {
+            List<DataRecord> records = reader.readAll();
+            event.finish(getSupportedExtension(), filePath, records.size());
+            return records;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>One block is decoded at a time.
+     */
+    @Override
+    public RecordReader stream(final String filePath) {
+        return new ColumnarRecordReader(open(filePath), filePath);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Decoded rows are added to the batch as they are, without
+     * building a record per row.
+     */
+    @Override
+    public RecordBatch parseBatch(final String filePath) {
+        try (ColumnarReader reader = open(filePath)) {
+            RecordBatch batch = new RecordBatch(reader.getSchema());
+            for (int b = 0; b < reader.getBlockCount(); b++) {
+                for (String[] row : reader.readBlock(b)) {
+                    batch.addRow(row);
+                }
+            }
+            return batch;
+        } catch (IOException e) {
+            throw readError(filePath, e);
+        }
+    }
+
+    /**
+     * Opens a columnar file after checking that it can be read.
+     *
+     * @param filePath the path to the input file
+     * @return a reader positioned before the first block
+     * @throws ParseException if the file is missing, unreadable or invalid
+     */
+    private static ColumnarReader open(final String filePath) {
+        File file = new File(filePath);
+        if (!file.exists()) {
+            throw new ParseException(
+                    "Error: Input file '" + filePath + "' not found");
+        }
+        if (!file.canRead()) {
+            throw new ParseException(
+                    "Error: Cannot read file '" + filePath + "'");
+        }
+
+        try {
+            return new ColumnarReader(file.toPath());
+        } catch (IOException e) {
+            throw readError(filePath, e);
+        }
+    }
+
+    /**
+     * Converts an I/O or format error into a parse exception.
+     *
+     * @param filePath the path of the file being read
+     * @param e        the error
+     * @return a parse exception describing the failure
+     */
+    private static ParseException readError(final String filePath,
+                                            final IOException e) {
+        return new ParseException(
+                "Error: Failed to read columnar file '"
+                        + filePath + "': " + e.getMessage(), e);
+    }
+
+    /**
+     * Record reader that decodes one block at a time.
+     */
+    private static final class ColumnarRecordReader implements RecordReader {
+
+        /**
+         * The underlying block reader.
+         */
+        private final ColumnarReader reader;
+
+        /**
+         * The schema of every row.
+         */
+        private final RecordSchema schema;
+
+        /**
+         * The path of the file being read, used in error messages.
+         */
+        private final String filePath;
+
+        /**
+         * The rows of the current block, or null before the first block.
+         */
+        private String[][] rows;
+
+        /**
+         * The index of the next row in the current block.
+         */
+        private int row;
+
+        /**
+         * The index of the next block to decode.
+         */
+        private int block;
+
+        /**
+         * Constructs a record reader over the given block reader.
+         *
+         * @param blockReader the block reader to consume
+         * @param path        the path of the file being read
+         */
+        private ColumnarRecordReader(final ColumnarReader blockReader,
+                                     final String path) {
+            this.reader = blockReader;
+            this.schema = blockReader.getSchema();
+            this.filePath = path;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (rows == null || row >= rows.length) {
+                if (block >= reader.getBlockCount()) {
+                    close();
+                    return false;
+                }
+                try {
+                    rows = reader.readBlock(block++);
+                } catch (IOException e) {
+                    close();
+                    throw readError(filePath, e);
+                }
+                row = 0;
+            }
+            return true;
+        }
+
+        @Override
+        public DataRecord next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return schema.newRecord(rows[row++]);
+        }
+
+        @Override
+        public void close() {
+            block = reader.getBlockCount();
+            rows = null;
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw readError(filePath, e);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getSupportedExtension() {
+        return "fcol";
+    }
+}
@@ -0,0 +1,132 @@
+package com.converter.parser;
+
+import com.converter.compression.Codec;
+import com.converter.compression.CompressionOptions;
+import com.converter.exception.ParseException;
+import com.converter.io.FileIO;
+import com.converter.metrics.ParseChunkEvent;
+import com.converter.model.DataRecord;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Parser for compressed files, decompressing the input as it is read and
+ * passing it to the parser of the underlying format.
+ */
+public class CompressedParser implements Parser {
+
+    /**
+     * The parser of the underlying format.
+     */
+    private final Parser delegate;
+
+    /**
+     * The codec the input is compressed with.
+     */
+    private final Codec codec;
+
+    /**
+     * The buffer settings used while decompressing.
+     */
+    private final CompressionOptions options;
+
+    /**
+     * Constructs a parser for compressed files.
+     *
+     * @param formatParser the parser of the underlying format
+     * @param compression  the codec the input is compressed with
+     * @param settings     the buffer settings used while decompressing
+     */
+    public CompressedParser(final Parser formatParser, final Codec compression,
+                            final CompressionOptions settings) {
+        this.delegate = formatParser;
+        this.codec = compression;
+        this.options = settings;
+    }
+
+    /**
+     * Returns the parser of the underlying format.
+     *
+     * @return the wrapped parser
+     */
+    public Parser getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Returns the codec the input is compressed with.
+     *
+     * @return the codec
+     */
+    public Codec getCodec() {
+        return codec;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<DataRecord> parse(final String filePath) {
+        ParseChunkEvent event = new ParseChunkEvent();
+        event.begin();
+        try (RecordReader reader = stream(filePath)) {
+            List<DataRecord> records = reader.readAll();
+            event.finish(getSupportedExtension(), filePath, records.size());
+            return records;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RecordReader stream(final String filePath) {
+        File file = new File(filePath);
+        if (!file.exists()) {
+            throw new ParseException(
+                    "Error: Input file '" + filePath + "' not found");
+        }
+        if (!file.canRead()) {
+            throw new ParseException(
+                    "Error: Cannot read file '" + filePath + "'");
+        }
+
+        try {
+            return stream(FileIO.openInput(file.toPath()), filePath);
+        } catch (IOException e) {
+            throw new ParseException("Error: Failed to read file '"
+                    + filePath + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RecordReader stream(final InputStream input, final String name) {
+        InputStream decompressed;
+        try {
+            decompressed = codec.decompress(input, options);
+        } catch (IOException e) {
+            try {
+                input.close();
+            } catch (IOException ignored) {
+                // nothing useful to report while already failing
+            }
+            throw new ParseException("Error: Failed to decompress '"
+                    + name + "': " + e.getMessage(), e);
+        }
+        return delegate.stream(decompressed, name);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getSupportedExtension() {
+        return delegate.getSupportedExtension() + "." + codec.getExtension();
+    }
+}
@@ -0,0 +1,109 @@
+package com.converter.parser;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a CSV file into byte ranges that start and end on record
+ * boundaries.
+ *
+ * <p>The file is scanned once through memory-mapped windows, tracking
+ * whether each byte is inside a quoted value with a
+ * {@link CsvRecordScanner}, so a line break inside quotes never becomes a
+ * split point.
+ */
+final class CsvChunker {
+
+    /**
+     * Default size of each memory-mapped window used while scanning.
+     */
+    static final int WINDOW_BYTES = 64 * 1024 * 1024;
+
+    /**
+     * A byte range of the file holding whole records.
+     *
+     * @param start     the offset of the first byte, inclusive
+     * @param end       the offset of the last byte, exclusive
+     * @param firstLine the one-based line number the range starts on
+     */
+    record Chunk(long start, long end, long firstLine) {
+    }
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private CsvChunker() {
+    }
+
+    /**
+     * Splits a file into record-aligned chunks.
+     *
+     * <p>The first chunk always holds just the header record; the
+     * remaining chunks hold data records and are at least
+     * {@code chunkBytes} long, except for the last one.
+     *
+     * @param channel    the file to split
+     * @param chunkBytes the target size of each data chunk
+     * @param delimiter  the field delimiter
+     * @return the chunks in file order, empty for an empty file
+     * @throws IOException if the file cannot be read
+     */
+    static List<Chunk> split(final FileChannel channel, final long chunkBytes,
+                             final char delimiter) throws IOException {
+        return split(channel, chunkBytes, delimiter, WINDOW_BYTES);
+    }
+
+    /**
+     * Splits a file into record-aligned chunks, scanning it through
+     * windows of the given size.
+     *
+     * @param channel     the file to split
+     * @param chunkBytes  the target size of each data chunk
+     * @param delimiter   the field delimiter
+     * @param windowBytes the number of bytes scanned per mapped window
+     * @return the chunks in file order, empty for an empty file
+     * @throws IOException if the file cannot be read
+     */
+    static List<Chunk> split(final FileChannel channel, final long chunkBytes,
+                             final char delimiter, final int windowBytes)
+            throws IOException {
+        long size = channel.size();
+        List<Chunk> chunks = new ArrayList<>();
+
+        CsvRecordScanner scanner = new CsvRecordScanner(delimiter);
+        long line = 1;
+        long chunkStart = 0;
+        long chunkLine = 1;
+
+        for (long windowStart = 0; windowStart < size;
+                windowStart += windowBytes) {
+            int length = (int) Math.min(windowBytes, size - windowStart);
+            MappedByteBuffer window = channel.map(
+                    FileChannel.MapMode.READ_ONLY, windowStart, length);
+
+            for (int i = 0; i < length; i++) {
+                byte b = window.get(i);
+                boolean recordEnd = scanner.isRecordEnd(b);
+
+                if (b == '\n') {
+                    line++;
+                    long end = windowStart + i + 1;
+                    if (recordEnd && (chunks.isEmpty()
+                            || end - chunkStart >= chunkBytes)) {
+                        chunks.add(new Chunk(chunkStart, end, chunkLine));
+                        chunkStart = end;
+                        chunkLine = line;
+                    }
+                }
+            }
+        }
+
+        if (chunkStart < size) {
+            chunks.add(new Chunk(chunkStart, size, chunkLine));
+        }
+        return chunks;
+    }
+}
@@ -1,128 +1,449 @@
 package com.converter.parser;
 
 import com.converter.exception.ParseException;
+import com.converter.io.FileIO;
+import com.converter.metrics.ParseChunkEvent;
 import com.converter.model.DataRecord;
+import com.converter.model.RecordBatch;
+import com.converter.model.RecordSchema;
 import com.opencsv.CSVParserBuilder;
 import com.opencsv.CSVReader;
 import com.opencsv.CSVReaderBuilder;
 import com.opencsv.exceptions.CsvException;
 
 import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Parser implementation for CSV files.
  */
 public class CsvParser implements Parser {
 
+    /**
+     * Strategies for reading a CSV file.
+     */
+    public enum Mode {
+        /**
+         * Reads rows one at a time on the calling thread.
+         */
+        SEQUENTIAL,
+
+        /**
+         * Splits the memory-mapped file into record-aligned chunks and
+         * parses them concurrently, returning records in file order.
+         */
+        PARALLEL
+    }
+
+    /**
+     * Maximum number of characters inspected when detecting the delimiter.
+     */
+    private static final int DETECTION_LIMIT = 64 * 1024;
+
+    /**
+     * Default target size of each chunk in parallel mode.
+     */
+    private static final int DEFAULT_CHUNK_BYTES = 8 * 1024 * 1024;
+
+    /**
+     * The strategy used to read files.
+     */
+    private final Mode mode;
+
+    /**
+     * Target size of each chunk in parallel mode.
+     */
+    private final int chunkBytes;
+
+    /**
+     * The pool parsing chunks in parallel mode.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a new CSV parser in sequential mode.
+     */
+    public CsvParser() {
+        this(Mode.SEQUENTIAL);
+    }
+
+    /**
+     * Constructs a new CSV parser using the given reading strategy.
+     *
+     * @param parserMode the strategy used to read files
+     */
+    public CsvParser(final Mode parserMode) {
+        this(parserMode, DEFAULT_CHUNK_BYTES, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new CSV parser with explicit parallel settings.
+     *
+     * @param parserMode    the strategy used to read files
+     * @param chunkSize     target size in bytes of each parallel chunk
+     * @param parallelPool  the pool parsing chunks in parallel mode
+     */
+    public CsvParser(final Mode parserMode, final int chunkSize,
+                     final ForkJoinPool parallelPool) {
+        this.mode = parserMode;
+        this.chunkBytes = chunkSize;
+        this.pool = parallelPool;
+    }
+
+    /**
+     * Returns the strategy used to read files.
+     *
+     * @return the parser mode
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public List<DataRecord> parse(final String filePath) {
-        File file = new File(filePath);
-        if (!file.exists()) {
-            throw new ParseException(
-                    "Error: Input file '" + filePath + "' not found");
+        ParseChunkEvent event = new ParseChunkEvent();
+        event.begin();
+        try (RecordReader reader = stream(filePath)) {
+            List<DataRecord> records = reader.readAll();
+            event.finish(getSupportedExtension(), filePath, records.size());
+            return records;
         }
-        if (!file.canRead()) {
-            throw new ParseException(
-                    "Error: Cannot read file '" + filePath + "'");
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>In sequential mode the file is opened once: the delimiter is
+     * detected from a buffered prefix of the stream, which is then
+     * rewound and read one row at a time. In parallel mode only a bounded
+     * window of chunks is parsed ahead of the consumer.
+     */
+    @Override
+    public RecordReader stream(final String filePath) {
+        if (mode == Mode.PARALLEL) {
+            return openParallel(filePath);
+        }
+        return open(filePath);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>A stream is always read sequentially, since parallel mode needs
+     * random access to a file.
+     */
+    @Override
+    public RecordReader stream(final InputStream input, final String name) {
+        return open(FileIO.reader(input), name);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Rows are stored directly under a schema built from the header,
+     * without creating a record per row.
+     */
+    @Override
+    public RecordBatch parseBatch(final String filePath) {
+        if (mode == Mode.PARALLEL) {
+            return RecordBatch.of(parse(filePath));
         }
 
-        List<DataRecord> records = new ArrayList<>();
+        try (CsvRecordReader reader = open(filePath)) {
+            String[] row = reader.nextRow();
+            if (row == null) {
+                return new RecordBatch(new RecordSchema());
+            }
+            if (reader.schema == null) {
+                List<DataRecord> records = new ArrayList<>();
+                for (; row != null; row = reader.nextRow()) {
+                    records.add(reader.toRecord(row));
+                }
+                return RecordBatch.of(records);
+            }
+
+            RecordBatch batch = new RecordBatch(reader.schema);
+            for (; row != null; row = reader.nextRow()) {
+                batch.addRow(row);
+            }
+            return batch;
+        }
+    }
+
+    /**
+     * Opens a CSV file for row-at-a-time reading.
+     *
+     * @param filePath the path to the CSV file
+     * @return a reader positioned before the header row
+     */
+    private CsvRecordReader open(final String filePath) {
+        File file = checkReadable(filePath);
 
         try {
-            char delimiter = detectDelimiter(filePath);
+            return open(FileIO.reader(FileIO.openInput(file.toPath())),
+                    filePath);
+        } catch (IOException e) {
+            throw readError(filePath, e);
+        }
+    }
+
+    /**
+     * Opens a character stream for row-at-a-time reading.
+     *
+     * @param source the stream positioned at the start of the CSV data
+     * @param name   the name of the input, used in error messages
+     * @return a reader positioned before the header row
+     */
+    private CsvRecordReader open(final Reader source, final String name) {
+        BufferedReader input = null;
+        try {
+            input = new BufferedReader(source, DETECTION_LIMIT);
+            char delimiter = detectDelimiter(input);
             com.opencsv.CSVParser csvParser = new CSVParserBuilder()
                     .withSeparator(delimiter)
                     .build();
 
-            try (CSVReader reader = new CSVReaderBuilder(new FileReader(file))
+            CSVReader reader = new CSVReaderBuilder(input)
                     .withCSVParser(csvParser)
-                    .build()) {
-                List<String[]> allRows = reader.readAll();
+                    .build();
+            return new CsvRecordReader(reader, name, null, 0);
+        } catch (IOException e) {
+            closeQuietly(input != null ? input : source);
+            throw readError(name, e);
+        }
+    }
 
-                if (allRows.isEmpty()) {
-                    return records;
-                }
+    /**
+     * Opens a CSV file for chunked parallel reading.
+     *
+     * @param filePath the path to the CSV file
+     * @return a reader returning records in file order
+     */
+    private RecordReader openParallel(final String filePath) {
+        File file = checkReadable(filePath);
 
-                String[] headers = allRows.get(0);
-                for (int k = 0; k < headers.length; k++) {
-                    headers[k] = headers[k].trim();
-                }
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            char delimiter = detectDelimiter(
+                    new BufferedReader(new StringReader(decode(channel, 0,
+                            Math.min(channel.size(), DETECTION_LIMIT)))));
+            List<CsvChunker.Chunk> chunks =
+                    CsvChunker.split(channel, chunkBytes, delimiter);
 
-                for (int i = 1; i < allRows.size(); i++) {
-                    String[] row = allRows.get(i);
+            if (chunks.isEmpty()) {
+                channel.close();
+                return RecordReader.of(List.of());
+            }
 
-                    if (isEmptyRow(row)) {
-                        continue;
-                    }
+            CsvChunker.Chunk headerChunk = chunks.get(0);
+            String[] headers;
+            try (CsvRecordReader headerReader = new CsvRecordReader(
+                    chunkReader(channel, headerChunk, delimiter),
+                    filePath, null, 0)) {
+                headerReader.nextRow();
+                headers = headerReader.headers;
+            }
 
-                    DataRecord record = new DataRecord();
+            FileChannel mapped = channel;
+            return new OrderedChunkReader<>(pool, channel, "CSV", filePath,
+                    chunks.subList(1, chunks.size()),
+                    chunk -> parseChunk(mapped, chunk, delimiter, headers,
+                            filePath));
+        } catch (IOException e) {
+            closeQuietly(channel);
+            throw readError(filePath, e);
+        } catch (RuntimeException e) {
+            closeQuietly(channel);
+            throw e;
+        }
+    }
 
-                    for (int j = 0; j < headers.length; j++) {
-                        String value = (j < row.length) ? row[j].trim() : "";
-                        record.setField(headers[j], value);
-                    }
+    /**
+     * Parses every record of one data chunk of a file.
+     *
+     * @param channel   the file
+     * @param chunk     the byte range to parse
+     * @param delimiter the field delimiter
+     * @param headers   the trimmed header row shared by every chunk
+     * @param filePath  the path of the file, used in error messages
+     * @return the chunk's records in order
+     * @throws IOException if the chunk cannot be mapped
+     */
+    private static List<DataRecord> parseChunk(final FileChannel channel,
+                                               final CsvChunker.Chunk chunk,
+                                               final char delimiter,
+                                               final String[] headers,
+                                               final String filePath)
+            throws IOException {
+        try (CsvRecordReader reader = new CsvRecordReader(
+                chunkReader(channel, chunk, delimiter), filePath,
+                headers, chunk.firstLine() - 1)) {
+            return reader.readAll();
+        }
+    }
 
-                    records.add(record);
-                }
-            }
+    /**
+     * Creates an OpenCSV reader over one chunk of a file.
+     *
+     * @param channel   the file
+     * @param chunk     the byte range to read
+     * @param delimiter the field delimiter
+     * @return a reader over the decoded chunk
+     * @throws IOException if the chunk cannot be mapped
+     */
+    private static CSVReader chunkReader(final FileChannel channel,
+                                         final CsvChunker.Chunk chunk,
+                                         final char delimiter)
+            throws IOException {
+        String text = decode(channel, chunk.start(), chunk.end() - chunk.start());
+        return new CSVReaderBuilder(new StringReader(text))
+                .withCSVParser(new CSVParserBuilder()
+                        .withSeparator(delimiter)
+                        .build())
+                .build();
+    }
+
+    /**
+     * Decodes a memory-mapped byte range of a file as UTF-8.
+     *
+     * @param channel the file
+     * @param start   the offset of the first byte
+     * @param length  the number of bytes
+     * @return the decoded text
+     * @throws IOException if the range cannot be mapped
+     */
+    private static String decode(final FileChannel channel, final long start,
+                                 final long length) throws IOException {
+        MappedByteBuffer bytes = channel.map(
+                FileChannel.MapMode.READ_ONLY, start, length);
+        return FileIO.CHARSET.decode(bytes).toString();
+    }
 
-        } catch (CsvException e) {
+    /**
+     * Checks that the input file exists and can be read.
+     *
+     * @param filePath the path to the input file
+     * @return the input file
+     * @throws ParseException if the file is missing or unreadable
+     */
+    private static File checkReadable(final String filePath) {
+        File file = new File(filePath);
+        if (!file.exists()) {
             throw new ParseException(
-                    "Error: Invalid CSV syntax at line "
-                            + e.getLineNumber() + ": " + e.getMessage(), e);
-        } catch (IOException e) {
+                    "Error: Input file '" + filePath + "' not found");
+        }
+        if (!file.canRead()) {
             throw new ParseException(
-                    "Error: Failed to read CSV file '"
-                            + filePath + "': " + e.getMessage(), e);
+                    "Error: Cannot read file '" + filePath + "'");
         }
-
-        return records;
+        return file;
     }
 
     /**
-     * Detects the delimiter used in the CSV file.
+     * Detects the delimiter of a CSV file from its first line, as the
+     * parser does when reading it.
      *
-     * @param filePath the path to the CSV file
+     * @param file the CSV file
      * @return the detected delimiter character
      * @throws IOException if the file cannot be read
      */
-    private char detectDelimiter(final String filePath) throws IOException {
-        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-            String firstLine = br.readLine();
-            if (firstLine == null) {
-                return ',';
-            }
+    public static char detectDelimiter(final Path file) throws IOException {
+        try (BufferedReader input = new BufferedReader(
+                FileIO.newReader(file), DETECTION_LIMIT)) {
+            return detectDelimiter(input);
+        }
+    }
 
-            int commas = countChar(firstLine, ',');
-            int semicolons = countChar(firstLine, ';');
+    /**
+     * Detects the delimiter from the first line of a buffered stream and
+     * rewinds the stream to where it started.
+     *
+     * @param input the buffered stream positioned at the start of the file
+     * @return the detected delimiter character
+     * @throws IOException if the stream cannot be read
+     */
+    private static char detectDelimiter(final BufferedReader input)
+            throws IOException {
+        input.mark(DETECTION_LIMIT);
 
-            return semicolons > commas ? ';' : ',';
+        int commas = 0;
+        int semicolons = 0;
+        for (int i = 0; i < DETECTION_LIMIT; i++) {
+            int c = input.read();
+            if (c == -1 || c == '\n' || c == '\r') {
+                break;
+            }
+            if (c == ',') {
+                commas++;
+            } else if (c == ';') {
+                semicolons++;
+            }
         }
+
+        input.reset();
+        return semicolons > commas ? ';' : ',';
     }
 
     /**
-     * Counts occurrences of a character in a string.
+     * Converts an OpenCSV error into a parse exception.
      *
-     * @param str the string to search
-     * @param c   the character to count
-     * @return the number of occurrences
+     * @param e          the OpenCSV error
+     * @param lineOffset number of file lines before the parsed text
+     * @return a parse exception carrying the line number
      */
-    private int countChar(final String str, final char c) {
-        int count = 0;
-        for (int i = 0; i < str.length(); i++) {
-            if (str.charAt(i) == c) {
-                count++;
-            }
+    private static ParseException syntaxError(final CsvException e,
+                                              final long lineOffset) {
+        return new ParseException(
+                "Error: Invalid CSV syntax at line "
+                        + (e.getLineNumber() + lineOffset) + ": "
+                        + e.getMessage(), e);
+    }
+
+    /**
+     * Converts an I/O error into a parse exception.
+     *
+     * @param filePath the path of the file being read
+     * @param e        the I/O error
+     * @return a parse exception describing the failure
+     */
+    private static ParseException readError(final String filePath,
+                                            final IOException e) {
+        return new ParseException(
+                "Error: Failed to read CSV file '"
+                        + filePath + "': " + e.getMessage(), e);
+    }
+
+    /**
+     * Closes a reader or channel, ignoring any error.
+     *
+     * @param input the resource to close, may be null
+     */
+    private static void closeQuietly(final Closeable input) {
+        if (input == null) {
+            return;
+        }
+        try {
+            input.close();
+        } catch (IOException ignored) {
+            // nothing useful to report while already failing
         }
-        return count;
     }
 
     /**
@@ -131,7 +452,7 @@ public class CsvParser implements Parser {
      * @param row the row to check
      * @return true if all values are null or empty
      */
-    private boolean isEmptyRow(final String[] row) {
+    private static boolean isEmptyRow(final String[] row) {
         for (String value : row) {
             if (value != null && !value.trim().isEmpty()) {
                 return false;
@@ -140,6 +461,207 @@ public class CsvParser implements Parser {
         return true;
     }
 
+    /**
+     * Record reader that pulls one CSV row at a time.
+     */
+    private static final class CsvRecordReader implements RecordReader {
+
+        /**
+         * The underlying OpenCSV reader.
+         */
+        private final CSVReader reader;
+
+        /**
+         * The path of the file being read, used in error messages.
+         */
+        private final String filePath;
+
+        /**
+         * Number of file lines before the text being read.
+         */
+        private final long lineOffset;
+
+        /**
+         * The trimmed header row, or null until it has been read.
+         */
+        private String[] headers;
+
+        /**
+         * Schema shared by every record, or null if the header row
+         * repeats a name and records must own their fields.
+         */
+        private RecordSchema schema;
+
+        /**
+         * The next record to return, or null if not yet read.
+         */
+        private DataRecord pending;
+
+        /**
+         * Whether the end of the file has been reached.
+         */
+        private boolean finished;
+
+        /**
+         * Constructs a reader over the given OpenCSV reader.
+         *
+         * @param csvReader the OpenCSV reader to consume
+         * @param path      the path of the file being read
+         * @param header    the trimmed header row if the text has none,
+         *                  or null to read it from the first row
+         * @param offset    number of file lines before the text
+         */
+        private CsvRecordReader(final CSVReader csvReader, final String path,
+                                final String[] header, final long offset) {
+            this.reader = csvReader;
+            this.filePath = path;
+            this.lineOffset = offset;
+            if (header != null) {
+                useHeaders(header);
+            }
+        }
+
+        /**
+         * Sets the header row and the schema derived from it.
+         *
+         * @param header the trimmed header row
+         */
+        private void useHeaders(final String[] header) {
+            headers = header;
+            if (RecordSchema.isValid(headers)) {
+                schema = new RecordSchema(headers);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (pending == null && !finished) {
+                try {
+                    pending = readRecord();
+                } catch (CsvException e) {
+                    close();
+                    throw syntaxError(e, lineOffset);
+                } catch (IOException e) {
+                    close();
+                    throw readError(filePath, e);
+                }
+                if (pending == null) {
+                    close();
+                }
+            }
+            return pending != null;
+        }
+
+        @Override
+        public DataRecord next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            DataRecord record = pending;
+            pending = null;
+            return record;
+        }
+
+        /**
+         * Reads the next non-empty data row as a record.
+         *
+         * @return the next record, or null at the end of the file
+         * @throws CsvException if the CSV syntax is invalid
+         * @throws IOException  if the file cannot be read
+         */
+        private DataRecord readRecord() throws CsvException, IOException {
+            String[] row = readRow();
+            return row != null ? toRecord(row) : null;
+        }
+
+        /**
+         * Wraps a data row as a record.
+         *
+         * @param row the trimmed row padded to the header width
+         * @return a record sharing the header schema when possible
+         */
+        private DataRecord toRecord(final String[] row) {
+            if (schema != null) {
+                return schema.newRecord(row);
+            }
+
+            DataRecord record = new DataRecord();
+            for (int j = 0; j < headers.length; j++) {
+                record.setField(headers[j], row[j]);
+            }
+            return record;
+        }
+
+        /**
+         * Reads the next non-empty data row, reporting errors as parse
+         * exceptions.
+         *
+         * @return the trimmed row padded to the header width, or null at
+         *         the end of the file
+         */
+        private String[] nextRow() {
+            try {
+                String[] row = readRow();
+                if (row == null) {
+                    close();
+                }
+                return row;
+            } catch (CsvException e) {
+                close();
+                throw syntaxError(e, lineOffset);
+            } catch (IOException e) {
+                close();
+                throw readError(filePath, e);
+            }
+        }
+
+        /**
+         * Reads rows until a non-empty data row is found.
+         *
+         * @return the trimmed row padded to the header width, or null at
+         *         the end of the file
+         * @throws CsvException if the CSV syntax is invalid
+         * @throws IOException  if the file cannot be read
+         */
+        private String[] readRow() throws CsvException, IOException {
+            if (headers == null) {
+                String[] header = reader.readNext();
+                if (header == null) {
+                    return null;
+                }
+                for (int k = 0; k < header.length; k++) {
+                    header[k] = header[k].trim();
+                }
+                useHeaders(header);
+            }
+
+            String[] row;
+            while ((row = reader.readNext()) != null) {
+                if (isEmptyRow(row)) {
+                    continue;
+                }
+
+                String[] values = new String[headers.length];
+                for (int j = 0; j < headers.length; j++) {
+                    values[j] = (j < row.length) ? row[j].trim() : "";
+                }
+
+                return values;
+            }
+            return null;
+        }
+
+        @Override
+        public void close() {
+            finished = true;
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw readError(filePath, e);
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
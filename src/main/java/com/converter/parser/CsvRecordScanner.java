@@ -0,0 +1,69 @@
+package com.converter.parser;
+
+/**
+ * Finds the line breaks that end CSV records, one byte at a time.
+ *
+ * <p>Quote and escape handling follows OpenCSV's defaults: {@code "}
+ * toggles quoting, and {@code \} inside a quoted or started value
+ * escapes a following quote or backslash. A line break inside quotes
+ * does not end a record. Whether a backslash escapes is decided when the
+ * next byte arrives, so the bytes may be fed in pieces of any size.
+ */
+public final class CsvRecordScanner {
+
+    /**
+     * The field delimiter.
+     */
+    private final char delimiter;
+
+    /**
+     * Whether the scan is inside a quoted value.
+     */
+    private boolean inQuotes;
+
+    /**
+     * Whether the current field has started.
+     */
+    private boolean inField;
+
+    /**
+     * Whether the previous byte was a backslash that may escape this one.
+     */
+    private boolean backslash;
+
+    /**
+     * Constructs a scanner positioned at the start of a record.
+     *
+     * @param fieldDelimiter the field delimiter
+     */
+    public CsvRecordScanner(final char fieldDelimiter) {
+        this.delimiter = fieldDelimiter;
+    }
+
+    /**
+     * Consumes the next byte of the file.
+     *
+     * @param b the byte
+     * @return true if the byte is a line break ending a record
+     */
+    public boolean isRecordEnd(final byte b) {
+        if (backslash) {
+            backslash = false;
+            if (b == '"' || b == '\\') {
+                inField = true;
+                return false;
+            }
+        }
+
+        if (b == '\\' && (inQuotes || inField)) {
+            backslash = true;
+        } else if (b == '"') {
+            inQuotes = !inQuotes;
+        } else if (!inQuotes && (b == delimiter || b == '\n')) {
+            inField = false;
+        } else {
+            inField = true;
+        }
+        return b == '\n' && !inQuotes;
+    }
+}
@@ -2,33 +2,78 @@ package com.converter.parser;
 
 import com.converter.exception.ParseException;
 import com.converter.exception.ValidationException;
+import com.converter.io.FileIO;
+import com.converter.metrics.ParseChunkEvent;
 import com.converter.model.DataRecord;
+import com.converter.registry.ComponentRegistry;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 
 /**
  * Parser implementation for JSON files.
  */
 public class JsonParser implements Parser {
 
+    /**
+     * Strategies for reading a JSON document.
+     */
+    public enum Mode {
+        /**
+         * Reads the whole document into a {@link JsonNode} tree first.
+         */
+        TREE,
+
+        /**
+         * Reads the document token by token, one record at a time.
+         */
+        STREAMING
+    }
+
     /**
      * Jackson ObjectMapper for JSON processing.
      */
     private final ObjectMapper objectMapper;
 
     /**
-     * Constructs a new JSON parser.
+     * The strategy used to read documents.
+     */
+    private final Mode mode;
+
+    /**
+     * Constructs a new JSON parser in streaming mode.
      */
     public JsonParser() {
-        this.objectMapper = new ObjectMapper();
+        this(Mode.STREAMING);
+    }
+
+    /**
+     * Constructs a new JSON parser using the given reading strategy.
+     *
+     * @param parserMode the strategy used to read documents
+     */
+    public JsonParser(final Mode parserMode) {
+        this.objectMapper = ComponentRegistry.jsonMapper();
+        this.mode = parserMode;
+    }
+
+    /**
+     * Returns the strategy used to read documents.
+     *
+     * @return the parser mode
+     */
+    public Mode getMode() {
+        return mode;
     }
 
     /**
@@ -36,6 +81,105 @@ public class JsonParser implements Parser {
      */
     @Override
     public List<DataRecord> parse(final String filePath) {
+        ParseChunkEvent event = new ParseChunkEvent();
+        event.begin();
+        List<DataRecord> records = readAll(filePath);
+        event.finish(getSupportedExtension(), filePath, records.size());
+        return records;
+    }
+
+    /**
+     * Reads every record of a file using the configured mode.
+     *
+     * @param filePath the path to the input file
+     * @return the records of the file
+     */
+    private List<DataRecord> readAll(final String filePath) {
+        if (mode == Mode.STREAMING) {
+            try (RecordReader reader = stream(filePath)) {
+                return reader.readAll();
+            }
+        }
+
+        File file = checkReadable(filePath);
+
+        try (InputStream in = FileIO.openInput(file.toPath())) {
+            JsonNode rootNode = objectMapper.readTree(in);
+            return parseJsonNode(rootNode);
+        } catch (JsonProcessingException e) {
+            throw syntaxError(e);
+        } catch (IOException e) {
+            throw readError(filePath, e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>In streaming mode, records are produced one per top-level array
+     * element as soon as the element has been read.
+     */
+    @Override
+    public RecordReader stream(final String filePath) {
+        if (mode == Mode.TREE) {
+            return RecordReader.of(readAll(filePath));
+        }
+
+        File file = checkReadable(filePath);
+        try {
+            return stream(FileIO.openInput(file.toPath()), filePath);
+        } catch (IOException e) {
+            throw readError(filePath, e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RecordReader stream(final InputStream input, final String name) {
+        if (mode == Mode.TREE) {
+            try (InputStream in = input) {
+                return RecordReader.of(
+                        parseJsonNode(objectMapper.readTree(in)));
+            } catch (JsonProcessingException e) {
+                throw syntaxError(e);
+            } catch (IOException e) {
+                throw readError(name, e);
+            }
+        }
+
+        com.fasterxml.jackson.core.JsonParser tokens = null;
+        try {
+            tokens = objectMapper.getFactory().createParser(input);
+            JsonToken rootToken = tokens.nextToken();
+
+            if (rootToken != JsonToken.START_ARRAY
+                    && rootToken != JsonToken.START_OBJECT) {
+                tokens.close();
+                throw new ValidationException(
+                        "Error: JSON must be an object or array of objects");
+            }
+
+            return new JsonRecordReader(
+                    tokens, rootToken == JsonToken.START_ARRAY, name);
+        } catch (JsonProcessingException e) {
+            closeQuietly(tokens, input);
+            throw syntaxError(e);
+        } catch (IOException e) {
+            closeQuietly(tokens, input);
+            throw readError(name, e);
+        }
+    }
+
+    /**
+     * Checks that the input file exists and can be read.
+     *
+     * @param filePath the path to the input file
+     * @return the input file
+     * @throws ParseException if the file is missing or unreadable
+     */
+    private File checkReadable(final String filePath) {
         File file = new File(filePath);
         if (!file.exists()) {
             throw new ParseException(
@@ -45,25 +189,61 @@ public class JsonParser implements Parser {
             throw new ParseException(
                     "Error: Cannot read file '" + filePath + "'");
         }
+        return file;
+    }
+
+    /**
+     * Converts a Jackson processing error into a parse exception.
+     *
+     * @param e the Jackson error
+     * @return a parse exception carrying the line number when known
+     */
+    private static ParseException syntaxError(
+            final JsonProcessingException e) {
+        String message = e.getOriginalMessage();
+        long line = e.getLocation() != null
+                ? e.getLocation().getLineNr() : -1;
+        if (line > 0) {
+            return new ParseException(
+                    "Error: Invalid JSON syntax at line "
+                            + line + ": " + message, e);
+        }
+        return new ParseException(
+                "Error: Invalid JSON syntax: " + message, e);
+    }
 
+    /**
+     * Converts an I/O error into a parse exception.
+     *
+     * @param filePath the path of the file being read
+     * @param e        the I/O error
+     * @return a parse exception describing the failure
+     */
+    private static ParseException readError(final String filePath,
+                                            final IOException e) {
+        return new ParseException(
+                "Error: Failed to read JSON file '"
+                        + filePath + "': " + e.getMessage(), e);
+    }
+
+    /**
+     * Closes a token parser, or the stream it reads if the parser could
+     * not be created, ignoring any error.
+     *
+     * @param tokens the token parser to close, may be null
+     * @param input  the stream the parser reads
+     */
+    private static void closeQuietly(
+            final com.fasterxml.jackson.core.JsonParser tokens,
+            final InputStream input) {
         try {
-            JsonNode rootNode = objectMapper.readTree(file);
-            return parseJsonNode(rootNode);
-        } catch (JsonProcessingException e) {
-            String message = e.getOriginalMessage();
-            long line = e.getLocation() != null
-                    ? e.getLocation().getLineNr() : -1;
-            if (line > 0) {
-                throw new ParseException(
-                        "Error: Invalid JSON syntax at line "
-                                + line + ": " + message, e);
+            if (tokens != null) {
+                tokens.close();
+            } else {
+                input.close();
             }
-            throw new ParseException(
-                    "Error: Invalid JSON syntax: " + message, e);
-        } catch (IOException e) {
-            throw new ParseException(
-                    "Error: Failed to read JSON file '"
-                            + filePath + "': " + e.getMessage(), e);
+        } catch (IOException ignored) {
+            // nothing useful to report while already failing
         }
     }
 
@@ -125,6 +305,160 @@ public class JsonParser implements Parser {
         return record;
     }
 
+    /**
+     * Reads the fields of the object whose start token is current.
+     *
+     * <p>Only flat objects are accepted: every value must be a scalar,
+     * rendered the same way the tree-based path renders the equivalent
+     * node.
+     *
+     * @param tokens the token stream positioned on a start-object token
+     * @return a data record containing the object's fields
+     * @throws IOException if the token stream cannot be read
+     * @throws ValidationException if nested structures are found
+     */
+    static DataRecord readFlatObject(
+            final com.fasterxml.jackson.core.JsonParser tokens)
+            throws IOException {
+        DataRecord record = new DataRecord();
+
+        while (tokens.nextToken() == JsonToken.FIELD_NAME) {
+            String key = tokens.currentName();
+            JsonToken value = tokens.nextToken();
+
+            if (value == JsonToken.START_OBJECT
+                    || value == JsonToken.START_ARRAY) {
+                throw new ValidationException(
+                        "Error: Nested structures are not supported. "
+                                + "Please use flat JSON");
+            }
+
+            String text = switch (value) {
+                case VALUE_NULL -> "";
+                case VALUE_NUMBER_INT -> tokens.getNumberValue().toString();
+                case VALUE_NUMBER_FLOAT ->
+                        String.valueOf(tokens.getDoubleValue());
+                default -> tokens.getText();
+            };
+            record.setField(key, text);
+        }
+
+        return record;
+    }
+
+    /**
+     * Record reader that pulls one object at a time from a token stream.
+     */
+    private static final class JsonRecordReader implements RecordReader {
+
+        /**
+         * The underlying Jackson token stream.
+         */
+        private final com.fasterxml.jackson.core.JsonParser tokens;
+
+        /**
+         * Whether the document root is an array of records.
+         */
+        private final boolean rootIsArray;
+
+        /**
+         * The path of the file being read, used in error messages.
+         */
+        private final String filePath;
+
+        /**
+         * The next record to return, or null if not yet read.
+         */
+        private DataRecord pending;
+
+        /**
+         * Whether the end of the document root has been reached.
+         */
+        private boolean finished;
+
+        /**
+         * Constructs a reader positioned on the root start token.
+         *
+         * @param tokenStream the token stream to consume
+         * @param array       whether the root is an array
+         * @param path        the path of the file being read
+         */
+        private JsonRecordReader(
+                final com.fasterxml.jackson.core.JsonParser tokenStream,
+                final boolean array,
+                final String path) {
+            this.tokens = tokenStream;
+            this.rootIsArray = array;
+            this.filePath = path;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (pending == null && !finished) {
+                try {
+                    pending = readRecord();
+                } catch (JsonProcessingException e) {
+                    close();
+                    throw syntaxError(e);
+                } catch (IOException e) {
+                    close();
+                    throw readError(filePath, e);
+                } catch (RuntimeException e) {
+                    close();
+                    throw e;
+                }
+                if (pending == null) {
+                    close();
+                }
+            }
+            return pending != null;
+        }
+
+        @Override
+        public DataRecord next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            DataRecord record = pending;
+            pending = null;
+            return record;
+        }
+
+        /**
+         * Reads the next record from the token stream.
+         *
+         * @return the next record, or null once the root is exhausted
+         * @throws IOException if the token stream cannot be read
+         */
+        private DataRecord readRecord() throws IOException {
+            if (!rootIsArray) {
+                finished = true;
+                return readFlatObject(tokens);
+            }
+
+            JsonToken token = tokens.nextToken();
+            if (token == JsonToken.END_ARRAY) {
+                finished = true;
+                return null;
+            }
+            if (token != JsonToken.START_OBJECT) {
+                throw new ValidationException(
+                        "Error: Array elements must be objects");
+            }
+            return readFlatObject(tokens);
+        }
+
+        @Override
+        public void close() {
+            finished = true;
+            try {
+                tokens.close();
+            } catch (IOException e) {
+                throw readError(filePath, e);
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,243 @@
+package com.converter.parser;
+
+import com.converter.exception.ParseException;
+import com.converter.exception.ValidationException;
+import com.converter.io.FileIO;
+import com.converter.metrics.ParseChunkEvent;
+import com.converter.model.DataRecord;
+import com.converter.registry.ComponentRegistry;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Parser implementation for newline-delimited JSON (NDJSON / JSON Lines)
+ * files.
+ *
+ * <p>Each non-blank line holds exactly one flat JSON object, validated by
+ * the same rules as {@link JsonParser}.
+ */
+public class NdjsonParser implements Parser {
+
+    /**
+     * Size of the read buffer.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<DataRecord> parse(final String filePath) {
+        ParseChunkEvent event = new ParseChunkEvent();
+        event.begin();
+        try (RecordReader reader = stream(filePath)) {
+            List<DataRecord> records = reader.readAll();
+            event.finish(getSupportedExtension(), filePath, records.size());
+            return records;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RecordReader stream(final String filePath) {
+        File file = new File(filePath);
+        if (!file.exists()) {
+            throw new ParseException(
+                    "Error: Input file '" + filePath + "' not found");
+        }
+        if (!file.canRead()) {
+            throw new ParseException(
+                    "Error: Cannot read file '" + filePath + "'");
+        }
+
+        try {
+            return stream(FileIO.openInput(file.toPath()), filePath);
+        } catch (IOException e) {
+            throw readError(filePath, e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RecordReader stream(final InputStream input, final String name) {
+        BufferedReader reader = new BufferedReader(
+                FileIO.reader(input), BUFFER_SIZE);
+        return new NdjsonRecordReader(reader, name);
+    }
+
+    /**
+     * Parses one line into a data record.
+     *
+     * @param factory the Jackson factory creating the token stream
+     * @param line    the line text
+     * @param lineNr  the one-based line number, used in error messages
+     * @return a data record containing the object's fields
+     * @throws IOException if the line is not valid JSON
+     * @throws ValidationException if the line is not a flat object
+     */
+    private static DataRecord parseLine(final JsonFactory factory,
+                                        final String line,
+                                        final long lineNr)
+            throws IOException {
+        try (com.fasterxml.jackson.core.JsonParser tokens =
+                     factory.createParser(line)) {
+            if (tokens.nextToken() != JsonToken.START_OBJECT) {
+                throw new ValidationException(
+                        "Error: Line " + lineNr + " must be a JSON object");
+            }
+            DataRecord record = JsonParser.readFlatObject(tokens);
+            if (tokens.nextToken() != null) {
+                throw new ParseException(
+                        "Error: Invalid JSON syntax at line " + lineNr
+                                + ": expected one object per line");
+            }
+            return record;
+        }
+    }
+
+    /**
+     * Converts an I/O error into a parse exception.
+     *
+     * @param filePath the path of the file being read
+     * @param e        the I/O error
+     * @return a parse exception describing the failure
+     */
+    private static ParseException readError(final String filePath,
+                                            final IOException e) {
+        return new ParseException(
+                "Error: Failed to read NDJSON file '"
+                        + filePath + "': " + e.getMessage(), e);
+    }
+
+    /**
+     * Record reader that parses one line at a time.
+     */
+    private static final class NdjsonRecordReader implements RecordReader {
+
+        /**
+         * The Jackson factory creating a token stream per line.
+         */
+        private final JsonFactory factory =
+                ComponentRegistry.jsonMapper().getFactory();
+
+        /**
+         * The underlying line reader.
+         */
+        private final BufferedReader reader;
+
+        /**
+         * The path of the file being read, used in error messages.
+         */
+        private final String filePath;
+
+        /**
+         * The next record to return, or null if not yet read.
+         */
+        private DataRecord pending;
+
+        /**
+         * The number of lines read so far.
+         */
+        private long lineNr;
+
+        /**
+         * Whether the end of the file has been reached.
+         */
+        private boolean finished;
+
+        /**
+         * Constructs a reader over the given line reader.
+         *
+         * @param lineReader the reader to consume
+         * @param path       the path of the file being read
+         */
+        private NdjsonRecordReader(final BufferedReader lineReader,
+                                   final String path) {
+            this.reader = lineReader;
+            this.filePath = path;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (pending == null && !finished) {
+                try {
+                    pending = readRecord();
+                } catch (JsonProcessingException e) {
+                    close();
+                    throw new ParseException(
+                            "Error: Invalid JSON syntax at line " + lineNr
+                                    + ": " + e.getOriginalMessage(), e);
+                } catch (IOException e) {
+                    close();
+                    throw readError(filePath, e);
+                } catch (RuntimeException e) {
+                    close();
+                    throw e;
+                }
+                if (pending == null) {
+                    close();
+                }
+            }
+            return pending != null;
+        }
+
+        @Override
+        public DataRecord next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            DataRecord record = pending;
+            pending = null;
+            return record;
+        }
+
+        /**
+         * Reads the next non-blank line as a record.
+         *
+         * @return the next record, or null at the end of the file
+         * @throws IOException if the file cannot be read or a line is not
+         *                     valid JSON
+         */
+        private DataRecord readRecord() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNr++;
+                if (!line.isBlank()) {
+                    return parseLine(factory, line, lineNr);
+                }
+            }
+            finished = true;
+            return null;
+        }
+
+        @Override
+        public void close() {
+            finished = true;
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw readError(filePath, e);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getSupportedExtension() {
+        return "ndjson";
+    }
+}
@@ -0,0 +1,201 @@
+package com.converter.parser;
+
+import com.converter.exception.ParseException;
+import com.converter.model.DataRecord;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Record reader that parses chunks of a file concurrently and returns
+ * their records in file order.
+ *
+ * <p>Only a bounded window of chunks is parsed ahead of the consumer, so
+ * memory use does not grow with the size of the file. The file is closed
+ * once every record has been returned, when a chunk fails to parse, or
+ * when the reader is closed.
+ *
+ * @param <C> the type describing a chunk
+ */
+final class OrderedChunkReader<C> implements RecordReader {
+
+    /**
+     * Parses every record of one chunk.
+     *
+     * @param <C> the type describing a chunk
+     */
+    @FunctionalInterface
+    interface ChunkParser<C> {
+
+        /**
+         * Parses every record of a chunk.
+         *
+         * @param chunk the chunk to parse
+         * @return the chunk's records in order
+         * @throws IOException if the chunk cannot be read
+         */
+        List<DataRecord> parse(C chunk) throws IOException;
+    }
+
+    /**
+     * The pool the chunks are parsed in.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The memory-mapped file.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The name of the file format, used in error messages.
+     */
+    private final String format;
+
+    /**
+     * The path of the file being read, used in error messages.
+     */
+    private final String filePath;
+
+    /**
+     * The chunks in file order.
+     */
+    private final List<C> chunks;
+
+    /**
+     * The parser applied to each chunk.
+     */
+    private final ChunkParser<C> parser;
+
+    /**
+     * Chunks submitted for parsing and not yet consumed, in order.
+     */
+    private final Deque<ForkJoinTask<List<DataRecord>>> inFlight =
+            new ArrayDeque<>();
+
+    /**
+     * Maximum number of chunks parsed ahead of the consumer.
+     */
+    private final int window;
+
+    /**
+     * Index of the next chunk to submit.
+     */
+    private int nextChunk;
+
+    /**
+     * Records of the chunk currently being consumed.
+     */
+    private Iterator<DataRecord> current = Collections.emptyIterator();
+
+    /**
+     * Whether this reader has been closed.
+     */
+    private boolean closed;
+
+    /**
+     * Constructs a reader over the given chunks.
+     *
+     * <p>At most twice the pool's parallelism of chunks is parsed ahead
+     * of the consumer.
+     *
+     * @param parsePool   the pool to parse chunks in
+     * @param file        the memory-mapped file, closed with this reader
+     * @param formatName  the name of the file format, such as {@code CSV}
+     * @param path        the path of the file being read
+     * @param fileChunks  the chunks in file order
+     * @param chunkParser the parser applied to each chunk
+     */
+    OrderedChunkReader(final ForkJoinPool parsePool, final FileChannel file,
+                       final String formatName, final String path,
+                       final List<C> fileChunks,
+                       final ChunkParser<C> chunkParser) {
+        this.pool = parsePool;
+        this.channel = file;
+        this.format = formatName;
+        this.filePath = path;
+        this.chunks = fileChunks;
+        this.parser = chunkParser;
+        this.window = parsePool.getParallelism() * 2;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            while (!closed && inFlight.size() < window
+                    && nextChunk < chunks.size()) {
+                C chunk = chunks.get(nextChunk++);
+                inFlight.add(pool.submit(() -> parser.parse(chunk)));
+            }
+            if (inFlight.isEmpty()) {
+                close();
+                return false;
+            }
+            current = await(inFlight.poll()).iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public DataRecord next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    /**
+     * Waits for a chunk to be parsed.
+     *
+     * @param task the chunk's parse task
+     * @return the chunk's records
+     */
+    private List<DataRecord> await(final ForkJoinTask<List<DataRecord>> task) {
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            close();
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new ParseException(
+                    "Error: Failed to read " + format + " file '" + filePath
+                            + "': " + cause.getMessage(), cause);
+        } catch (InterruptedException e) {
+            close();
+            Thread.currentThread().interrupt();
+            throw new ParseException(
+                    "Error: Interrupted while reading " + format + " file '"
+                            + filePath + "'", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (ForkJoinTask<List<DataRecord>> task : inFlight) {
+            task.cancel(true);
+        }
+        inFlight.clear();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new ParseException(
+                    "Error: Failed to read " + format + " file '"
+                            + filePath + "': " + e.getMessage(), e);
+        }
+    }
+}
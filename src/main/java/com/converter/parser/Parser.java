@@ -1,7 +1,9 @@
 package com.converter.parser;
 
 import com.converter.model.DataRecord;
+import com.converter.model.RecordBatch;
 
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -17,6 +19,47 @@ public interface Parser {
      */
     List<DataRecord> parse(String filePath);
 
+    /**
+     * Opens a file as a stream of data records.
+     *
+     * <p>The default implementation parses the whole file up front;
+     * parsers that can read incrementally override this method.
+     *
+     * @param filePath the path to the file to parse
+     * @return a reader producing the parsed data records
+     */
+    default RecordReader stream(final String filePath) {
+        return RecordReader.of(parse(filePath));
+    }
+
+    /**
+     * Opens an input stream as a stream of data records.
+     *
+     * <p>The default implementation copies the stream to a temporary file
+     * and reads that; parsers that can read a stream directly override
+     * this method. The returned reader closes the input stream.
+     *
+     * @param input the stream to read
+     * @param name  the name of the input, used in error messages
+     * @return a reader producing the parsed data records
+     */
+    default RecordReader stream(final InputStream input, final String name) {
+        return SpooledInput.stream(this, input, name);
+    }
+
+    /**
+     * Parses a file into a batch of rows sharing a single schema.
+     *
+     * <p>The default implementation builds the batch from the parsed
+     * records; parsers with a natural fixed schema override this method.
+     *
+     * @param filePath the path to the file to parse
+     * @return a batch of parsed rows
+     */
+    default RecordBatch parseBatch(final String filePath) {
+        return RecordBatch.of(parse(filePath));
+    }
+
     /**
      * Returns the file extension supported by this parser.
      *
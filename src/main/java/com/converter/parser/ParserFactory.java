@@ -1,12 +1,57 @@
 package com.converter.parser;
 
+import com.converter.compression.Codec;
+import com.converter.compression.CompressionOptions;
 import com.converter.exception.ConversionException;
 
+import java.io.File;
+
 /**
  * Factory class for creating parser instances based on file extension.
+ *
+ * <p>Parsers hold no per-file state, so one instance per format is
+ * shared by every caller.
  */
 public final class ParserFactory {
 
+    /**
+     * The shared JSON parser.
+     */
+    private static final Parser JSON = new JsonParser();
+
+    /**
+     * The shared XML parser.
+     */
+    private static final Parser XML = new XmlParser();
+
+    /**
+     * The shared XML parser that reads files in parallel chunks.
+     */
+    private static final Parser PARALLEL_XML =
+            new XmlParser(XmlParser.Mode.PARALLEL);
+
+    /**
+     * The shared CSV parser.
+     */
+    private static final Parser CSV = new CsvParser();
+
+    /**
+     * The shared CSV parser that reads files in parallel chunks.
+     */
+    private static final Parser PARALLEL_CSV =
+            new CsvParser(CsvParser.Mode.PARALLEL);
+
+    /**
+     * The shared NDJSON parser, used for both {@code .ndjson} and
+     * {@code .jsonl} files.
+     */
+    private static final Parser NDJSON = new NdjsonParser();
+
+    /**
+     * The shared binary columnar parser.
+     */
+    private static final Parser COLUMNAR = new ColumnarParser();
+
     /**
      * Private constructor to prevent instantiation.
      */
@@ -21,22 +66,87 @@ public final class ParserFactory {
      * @throws ConversionException if the file format is not supported
      */
     public static Parser createParser(final String filePath) {
+        return createParser(filePath, CompressionOptions.DEFAULT);
+    }
+
+    /**
+     * Creates a parser for the given file path based on its extension,
+     * using the given settings if the file is compressed.
+     *
+     * @param filePath the path to the file to parse
+     * @param options  the compression settings
+     * @return a parser instance appropriate for the file format
+     * @throws ConversionException if the file format is not supported
+     */
+    public static Parser createParser(final String filePath,
+                                      final CompressionOptions options) {
         String extension = getFileExtension(filePath);
-        return createParserByExtension(extension);
+        return createParserByExtension(extension, options);
     }
 
     /**
      * Creates a parser for the given file extension.
      *
+     * <p>An extension such as {@code csv.gz}, ending in a codec
+     * extension, selects the parser of the inner format wrapped in a
+     * {@link CompressedParser}.
+     *
      * @param extension the file extension (without dot)
      * @return a parser instance appropriate for the file format
      * @throws ConversionException if the file format is not supported
      */
     public static Parser createParserByExtension(final String extension) {
+        return createParserByExtension(extension, CompressionOptions.DEFAULT);
+    }
+
+    /**
+     * Creates a parser for the given file extension, using the given
+     * settings if the extension selects a compressed format.
+     *
+     * @param extension the file extension (without dot)
+     * @param options   the compression settings
+     * @return a parser instance appropriate for the file format
+     * @throws ConversionException if the file format is not supported
+     */
+    public static Parser createParserByExtension(
+            final String extension, final CompressionOptions options) {
+        return createParserByExtension(extension, options, false);
+    }
+
+    /**
+     * Creates a parser for the given file extension, optionally one that
+     * parses large files in parallel.
+     *
+     * <p>Only CSV and XML have parallel parsers; other formats ignore
+     * the flag.
+     * A parallel parser still reads streams, including decompressed
+     * input, sequentially.
+     *
+     * @param extension the file extension (without dot)
+     * @param options   the compression settings
+     * @param parallel  whether to split files into chunks parsed
+     *                  concurrently
+     * @return a parser instance appropriate for the file format
+     * @throws ConversionException if the file format is not supported
+     */
+    public static Parser createParserByExtension(
+            final String extension, final CompressionOptions options,
+            final boolean parallel) {
+        int dot = extension.lastIndexOf('.');
+        if (dot > 0) {
+            Codec codec = Codec.forExtension(extension.substring(dot + 1));
+            if (codec != null) {
+                return new CompressedParser(createParserByExtension(
+                        extension.substring(0, dot)), codec, options);
+            }
+        }
+
         return switch (extension.toLowerCase()) {
-            case "json" -> new JsonParser();
-            case "xml" -> new XmlParser();
-            case "csv" -> new CsvParser();
+            case "json" -> JSON;
+            case "xml" -> parallel ? PARALLEL_XML : XML;
+            case "csv" -> parallel ? PARALLEL_CSV : CSV;
+            case "ndjson", "jsonl" -> NDJSON;
+            case "fcol" -> COLUMNAR;
             default -> throw new ConversionException(
                     "Error: Unsupported file format '." + extension + "'");
         };
@@ -45,6 +155,10 @@ public final class ParserFactory {
     /**
      * Extracts the file extension from a file path.
      *
+     * <p>If the last extension names a compression codec, the extension
+     * before it is included, so {@code data.csv.gz} yields
+     * {@code csv.gz}.
+     *
      * @param filePath the file path
      * @return the file extension (without dot)
      * @throws ConversionException if the path is invalid or has no extension
@@ -61,6 +175,15 @@ public final class ParserFactory {
                     "Error: File must have an extension");
         }
 
+        int nameStart = Math.max(filePath.lastIndexOf('/'),
+                filePath.lastIndexOf(File.separatorChar)) + 1;
+        if (Codec.forExtension(filePath.substring(lastDot + 1)) != null) {
+            int innerDot = filePath.lastIndexOf('.', lastDot - 1);
+            if (innerDot > nameStart && innerDot < lastDot - 1) {
+                return filePath.substring(innerDot + 1);
+            }
+        }
+
         return filePath.substring(lastDot + 1);
     }
 }
@@ -0,0 +1,61 @@
+package com.converter.parser;
+
+import com.converter.model.DataRecord;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Pull-based stream of data records read from an input source.
+ *
+ * <p>Records are produced one at a time, so only the record currently
+ * being processed needs to be held in memory. Readers must be closed
+ * to release the underlying file handle.
+ */
+public interface RecordReader extends Iterator<DataRecord>, AutoCloseable {
+
+    /**
+     * Closes this reader and releases any underlying resources.
+     */
+    @Override
+    void close();
+
+    /**
+     * Drains all remaining records from this reader into a list.
+     *
+     * @return a list of the remaining records
+     */
+    default List<DataRecord> readAll() {
+        List<DataRecord> records = new ArrayList<>();
+        while (hasNext()) {
+            records.add(next());
+        }
+        return records;
+    }
+
+    /**
+     * Creates a reader over an already materialised list of records.
+     *
+     * @param records the records to iterate over
+     * @return a reader returning the given records in order
+     */
+    static RecordReader of(final List<DataRecord> records) {
+        Iterator<DataRecord> iterator = records.iterator();
+        return new RecordReader() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public DataRecord next() {
+                return iterator.next();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
@@ -0,0 +1,95 @@
+package com.converter.parser;
+
+import com.converter.exception.ParseException;
+import com.converter.model.DataRecord;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Reads an input stream through a parser that only accepts files, by
+ * copying the stream to a temporary file first.
+ */
+final class SpooledInput {
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private SpooledInput() {
+    }
+
+    /**
+     * Copies a stream to a temporary file and opens it with a parser.
+     *
+     * <p>The temporary file is deleted when the returned reader is
+     * closed, or straight away if the parser fails to open it.
+     *
+     * @param parser the parser reading the copy
+     * @param input  the stream to read, closed by this method
+     * @param name   the name of the input, used in error messages
+     * @return a reader over the copied data
+     * @throws ParseException if the stream cannot be copied
+     */
+    static RecordReader stream(final Parser parser, final InputStream input,
+                               final String name) {
+        Path spool;
+        try (InputStream in = input) {
+            spool = Files.createTempFile(
+                    "converter-", "." + parser.getSupportedExtension());
+            try {
+                Files.copy(in, spool, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                deleteQuietly(spool);
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new ParseException("Error: Failed to read '"
+                    + name + "': " + e.getMessage(), e);
+        }
+
+        RecordReader reader;
+        try {
+            reader = parser.stream(spool.toString());
+        } catch (RuntimeException e) {
+            deleteQuietly(spool);
+            throw e;
+        }
+
+        return new RecordReader() {
+            @Override
+            public boolean hasNext() {
+                return reader.hasNext();
+            }
+
+            @Override
+            public DataRecord next() {
+                return reader.next();
+            }
+
+            @Override
+            public void close() {
+                try {
+                    reader.close();
+                } finally {
+                    deleteQuietly(spool);
+                }
+            }
+        };
+    }
+
+    /**
+     * Deletes a file, ignoring any error.
+     *
+     * @param file the file to delete
+     */
+    private static void deleteQuietly(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // a leftover temporary file is not worth failing for
+        }
+    }
+}
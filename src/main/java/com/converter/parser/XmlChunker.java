@@ -0,0 +1,379 @@
+package com.converter.parser;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits an XML file into byte ranges that start on record start tags.
+ *
+ * <p>The file is scanned once through memory-mapped windows with a small
+ * tag-level state machine that tracks element depth and skips comments,
+ * CDATA sections, processing instructions and quoted attribute values,
+ * so markup inside them never becomes a split point. Every range holds
+ * whole children of the root element; the root start tag and everything
+ * outside the root's content form the document's skeleton.
+ *
+ * <p>Documents the scanner cannot split safely are reported by returning
+ * null: a document type declaration, which may define entities used in
+ * the records, or an encoding other than UTF-8.
+ */
+final class XmlChunker {
+
+    /**
+     * Size of each memory-mapped window used while scanning.
+     */
+    private static final int WINDOW_BYTES = 64 * 1024 * 1024;
+
+    /**
+     * Number of leading bytes searched for the encoding declaration.
+     */
+    private static final int PROLOG_LIMIT = 1024;
+
+    /**
+     * Scanner state: character data between tags.
+     */
+    private static final int TEXT = 0;
+
+    /**
+     * Scanner state: just after {@code <}.
+     */
+    private static final int TAG_OPEN = 1;
+
+    /**
+     * Scanner state: inside a start or empty-element tag.
+     */
+    private static final int START_TAG = 2;
+
+    /**
+     * Scanner state: inside an end tag.
+     */
+    private static final int END_TAG = 3;
+
+    /**
+     * Scanner state: just after {@code <!}.
+     */
+    private static final int BANG = 4;
+
+    /**
+     * Scanner state: just after {@code <!-}.
+     */
+    private static final int COMMENT_OPEN = 5;
+
+    /**
+     * Scanner state: inside a comment.
+     */
+    private static final int COMMENT = 6;
+
+    /**
+     * Scanner state: inside a CDATA section.
+     */
+    private static final int CDATA = 7;
+
+    /**
+     * Scanner state: inside a processing instruction.
+     */
+    private static final int PI = 8;
+
+    /**
+     * The split points of a document.
+     *
+     * @param rootStart the offset of the root start tag's {@code <}
+     * @param dataStart the offset just after the root start tag
+     * @param dataEnd   the offset of the root end tag's {@code <}, equal to
+     *                  {@code dataStart} for an empty root element
+     * @param chunks    the ranges of root content, in file order
+     */
+    record Layout(long rootStart, long dataStart, long dataEnd,
+                  List<Chunk> chunks) {
+    }
+
+    /**
+     * A byte range of the root element's content holding whole records.
+     *
+     * @param start       the offset of the first byte, inclusive
+     * @param end         the offset of the last byte, exclusive
+     * @param firstLine   the one-based line number the range starts on
+     * @param firstColumn the one-based column, in UTF-16 characters, the
+     *                    range starts at
+     */
+    record Chunk(long start, long end, long firstLine, long firstColumn) {
+    }
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private XmlChunker() {
+    }
+
+    /**
+     * Splits a file into record-aligned chunks.
+     *
+     * <p>Every chunk except the last is at least {@code chunkBytes} long
+     * and ends just before a start tag at record depth.
+     *
+     * @param channel    the file to split
+     * @param chunkBytes the target size of each chunk
+     * @return the layout of the document, or null if it has no root
+     *         element or cannot be split safely
+     * @throws IOException if the file cannot be read
+     */
+    static Layout split(final FileChannel channel, final long chunkBytes)
+            throws IOException {
+        long size = channel.size();
+        if (!isUtf8(channel, size)) {
+            return null;
+        }
+
+        List<Chunk> chunks = new ArrayList<>();
+        int state = TEXT;
+        int depth = 0;
+        byte quote = 0;
+        byte last = 0;
+        byte beforeLast = 0;
+        long tagStart = -1;
+        long markupStart = -1;
+        long rootStart = -1;
+        long dataStart = -1;
+        long chunkStart = -1;
+        long line = 1;
+        // a byte order mark starts no character of the first line
+        long column = startsWithByteOrderMark(channel, size) ? 0 : 1;
+        long tagLine = 1;
+        long tagColumn = 1;
+        long chunkLine = 1;
+        long chunkColumn = 1;
+
+        for (long windowStart = 0; windowStart < size;
+                windowStart += WINDOW_BYTES) {
+            int length = (int) Math.min(WINDOW_BYTES, size - windowStart);
+            MappedByteBuffer window = channel.map(
+                    FileChannel.MapMode.READ_ONLY, windowStart, length);
+
+            for (int i = 0; i < length; i++) {
+                byte b = window.get(i);
+                long pos = windowStart + i;
+
+                switch (state) {
+                    case TEXT:
+                        if (b == '<') {
+                            state = TAG_OPEN;
+                            tagStart = pos;
+                            tagLine = line;
+                            tagColumn = column;
+                        }
+                        break;
+
+                    case TAG_OPEN:
+                        if (b == '/') {
+                            state = END_TAG;
+                        } else if (b == '!') {
+                            state = BANG;
+                        } else if (b == '?') {
+                            state = PI;
+                            markupStart = pos + 1;
+                        } else {
+                            state = START_TAG;
+                            if (depth == 0 && rootStart < 0) {
+                                rootStart = tagStart;
+                            } else if (depth == 1
+                                    && tagStart - chunkStart >= chunkBytes) {
+                                if (tagStart > chunkStart) {
+                                    chunks.add(new Chunk(chunkStart, tagStart,
+                                            chunkLine, chunkColumn));
+                                }
+                                chunkStart = tagStart;
+                                chunkLine = tagLine;
+                                chunkColumn = tagColumn;
+                            }
+                        }
+                        break;
+
+                    case START_TAG:
+                        if (quote != 0) {
+                            if (b == quote) {
+                                quote = 0;
+                            }
+                        } else if (b == '"' || b == '\'') {
+                            quote = b;
+                        } else if (b == '>') {
+                            state = TEXT;
+                            boolean empty = last == '/';
+                            if (tagStart == rootStart) {
+                                dataStart = pos + 1;
+                                chunkStart = dataStart;
+                                chunkLine = line;
+                                chunkColumn = column + 1;
+                                if (empty) {
+                                    return new Layout(rootStart, dataStart,
+                                            dataStart, chunks);
+                                }
+                            }
+                            if (!empty) {
+                                depth++;
+                            }
+                        }
+                        break;
+
+                    case END_TAG:
+                        if (b == '>') {
+                            state = TEXT;
+                            depth--;
+                            if (depth == 0 && dataStart >= 0) {
+                                if (tagStart > chunkStart) {
+                                    chunks.add(new Chunk(chunkStart, tagStart,
+                                            chunkLine, chunkColumn));
+                                }
+                                return new Layout(rootStart, dataStart,
+                                        tagStart, chunks);
+                            }
+                        }
+                        break;
+
+                    case BANG:
+                        if (b == '-') {
+                            state = COMMENT_OPEN;
+                        } else if (b == '[') {
+                            state = CDATA;
+                            markupStart = pos + 1;
+                        } else {
+                            // a document type declaration
+                            return null;
+                        }
+                        break;
+
+                    case COMMENT_OPEN:
+                        state = COMMENT;
+                        markupStart = pos + 1;
+                        break;
+
+                    case COMMENT:
+                        if (b == '>' && pos - 2 >= markupStart
+                                && last == '-' && beforeLast == '-') {
+                            state = TEXT;
+                        }
+                        break;
+
+                    case CDATA:
+                        if (b == '>' && pos - 2 >= markupStart
+                                && last == ']' && beforeLast == ']') {
+                            state = TEXT;
+                        }
+                        break;
+
+                    case PI:
+                        if (b == '>' && pos - 1 >= markupStart
+                                && last == '?') {
+                            state = TEXT;
+                        }
+                        break;
+
+                    default:
+                        throw new IllegalStateException("state " + state);
+                }
+
+                if (b == '\r' || (b == '\n' && last != '\r')) {
+                    line++;
+                    column = 1;
+                } else if (b != '\n') {
+                    column += charsStarted(b);
+                }
+                beforeLast = last;
+                last = b;
+            }
+        }
+
+        // no root end tag: leave the error to the sequential reader
+        return null;
+    }
+
+    /**
+     * Checks whether a file starts with the UTF-8 byte order mark.
+     *
+     * @param channel the file
+     * @param size    the file size
+     * @return true if the first three bytes are the byte order mark
+     * @throws IOException if the file cannot be read
+     */
+    private static boolean startsWithByteOrderMark(final FileChannel channel,
+                                                   final long size)
+            throws IOException {
+        if (size < 3) {
+            return false;
+        }
+        MappedByteBuffer head = channel.map(
+                FileChannel.MapMode.READ_ONLY, 0, 3);
+        return head.get(0) == (byte) 0xEF && head.get(1) == (byte) 0xBB
+                && head.get(2) == (byte) 0xBF;
+    }
+
+    /**
+     * Returns the number of UTF-16 characters a UTF-8 byte starts.
+     *
+     * @param b the byte
+     * @return 0 for a continuation byte, 2 for the lead byte of a
+     *         supplementary character, 1 otherwise
+     */
+    private static int charsStarted(final byte b) {
+        if ((b & 0xC0) == 0x80) {
+            return 0;
+        }
+        return (b & 0xF8) == 0xF0 ? 2 : 1;
+    }
+
+    /**
+     * Checks that the document is encoded in UTF-8, the only encoding
+     * chunks are decoded with.
+     *
+     * @param channel the file
+     * @param size    the file size
+     * @return true if there is no byte order mark other than UTF-8's and
+     *         the declared encoding, if any, is UTF-8 or US-ASCII
+     * @throws IOException if the file cannot be read
+     */
+    private static boolean isUtf8(final FileChannel channel, final long size)
+            throws IOException {
+        int length = (int) Math.min(size, PROLOG_LIMIT);
+        MappedByteBuffer head = channel.map(
+                FileChannel.MapMode.READ_ONLY, 0, length);
+        if (length >= 2 && ((head.get(0) == (byte) 0xFE
+                && head.get(1) == (byte) 0xFF) || (head.get(0) == (byte) 0xFF
+                && head.get(1) == (byte) 0xFE))) {
+            return false;
+        }
+
+        byte[] bytes = new byte[length];
+        head.get(bytes);
+        String prolog = new String(bytes, StandardCharsets.ISO_8859_1);
+        if (!prolog.startsWith("<?xml", prolog.startsWith("\u00EF\u00BB\u00BF")
+                ? 3 : 0)) {
+            return true;
+        }
+        int end = prolog.indexOf("?>");
+        String declaration = end < 0 ? prolog : prolog.substring(0, end);
+        int at = declaration.indexOf("encoding");
+        if (at < 0) {
+            return true;
+        }
+        int open = declaration.indexOf('=', at) + 1;
+        while (open > 0 && open < declaration.length()
+                && Character.isWhitespace(declaration.charAt(open))) {
+            open++;
+        }
+        if (open <= 0 || open >= declaration.length()) {
+            return false;
+        }
+        int close = declaration.indexOf(declaration.charAt(open), open + 1);
+        if (close < 0) {
+            return false;
+        }
+        String encoding = declaration.substring(open + 1, close)
+                .toUpperCase(Locale.ROOT);
+        return encoding.equals("UTF-8") || encoding.equals("UTF8")
+                || encoding.equals("US-ASCII") || encoding.equals("ASCII");
+    }
+}
@@ -2,23 +2,59 @@ package com.converter.parser;
 
 import com.converter.exception.ParseException;
 import com.converter.exception.ValidationException;
+import com.converter.io.FileIO;
+import com.converter.metrics.ParseChunkEvent;
 import com.converter.model.DataRecord;
+import com.converter.registry.ComponentRegistry;
 
+import javax.xml.stream.Location;
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Parser implementation for XML files.
  */
 public class XmlParser implements Parser {
 
+    /**
+     * Strategies for reading an XML file.
+     */
+    public enum Mode {
+        /**
+         * Walks the whole document with one StAX reader on the calling
+         * thread.
+         */
+        SEQUENTIAL,
+
+        /**
+         * Splits the memory-mapped file on record start tags and parses
+         * the pieces concurrently, returning records in file order.
+         */
+        PARALLEL
+    }
+
+    /**
+     * Default target size of each chunk in parallel mode.
+     */
+    private static final int DEFAULT_CHUNK_BYTES = 8 * 1024 * 1024;
+
     /**
      * XML depth level for record elements.
      */
@@ -29,11 +65,304 @@ public class XmlParser implements Parser {
      */
     private static final int FIELD_DEPTH = 3;
 
+    /**
+     * The strategy used to read files.
+     */
+    private final Mode mode;
+
+    /**
+     * Target size of each chunk in parallel mode.
+     */
+    private final int chunkBytes;
+
+    /**
+     * The pool parsing chunks in parallel mode.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a new XML parser in sequential mode.
+     */
+    public XmlParser() {
+        this(Mode.SEQUENTIAL);
+    }
+
+    /**
+     * Constructs a new XML parser using the given reading strategy.
+     *
+     * @param parserMode the strategy used to read files
+     */
+    public XmlParser(final Mode parserMode) {
+        this(parserMode, DEFAULT_CHUNK_BYTES, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new XML parser with explicit parallel settings.
+     *
+     * @param parserMode   the strategy used to read files
+     * @param chunkSize    target size in bytes of each parallel chunk
+     * @param parallelPool the pool parsing chunks in parallel mode
+     */
+    public XmlParser(final Mode parserMode, final int chunkSize,
+                     final ForkJoinPool parallelPool) {
+        this.mode = parserMode;
+        this.chunkBytes = chunkSize;
+        this.pool = parallelPool;
+    }
+
+    /**
+     * Returns the strategy used to read files.
+     *
+     * @return the parser mode
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public List<DataRecord> parse(final String filePath) {
+        ParseChunkEvent event = new ParseChunkEvent();
+        event.begin();
+        try (RecordReader reader = stream(filePath)) {
+            List<DataRecord> records = reader.readAll();
+            event.finish(getSupportedExtension(), filePath, records.size());
+            return records;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>In parallel mode only a bounded window of chunks is parsed ahead
+     * of the consumer. Documents that cannot be split safely, such as
+     * those with a document type declaration or a non-UTF-8 encoding, are
+     * read sequentially.
+     */
+    @Override
+    public RecordReader stream(final String filePath) {
+        File file = checkReadable(filePath);
+        if (mode == Mode.PARALLEL) {
+            RecordReader reader = openParallel(file, filePath);
+            if (reader != null) {
+                return reader;
+            }
+        }
+
+        try {
+            return stream(FileIO.openInput(file.toPath()), filePath);
+        } catch (IOException e) {
+            throw readError(filePath, e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>A stream is always read sequentially, since parallel mode needs
+     * random access to a file.
+     */
+    @Override
+    public RecordReader stream(final InputStream input, final String name) {
+        XMLInputFactory factory = ComponentRegistry.xmlInputFactory();
+
+        try {
+            XMLStreamReader reader = factory.createXMLStreamReader(input);
+            return new XmlRecordReader(reader, input, name);
+        } catch (XMLStreamException e) {
+            closeQuietly(input);
+            throw new ParseException(
+                    "Error: Invalid XML syntax: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Opens an XML file for chunked parallel reading.
+     *
+     * <p>The document's skeleton, everything but the root element's
+     * content, is parsed first on the calling thread so that errors in
+     * the prolog, the root tags or after the root are still reported.
+     * Each chunk is then parsed on its own, wrapped in a copy of the root
+     * start tag so that namespace declarations on the root stay in scope
+     * and records keep their depth.
+     *
+     * @param file     the input file
+     * @param filePath the path to the input file
+     * @return a reader returning records in file order, or null if the
+     *         file cannot be split and must be read sequentially
+     */
+    private RecordReader openParallel(final File file, final String filePath) {
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            XmlChunker.Layout layout = XmlChunker.split(channel, chunkBytes);
+            if (layout == null) {
+                channel.close();
+                return null;
+            }
+
+            String skeleton = decode(channel, 0, layout.dataStart())
+                    + decode(channel, layout.dataEnd(),
+                            channel.size() - layout.dataEnd());
+            try (RecordReader reader = textReader(skeleton, filePath)) {
+                while (reader.hasNext()) {
+                    reader.next();
+                }
+            }
+
+            String rootTag = decode(channel, layout.rootStart(),
+                    layout.dataStart() - layout.rootStart());
+            RootFrame root = RootFrame.of(rootTag,
+                    "</" + elementName(rootTag) + ">");
+            FileChannel mapped = channel;
+            return new OrderedChunkReader<>(pool, channel, "XML", filePath,
+                    layout.chunks(),
+                    chunk -> parseChunk(mapped, root, chunk, filePath));
+        } catch (IOException e) {
+            closeQuietly(channel);
+            throw readError(filePath, e);
+        } catch (RuntimeException e) {
+            closeQuietly(channel);
+            throw e;
+        }
+    }
+
+    /**
+     * Parses every record of one chunk of a file.
+     *
+     * <p>A syntax error is reported at its line and column in the file
+     * rather than in the wrapped chunk.
+     *
+     * @param channel  the file
+     * @param root     the root element the chunk is wrapped in
+     * @param chunk    the byte range to parse
+     * @param filePath the path of the file, used in error messages
+     * @return the chunk's records in order
+     * @throws IOException if the chunk cannot be mapped
+     */
+    private List<DataRecord> parseChunk(final FileChannel channel,
+                                        final RootFrame root,
+                                        final XmlChunker.Chunk chunk,
+                                        final String filePath)
+            throws IOException {
+        InputStream input = new SequenceInputStream(Collections.enumeration(
+                List.of(new ByteArrayInputStream(root.start()),
+                        new BufferInputStream(channel.map(
+                                FileChannel.MapMode.READ_ONLY,
+                                chunk.start(), chunk.end() - chunk.start())),
+                        new ByteArrayInputStream(root.end()))));
+        try (RecordReader reader = stream(input, filePath)) {
+            return reader.readAll();
+        } catch (ParseException e) {
+            throw locate(e, root, chunk);
+        }
+    }
+
+    /**
+     * Moves the location of a syntax error in a wrapped chunk to the
+     * file the chunk was read from.
+     *
+     * <p>The StAX reader writes the location into its message as
+     * {@code [line,column]}; that text is replaced with the position in
+     * the file. Errors without a location are returned unchanged.
+     *
+     * @param e     the error raised while parsing the chunk
+     * @param root  the root element the chunk was wrapped in
+     * @param chunk the chunk being parsed
+     * @return the error with its location in the file
+     */
+    private static ParseException locate(final ParseException e,
+                                         final RootFrame root,
+                                         final XmlChunker.Chunk chunk) {
+        if (!(e.getCause() instanceof XMLStreamException cause)
+                || cause.getLocation() == null) {
+            return e;
+        }
+        Location at = cause.getLocation();
+        String relative = "[" + at.getLineNumber() + ","
+                + at.getColumnNumber() + "]";
+        String message = e.getMessage();
+        int index = message.lastIndexOf(relative);
+        if (index < 0) {
+            return e;
+        }
+
+        long line = at.getLineNumber() - root.lineBreaks();
+        long column = at.getColumnNumber();
+        if (line <= 1) {
+            line = 1;
+            column += chunk.firstColumn() - 1 - root.lastColumn();
+        }
+        line += chunk.firstLine() - 1;
+        return new ParseException(message.substring(0, index)
+                + "[" + line + "," + column + "]"
+                + message.substring(index + relative.length()), cause);
+    }
+
+    /**
+     * Creates a record reader over a piece of XML text.
+     *
+     * @param text     the XML text, a complete document
+     * @param filePath the path of the file the text was read from
+     * @return a reader over the text
+     */
+    private static RecordReader textReader(final String text,
+                                           final String filePath) {
+        StringReader input = new StringReader(
+                text.startsWith("\uFEFF") ? text.substring(1) : text);
+        try {
+            return new XmlRecordReader(ComponentRegistry.xmlInputFactory()
+                    .createXMLStreamReader(input), input, filePath);
+        } catch (XMLStreamException e) {
+            throw new ParseException(
+                    "Error: Invalid XML syntax: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the element name of a start tag.
+     *
+     * @param startTag the start tag, such as {@code <records a="1">}
+     * @return the qualified element name
+     */
+    private static String elementName(final String startTag) {
+        int end = 1;
+        while (end < startTag.length()) {
+            char c = startTag.charAt(end);
+            if (Character.isWhitespace(c) || c == '>' || c == '/') {
+                break;
+            }
+            end++;
+        }
+        return startTag.substring(1, end);
+    }
+
+    /**
+     * Decodes a memory-mapped byte range of a file as UTF-8.
+     *
+     * @param channel the file
+     * @param start   the offset of the first byte
+     * @param length  the number of bytes
+     * @return the decoded text
+     * @throws IOException if the range cannot be mapped
+     */
+    private static String decode(final FileChannel channel, final long start,
+                                 final long length) throws IOException {
+        MappedByteBuffer bytes = channel.map(
+                FileChannel.MapMode.READ_ONLY, start, length);
+        return FileIO.CHARSET.decode(bytes).toString();
+    }
+
+    /**
+     * Checks that the input file exists and can be read.
+     *
+     * @param filePath the path to the input file
+     * @return the input file
+     * @throws ParseException if the file is missing or unreadable
+     */
+    private static File checkReadable(final String filePath) {
         File file = new File(filePath);
         if (!file.exists()) {
             throw new ParseException(
@@ -43,79 +372,278 @@ public class XmlParser implements Parser {
             throw new ParseException(
                     "Error: Cannot read file '" + filePath + "'");
         }
+        return file;
+    }
+
+    /**
+     * Converts an I/O error into a parse exception.
+     *
+     * @param filePath the path of the file being read
+     * @param e        the I/O error
+     * @return a parse exception describing the failure
+     */
+    private static ParseException readError(final String filePath,
+                                            final IOException e) {
+        return new ParseException(
+                "Error: Failed to read XML file '"
+                        + filePath + "': " + e.getMessage(), e);
+    }
+
+    /**
+     * Closes a stream, ignoring any error.
+     *
+     * @param stream the stream to close, may be null
+     */
+    private static void closeQuietly(final Closeable stream) {
+        if (stream == null) {
+            return;
+        }
+        try {
+            stream.close();
+        } catch (IOException ignored) {
+            // nothing useful to report while already failing
+        }
+    }
+
+    /**
+     * Record reader that advances a StAX reader one record at a time.
+     */
+    private static final class XmlRecordReader implements RecordReader {
 
-        List<DataRecord> records = new ArrayList<>();
-        XMLInputFactory factory = XMLInputFactory.newInstance();
-        factory.setProperty(
-                XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
-        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
-
-        try (FileInputStream fis = new FileInputStream(file)) {
-            XMLStreamReader reader = factory.createXMLStreamReader(fis);
-
-            DataRecord currentRecord = null;
-            String currentField = null;
-            StringBuilder currentValue = new StringBuilder();
-            int depth = 0;
-
-            while (reader.hasNext()) {
-                int event = reader.next();
-
-                switch (event) {
-                    case XMLStreamConstants.START_ELEMENT:
-                        depth++;
-                        String elementName = reader.getLocalName();
-
-                        if (depth == RECORD_DEPTH) {
-                            currentRecord = new DataRecord();
-                        } else if (depth == FIELD_DEPTH) {
-                            currentField = elementName;
-                            currentValue = new StringBuilder();
-                        } else if (depth > FIELD_DEPTH) {
-                            throw new ValidationException(
-                                    "Error: Nested structures are not "
-                                            + "supported. Please use flat XML");
-                        }
-                        break;
-
-                    case XMLStreamConstants.CHARACTERS:
-                        if (currentField != null && !reader.isWhiteSpace()) {
-                            currentValue.append(reader.getText());
-                        }
-                        break;
-
-                    case XMLStreamConstants.END_ELEMENT:
-                        if (depth == FIELD_DEPTH
-                                && currentField != null
-                                && currentRecord != null) {
-                            currentRecord.setField(
-                                    currentField,
-                                    currentValue.toString().trim());
-                            currentField = null;
-                        } else if (depth == RECORD_DEPTH
-                                && currentRecord != null) {
-                            records.add(currentRecord);
-                            currentRecord = null;
-                        }
-                        depth--;
-                        break;
-
-                    default:
-                        break;
+        /**
+         * The underlying StAX reader.
+         */
+        private final XMLStreamReader reader;
+
+        /**
+         * The stream the StAX reader consumes.
+         */
+        private final Closeable input;
+
+        /**
+         * The path of the file being read, used in error messages.
+         */
+        private final String filePath;
+
+        /**
+         * The next record to return, or null if not yet read.
+         */
+        private DataRecord pending;
+
+        /**
+         * The current element depth in the document.
+         */
+        private int depth;
+
+        /**
+         * Whether this reader has been closed.
+         */
+        private boolean closed;
+
+        /**
+         * Constructs a reader over the given StAX reader.
+         *
+         * @param xmlReader the StAX reader to consume
+         * @param stream    the input stream backing the StAX reader
+         * @param path      the path of the file being read
+         */
+        private XmlRecordReader(final XMLStreamReader xmlReader,
+                                final Closeable stream,
+                                final String path) {
+            this.reader = xmlReader;
+            this.input = stream;
+            this.filePath = path;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (pending == null && !closed) {
+                pending = readRecord();
+                if (pending == null) {
+                    close();
                 }
             }
+            return pending != null;
+        }
 
-            reader.close();
-        } catch (XMLStreamException e) {
-            throw new ParseException(
-                    "Error: Invalid XML syntax: " + e.getMessage(), e);
-        } catch (IOException e) {
-            throw new ParseException(
-                    "Error: Failed to read XML file '"
-                            + filePath + "': " + e.getMessage(), e);
+        @Override
+        public DataRecord next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            DataRecord record = pending;
+            pending = null;
+            return record;
+        }
+
+        /**
+         * Reads events until a complete record has been parsed.
+         *
+         * @return the next record, or null at the end of the document
+         */
+        private DataRecord readRecord() {
+            try {
+                DataRecord currentRecord = null;
+                String currentField = null;
+                StringBuilder currentValue = new StringBuilder();
+
+                while (reader.hasNext()) {
+                    int event = reader.next();
+
+                    switch (event) {
+                        case XMLStreamConstants.START_ELEMENT:
+                            depth++;
+                            String elementName = reader.getLocalName();
+
+                            if (depth == RECORD_DEPTH) {
+                                currentRecord = new DataRecord();
+                            } else if (depth == FIELD_DEPTH) {
+                                currentField = elementName;
+                                currentValue = new StringBuilder();
+                            } else if (depth > FIELD_DEPTH) {
+                                throw new ValidationException(
+                                        "Error: Nested structures are not "
+                                                + "supported. Please use "
+                                                + "flat XML");
+                            }
+                            break;
+
+                        case XMLStreamConstants.CHARACTERS:
+                            if (currentField != null
+                                    && !reader.isWhiteSpace()) {
+                                currentValue.append(reader.getText());
+                            }
+                            break;
+
+                        case XMLStreamConstants.END_ELEMENT:
+                            if (depth == FIELD_DEPTH
+                                    && currentField != null
+                                    && currentRecord != null) {
+                                currentRecord.setField(
+                                        currentField,
+                                        currentValue.toString().trim());
+                                currentField = null;
+                            } else if (depth == RECORD_DEPTH
+                                    && currentRecord != null) {
+                                depth--;
+                                return currentRecord;
+                            }
+                            depth--;
+                            break;
+
+                        default:
+                            break;
+                    }
+                }
+                return null;
+            } catch (XMLStreamException e) {
+                close();
+                throw new ParseException(
+                        "Error: Invalid XML syntax: " + e.getMessage(), e);
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                try {
+                    reader.close();
+                } finally {
+                    input.close();
+                }
+            } catch (XMLStreamException | IOException e) {
+                throw new ParseException(
+                        "Error: Failed to read XML file '"
+                                + filePath + "': " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * The copy of the root element that every chunk is parsed inside.
+     *
+     * @param start      the UTF-8 bytes of the root start tag
+     * @param end        the UTF-8 bytes of the root end tag
+     * @param lineBreaks the number of line breaks in the start tag
+     * @param lastColumn the number of characters after the start tag's
+     *                   last line break
+     */
+    private record RootFrame(byte[] start, byte[] end, int lineBreaks,
+                             int lastColumn) {
+
+        /**
+         * Creates the frame for a root element.
+         *
+         * @param startTag the root start tag
+         * @param endTag   the root end tag
+         * @return the frame wrapping each chunk
+         */
+        static RootFrame of(final String startTag, final String endTag) {
+            int lineBreaks = 0;
+            int lastColumn = 0;
+            for (int i = 0; i < startTag.length(); i++) {
+                char c = startTag.charAt(i);
+                if (c == '\r' || (c == '\n'
+                        && (i == 0 || startTag.charAt(i - 1) != '\r'))) {
+                    lineBreaks++;
+                    lastColumn = 0;
+                } else if (c != '\n') {
+                    lastColumn++;
+                }
+            }
+            return new RootFrame(startTag.getBytes(FileIO.CHARSET),
+                    endTag.getBytes(FileIO.CHARSET), lineBreaks, lastColumn);
         }
+    }
+
+    /**
+     * Input stream over the remaining bytes of a buffer.
+     */
+    private static final class BufferInputStream extends InputStream {
 
-        return records;
+        /**
+         * The buffer being read.
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * Constructs a stream over the given buffer.
+         *
+         * @param bytes the buffer, positioned at the first byte to read
+         */
+        private BufferInputStream(final ByteBuffer bytes) {
+            this.buffer = bytes;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
     }
 
     /**
@@ -0,0 +1,101 @@
+package com.converter.registry;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+
+/**
+ * Registry of shared, pre-configured components.
+ *
+ * <p>Each component is created once, on first use, and is safe to use
+ * from many threads at the same time as long as callers do not change
+ * its configuration.
+ */
+public final class ComponentRegistry {
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private ComponentRegistry() {
+    }
+
+    /**
+     * Returns the shared Jackson mapper.
+     *
+     * <p>Callers needing different serialization settings should derive
+     * an {@link com.fasterxml.jackson.databind.ObjectWriter} from it
+     * instead of reconfiguring the mapper.
+     *
+     * @return the shared object mapper
+     */
+    public static ObjectMapper jsonMapper() {
+        return JsonHolder.MAPPER;
+    }
+
+    /**
+     * Returns the shared StAX input factory, with DTDs and external
+     * entities disabled.
+     *
+     * @return the shared XML input factory
+     */
+    public static XMLInputFactory xmlInputFactory() {
+        return XmlInputHolder.FACTORY;
+    }
+
+    /**
+     * Returns the shared StAX output factory.
+     *
+     * @return the shared XML output factory
+     */
+    public static XMLOutputFactory xmlOutputFactory() {
+        return XmlOutputHolder.FACTORY;
+    }
+
+    /**
+     * Lazily initialised holder for the Jackson mapper.
+     */
+    private static final class JsonHolder {
+
+        /**
+         * The shared object mapper.
+         */
+        private static final ObjectMapper MAPPER = new ObjectMapper();
+    }
+
+    /**
+     * Lazily initialised holder for the StAX input factory.
+     */
+    private static final class XmlInputHolder {
+
+        /**
+         * The shared XML input factory.
+         */
+        private static final XMLInputFactory FACTORY = create();
+
+        /**
+         * Creates and configures the XML input factory.
+         *
+         * @return the configured factory
+         */
+        private static XMLInputFactory create() {
+            XMLInputFactory factory = XMLInputFactory.newInstance();
+            factory.setProperty(
+                    XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+            factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            return factory;
+        }
+    }
+
+    /**
+     * Lazily initialised holder for the StAX output factory.
+     */
+    private static final class XmlOutputHolder {
+
+        /**
+         * The shared XML output factory.
+         */
+        private static final XMLOutputFactory FACTORY =
+                XMLOutputFactory.newInstance();
+    }
+}
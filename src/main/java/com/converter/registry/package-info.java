@@ -0,0 +1,8 @@
+/**
+ * Shared components for the file converter application.
+ *
+ * <p>This package holds process-wide, pre-configured instances of
+ * expensive, thread-safe objects such as Jackson mappers and StAX
+ * factories, so they are built once and reused across conversions.
+ */
+package com.converter.registry;
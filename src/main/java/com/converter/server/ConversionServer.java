@@ -0,0 +1,630 @@
+package com.converter.server;
+
+import com.converter.cli.ConverterFacade;
+import com.converter.compression.CompressionOptions;
+import com.converter.exception.ConversionException;
+import com.converter.exception.ParseException;
+import com.converter.exception.ValidationException;
+import com.converter.generator.GeneratorFactory;
+import com.converter.metrics.ConversionMetrics;
+import com.converter.parser.ParserFactory;
+import com.converter.registry.ComponentRegistry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP server running conversions in a long-lived JVM.
+ *
+ * <p>The server listens on the loopback interface only and offers:
+ * <ul>
+ *   <li>{@code POST /convert?from=csv&to=json} - converts the request
+ *       body and streams the result back;</li>
+ *   <li>{@code POST /convert?input=a.csv&output=b.json} - converts one
+ *       local file to another and returns the conversion metrics;</li>
+ *   <li>{@code GET /health} - reports whether the server is up and how
+ *       busy it is;</li>
+ *   <li>{@code GET /metrics} - reports counters since start-up.</li>
+ * </ul>
+ *
+ * <p>At most {@code maxConcurrent} conversions run at once and up to
+ * {@code queueCapacity} more wait for a slot; further requests are
+ * answered with {@code 503 Service Unavailable}. Exchanges run on
+ * pooled platform threads: the JDK server reads request bodies inside
+ * synchronized blocks, which would pin virtual threads to their carriers
+ * and stall every other exchange while one client uploads slowly.
+ */
+public class ConversionServer implements AutoCloseable {
+
+    /**
+     * Seconds to wait for running exchanges when stopping.
+     */
+    private static final int STOP_DELAY_SECONDS = 1;
+
+    /**
+     * Content types of conversion results, keyed by format extension.
+     */
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "json", "application/json",
+            "ndjson", "application/x-ndjson",
+            "jsonl", "application/x-ndjson",
+            "xml", "application/xml",
+            "csv", "text/csv; charset=utf-8");
+
+    /**
+     * The underlying HTTP server.
+     */
+    private final HttpServer server;
+
+    /**
+     * Executor running the exchanges; idle threads are reclaimed.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * The facade running each conversion.
+     */
+    private final ConverterFacade facade;
+
+    /**
+     * The compression settings for compressed formats.
+     */
+    private final CompressionOptions options;
+
+    /**
+     * Permits limiting the number of conversions running at once.
+     */
+    private final Semaphore permits;
+
+    /**
+     * The maximum number of conversions running at once.
+     */
+    private final int maxConcurrent;
+
+    /**
+     * The maximum number of conversions waiting for a permit.
+     */
+    private final int queueCapacity;
+
+    /**
+     * Conversions admitted and not yet finished, running or waiting.
+     */
+    private final AtomicInteger pending = new AtomicInteger();
+
+    /**
+     * Conversions currently running.
+     */
+    private final AtomicInteger active = new AtomicInteger();
+
+    /**
+     * Counters since start-up.
+     */
+    private final ServerStats stats = new ServerStats();
+
+    /**
+     * Released when the server has stopped.
+     */
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    /**
+     * Constructs a server bound to a loopback port. The server does not
+     * accept requests until {@link #start()} is called.
+     *
+     * @param port          the port to listen on, or 0 for any free port
+     * @param concurrency   the maximum number of conversions running at
+     *                      once
+     * @param queueSize     the maximum number of conversions waiting for
+     *                      a slot
+     * @param converter     the facade running each conversion
+     * @param compression   the compression settings for compressed formats
+     * @throws ValidationException if a limit is out of range
+     * @throws ConversionException if the port cannot be bound
+     */
+    public ConversionServer(final int port, final int concurrency,
+                            final int queueSize,
+                            final ConverterFacade converter,
+                            final CompressionOptions compression) {
+        if (concurrency < 1) {
+            throw new ValidationException(
+                    "Error: Concurrency limit must be a positive integer");
+        }
+        if (queueSize < 0) {
+            throw new ValidationException(
+                    "Error: Queue capacity cannot be negative");
+        }
+        this.maxConcurrent = concurrency;
+        this.queueCapacity = queueSize;
+        this.permits = new Semaphore(concurrency);
+        this.facade = converter;
+        this.options = compression;
+
+        try {
+            this.server = HttpServer.create(new InetSocketAddress(
+                    InetAddress.getLoopbackAddress(), port), 0);
+        } catch (IOException e) {
+            throw new ConversionException(
+                    "Error: Cannot listen on port " + port + ": "
+                            + e.getMessage(), e);
+        }
+        this.executor = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "conversion-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/convert", exact("/convert", this::convert));
+        server.createContext("/health", exact("/health", this::health));
+        server.createContext("/metrics", exact("/metrics", this::metrics));
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return the bound port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Blocks until the server has been stopped.
+     *
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    public void awaitTermination() throws InterruptedException {
+        stopped.await();
+    }
+
+    /**
+     * Stops accepting requests, waits briefly for running exchanges and
+     * releases the port. Calling this more than once has no effect.
+     */
+    @Override
+    public void close() {
+        if (stopped.getCount() == 0) {
+            return;
+        }
+        server.stop(STOP_DELAY_SECONDS);
+        executor.shutdownNow();
+        stopped.countDown();
+    }
+
+    /**
+     * Handles {@code /convert}.
+     *
+     * @param exchange the exchange
+     * @throws IOException if the response cannot be sent
+     */
+    private void convert(final HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().set("Allow", "POST");
+            sendText(exchange, 405, "Error: Use POST to convert");
+            return;
+        }
+        stats.requestReceived();
+
+        Map<String, String> query = parseQuery(
+                exchange.getRequestURI().getRawQuery());
+        Runnable conversion;
+        try {
+            conversion = query.containsKey("input")
+                    ? fileConversion(exchange, query)
+                    : bodyConversion(exchange, query);
+        } catch (ValidationException | ConversionException e) {
+            stats.conversionFailed();
+            sendText(exchange, 400, e.getMessage());
+            return;
+        }
+
+        if (!enqueue()) {
+            stats.requestRejected();
+            exchange.getResponseHeaders().set("Retry-After", "1");
+            sendText(exchange, 503, "Error: Server is busy, try again later");
+            return;
+        }
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            pending.decrementAndGet();
+            Thread.currentThread().interrupt();
+            sendText(exchange, 503, "Error: Server is shutting down");
+            return;
+        }
+
+        active.incrementAndGet();
+        try {
+            conversion.run();
+        } finally {
+            active.decrementAndGet();
+            permits.release();
+            pending.decrementAndGet();
+        }
+    }
+
+    /**
+     * Prepares the conversion of one local file to another.
+     *
+     * @param exchange the exchange
+     * @param query    the query parameters
+     * @return the conversion, answering with the metrics as JSON
+     * @throws ValidationException if the output path is missing
+     */
+    private Runnable fileConversion(final HttpExchange exchange,
+                                    final Map<String, String> query) {
+        String input = query.get("input");
+        String output = require(query, "output");
+        return () -> {
+            try {
+                ConversionMetrics metrics =
+                        facade.convert(input, output, options);
+                stats.conversionSucceeded(metrics);
+                sendJson(exchange, 200, metrics.toJson());
+            } catch (RuntimeException e) {
+                stats.conversionFailed();
+                sendFailure(exchange, e);
+            } catch (IOException ignored) {
+                // the client has gone away
+            }
+        };
+    }
+
+    /**
+     * Prepares the conversion of the request body.
+     *
+     * @param exchange the exchange
+     * @param query    the query parameters
+     * @return the conversion, streaming the result as the response body
+     * @throws ValidationException if a format is missing
+     * @throws ConversionException if a format is not supported
+     */
+    private Runnable bodyConversion(final HttpExchange exchange,
+                                    final Map<String, String> query) {
+        String from = require(query, "from");
+        String to = require(query, "to");
+        ParserFactory.createParserByExtension(from, options);
+        GeneratorFactory.createGeneratorByExtension(to, options);
+
+        return () -> {
+            ResponseStream body = new ResponseStream(exchange,
+                    CONTENT_TYPES.getOrDefault(to.toLowerCase(),
+                            "application/octet-stream"));
+            try {
+                ConversionMetrics metrics = facade.convert(
+                        exchange.getRequestBody(), from, body, to, options);
+                body.finish();
+                stats.conversionSucceeded(metrics);
+            } catch (RuntimeException | IOException e) {
+                stats.conversionFailed();
+                if (body.isCommitted()) {
+                    // The status line is gone; cut the response short.
+                    exchange.close();
+                } else {
+                    sendFailure(exchange, e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Handles {@code GET /health}.
+     *
+     * @param exchange the exchange
+     * @throws IOException if the response cannot be sent
+     */
+    private void health(final HttpExchange exchange) throws IOException {
+        ObjectNode node = ComponentRegistry.jsonMapper().createObjectNode();
+        node.put("status", "UP");
+        writeLoad(node);
+        sendJson(exchange, 200, toJson(node));
+    }
+
+    /**
+     * Handles {@code GET /metrics}.
+     *
+     * @param exchange the exchange
+     * @throws IOException if the response cannot be sent
+     */
+    private void metrics(final HttpExchange exchange) throws IOException {
+        ObjectNode node = ComponentRegistry.jsonMapper().createObjectNode();
+        stats.writeTo(node);
+        writeLoad(node);
+        sendJson(exchange, 200, toJson(node));
+    }
+
+    /**
+     * Adds the current load and limits to a JSON object.
+     *
+     * @param node the object to fill
+     */
+    private void writeLoad(final ObjectNode node) {
+        int running = active.get();
+        node.put("active", running);
+        node.put("queued", Math.max(pending.get() - running, 0));
+        node.put("maxConcurrent", maxConcurrent);
+        node.put("queueCapacity", queueCapacity);
+    }
+
+    /**
+     * Admits a conversion if the queue has room.
+     *
+     * @return true if admitted, false if the queue is full
+     */
+    private boolean enqueue() {
+        int limit = maxConcurrent + queueCapacity;
+        while (true) {
+            int current = pending.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (pending.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Wraps a handler so that it only answers its exact path.
+     *
+     * @param path    the path the handler serves
+     * @param handler the handler
+     * @return a handler answering 404 for any longer path
+     */
+    private static HttpHandler exact(final String path,
+                                     final HttpHandler handler) {
+        return exchange -> {
+            try (exchange) {
+                if (!path.equals(exchange.getRequestURI().getPath())) {
+                    sendText(exchange, 404, "Error: Not found");
+                    return;
+                }
+                handler.handle(exchange);
+            }
+        };
+    }
+
+    /**
+     * Returns a required query parameter.
+     *
+     * @param query the query parameters
+     * @param name  the parameter name
+     * @return the parameter value
+     * @throws ValidationException if the parameter is missing or blank
+     */
+    private static String require(final Map<String, String> query,
+                                  final String name) {
+        String value = query.get(name);
+        if (value == null || value.isBlank()) {
+            throw new ValidationException(
+                    "Error: Missing required parameter '" + name + "'");
+        }
+        return value;
+    }
+
+    /**
+     * Splits a raw query string into decoded parameters.
+     *
+     * @param rawQuery the raw query, or null if none
+     * @return the parameters; the last value wins for repeated names
+     */
+    static Map<String, String> parseQuery(final String rawQuery) {
+        Map<String, String> result = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return result;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = eq >= 0 ? pair.substring(0, eq) : pair;
+            String value = eq >= 0 ? pair.substring(eq + 1) : "";
+            result.put(URLDecoder.decode(name, StandardCharsets.UTF_8),
+                    URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return result;
+    }
+
+    /**
+     * Answers with the message of a failed conversion.
+     *
+     * @param exchange the exchange
+     * @param e        the failure
+     */
+    private static void sendFailure(final HttpExchange exchange,
+                                    final Exception e) {
+        String message = e instanceof ValidationException
+                || e instanceof ParseException
+                || e instanceof ConversionException
+                ? e.getMessage()
+                : "Error: An unexpected error occurred: " + e.getMessage();
+        int status = e instanceof IOException || message.startsWith(
+                "Error: An unexpected") ? 500 : 422;
+        try {
+            sendText(exchange, status, message);
+        } catch (IOException ignored) {
+            // the client has gone away
+        }
+    }
+
+    /**
+     * Serializes a JSON object.
+     *
+     * @param node the object
+     * @return the JSON text
+     */
+    private static String toJson(final ObjectNode node) {
+        try {
+            return ComponentRegistry.jsonMapper()
+                    .writerWithDefaultPrettyPrinter()
+                    .writeValueAsString(node);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize response", e);
+        }
+    }
+
+    /**
+     * Sends a JSON response.
+     *
+     * @param exchange the exchange
+     * @param status   the status code
+     * @param json     the JSON text
+     * @throws IOException if the response cannot be sent
+     */
+    private static void sendJson(final HttpExchange exchange,
+                                 final int status, final String json)
+            throws IOException {
+        send(exchange, status, "application/json", json + "\n");
+    }
+
+    /**
+     * Sends a plain text response.
+     *
+     * @param exchange the exchange
+     * @param status   the status code
+     * @param text     the text
+     * @throws IOException if the response cannot be sent
+     */
+    private static void sendText(final HttpExchange exchange,
+                                 final int status, final String text)
+            throws IOException {
+        send(exchange, status, "text/plain; charset=utf-8", text + "\n");
+    }
+
+    /**
+     * Sends a complete response.
+     *
+     * @param exchange    the exchange
+     * @param status      the status code
+     * @param contentType the content type
+     * @param body        the body text
+     * @throws IOException if the response cannot be sent
+     */
+    private static void send(final HttpExchange exchange, final int status,
+                             final String contentType, final String body)
+            throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Response body that sends a {@code 200} status line only when the
+     * first byte is written, so a conversion failing before producing
+     * output can still be answered with an error status.
+     */
+    private static final class ResponseStream extends OutputStream {
+
+        /**
+         * The exchange being answered.
+         */
+        private final HttpExchange exchange;
+
+        /**
+         * The content type of the result.
+         */
+        private final String contentType;
+
+        /**
+         * The response body, or null until the status line is sent.
+         */
+        private OutputStream body;
+
+        /**
+         * Constructs a response body for the given exchange.
+         *
+         * @param httpExchange the exchange being answered
+         * @param type         the content type of the result
+         */
+        private ResponseStream(final HttpExchange httpExchange,
+                               final String type) {
+            this.exchange = httpExchange;
+            this.contentType = type;
+        }
+
+        /**
+         * Returns whether the status line has been sent.
+         *
+         * @return true once the first byte has been written
+         */
+        boolean isCommitted() {
+            return body != null;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            commit().write(b);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len)
+                throws IOException {
+            if (len > 0) {
+                commit().write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (body != null) {
+                body.flush();
+            }
+        }
+
+        /**
+         * Leaves the body open until {@link #finish()}, since closing
+         * before anything was written would commit an empty success.
+         */
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+
+        /**
+         * Ends a successful response.
+         *
+         * @throws IOException if the response cannot be sent
+         */
+        void finish() throws IOException {
+            commit().close();
+        }
+
+        /**
+         * Sends the status line if it has not been sent yet.
+         *
+         * @return the response body
+         * @throws IOException if the status line cannot be sent
+         */
+        private OutputStream commit() throws IOException {
+            if (body == null) {
+                exchange.getResponseHeaders().set(
+                        "Content-Type", contentType);
+                exchange.sendResponseHeaders(200, 0);
+                body = exchange.getResponseBody();
+            }
+            return body;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.converter.server;
+
+import com.converter.metrics.ConversionMetrics;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters describing the work a conversion server has done since it
+ * started.
+ */
+final class ServerStats {
+
+    /**
+     * When the server started, in milliseconds since the epoch.
+     */
+    private final long startMillis = System.currentTimeMillis();
+
+    /**
+     * Conversion requests received, including rejected ones.
+     */
+    private final LongAdder requests = new LongAdder();
+
+    /**
+     * Conversions that completed.
+     */
+    private final LongAdder succeeded = new LongAdder();
+
+    /**
+     * Conversions that failed.
+     */
+    private final LongAdder failed = new LongAdder();
+
+    /**
+     * Requests turned away because the queue was full.
+     */
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Records converted by completed conversions.
+     */
+    private final LongAdder records = new LongAdder();
+
+    /**
+     * Input bytes read by completed conversions.
+     */
+    private final LongAdder bytesRead = new LongAdder();
+
+    /**
+     * Output bytes written by completed conversions.
+     */
+    private final LongAdder bytesWritten = new LongAdder();
+
+    /**
+     * Wall time spent in completed conversions.
+     */
+    private final LongAdder conversionNanos = new LongAdder();
+
+    /**
+     * Counts a received conversion request.
+     */
+    void requestReceived() {
+        requests.increment();
+    }
+
+    /**
+     * Counts a request turned away because the queue was full.
+     */
+    void requestRejected() {
+        rejected.increment();
+    }
+
+    /**
+     * Counts a completed conversion.
+     *
+     * @param metrics the metrics of the conversion
+     */
+    void conversionSucceeded(final ConversionMetrics metrics) {
+        succeeded.increment();
+        records.add(metrics.getRecordCount());
+        bytesRead.add(metrics.getBytesRead());
+        bytesWritten.add(metrics.getBytesWritten());
+        conversionNanos.add(metrics.getElapsedNanos());
+    }
+
+    /**
+     * Counts a failed conversion.
+     */
+    void conversionFailed() {
+        failed.increment();
+    }
+
+    /**
+     * Adds the counters to a JSON object.
+     *
+     * @param node the object to fill
+     */
+    void writeTo(final ObjectNode node) {
+        node.put("uptimeMillis", System.currentTimeMillis() - startMillis);
+        node.put("requests", requests.sum());
+        node.put("succeeded", succeeded.sum());
+        node.put("failed", failed.sum());
+        node.put("rejected", rejected.sum());
+        node.put("records", records.sum());
+        node.put("bytesRead", bytesRead.sum());
+        node.put("bytesWritten", bytesWritten.sum());
+        node.put("conversionNanos", conversionNanos.sum());
+    }
+}
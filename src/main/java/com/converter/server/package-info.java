@@ -0,0 +1,5 @@
+/**
+ * Long-running conversion server exposing the converter over a local
+ * HTTP API.
+ */
+package com.converter.server;
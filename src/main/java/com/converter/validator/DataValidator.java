@@ -83,6 +83,18 @@ public final class DataValidator {
         }
     }
 
+    /**
+     * Validates that a single streamed data record is not null.
+     *
+     * @param record the data record to validate
+     * @throws ValidationException if record is null
+     */
+    public static void validateRecord(final DataRecord record) {
+        if (record == null) {
+            throw new ValidationException("Error: Data cannot be null");
+        }
+    }
+
     /**
      * Validates that the file has a supported extension.
      *
@@ -1,9 +1,12 @@
 package com.converter.cli;
 
+import com.converter.compression.CompressionOptions;
 import com.converter.exception.ValidationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class CliParserTest {
@@ -110,4 +113,238 @@ class CliParserTest {
         assertEquals("path with spaces/input.json", parser.getInputPath());
         assertEquals("another path/output.csv", parser.getOutputPath());
     }
+
+    @Test
+    void testParseBatchArguments() {
+        String[] args = {"--batch", "data/*.csv", "--to", "json", "--threads", "4"};
+
+        parser.parse(args);
+
+        assertTrue(parser.isBatchMode());
+        assertEquals("data/*.csv", parser.getBatchSource());
+        assertEquals("json", parser.getTargetFormat());
+        assertEquals(4, parser.getThreads());
+        assertNull(parser.getOutputPath());
+    }
+
+    @Test
+    void testParseBatchMissingTargetFormatThrowsException() {
+        String[] args = {"--batch", "data"};
+
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> parser.parse(args));
+        assertTrue(exception.getMessage().contains("--to"));
+    }
+
+    @Test
+    void testParseInvalidThreadsThrowsException() {
+        String[] args = {"--batch", "data", "--to", "json", "--threads", "0"};
+
+        assertThrows(ValidationException.class, () -> parser.parse(args));
+    }
+
+    @Test
+    void testParseCompressionOptions() {
+        String[] args = {"--input", "in.csv", "--output", "out.json.gz",
+                "--level", "9", "--buffer-size", "8192"};
+
+        parser.parse(args);
+
+        assertEquals(9, parser.getCompressionOptions().level());
+        assertEquals(8192, parser.getCompressionOptions().bufferSize());
+    }
+
+    @Test
+    void testParseDefaultCompressionOptions() {
+        String[] args = {"--input", "in.csv", "--output", "out.json"};
+
+        parser.parse(args);
+
+        assertEquals(CompressionOptions.DEFAULT, parser.getCompressionOptions());
+    }
+
+    @Test
+    void testParseInvalidLevelThrowsException() {
+        String[] args = {"--input", "in.csv", "--output", "out.json.gz", "--level", "10"};
+
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> parser.parse(args));
+        assertTrue(exception.getMessage().contains("--level"));
+    }
+
+    @Test
+    void testParseInvalidBufferSizeThrowsException() {
+        String[] args = {"--input", "in.csv", "--output", "out.json.gz", "--buffer-size", "-1"};
+
+        assertThrows(ValidationException.class, () -> parser.parse(args));
+    }
+
+    @Test
+    void testParseStatsFlags() {
+        String[] args = {"--input", "in.csv", "--stats", "--output", "out.json", "--stats-json", "stats.json"};
+
+        parser.parse(args);
+
+        assertTrue(parser.isStatsRequested());
+        assertEquals("out.json", parser.getOutputPath());
+        assertEquals("stats.json", parser.getStatsJsonPath());
+    }
+
+    @Test
+    void testParseStatsInBatchModeThrowsException() {
+        String[] args = {"--batch", "data", "--to", "json", "--stats"};
+
+        assertThrows(ValidationException.class, () -> parser.parse(args));
+    }
+
+    @Test
+    void testParseServerArguments() {
+        String[] args = {"--server", "--port", "0", "--threads", "2", "--queue", "3"};
+
+        parser.parse(args);
+
+        assertTrue(parser.isServerMode());
+        assertEquals(0, parser.getPort());
+        assertEquals(2, parser.getThreads());
+        assertEquals(3, parser.getQueueCapacity());
+    }
+
+    @Test
+    void testParseServerDefaults() {
+        parser.parse(new String[] {"--server"});
+
+        assertEquals(8080, parser.getPort());
+        assertEquals(64, parser.getQueueCapacity());
+    }
+
+    @Test
+    void testParseInvalidPortThrowsException() {
+        String[] args = {"--server", "--port", "70000"};
+
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> parser.parse(args));
+        assertTrue(exception.getMessage().contains("--port"));
+    }
+
+    @Test
+    void testParseStandardStreamArguments() {
+        String[] args = {"--input", "-", "--from", "csv", "--output", "-", "--to", "json"};
+
+        parser.parse(args);
+
+        assertEquals(CliParser.STANDARD_STREAM, parser.getInputPath());
+        assertEquals("csv", parser.getSourceFormat());
+        assertEquals(CliParser.STANDARD_STREAM, parser.getOutputPath());
+        assertEquals("json", parser.getTargetFormat());
+    }
+
+    @Test
+    void testParseStandardInputWithoutFormatThrowsException() {
+        String[] args = {"--input", "-", "--output", "out.json"};
+
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> parser.parse(args));
+        assertTrue(exception.getMessage().contains("--from"));
+    }
+
+    @Test
+    void testParseStandardOutputWithoutFormatThrowsException() {
+        String[] args = {"--input", "in.csv", "--output", "-"};
+
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> parser.parse(args));
+        assertTrue(exception.getMessage().contains("--to"));
+    }
+
+    @Test
+    void testParseCacheArguments() {
+        String[] args = {"--input", "in.csv", "--output", "out.json", "--cache-dir", "cache", "--cache-size", "16"};
+
+        parser.parse(args, Map.of());
+
+        assertEquals("cache", parser.getCacheDirectory());
+        assertEquals(16L * 1024 * 1024, parser.getCacheSize());
+    }
+
+    @Test
+    void testParseCacheDirectoryFromEnvironment() {
+        String[] args = {"--input", "in.csv", "--output", "out.json"};
+
+        parser.parse(args, Map.of(CliParser.CACHE_DIR_ENV, "/var/cache/converter"));
+
+        assertEquals("/var/cache/converter", parser.getCacheDirectory());
+        assertEquals(1024L * 1024 * 1024, parser.getCacheSize());
+    }
+
+    @Test
+    void testParseNoCacheOverridesDirectory() {
+        String[] args = {"--input", "in.csv", "--no-cache", "--output", "out.json", "--cache-dir", "cache"};
+
+        parser.parse(args, Map.of(CliParser.CACHE_DIR_ENV, "/var/cache/converter"));
+
+        assertNull(parser.getCacheDirectory());
+        assertEquals("out.json", parser.getOutputPath());
+    }
+
+    @Test
+    void testParseInvalidCacheSizeThrowsException() {
+        String[] args = {"--input", "in.csv", "--output", "out.json", "--cache-size", "0"};
+
+        assertThrows(ValidationException.class, () -> parser.parse(args, Map.of()));
+    }
+
+    @Test
+    void testParseIncremental() {
+        String[] args = {"--input", "log.csv", "--output", "log.json", "--incremental"};
+
+        parser.parse(args, Map.of());
+
+        assertTrue(parser.isIncremental());
+        assertEquals("log.json", parser.getOutputPath());
+    }
+
+    @Test
+    void testParseIncrementalWithStandardStreamThrowsException() {
+        String[] args = {"--input", "-", "--from", "csv", "--output", "log.json", "--incremental"};
+
+        assertThrows(ValidationException.class, () -> parser.parse(args, Map.of()));
+    }
+
+    @Test
+    void testParseIncrementalInBatchModeThrowsException() {
+        String[] args = {"--batch", "logs", "--to", "json", "--incremental"};
+
+        assertThrows(ValidationException.class, () -> parser.parse(args, Map.of()));
+    }
+
+    @Test
+    void testParseParallel() {
+        String[] args = {"--input", "big.csv", "--output", "big.json", "--parallel"};
+
+        parser.parse(args, Map.of());
+
+        assertTrue(parser.isParallel());
+        assertEquals("big.json", parser.getOutputPath());
+    }
+
+    @Test
+    void testParseParallelDefaultsToFalse() {
+        parser.parse(new String[]{"--input", "big.csv", "--output", "big.json"}, Map.of());
+
+        assertFalse(parser.isParallel());
+    }
+
+    @Test
+    void testParseParallelInBatchModeThrowsException() {
+        String[] args = {"--batch", "logs", "--to", "json", "--parallel"};
+
+        assertThrows(ValidationException.class, () -> parser.parse(args, Map.of()));
+    }
+
+    @Test
+    void testParseParallelWithIncrementalThrowsException() {
+        String[] args = {"--input", "log.csv", "--output", "log.json", "--incremental", "--parallel"};
+
+        assertThrows(ValidationException.class, () -> parser.parse(args, Map.of()));
+    }
 }
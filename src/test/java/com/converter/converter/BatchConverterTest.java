@@ -0,0 +1,93 @@
+package com.converter.converter;
+
+import com.converter.exception.ConversionException;
+import com.converter.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchConverterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testConvertDirectory() throws IOException {
+        Files.writeString(tempDir.resolve("a.csv"), "id,name\n1,John\n");
+        Files.writeString(tempDir.resolve("b.xml"),
+                "<records><record><id>2</id></record></records>");
+        Files.writeString(tempDir.resolve("notes.txt"), "ignored");
+        Path outputDir = tempDir.resolve("out");
+
+        List<BatchResult> results = new BatchConverter("json",
+                outputDir.toString(), 2).convert(tempDir.toString());
+
+        assertEquals(2, results.size());
+        assertTrue(results.stream().allMatch(BatchResult::isSuccess));
+        assertTrue(Files.readString(outputDir.resolve("a.json")).contains("John"));
+        assertTrue(Files.exists(outputDir.resolve("b.json")));
+    }
+
+    @Test
+    void testConvertGlobReportsFailuresPerFile() throws IOException {
+        Files.writeString(tempDir.resolve("good.json"), "[{\"id\": \"1\"}]");
+        Files.writeString(tempDir.resolve("bad.json"), "[{\"id\": ");
+        Files.writeString(tempDir.resolve("other.csv"), "id\n1\n");
+
+        List<BatchResult> results = new BatchConverter("csv", null, 4)
+                .convert(tempDir.resolve("*.json").toString());
+
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).inputPath().endsWith("bad.json"));
+        assertFalse(results.get(0).isSuccess());
+        assertTrue(results.get(0).errorMessage().contains("Invalid JSON syntax"));
+        assertTrue(results.get(1).isSuccess());
+        assertTrue(Files.exists(tempDir.resolve("good.csv")));
+    }
+
+    @Test
+    void testConvertSkipsFilesAlreadyInTargetFormat() throws IOException {
+        Files.writeString(tempDir.resolve("data.csv"), "id\n1\n");
+
+        List<BatchResult> results = new BatchConverter("csv", null, 1)
+                .convert(tempDir.toString());
+
+        assertEquals(1, results.size());
+        assertFalse(results.get(0).isSuccess());
+        assertEquals("id\n1\n", Files.readString(tempDir.resolve("data.csv")));
+    }
+
+    @Test
+    void testConvertNoMatchesThrowsException() {
+        assertThrows(ValidationException.class,
+                () -> new BatchConverter("csv", null, 1)
+                        .convert(tempDir.resolve("*.json").toString()));
+    }
+
+    @Test
+    void testUnsupportedTargetFormatThrowsException() {
+        assertThrows(ConversionException.class,
+                () -> new BatchConverter("txt", null, 1));
+    }
+
+    @Test
+    void testConvertRejectsOutputCollisions() throws IOException {
+        Files.writeString(tempDir.resolve("data.csv"), "id\n1\n");
+        Files.writeString(tempDir.resolve("data.json"), "[{\"id\": \"2\"}]");
+        Files.writeString(tempDir.resolve("data.xml"),
+                "<records><record><id>3</id></record></records>");
+
+        List<BatchResult> results = new BatchConverter("xml", null, 2)
+                .convert(tempDir.toString());
+
+        assertEquals(3, results.size());
+        assertTrue(results.stream().noneMatch(BatchResult::isSuccess));
+        assertTrue(Files.readString(tempDir.resolve("data.xml")).contains("<id>3</id>"));
+    }
+}
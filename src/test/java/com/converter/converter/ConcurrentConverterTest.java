@@ -0,0 +1,60 @@
+package com.converter.converter;
+
+import com.converter.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentConverterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testConvertAllPreservesJobOrder() throws IOException {
+        Map<String, String> jobs = new LinkedHashMap<>();
+        for (int i = 0; i < 50; i++) {
+            Path input = tempDir.resolve("in" + i + ".csv");
+            Files.writeString(input, "id\n" + i + "\n");
+            jobs.put(input.toString(), tempDir.resolve("out" + i + ".json").toString());
+        }
+
+        List<BatchResult> results;
+        try (ConcurrentConverter converter = new ConcurrentConverter(4)) {
+            results = converter.convertAll(jobs);
+        }
+
+        assertEquals(50, results.size());
+        for (int i = 0; i < 50; i++) {
+            assertTrue(results.get(i).isSuccess());
+            assertTrue(results.get(i).outputPath().endsWith("out" + i + ".json"));
+            assertTrue(Files.readString(tempDir.resolve("out" + i + ".json"))
+                    .contains("\"" + i + "\""));
+        }
+    }
+
+    @Test
+    void testSubmitCapturesFailure() {
+        try (ConcurrentConverter converter = new ConcurrentConverter(1)) {
+            BatchResult result = converter.submit(
+                    tempDir.resolve("missing.csv").toString(),
+                    tempDir.resolve("out.json").toString()).join();
+
+            assertFalse(result.isSuccess());
+            assertTrue(result.errorMessage().contains("not found"));
+        }
+    }
+
+    @Test
+    void testInvalidConcurrencyLimitThrowsException() {
+        assertThrows(ValidationException.class, () -> new ConcurrentConverter(0));
+    }
+}
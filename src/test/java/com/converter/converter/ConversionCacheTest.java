@@ -0,0 +1,171 @@
+package com.converter.converter;
+
+import com.converter.compression.CompressionOptions;
+import com.converter.generator.ColumnarGenerator;
+import com.converter.generator.CsvGenerator;
+import com.converter.generator.JsonGenerator;
+import com.converter.metrics.ConversionMetrics;
+import com.converter.metrics.Phase;
+import com.converter.parser.CsvParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ConversionCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private FileConverter converter(final Path input, final Path output) {
+        return spy(new FileConverter(input.toString(), output.toString()));
+    }
+
+    private ConversionMetrics convert(final ConversionCache cache, final FileConverter converter,
+                                      final Path input, final Path output) {
+        return cache.convert(converter, input.toString(), output.toString(), CompressionOptions.DEFAULT);
+    }
+
+    @Test
+    void testRepeatedConversionIsServedFromCache() throws IOException {
+        ConversionCache cache = new ConversionCache(tempDir.resolve("cache"), ConversionCache.DEFAULT_MAX_BYTES);
+        Path input = tempDir.resolve("in.csv");
+        Path output = tempDir.resolve("out/data.json");
+        Files.writeString(input, "id,name\n1,John\n2,Jane\n");
+
+        FileConverter first = converter(input, output);
+        convert(cache, first, input, output);
+        String converted = Files.readString(output);
+        Files.delete(output);
+
+        FileConverter second = converter(input, output);
+        ConversionMetrics metrics = convert(cache, second, input, output);
+
+        verify(first).convertWithMetrics(anyString(), anyString());
+        verify(second, never()).convertWithMetrics(anyString(), anyString());
+        assertEquals(converted, Files.readString(output));
+        assertEquals(2, metrics.getRecordCount());
+        assertEquals(0, metrics.getPhase(Phase.PARSE).records());
+    }
+
+    @Test
+    void testChangedInputIsConvertedAgain() throws IOException {
+        ConversionCache cache = new ConversionCache(tempDir.resolve("cache"), ConversionCache.DEFAULT_MAX_BYTES);
+        Path input = tempDir.resolve("in.csv");
+        Path output = tempDir.resolve("out.json");
+        Files.writeString(input, "id\n1\n");
+        convert(cache, converter(input, output), input, output);
+
+        Files.writeString(input, "id\n2\n");
+        FileConverter again = converter(input, output);
+        convert(cache, again, input, output);
+
+        verify(again).convertWithMetrics(anyString(), anyString());
+        assertTrue(Files.readString(output).contains("\"2\""));
+    }
+
+    @Test
+    void testKeyDependsOnContentFormatsAndOptions() throws IOException {
+        Path a = tempDir.resolve("a.csv");
+        Path b = tempDir.resolve("b.csv");
+        Files.writeString(a, "id\n1\n");
+        Files.writeString(b, "id\n1\n");
+        CompressionOptions best = new CompressionOptions(9, 64 * 1024);
+
+        String key = ConversionCache.key(a, "csv", "json.gz", CompressionOptions.DEFAULT);
+
+        assertEquals(key, ConversionCache.key(b, "csv", "json.gz", CompressionOptions.DEFAULT));
+        assertNotEquals(key, ConversionCache.key(a, "csv", "xml.gz", CompressionOptions.DEFAULT));
+        assertNotEquals(key, ConversionCache.key(a, "csv", "json.gz", best));
+    }
+
+    @Test
+    void testKeyDependsOnGeneratorConfiguration() throws IOException {
+        Path a = tempDir.resolve("a.csv");
+        Files.writeString(a, "id\n1\n");
+        CompressionOptions options = CompressionOptions.DEFAULT;
+
+        String json = ConversionCache.key(a, "csv", new JsonGenerator().getConfiguration(), options);
+        String csv = ConversionCache.key(a, "csv", new CsvGenerator().getConfiguration(), options);
+        String columnar = ConversionCache.key(a, "csv", new ColumnarGenerator().getConfiguration(), options);
+
+        assertEquals(json, ConversionCache.key(a, "csv",
+                new JsonGenerator(JsonGenerator.Mode.INDENTED).getConfiguration(), options));
+        assertNotEquals(json, ConversionCache.key(a, "csv",
+                new JsonGenerator(JsonGenerator.Mode.COMPACT).getConfiguration(), options));
+        assertNotEquals(csv, ConversionCache.key(a, "csv",
+                new CsvGenerator(10, CsvGenerator.LateFieldPolicy.WIDEN).getConfiguration(), options));
+        assertNotEquals(csv, ConversionCache.key(a, "csv",
+                new CsvGenerator(CsvGenerator.DEFAULT_INFERENCE_LIMIT, CsvGenerator.LateFieldPolicy.DROP)
+                        .getConfiguration(), options));
+        assertNotEquals(columnar, ConversionCache.key(a, "csv",
+                new ColumnarGenerator(7).getConfiguration(), options));
+    }
+
+    @Test
+    void testDifferentlyConfiguredGeneratorMissesCache() throws IOException {
+        ConversionCache cache = new ConversionCache(tempDir.resolve("cache"), ConversionCache.DEFAULT_MAX_BYTES);
+        Path input = tempDir.resolve("in.csv");
+        Path output = tempDir.resolve("out.json");
+        Files.writeString(input, "id\n1\n");
+        convert(cache, converter(input, output), input, output);
+
+        FileConverter compact = spy(new FileConverter(new CsvParser(),
+                new JsonGenerator(JsonGenerator.Mode.COMPACT)));
+        convert(cache, compact, input, output);
+
+        verify(compact).convertWithMetrics(anyString(), anyString());
+        assertEquals("[{\"id\":\"1\"}]", Files.readString(output).strip());
+    }
+
+    @Test
+    void testOutputRewrittenInPlaceDoesNotCorruptCache() throws IOException {
+        ConversionCache cache = new ConversionCache(tempDir.resolve("cache"), ConversionCache.DEFAULT_MAX_BYTES);
+        Path input = tempDir.resolve("in.csv");
+        Path other = tempDir.resolve("other.csv");
+        Path output = tempDir.resolve("out.json");
+        Files.writeString(input, "id\n1\n");
+        Files.writeString(other, "id\n999999\n");
+        convert(cache, converter(input, output), input, output);
+        String expected = Files.readString(output);
+        convert(cache, converter(input, output), input, output);
+
+        new FileConverter(other.toString(), output.toString()).convert(other.toString(), output.toString());
+        convert(cache, converter(input, output), input, output);
+
+        assertEquals(expected, Files.readString(output));
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() throws IOException {
+        Path a = tempDir.resolve("a.csv");
+        Path b = tempDir.resolve("b.csv");
+        Path output = tempDir.resolve("out.json");
+        Files.writeString(a, "id\n1\n");
+        Files.writeString(b, "id\n2\n");
+        convert(new ConversionCache(tempDir.resolve("probe"), ConversionCache.DEFAULT_MAX_BYTES),
+                converter(a, output), a, output);
+        ConversionCache cache = new ConversionCache(tempDir.resolve("cache"), Files.size(output));
+
+        convert(cache, converter(a, output), a, output);
+        convert(cache, converter(b, output), b, output);
+        FileConverter afterEviction = converter(a, output);
+        convert(cache, afterEviction, a, output);
+
+        verify(afterEviction).convertWithMetrics(anyString(), anyString());
+        assertTrue(Files.readString(output).contains("\"1\""));
+    }
+
+    @Test
+    void testNonPositiveSizeIsRejected() {
+        Path directory = tempDir.resolve("cache");
+
+        assertThrows(IllegalArgumentException.class, () -> new ConversionCache(directory, 0));
+    }
+}
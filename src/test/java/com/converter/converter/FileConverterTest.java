@@ -2,15 +2,30 @@ package com.converter.converter;
 
 import com.converter.exception.ConversionException;
 import com.converter.exception.ValidationException;
+import com.converter.metrics.ConversionMetrics;
+import com.converter.metrics.Phase;
 import com.converter.model.DataRecord;
+import com.converter.generator.GeneratorFactory;
 import com.converter.parser.JsonParser;
+import com.converter.parser.ParserFactory;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -164,6 +179,17 @@ class FileConverterTest {
                 () -> converter.convert(inputFile.toString(), outputFile.toString()));
     }
 
+    @Test
+    void testConvertMissingPathKeepsValidationError() {
+        Path outputFile = tempDir.resolve("output.csv");
+        FileConverter converter = new FileConverter("input.json", outputFile.toString());
+
+        assertThrows(ValidationException.class,
+                () -> converter.convert(null, outputFile.toString()));
+        assertThrows(ValidationException.class,
+                () -> converter.convert(tempDir.resolve("input.json").toString(), null));
+    }
+
     @Test
     void testConvertUnsupportedFormatThrowsException() {
         assertThrows(ConversionException.class,
@@ -195,4 +221,95 @@ class FileConverterTest {
         assertNotNull(converter.getParser());
         assertTrue(converter.getParser() instanceof JsonParser);
     }
+
+    @Test
+    void testConvertRemovesPartialOutputOnFailure() throws IOException {
+        String xml = """
+                <?xml version="1.0"?>
+                <records>
+                  <record><id>1</id></record>
+                  <record><id><nested>2</nested></id></record>
+                </records>
+                """;
+        Path inputFile = tempDir.resolve("input.xml");
+        Path outputFile = tempDir.resolve("output.xml");
+        Files.writeString(inputFile, xml);
+
+        FileConverter converter = new FileConverter(inputFile.toString(), outputFile.toString());
+
+        assertThrows(ValidationException.class,
+                () -> converter.convert(inputFile.toString(), outputFile.toString()));
+        assertFalse(Files.exists(outputFile));
+    }
+
+    @Test
+    void testConvertWithMetrics() throws IOException {
+        StringBuilder csv = new StringBuilder("id,name\n");
+        for (int i = 0; i < 1000; i++) {
+            csv.append(i).append(",name").append(i).append('\n');
+        }
+        Path inputFile = tempDir.resolve("input.csv");
+        Path outputFile = tempDir.resolve("output.json");
+        Files.writeString(inputFile, csv);
+
+        FileConverter converter = new FileConverter(inputFile.toString(), outputFile.toString());
+        ConversionMetrics metrics = converter.convertWithMetrics(inputFile.toString(), outputFile.toString());
+
+        assertEquals(1000, metrics.getRecordCount());
+        assertEquals(1000, metrics.getPhase(Phase.PARSE).records());
+        assertEquals(1000, metrics.getPhase(Phase.VALIDATE_DATA).records());
+        assertEquals(1000, metrics.getPhase(Phase.GENERATE).records());
+        assertEquals(Files.size(inputFile), metrics.getBytesRead());
+        assertEquals(Files.size(outputFile), metrics.getBytesWritten());
+        assertTrue(metrics.getPhase(Phase.PARSE).elapsedNanos() > 0);
+        assertTrue(metrics.getPeakHeapBytes() > 0);
+    }
+
+    @Test
+    void testCsvStreamOutputWritesNoTemporaryFile() throws IOException {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 1500; i++) {
+            ndjson.append("{\"id\":\"").append(i).append("\"}\n");
+        }
+        byte[] input = ndjson.toString().getBytes(StandardCharsets.UTF_8);
+        Path tmp = Path.of(System.getProperty("java.io.tmpdir"));
+        Path gzip = tempDir.resolve("out.csv.gz");
+
+        for (String name : new String[] {"<stdout>", gzip.toString()}) {
+            Set<Path> before = spooled(tmp);
+            Set<Path> seen = new HashSet<>();
+            InputStream probe = new ByteArrayInputStream(input) {
+                @Override
+                public synchronized int read(final byte[] b, final int off, final int len) {
+                    int n = super.read(b, off, len);
+                    if (n < 0) {
+                        seen.addAll(spooled(tmp));
+                    }
+                    return n;
+                }
+            };
+            OutputStream output = name.equals("<stdout>")
+                    ? new ByteArrayOutputStream() : Files.newOutputStream(gzip);
+            FileConverter converter = new FileConverter(
+                    ParserFactory.createParserByExtension("ndjson"),
+                    GeneratorFactory.createGenerator(name.equals("<stdout>") ? "out.csv" : name));
+
+            converter.convert(probe, "<stdin>", output, name);
+
+            seen.removeAll(before);
+            assertEquals(Set.of(), seen, name);
+        }
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(gzip))) {
+            assertEquals(1501, new String(in.readAllBytes(), StandardCharsets.UTF_8).split("\n").length);
+        }
+    }
+
+    private static Set<Path> spooled(final Path dir) {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(f -> f.getFileName().toString().startsWith("converter-"))
+                    .collect(Collectors.toSet());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,179 @@
+package com.converter.converter;
+
+import com.converter.exception.ValidationException;
+import com.converter.metrics.ConversionMetrics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalConverterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ConversionMetrics convert(final Path input, final Path output) {
+        FileConverter converter = new FileConverter(input.toString(), output.toString());
+        return new IncrementalConverter(converter).convert(input.toString(), output.toString());
+    }
+
+    private String convertAtOnce(final Path input, final String extension) throws IOException {
+        Path output = tempDir.resolve("expected." + extension);
+        new FileConverter(input.toString(), output.toString()).convert(input.toString(), output.toString());
+        return Files.readString(output);
+    }
+
+    private static void append(final Path file, final String text) throws IOException {
+        Files.writeString(file, text, StandardOpenOption.APPEND);
+    }
+
+    @Test
+    void testAppendedOutputMatchesFullConversion() throws IOException {
+        for (String extension : new String[] {"json", "xml", "csv", "ndjson"}) {
+            Path input = tempDir.resolve("log-" + extension + ".csv");
+            Path output = tempDir.resolve("out/log." + extension);
+            Files.writeString(input, "id,name\n1,John\n");
+
+            assertEquals(1, convert(input, output).getRecordCount());
+            append(input, "2,Jane\n3,\"Smith, Bob\"\n");
+            ConversionMetrics metrics = convert(input, output);
+
+            assertEquals(2, metrics.getRecordCount(), extension);
+            assertEquals(convertAtOnce(input, extension), Files.readString(output), extension);
+            IncrementalConverter.Checkpoint checkpoint = IncrementalConverter.readCheckpoint(
+                    Path.of(IncrementalConverter.checkpointPath(output.toString())));
+            assertEquals(3, checkpoint.records());
+            assertEquals("id,name\n", checkpoint.header());
+            assertEquals(Files.size(input), checkpoint.offset());
+        }
+    }
+
+    @Test
+    void testNdjsonInputIsAppended() throws IOException {
+        Path input = tempDir.resolve("events.ndjson");
+        Path output = tempDir.resolve("events.json");
+        Files.writeString(input, "{\"id\":\"1\"}\n");
+        convert(input, output);
+
+        append(input, "{\"id\":\"2\"}\n\n{\"id\":\"3\"}\n");
+        ConversionMetrics metrics = convert(input, output);
+
+        assertEquals(2, metrics.getRecordCount());
+        assertEquals(convertAtOnce(input, "json"), Files.readString(output));
+    }
+
+    @Test
+    void testIncompleteRecordIsLeftForNextRun() throws IOException {
+        Path input = tempDir.resolve("log.csv");
+        Path output = tempDir.resolve("log.ndjson");
+        Files.writeString(input, "id,note\n1,first\n2,\"line one\nline");
+        convert(input, output);
+
+        assertEquals("{\"id\":\"1\",\"note\":\"first\"}\n", Files.readString(output));
+
+        append(input, " two\"\n");
+        convert(input, output);
+
+        assertEquals(convertAtOnce(input, "ndjson"), Files.readString(output));
+    }
+
+    @Test
+    void testBackslashEscapesFollowTheParser() throws IOException {
+        Path input = tempDir.resolve("escaped.csv");
+        Path output = tempDir.resolve("escaped.ndjson");
+        Path checkpoint = Path.of(IncrementalConverter.checkpointPath(output.toString()));
+        Files.writeString(input, "id,note\n1,first\n");
+        convert(input, output);
+
+        for (String records : new String[] {"2,a\\\"b\n", "3,\"c\\\\\"\n", "4,\"d\\\"\ne\"\n5,last\n"}) {
+            append(input, records);
+            ConversionMetrics metrics = convert(input, output);
+
+            assertEquals(records.startsWith("4") ? 2 : 1, metrics.getRecordCount(), records);
+            assertEquals(Files.size(input), IncrementalConverter.readCheckpoint(checkpoint).offset());
+            assertEquals(convertAtOnce(input, "ndjson"), Files.readString(output), records);
+        }
+    }
+
+    @Test
+    void testNoNewRecordsLeavesOutputUnchanged() throws IOException {
+        Path input = tempDir.resolve("log.csv");
+        Path output = tempDir.resolve("log.xml");
+        Files.writeString(input, "id\n1\n");
+        convert(input, output);
+        String converted = Files.readString(output);
+
+        ConversionMetrics metrics = convert(input, output);
+
+        assertEquals(0, metrics.getRecordCount());
+        assertEquals(converted, Files.readString(output));
+    }
+
+    @Test
+    void testRewrittenInputIsConvertedAgain() throws IOException {
+        Path input = tempDir.resolve("log.csv");
+        Path output = tempDir.resolve("log.json");
+        Files.writeString(input, "id\n1\n2\n");
+        convert(input, output);
+
+        Files.writeString(input, "id\n7\n8\n9\n");
+        ConversionMetrics metrics = convert(input, output);
+
+        assertEquals(3, metrics.getRecordCount());
+        assertEquals(convertAtOnce(input, "json"), Files.readString(output));
+    }
+
+    @Test
+    void testChangedOutputIsConvertedAgain() throws IOException {
+        Path input = tempDir.resolve("log.csv");
+        Path output = tempDir.resolve("log.json");
+        Files.writeString(input, "id\n1\n");
+        convert(input, output);
+
+        Files.writeString(output, "[ ]");
+        append(input, "2\n");
+        ConversionMetrics metrics = convert(input, output);
+
+        assertEquals(2, metrics.getRecordCount());
+        assertEquals(convertAtOnce(input, "json"), Files.readString(output));
+    }
+
+    @Test
+    void testFailedAppendKeepsEarlierOutput() throws IOException {
+        for (String extension : new String[] {"json", "xml", "csv", "ndjson"}) {
+            Path input = tempDir.resolve("events-" + extension + ".ndjson");
+            Path output = tempDir.resolve("events." + extension);
+            Files.writeString(input, "{\"a\":\"1\"}\n{\"a\":\"2\"}\n");
+            convert(input, output);
+            String converted = Files.readString(output);
+            Path checkpoint = Path.of(IncrementalConverter.checkpointPath(output.toString()));
+            String saved = Files.readString(checkpoint);
+
+            StringBuilder tail = new StringBuilder();
+            for (int i = 0; i < 300; i++) {
+                tail.append("{\"a\":\"").append(i).append("\"}\n");
+            }
+            append(input, tail + "{\"a\":[1]}\n");
+
+            assertThrows(RuntimeException.class, () -> convert(input, output), extension);
+            assertEquals(converted, Files.readString(output), extension);
+            assertEquals(saved, Files.readString(checkpoint), extension);
+        }
+    }
+
+    @Test
+    void testUnsupportedFormatsAreRejected() {
+        FileConverter jsonInput = new FileConverter("in.json", "out.csv");
+        FileConverter compressedInput = new FileConverter("in.csv.gz", "out.csv");
+        FileConverter columnarOutput = new FileConverter("in.csv", "out.fcol");
+
+        assertThrows(ValidationException.class, () -> new IncrementalConverter(jsonInput));
+        assertThrows(ValidationException.class, () -> new IncrementalConverter(compressedInput));
+        assertThrows(ValidationException.class, () -> new IncrementalConverter(columnarOutput));
+    }
+}
@@ -0,0 +1,96 @@
+package com.converter.generator;
+
+import com.converter.model.DataRecord;
+import com.converter.parser.ColumnarParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarGeneratorTest {
+
+    private ColumnarGenerator generator;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        generator = new ColumnarGenerator(4);
+    }
+
+    @Test
+    void testGetSupportedExtension() {
+        assertEquals("fcol", generator.getSupportedExtension());
+    }
+
+    @Test
+    void testRoundTripAcrossBlocks() {
+        List<DataRecord> records = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Map<String, String> fields = new LinkedHashMap<>();
+            fields.put("id", String.valueOf(i));
+            fields.put("status", i < 7 ? "active" : "closed");
+            if (i == 9) {
+                fields.put("note", "ünïcode, \"quoted\"\nline");
+            }
+            records.add(new DataRecord(fields));
+        }
+
+        Path file = tempDir.resolve("data.fcol");
+        generator.generate(records, file.toString());
+
+        List<DataRecord> parsed = new ColumnarParser().parse(file.toString());
+        assertEquals(records, parsed);
+        assertFalse(parsed.get(0).hasField("note"));
+    }
+
+    @Test
+    void testFieldsMissingFromSomeRecordsStayAbsent() {
+        List<DataRecord> records = List.of(
+                new DataRecord(Map.of("a", "1")),
+                new DataRecord(Map.of("b", "")),
+                new DataRecord(Map.of()));
+
+        Path file = tempDir.resolve("sparse.fcol");
+        generator.generate(records, file.toString());
+
+        assertEquals(records, new ColumnarParser().parse(file.toString()));
+    }
+
+    @Test
+    void testGenerateEmptyList() {
+        Path file = tempDir.resolve("empty.fcol");
+        generator.generate(List.of(), file.toString());
+
+        assertTrue(new ColumnarParser().parse(file.toString()).isEmpty());
+    }
+
+    @Test
+    void testRepetitiveColumnsAreSmallerThanCsv() throws IOException {
+        List<DataRecord> records = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            records.add(new DataRecord(Map.of(
+                    "country", i < 2500 ? "Ukraine" : "Poland",
+                    "category", "category-" + (i % 8),
+                    "flag", "true")));
+        }
+
+        Path columnar = tempDir.resolve("data.fcol");
+        Path csv = tempDir.resolve("data.csv");
+        new ColumnarGenerator().generate(records, columnar.toString());
+        new CsvGenerator().generate(records, csv.toString());
+
+        assertTrue(Files.size(columnar) * 10 < Files.size(csv),
+                "columnar " + Files.size(columnar) + " vs csv " + Files.size(csv));
+    }
+}
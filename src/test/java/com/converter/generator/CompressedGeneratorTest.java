@@ -0,0 +1,116 @@
+package com.converter.generator;
+
+import com.converter.compression.Codec;
+import com.converter.compression.CompressionOptions;
+import com.converter.converter.BatchConverter;
+import com.converter.converter.BatchResult;
+import com.converter.converter.FileConverter;
+import com.converter.model.DataRecord;
+import com.converter.parser.ParserFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressedGeneratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static List<DataRecord> sampleRecords(final int count) {
+        List<DataRecord> records = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            records.add(new DataRecord(Map.of("id", String.valueOf(i), "status", "active")));
+        }
+        return records;
+    }
+
+    @Test
+    void testGetSupportedExtension() {
+        Generator generator = GeneratorFactory.createGenerator("out.xml.deflate");
+
+        assertInstanceOf(CompressedGenerator.class, generator);
+        assertEquals("xml.deflate", generator.getSupportedExtension());
+    }
+
+    @Test
+    void testGenerateGzipIsReadableByJdk() throws IOException {
+        Path file = tempDir.resolve("out.ndjson.gz");
+        GeneratorFactory.createGenerator(file.toString())
+                .generate(List.of(new DataRecord(Map.of("id", "1"))), file.toString());
+
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            assertEquals("{\"id\":\"1\"}\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testRoundTripThroughConverter() {
+        Path input = tempDir.resolve("in.csv.deflate");
+        Path output = tempDir.resolve("out.json.gz");
+        List<DataRecord> records = sampleRecords(100);
+        GeneratorFactory.createGenerator(input.toString()).generate(records, input.toString());
+
+        new FileConverter(input.toString(), output.toString()).convert(input.toString(), output.toString());
+
+        assertEquals(records, ParserFactory.createParser(output.toString()).parse(output.toString()));
+    }
+
+    @Test
+    void testLevelTradesSizeForSpeed() throws IOException {
+        List<DataRecord> records = sampleRecords(2000);
+        Path fast = tempDir.resolve("fast.csv.gz");
+        Path small = tempDir.resolve("small.csv.gz");
+
+        GeneratorFactory.createGenerator(fast.toString(), new CompressionOptions(0, 4096))
+                .generate(records, fast.toString());
+        GeneratorFactory.createGenerator(small.toString(), new CompressionOptions(9, 4096))
+                .generate(records, small.toString());
+
+        assertTrue(Files.size(fast) > Files.size(small));
+    }
+
+    @Test
+    void testOpenOnStream() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Generator generator = new CompressedGenerator(new JsonGenerator(JsonGenerator.Mode.COMPACT),
+                Codec.GZIP, CompressionOptions.DEFAULT);
+
+        try (RecordWriter writer = generator.open(out, "out.json.gz")) {
+            writer.write(new DataRecord(Map.of("id", "1")));
+        }
+
+        assertTrue(out.size() > 0);
+        assertEquals((byte) 0x1f, out.toByteArray()[0]);
+    }
+
+    @Test
+    void testBatchKeepsStackedExtension() throws IOException {
+        Path input = tempDir.resolve("data.csv.gz");
+        GeneratorFactory.createGenerator(input.toString()).generate(sampleRecords(3), input.toString());
+
+        List<BatchResult> results = new BatchConverter("json.gz", null, 1).convert(tempDir.toString());
+
+        assertEquals(1, results.size());
+        assertTrue(results.get(0).isSuccess(), results.get(0).errorMessage());
+        assertEquals(tempDir.resolve("data.json.gz").toString(), results.get(0).outputPath());
+        assertTrue(Files.exists(tempDir.resolve("data.json.gz")));
+    }
+
+    @Test
+    void testInvalidOptionsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new CompressionOptions(10, 1024));
+        assertThrows(IllegalArgumentException.class, () -> new CompressionOptions(1, 0));
+    }
+}
@@ -1,10 +1,14 @@
 package com.converter.generator;
 
+import com.converter.exception.ConversionException;
 import com.converter.model.DataRecord;
+import com.converter.model.RecordBatch;
+import com.converter.model.RecordSchema;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -125,4 +129,188 @@ class CsvGeneratorTest {
         assertTrue(lines.get(0).contains("email"));
         assertEquals(3, lines.get(1).split(",").length);
     }
+
+    @Test
+    void testGenerateBatchUsesSchemaAsHeader() throws IOException {
+        RecordBatch batch = new RecordBatch(new RecordSchema("id", "name"));
+        batch.addRow(new String[]{"1", "John"});
+        batch.addRow(new String[]{"2", null});
+
+        Path file = tempDir.resolve("batch.csv");
+        generator.generate(batch, file.toString());
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(3, lines.size());
+        assertEquals("\"id\",\"name\"", lines.get(0));
+        assertEquals("\"2\",\"\"", lines.get(2));
+    }
+
+    @Test
+    void testOpenInfersHeaderFromPrefix() throws IOException {
+        CsvGenerator streaming = new CsvGenerator(2, CsvGenerator.LateFieldPolicy.FAIL);
+        Path file = tempDir.resolve("stream.csv");
+
+        try (RecordWriter writer = streaming.open(file.toString())) {
+            writer.write(new DataRecord(Map.of("id", "1")));
+            writer.write(new DataRecord(Map.of("name", "Jane")));
+            writer.write(new DataRecord(Map.of("id", "3", "name", "Bob")));
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(List.of("\"id\",\"name\"", "\"1\",\"\"", "\"\",\"Jane\"", "\"3\",\"Bob\""), lines);
+    }
+
+    @Test
+    void testOpenFailsOnLateField() {
+        CsvGenerator streaming = new CsvGenerator(1, CsvGenerator.LateFieldPolicy.FAIL);
+        Path file = tempDir.resolve("late.csv");
+
+        RecordWriter writer = streaming.open(file.toString());
+        writer.write(new DataRecord(Map.of("id", "1")));
+        ConversionException e = assertThrows(ConversionException.class,
+                () -> writer.write(new DataRecord(Map.of("id", "2", "email", "x"))));
+        writer.close();
+
+        assertTrue(e.getMessage().contains("'email'"));
+        assertTrue(e.getMessage().contains("record 2"));
+    }
+
+    @Test
+    void testOpenWidensHeaderByDefault() throws IOException {
+        List<DataRecord> records = new ArrayList<>();
+        for (int i = 0; i < CsvGenerator.DEFAULT_INFERENCE_LIMIT; i++) {
+            records.add(new DataRecord(Map.of("id", String.valueOf(i))));
+        }
+        Map<String, String> late = new LinkedHashMap<>();
+        late.put("id", "late");
+        late.put("note", "say \"hi\",\r\nback\\slash");
+        records.add(new DataRecord(late));
+        records.add(new DataRecord(Map.of("email", "x@y")));
+        Path file = tempDir.resolve("widened.csv");
+        Path expected = tempDir.resolve("expected.csv");
+
+        try (RecordWriter writer = generator.open(file.toString())) {
+            for (DataRecord record : records) {
+                writer.write(record);
+            }
+        }
+        generator.generate(records, expected.toString());
+
+        assertEquals("\"id\",\"note\",\"email\"",
+                Files.readAllLines(file).get(0));
+        assertEquals(Files.readString(expected), Files.readString(file));
+    }
+
+    @Test
+    void testStreamCannotWidenHeader() {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        RecordWriter writer = new CsvGenerator(1, CsvGenerator.LateFieldPolicy.WIDEN)
+                .open(stream, "<stdout>");
+
+        writer.write(new DataRecord(Map.of("id", "1")));
+        ConversionException e = assertThrows(ConversionException.class,
+                () -> writer.write(new DataRecord(Map.of("id", "2", "email", "x"))));
+        writer.close();
+
+        assertTrue(e.getMessage().contains("'email'"));
+        assertEquals("\"id\"\n\"1\"\n", stream.toString());
+    }
+
+    @Test
+    void testAppendCannotWidenHeader() throws IOException {
+        Path file = tempDir.resolve("append.csv");
+        Files.writeString(file, "\"id\"\n\"1\"\n");
+
+        RecordWriter writer = generator.append(file.toString());
+        assertThrows(ConversionException.class,
+                () -> writer.write(new DataRecord(Map.of("id", "2", "email", "x"))));
+        writer.close();
+
+        assertEquals(List.of("\"id\"", "\"1\""), Files.readAllLines(file));
+    }
+
+    @Test
+    void testOpenDropsLateField() throws IOException {
+        CsvGenerator streaming = new CsvGenerator(1, CsvGenerator.LateFieldPolicy.DROP);
+        Path file = tempDir.resolve("drop.csv");
+
+        try (RecordWriter writer = streaming.open(file.toString())) {
+            writer.write(new DataRecord(Map.of("id", "1")));
+            writer.write(new DataRecord(Map.of("id", "2", "email", "x")));
+        }
+
+        assertEquals(List.of("\"id\"", "\"1\"", "\"2\""), Files.readAllLines(file));
+        assertFalse(Files.exists(Path.of(CsvGenerator.spillPath(file.toString()))));
+    }
+
+    @Test
+    void testOpenSpillsLateFieldToSideFile() throws IOException {
+        CsvGenerator streaming = new CsvGenerator(1, CsvGenerator.LateFieldPolicy.SPILL);
+        Path file = tempDir.resolve("spill.csv");
+
+        try (RecordWriter writer = streaming.open(file.toString())) {
+            writer.write(new DataRecord(Map.of("id", "1")));
+            writer.write(new DataRecord(Map.of("id", "2", "email", "x")));
+        }
+
+        Path side = tempDir.resolve("spill.late.csv");
+        assertEquals(side.toString(), CsvGenerator.spillPath(file.toString()));
+        assertEquals(List.of("\"id\"", "\"1\"", "\"2\""), Files.readAllLines(file));
+        assertEquals(List.of("\"record\",\"field\",\"value\"", "\"2\",\"email\",\"x\""),
+                Files.readAllLines(side));
+    }
+
+    @Test
+    void testDeclaredSchemaFixesHeaderAndOrder() throws IOException {
+        CsvGenerator declared = new CsvGenerator(
+                new RecordSchema("name", "id"), CsvGenerator.LateFieldPolicy.DROP);
+        Path file = tempDir.resolve("declared.csv");
+
+        declared.generate(List.of(new DataRecord(Map.of("id", "1", "name", "John", "age", "30"))),
+                file.toString());
+
+        assertEquals(List.of("\"name\",\"id\"", "\"John\",\"1\""), Files.readAllLines(file));
+    }
+
+    @Test
+    void testOpenWithNoRecordsWritesEmptyFile() throws IOException {
+        Path file = tempDir.resolve("none.csv");
+
+        generator.open(file.toString()).close();
+
+        assertEquals(0, Files.size(file));
+    }
+
+    @Test
+    void testAppendKeepsExistingHeader() throws IOException {
+        Path file = tempDir.resolve("append.csv");
+        Files.writeString(file, "\"name\",\"id\"\n\"John\",\"1\"\n");
+
+        try (RecordWriter writer = generator.append(file.toString())) {
+            writer.write(new DataRecord(Map.of("id", "2", "name", "Jane")));
+        }
+
+        assertEquals(List.of("\"name\",\"id\"", "\"John\",\"1\"", "\"Jane\",\"2\""),
+                Files.readAllLines(file));
+    }
+
+    @Test
+    void testAppendToEmptyFileWritesHeader() throws IOException {
+        Path file = tempDir.resolve("empty.csv");
+        Files.createFile(file);
+
+        try (RecordWriter writer = generator.append(file.toString())) {
+            writer.write(new DataRecord(Map.of("id", "1")));
+        }
+
+        assertEquals(List.of("\"id\"", "\"1\""), Files.readAllLines(file));
+    }
+
+    @Test
+    void testAppendRejectsSpillPolicy() {
+        CsvGenerator spilling = new CsvGenerator(1, CsvGenerator.LateFieldPolicy.SPILL);
+        String file = tempDir.resolve("spill.csv").toString();
+
+        assertThrows(ConversionException.class, () -> spilling.append(file));
+    }
 }
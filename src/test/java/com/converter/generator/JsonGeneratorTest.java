@@ -1,6 +1,8 @@
 package com.converter.generator;
 
+import com.converter.exception.ConversionException;
 import com.converter.model.DataRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -9,6 +11,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -84,4 +87,79 @@ class JsonGeneratorTest {
         String content = Files.readString(file);
         assertTrue(content.contains("John \\\"The Great\\\""));
     }
+
+    @Test
+    void testIndentedOutputMatchesObjectMapper() throws IOException {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("id", "1");
+        fields.put("name", "John");
+        List<DataRecord> records = List.of(new DataRecord(fields), new DataRecord(Map.of("id", "2")));
+
+        Path file = tempDir.resolve("indented.json");
+        generator.generate(records, file.toString());
+
+        String expected = new ObjectMapper().writerWithDefaultPrettyPrinter()
+                .writeValueAsString(List.of(fields, Map.of("id", "2")));
+        assertEquals(expected, Files.readString(file));
+    }
+
+    @Test
+    void testCompactOutputHasNoWhitespace() throws IOException {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("id", "1");
+        fields.put("name", "John Smith");
+        JsonGenerator compact = new JsonGenerator(JsonGenerator.Mode.COMPACT);
+
+        Path file = tempDir.resolve("compact.json");
+        compact.generate(List.of(new DataRecord(fields), new DataRecord(fields)), file.toString());
+
+        assertEquals("[{\"id\":\"1\",\"name\":\"John Smith\"},{\"id\":\"1\",\"name\":\"John Smith\"}]",
+                Files.readString(file));
+    }
+
+    @Test
+    void testOpenWritesRecordsAsTheyArrive() throws IOException {
+        JsonGenerator compact = new JsonGenerator(JsonGenerator.Mode.COMPACT);
+        Path file = tempDir.resolve("stream.json");
+
+        try (RecordWriter writer = compact.open(file.toString())) {
+            writer.write(new DataRecord(Map.of("id", "1")));
+        }
+
+        assertEquals("[{\"id\":\"1\"}]", Files.readString(file));
+    }
+
+    @Test
+    void testAppendExtendsArray() throws IOException {
+        DataRecord first = new DataRecord(Map.of("id", "1"));
+        DataRecord second = new DataRecord(Map.of("id", "2"));
+        DataRecord third = new DataRecord(Map.of("id", "3"));
+
+        for (JsonGenerator.Mode mode : JsonGenerator.Mode.values()) {
+            JsonGenerator json = new JsonGenerator(mode);
+            Path expected = tempDir.resolve(mode + "-expected.json");
+            json.generate(List.of(first, second, third), expected.toString());
+
+            Path file = tempDir.resolve(mode + ".json");
+            json.generate(List.of(), file.toString());
+            try (RecordWriter writer = json.append(file.toString())) {
+                writer.write(first);
+            }
+            json.append(file.toString()).close();
+            try (RecordWriter writer = json.append(file.toString())) {
+                writer.write(second);
+                writer.write(third);
+            }
+
+            assertEquals(Files.readString(expected), Files.readString(file));
+        }
+    }
+
+    @Test
+    void testAppendRejectsFileWithoutArray() throws IOException {
+        Path file = tempDir.resolve("object.json");
+        Files.writeString(file, "{\"id\" : \"1\"}");
+
+        assertThrows(ConversionException.class, () -> generator.append(file.toString()));
+    }
 }
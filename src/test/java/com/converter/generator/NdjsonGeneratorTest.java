@@ -0,0 +1,79 @@
+package com.converter.generator;
+
+import com.converter.model.DataRecord;
+import com.converter.parser.NdjsonParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NdjsonGeneratorTest {
+
+    private NdjsonGenerator generator;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        generator = new NdjsonGenerator();
+    }
+
+    @Test
+    void testGetSupportedExtension() {
+        assertEquals("ndjson", generator.getSupportedExtension());
+    }
+
+    @Test
+    void testGenerateOneObjectPerLine() throws IOException {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("id", "1");
+        fields.put("name", "John \"JJ\"\nSmith");
+
+        Path file = tempDir.resolve("output.ndjson");
+        generator.generate(List.of(new DataRecord(fields), new DataRecord(Map.of("id", "2"))), file.toString());
+
+        assertEquals("{\"id\":\"1\",\"name\":\"John \\\"JJ\\\"\\nSmith\"}\n{\"id\":\"2\"}\n",
+                Files.readString(file));
+    }
+
+    @Test
+    void testGenerateEmptyList() throws IOException {
+        Path file = tempDir.resolve("empty.jsonl");
+        generator.generate(List.of(), file.toString());
+
+        assertEquals(0, Files.size(file));
+    }
+
+    @Test
+    void testRoundTrip() {
+        List<DataRecord> records = List.of(
+                new DataRecord(Map.of("id", "1", "name", "John")),
+                new DataRecord(Map.of("id", "2", "note", "")));
+
+        Path file = tempDir.resolve("round.ndjson");
+        generator.generate(records, file.toString());
+
+        assertEquals(records, new NdjsonParser().parse(file.toString()));
+    }
+
+    @Test
+    void testAppendAddsLines() throws IOException {
+        Path file = tempDir.resolve("append.ndjson");
+        generator.generate(List.of(new DataRecord(Map.of("id", "1"))), file.toString());
+
+        try (RecordWriter writer = generator.append(file.toString())) {
+            writer.write(new DataRecord(Map.of("id", "2")));
+        }
+
+        assertEquals("{\"id\":\"1\"}\n{\"id\":\"2\"}\n", Files.readString(file));
+    }
+}
@@ -1,16 +1,27 @@
 package com.converter.generator;
 
+import com.converter.exception.ConversionException;
 import com.converter.model.DataRecord;
+import com.converter.model.RecordSchema;
+import com.converter.registry.ComponentRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -101,4 +112,144 @@ class XmlGeneratorTest {
         String content = Files.readString(file);
         assertTrue(content.contains("<name></name>") || content.contains("<name/>"));
     }
+
+    @Test
+    void testNullFieldIsWrittenForBothBackings() throws IOException {
+        DataRecord row = new RecordSchema("id", "name").newRecord(new String[]{"1", "John"});
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("id", "1");
+        fields.put("name", "John");
+        DataRecord map = new DataRecord(fields);
+        row.setField("name", null);
+        map.setField("name", null);
+
+        Path rowFile = tempDir.resolve("row.xml");
+        Path mapFile = tempDir.resolve("map.xml");
+        generator.generate(List.of(row), rowFile.toString());
+        generator.generate(List.of(map), mapFile.toString());
+
+        assertTrue(Files.readString(mapFile).contains("<name></name>"));
+        assertEquals(Files.readString(mapFile), Files.readString(rowFile));
+    }
+
+    @Test
+    void testOutputMatchesStaxWriter() throws Exception {
+        RecordSchema schema = new RecordSchema("id", "1st col", "note");
+        List<DataRecord> records = new ArrayList<>();
+        records.add(schema.newRecord(new String[]{"1", "a<b & c>d", ">start ]> ]]> x>y"}));
+        records.add(schema.newRecord(new String[]{"2", "", null}));
+        records.add(schema.newRecord(new String[]{"3", "tab\there\r\nline", "\u007F\u0085\u009F\u00A0"}));
+        records.add(schema.newRecord(new String[]{"4", "caf\u00E9 \u20AC \uD83D\uDE00", "\uFFFE\uFFFF\uD83Dx\uDE00"}));
+        records.add(schema.newRecord(new String[]{"5", "quotes \" and '", "x".repeat(70_000) + ">&"}));
+        records.add(schema.newRecord(new String[]{"6", "a&>b", "<>"}));
+        records.add(schema.newRecord(new String[]{"7", "long enough a&>b <> \r> \u0085> ]> >>", ">> at the start"}));
+        records.add(schema.newRecord(new String[]{"8", "x".repeat(511) + ">>", "&>".repeat(40_000)}));
+        Random random = new Random(42);
+        char[] alphabet = {'x', '>', ']', '&', '<', '\r', '\u00E9', '\u0085', '\uFFFE'};
+        for (int r = 0; r < 50; r++) {
+            char[] value = new char[random.nextInt(2000)];
+            for (int i = 0; i < value.length; i++) {
+                value[i] = alphabet[random.nextInt(alphabet.length)];
+            }
+            records.add(schema.newRecord(new String[]{"r" + r, new String(value), null}));
+        }
+        Map<String, String> odd = new LinkedHashMap<>();
+        odd.put("", "empty name");
+        odd.put("caf\u00E9", "non-ASCII name");
+        odd.put("a:b c", "punctuation");
+        records.add(new DataRecord(odd));
+        records.add(new DataRecord());
+
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        try (RecordWriter writer = generator.open(actual, "test")) {
+            for (DataRecord record : records) {
+                writer.write(record);
+            }
+        }
+
+        assertArrayEquals(writeWithStax(records), actual.toByteArray());
+    }
+
+    @Test
+    void testInvalidCharacterFails() {
+        List<DataRecord> records = List.of(new DataRecord(Map.of("id", "a\u0001b")));
+        Path file = tempDir.resolve("invalid-char.xml");
+
+        ConversionException e = assertThrows(ConversionException.class,
+                () -> generator.generate(records, file.toString()));
+        assertTrue(e.getMessage().contains("0x1"));
+    }
+
+    private static byte[] writeWithStax(final List<DataRecord> records) throws XMLStreamException, IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Writer output = new OutputStreamWriter(bytes, StandardCharsets.UTF_8);
+        XMLStreamWriter writer = ComponentRegistry.xmlOutputFactory().createXMLStreamWriter(output);
+        writer.writeStartDocument("UTF-8", "1.0");
+        writer.writeCharacters("\n");
+        writer.writeStartElement("records");
+        writer.writeCharacters("\n");
+        for (DataRecord record : records) {
+            writer.writeCharacters("  ");
+            writer.writeStartElement("record");
+            writer.writeCharacters("\n");
+            for (Map.Entry<String, String> field : record.getFieldView().entrySet()) {
+                writer.writeCharacters("    ");
+                writer.writeStartElement(XmlGenerator.sanitizeElementName(field.getKey()));
+                writer.writeCharacters(field.getValue() != null ? field.getValue() : "");
+                writer.writeEndElement();
+                writer.writeCharacters("\n");
+            }
+            writer.writeCharacters("  ");
+            writer.writeEndElement();
+            writer.writeCharacters("\n");
+        }
+        writer.writeEndElement();
+        writer.writeCharacters("\n");
+        writer.writeEndDocument();
+        writer.close();
+        output.close();
+        return bytes.toByteArray();
+    }
+
+    @Test
+    void testCollidingFieldNamesAreReported() throws IOException {
+        List<String> warnings = new ArrayList<>();
+        XmlGenerator reporting = new XmlGenerator(warnings::add);
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("first name", "John");
+        fields.put("first_name", "Johnny");
+        fields.put("id", "1");
+        List<DataRecord> records = List.of(new DataRecord(fields), new DataRecord(fields));
+
+        Path file = tempDir.resolve("collision.xml");
+        reporting.generate(records, file.toString());
+
+        assertEquals(List.of("Warning: Fields 'first name' and 'first_name' are both written as XML element <first_name>"),
+                warnings);
+        assertTrue(Files.readString(file).contains("<first_name>Johnny</first_name>"));
+    }
+
+    @Test
+    void testAppendExtendsRootElement() throws IOException {
+        DataRecord first = new DataRecord(Map.of("id", "1"));
+        DataRecord second = new DataRecord(Map.of("id", "2"));
+        Path expected = tempDir.resolve("expected.xml");
+        generator.generate(List.of(first, second), expected.toString());
+
+        Path file = tempDir.resolve("append.xml");
+        generator.generate(List.of(first), file.toString());
+        try (RecordWriter writer = generator.append(file.toString())) {
+            writer.write(second);
+        }
+
+        assertEquals(Files.readString(expected), Files.readString(file));
+    }
+
+    @Test
+    void testAppendRejectsOtherRootElement() throws IOException {
+        Path file = tempDir.resolve("other.xml");
+        Files.writeString(file, "<?xml version='1.0'?>\n<items>\n</items>\n");
+
+        assertThrows(ConversionException.class, () -> generator.append(file.toString()));
+    }
 }
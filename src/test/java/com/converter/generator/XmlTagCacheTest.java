@@ -0,0 +1,51 @@
+package com.converter.generator;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class XmlTagCacheTest {
+
+    @Test
+    void testTagsAreSanitizedAndEncoded() {
+        XmlTagCache cache = new XmlTagCache(16);
+
+        XmlTagCache.Tag tag = cache.get("1st col");
+
+        assertEquals("_1st_col", tag.element());
+        assertEquals("    <_1st_col>", new String(tag.open(), StandardCharsets.UTF_8));
+        assertEquals("</_1st_col>\n", new String(tag.close(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testRepeatedLookupsShareOneTag() {
+        XmlTagCache cache = new XmlTagCache(16);
+
+        assertSame(cache.get("id"), cache.get(new String("id")));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testNullNameUsesDefaultElement() {
+        XmlTagCache cache = new XmlTagCache(16);
+
+        assertEquals("field", cache.get(null).element());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testCapacityIsBounded() {
+        XmlTagCache cache = new XmlTagCache(2);
+
+        cache.get("a");
+        cache.get("b");
+        XmlTagCache.Tag overflow = cache.get("c");
+
+        assertEquals(2, cache.size());
+        assertEquals("c", overflow.element());
+        assertNotSame(overflow, cache.get("c"));
+        assertSame(cache.get("a"), cache.get("a"));
+    }
+}
@@ -0,0 +1,187 @@
+package com.converter.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileIOTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static byte[] randomBytes(final int size) {
+        byte[] data = new byte[size];
+        new Random(7).nextBytes(data);
+        return data;
+    }
+
+    @Test
+    void testReadSmallFile() throws IOException {
+        byte[] data = randomBytes(FileIO.BUFFER_SIZE * 3 + 17);
+        Path file = tempDir.resolve("small.bin");
+        Files.write(file, data);
+
+        try (InputStream in = FileIO.openInput(file)) {
+            assertFalse(in instanceof MappedInputStream);
+            assertEquals(data.length, in.available());
+            assertArrayEquals(data, in.readAllBytes());
+            assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    void testReadLargeFileIsMapped() throws IOException {
+        byte[] data = randomBytes((int) FileIO.MAP_THRESHOLD + 5);
+        Path file = tempDir.resolve("large.bin");
+        Files.write(file, data);
+
+        try (InputStream in = FileIO.openInput(file)) {
+            assertInstanceOf(MappedInputStream.class, in);
+            assertEquals(data[0] & 0xFF, in.read());
+            assertEquals(1000, in.skip(1000));
+            byte[] rest = in.readAllBytes();
+            assertEquals(data.length - 1001, rest.length);
+            assertEquals(data[data.length - 1], rest[rest.length - 1]);
+        }
+    }
+
+    @Test
+    void testWriteMixedSizes() throws IOException {
+        byte[] big = randomBytes(FileIO.BUFFER_SIZE * 2);
+        Path file = tempDir.resolve("out.bin");
+
+        try (OutputStream out = FileIO.openOutput(file)) {
+            out.write(1);
+            out.write(big);
+            out.write(big, 0, 10);
+        }
+
+        byte[] written = Files.readAllBytes(file);
+        assertEquals(1 + big.length + 10, written.length);
+        assertEquals(1, written[0]);
+        assertEquals(big[big.length - 1], written[big.length]);
+        assertEquals(big[9], written[written.length - 1]);
+    }
+
+    @Test
+    void testOpenOutputTruncatesExistingFile() throws IOException {
+        Path file = tempDir.resolve("existing.txt");
+        Files.writeString(file, "old content that is longer");
+
+        try (OutputStream out = FileIO.openOutput(file)) {
+            out.write('x');
+        }
+
+        assertEquals("x", Files.readString(file));
+    }
+
+    @Test
+    void testTextIsUtf8() throws IOException {
+        Path file = tempDir.resolve("text.txt");
+        try (Writer writer = FileIO.newWriter(file)) {
+            writer.write("Zürich – 東京\n");
+        }
+
+        assertArrayEquals("Zürich – 東京\n".getBytes(FileIO.CHARSET), Files.readAllBytes(file));
+        try (BufferedReader reader = FileIO.newReader(file)) {
+            assertEquals("Zürich – 東京", reader.readLine());
+        }
+    }
+
+    @Test
+    void testReadRange() throws IOException {
+        byte[] data = randomBytes(100);
+        Path file = tempDir.resolve("range.bin");
+        Files.write(file, data);
+
+        try (FileChannel channel = FileChannel.open(file)) {
+            ByteBuffer range = FileIO.read(channel, 10, 20);
+            assertEquals(20, range.remaining());
+            assertEquals(data[10], range.get(0));
+            assertThrows(IOException.class, () -> FileIO.read(channel, 90, 20));
+        }
+    }
+
+    @Test
+    void testOpenInputRange() throws IOException {
+        byte[] data = randomBytes(100);
+        Path file = tempDir.resolve("range.bin");
+        Files.write(file, data);
+
+        try (InputStream in = FileIO.openInput(file, 10, 30)) {
+            assertArrayEquals(Arrays.copyOfRange(data, 10, 30), in.readAllBytes());
+        }
+        try (InputStream in = FileIO.openInput(file, 90, 200)) {
+            assertEquals(10, in.available());
+            assertArrayEquals(Arrays.copyOfRange(data, 90, 100), in.readAllBytes());
+        }
+    }
+
+    @Test
+    void testOpenAppendTruncatesAtPosition() throws IOException {
+        Path file = tempDir.resolve("append.txt");
+        Files.writeString(file, "keep-discard");
+
+        try (OutputStream out = FileIO.openAppend(file, 5)) {
+            out.write("more".getBytes(FileIO.CHARSET));
+        }
+
+        assertEquals("keep-more", Files.readString(file));
+    }
+
+    @Test
+    void testStandardStreamsStayOpen() throws IOException {
+        InputStream stdin = System.in;
+        PrintStream stdout = System.out;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        try {
+            System.setIn(new ByteArrayInputStream("abc".getBytes(FileIO.CHARSET)));
+            System.setOut(new PrintStream(captured, false, FileIO.CHARSET));
+
+            try (InputStream in = FileIO.standardInput()) {
+                assertEquals('a', in.read());
+            }
+            assertEquals('b', System.in.read());
+
+            try (OutputStream out = FileIO.standardOutput()) {
+                out.write("data".getBytes(FileIO.CHARSET));
+            }
+            System.out.print("!");
+            System.out.flush();
+            assertEquals("data!", captured.toString(FileIO.CHARSET));
+        } finally {
+            System.setIn(stdin);
+            System.setOut(stdout);
+        }
+    }
+
+    @Test
+    void testStandardOutputReportsWriteErrors() throws IOException {
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(final int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        OutputStream out = new StandardOutputStream(new PrintStream(broken));
+
+        out.write(1);
+        assertThrows(IOException.class, out::flush);
+    }
+}
@@ -0,0 +1,142 @@
+package com.converter.metrics;
+
+import com.converter.converter.FileConverter;
+import com.converter.generator.NdjsonGenerator;
+import com.converter.model.DataRecord;
+import com.converter.parser.CsvParser;
+import com.converter.parser.JsonParser;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConversionEventTest {
+
+    @TempDir
+    Path tempDir;
+
+    private List<RecordedEvent> record(final Runnable action) throws IOException {
+        Path dump = tempDir.resolve("recording.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(ConversionEvent.class);
+            recording.enable(ParseChunkEvent.class);
+            recording.enable(GenerateChunkEvent.class);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(dump);
+        }
+        return RecordingFile.readAllEvents(dump);
+    }
+
+    private static List<RecordedEvent> ofType(final List<RecordedEvent> events, final String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).toList();
+    }
+
+    @Test
+    void testConversionEmitsEvents() throws IOException {
+        StringBuilder csv = new StringBuilder("id,name\n");
+        for (int i = 0; i < 300; i++) {
+            csv.append(i).append(",n").append(i).append('\n');
+        }
+        Path input = tempDir.resolve("in.csv");
+        Path output = tempDir.resolve("out.json");
+        Files.writeString(input, csv);
+
+        List<RecordedEvent> events = record(() -> new FileConverter(input.toString(), output.toString())
+                .convert(input.toString(), output.toString()));
+
+        List<RecordedEvent> conversions = ofType(events, "com.converter.Conversion");
+        assertEquals(1, conversions.size());
+        RecordedEvent conversion = conversions.get(0);
+        assertEquals("csv", conversion.getString("inputFormat"));
+        assertEquals("json", conversion.getString("outputFormat"));
+        assertEquals(300, conversion.getLong("records"));
+        assertEquals(Files.size(input), conversion.getLong("bytesRead"));
+        assertEquals(Files.size(output), conversion.getLong("bytesWritten"));
+        assertTrue(conversion.getBoolean("succeeded"));
+
+        List<RecordedEvent> parseChunks = ofType(events, "com.converter.ParseChunk");
+        assertEquals(300, parseChunks.stream().mapToLong(e -> e.getLong("records")).sum());
+        assertEquals(2, parseChunks.size());
+        assertEquals(300, ofType(events, "com.converter.GenerateChunk").stream()
+                .mapToLong(e -> e.getLong("records")).sum());
+    }
+
+    @Test
+    void testTreeModeConversionCountsRecordsOnce() throws IOException {
+        Path input = tempDir.resolve("in.json");
+        Path output = tempDir.resolve("out.ndjson");
+        Files.writeString(input, "[{\"id\": \"1\"}, {\"id\": \"2\"}, {\"id\": \"3\"}]");
+
+        List<RecordedEvent> events = record(() -> new FileConverter(
+                new JsonParser(JsonParser.Mode.TREE), new NdjsonGenerator())
+                .convert(input.toString(), output.toString()));
+
+        List<RecordedEvent> parseChunks = ofType(events, "com.converter.ParseChunk");
+        assertEquals(1, parseChunks.size());
+        assertEquals(3, parseChunks.get(0).getLong("records"));
+    }
+
+    @Test
+    void testListBasedCallsEmitOneEventEach() throws IOException {
+        Path input = tempDir.resolve("in.csv");
+        Path output = tempDir.resolve("out.ndjson");
+        Files.writeString(input, "id\n1\n2\n");
+
+        List<RecordedEvent> events = record(() -> {
+            List<DataRecord> records = new CsvParser().parse(input.toString());
+            new NdjsonGenerator().generate(records, output.toString());
+        });
+
+        RecordedEvent parse = ofType(events, "com.converter.ParseChunk").get(0);
+        assertEquals("csv", parse.getString("format"));
+        assertEquals(2, parse.getLong("records"));
+        assertEquals(Files.size(input), parse.getLong("bytesRead"));
+
+        RecordedEvent generate = ofType(events, "com.converter.GenerateChunk").get(0);
+        assertEquals("ndjson", generate.getString("format"));
+        assertEquals(Files.size(output), generate.getLong("bytesWritten"));
+    }
+
+    @Test
+    void testFailedConversionIsRecorded() throws IOException {
+        Path input = tempDir.resolve("bad.json");
+        Path output = tempDir.resolve("out.csv");
+        Files.writeString(input, "[{\"id\": {\"nested\": 1}}]");
+
+        List<RecordedEvent> events = record(() -> assertThrows(RuntimeException.class,
+                () -> new FileConverter(input.toString(), output.toString())
+                        .convert(input.toString(), output.toString())));
+
+        RecordedEvent conversion = ofType(events, "com.converter.Conversion").get(0);
+        assertFalse(conversion.getBoolean("succeeded"));
+        assertEquals(0, conversion.getLong("records"));
+    }
+
+    @Test
+    void testDisabledEventsAreNotRecorded() throws IOException {
+        Path input = tempDir.resolve("in.csv");
+        Files.writeString(input, "id\n1\n");
+
+        Path dump = tempDir.resolve("empty.jfr");
+        try (Recording recording = new Recording()) {
+            recording.disable(ParseChunkEvent.class);
+            recording.start();
+            new CsvParser().parse(input.toString());
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        assertTrue(RecordingFile.readAllEvents(dump).stream()
+                .noneMatch(e -> e.getEventType().getName().startsWith("com.converter.")));
+    }
+}
@@ -0,0 +1,56 @@
+package com.converter.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConversionMetricsTest {
+
+    private static ConversionMetrics sample() {
+        return new ConversionMetrics("in.csv", "out.json", 1000, 2_000_000_000L, List.of(
+                new PhaseMetrics(Phase.VALIDATE, 1_000_000L, 0, 0, 0, 10),
+                new PhaseMetrics(Phase.PARSE, 1_000_000_000L, 1000, 5000, 0, 300),
+                new PhaseMetrics(Phase.VALIDATE_DATA, 100_000_000L, 1000, 0, 0, 200),
+                new PhaseMetrics(Phase.GENERATE, 500_000_000L, 1000, 0, 7000, 400)));
+    }
+
+    @Test
+    void testTotals() {
+        ConversionMetrics metrics = sample();
+
+        assertEquals(500.0, metrics.getRecordsPerSecond(), 1e-9);
+        assertEquals(1000.0, metrics.getPhase(Phase.PARSE).recordsPerSecond(), 1e-9);
+        assertEquals(2000.0, metrics.getPhase(Phase.GENERATE).recordsPerSecond(), 1e-9);
+        assertEquals(0.0, metrics.getPhase(Phase.VALIDATE).recordsPerSecond());
+        assertEquals(5000, metrics.getBytesRead());
+        assertEquals(7000, metrics.getBytesWritten());
+        assertEquals(400, metrics.getPeakHeapBytes());
+    }
+
+    @Test
+    void testFormatHasOneRowPerPhase() {
+        String table = sample().format();
+
+        assertTrue(table.startsWith("Phase"));
+        assertTrue(table.contains("validateData"));
+        assertTrue(table.contains("total"));
+        assertEquals(6, table.lines().count());
+    }
+
+    @Test
+    void testToJson() throws IOException {
+        JsonNode json = new ObjectMapper().readTree(sample().toJson());
+
+        assertEquals("in.csv", json.get("input").asText());
+        assertEquals(1000, json.get("records").asLong());
+        assertEquals(2_000_000_000L, json.get("elapsedNanos").asLong());
+        assertEquals(5000, json.get("phases").get("parse").get("bytesRead").asLong());
+        assertEquals(2000.0, json.get("phases").get("generate").get("recordsPerSecond").asDouble(), 1e-9);
+        assertEquals(4, json.get("phases").size());
+    }
+}
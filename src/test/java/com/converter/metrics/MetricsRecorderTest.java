@@ -0,0 +1,50 @@
+package com.converter.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsRecorderTest {
+
+    private static void spin(final long nanos) {
+        long end = System.nanoTime() + nanos;
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+
+    @Test
+    void testTimeIsChargedToActivePhase() {
+        MetricsRecorder recorder = new MetricsRecorder();
+        recorder.enter(Phase.PARSE);
+        spin(2_000_000);
+        recorder.enter(Phase.GENERATE);
+        spin(1_000_000);
+
+        ConversionMetrics metrics = recorder.finish("in.csv", "out.json", 0);
+
+        assertTrue(metrics.getPhase(Phase.PARSE).elapsedNanos() >= 2_000_000);
+        assertTrue(metrics.getPhase(Phase.GENERATE).elapsedNanos() >= 1_000_000);
+        assertEquals(0, metrics.getPhase(Phase.VALIDATE).elapsedNanos());
+        assertTrue(metrics.getElapsedNanos() >= 3_000_000);
+    }
+
+    @Test
+    void testCountersArePerPhase() {
+        MetricsRecorder recorder = new MetricsRecorder();
+        recorder.enter(Phase.PARSE);
+        recorder.addRecords(Phase.PARSE, 10);
+        recorder.addRecords(Phase.PARSE, 5);
+        recorder.addBytesRead(Phase.PARSE, 100);
+        recorder.addBytesWritten(Phase.GENERATE, 40);
+
+        ConversionMetrics metrics = recorder.finish("in.csv", "out.json", 15);
+
+        assertEquals(15, metrics.getPhase(Phase.PARSE).records());
+        assertEquals(0, metrics.getPhase(Phase.GENERATE).records());
+        assertEquals(100, metrics.getBytesRead());
+        assertEquals(40, metrics.getBytesWritten());
+        assertTrue(metrics.getPhase(Phase.PARSE).peakHeapBytes() > 0);
+        assertEquals(0, metrics.getPhase(Phase.VALIDATE_DATA).peakHeapBytes());
+    }
+}
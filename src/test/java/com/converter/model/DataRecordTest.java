@@ -0,0 +1,83 @@
+package com.converter.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataRecordTest {
+
+    @Test
+    void testFieldViewIsReadOnlyAndLive() {
+        DataRecord record = new DataRecord();
+        record.setField("id", "1");
+
+        Map<String, String> view = record.getFieldView();
+        record.setField("name", "John");
+
+        assertEquals(2, view.size());
+        assertThrows(UnsupportedOperationException.class,
+                () -> view.put("x", "y"));
+    }
+
+    @Test
+    void testForEachFieldVisitsInOrder() {
+        DataRecord record = new DataRecord();
+        record.setField("b", "2");
+        record.setField("a", "1");
+
+        List<String> visited = new ArrayList<>();
+        record.forEachField((key, value) -> visited.add(key + "=" + value));
+
+        assertEquals(List.of("b=2", "a=1"), visited);
+    }
+
+    @Test
+    void testForEachFieldSkipsAbsentSchemaColumns() {
+        RecordSchema schema = new RecordSchema("id", "name");
+        DataRecord record = schema.newRecord(new String[]{null, "John"});
+
+        List<String> visited = new ArrayList<>();
+        record.forEachField((key, value) -> visited.add(key));
+
+        assertEquals(List.of("name"), visited);
+    }
+
+    @Test
+    void testGetFieldBySchemaColumn() {
+        RecordSchema schema = new RecordSchema("id", "name");
+        DataRecord view = schema.newRecord(new String[]{"1", "John"});
+        DataRecord owned = new DataRecord(Map.of("name", "Jane"));
+
+        assertEquals("John", view.getField(schema, 1));
+        assertEquals("Jane", owned.getField(schema, 1));
+        assertNull(owned.getField(schema, 0));
+    }
+
+    @Test
+    void testNullFieldIsKeptForBothBackings() {
+        RecordSchema schema = new RecordSchema("id", "name");
+        DataRecord row = schema.newRecord(new String[]{"1", "John"});
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("id", "1");
+        fields.put("name", "John");
+        DataRecord map = new DataRecord(fields);
+
+        row.setField("name", null);
+        map.setField("name", null);
+
+        for (DataRecord record : List.of(row, map)) {
+            assertTrue(record.hasField("name"));
+            assertNull(record.getField("name"));
+            assertNull(record.getField(schema, 1));
+            assertEquals(2, record.size());
+            assertEquals(List.of("id", "name"), new ArrayList<>(record.getFieldView().keySet()));
+        }
+        assertEquals(map, row);
+        assertEquals(map.hashCode(), row.hashCode());
+    }
+}
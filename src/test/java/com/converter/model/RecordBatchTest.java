@@ -0,0 +1,74 @@
+package com.converter.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordBatchTest {
+
+    @Test
+    void testOfBuildsUnionSchema() {
+        RecordBatch batch = RecordBatch.of(List.of(
+                new DataRecord(Map.of("id", "1")),
+                new DataRecord(Map.of("id", "2", "name", "Jane"))));
+
+        assertEquals(List.of("id", "name"), batch.getSchema().getNames());
+        assertEquals(2, batch.size());
+        assertNull(batch.getValue(0, 1));
+        assertEquals("Jane", batch.getValue(1, 1));
+    }
+
+    @Test
+    void testRecordViewMatchesOwnedRecord() {
+        RecordSchema schema = new RecordSchema("id", "name");
+        RecordBatch batch = new RecordBatch(schema);
+        batch.addRow(new String[]{"1", "John"});
+
+        DataRecord view = batch.getRecord(0);
+        DataRecord owned = new DataRecord();
+        owned.setField("id", "1");
+        owned.setField("name", "John");
+
+        assertEquals(owned, view);
+        assertEquals(owned.hashCode(), view.hashCode());
+        assertEquals("John", view.getField("name"));
+        assertFalse(view.hasField("email"));
+    }
+
+    @Test
+    void testRecordViewWritesThroughAndDetachesOnNewField() {
+        RecordBatch batch = new RecordBatch(new RecordSchema("id"));
+        batch.addRow(new String[]{"1"});
+
+        DataRecord view = batch.getRecord(0);
+        view.setField("id", "2");
+        assertEquals("2", batch.getValue(0, 0));
+
+        view.setField("extra", "x");
+        assertEquals("x", view.getField("extra"));
+        assertEquals(1, batch.getSchema().size());
+    }
+
+    @Test
+    void testSchemaSharesInternedNames() {
+        RecordSchema schema = new RecordSchema(new String("id"));
+        assertSame("id", schema.getName(0));
+    }
+
+    @Test
+    void testSchemaRejectsDuplicateNames() {
+        assertFalse(RecordSchema.isValid("id", "id"));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RecordSchema("id", "id"));
+    }
+
+    @Test
+    void testAddRowRejectsWrongWidth() {
+        RecordBatch batch = new RecordBatch(new RecordSchema("id", "name"));
+        assertThrows(IllegalArgumentException.class,
+                () -> batch.addRow(new String[]{"1"}));
+    }
+}
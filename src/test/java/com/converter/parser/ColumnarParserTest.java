@@ -0,0 +1,93 @@
+package com.converter.parser;
+
+import com.converter.exception.ParseException;
+import com.converter.generator.ColumnarGenerator;
+import com.converter.model.DataRecord;
+import com.converter.model.RecordBatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarParserTest {
+
+    private ColumnarParser parser;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        parser = new ColumnarParser();
+    }
+
+    private Path writeSample() {
+        Path file = tempDir.resolve("sample.fcol");
+        new ColumnarGenerator(2).generate(List.of(
+                new DataRecord(Map.of("id", "1", "name", "John")),
+                new DataRecord(Map.of("id", "2", "name", "Jane")),
+                new DataRecord(Map.of("id", "3"))), file.toString());
+        return file;
+    }
+
+    @Test
+    void testGetSupportedExtension() {
+        assertEquals("fcol", parser.getSupportedExtension());
+    }
+
+    @Test
+    void testStreamReadsAllBlocks() {
+        Path file = writeSample();
+
+        try (RecordReader reader = parser.stream(file.toString())) {
+            List<DataRecord> records = reader.readAll();
+            assertEquals(3, records.size());
+            assertEquals("Jane", records.get(1).getField("name"));
+            assertFalse(records.get(2).hasField("name"));
+        }
+    }
+
+    @Test
+    void testParseBatchUsesFileSchema() {
+        Path file = writeSample();
+
+        RecordBatch batch = parser.parseBatch(file.toString());
+
+        assertEquals(3, batch.size());
+        assertEquals(2, batch.getSchema().size());
+        assertEquals(parser.parse(file.toString()), batch.asRecords());
+    }
+
+    @Test
+    void testParseFileNotFound() {
+        ParseException e = assertThrows(ParseException.class, () -> parser.parse("missing.fcol"));
+        assertTrue(e.getMessage().contains("not found"));
+    }
+
+    @Test
+    void testParseNotColumnarFile() throws IOException {
+        Path file = tempDir.resolve("text.fcol");
+        Files.writeString(file, "id,name\n1,John\n");
+
+        ParseException e = assertThrows(ParseException.class, () -> parser.parse(file.toString()));
+        assertTrue(e.getMessage().contains("Not a columnar file"));
+    }
+
+    @Test
+    void testParseCorruptBlock() throws IOException {
+        Path file = writeSample();
+        byte[] bytes = Files.readAllBytes(file);
+        Arrays.fill(bytes, 5, 12, (byte) 0x7F);
+        Files.write(file, bytes);
+
+        assertThrows(ParseException.class, () -> parser.parse(file.toString()));
+    }
+}
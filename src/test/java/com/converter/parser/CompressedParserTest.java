@@ -0,0 +1,99 @@
+package com.converter.parser;
+
+import com.converter.compression.Codec;
+import com.converter.compression.CompressionOptions;
+import com.converter.exception.ConversionException;
+import com.converter.exception.ParseException;
+import com.converter.model.DataRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressedParserTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path compress(final String name, final String content, final Codec codec) throws IOException {
+        Path file = tempDir.resolve(name);
+        try (OutputStream out = codec.compress(Files.newOutputStream(file), CompressionOptions.DEFAULT)) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return file;
+    }
+
+    @Test
+    void testGetFileExtensionKeepsStackedExtension() {
+        assertEquals("csv.gz", ParserFactory.getFileExtension("data.csv.gz"));
+        assertEquals("json.deflate", ParserFactory.getFileExtension("dir.v2/data.json.deflate"));
+        assertEquals("gz", ParserFactory.getFileExtension("data.gz"));
+    }
+
+    @Test
+    void testFactoryWrapsCompressedExtension() {
+        Parser parser = ParserFactory.createParser("data.csv.gz");
+
+        CompressedParser compressed = assertInstanceOf(CompressedParser.class, parser);
+        assertInstanceOf(CsvParser.class, compressed.getDelegate());
+        assertEquals(Codec.GZIP, compressed.getCodec());
+        assertEquals("csv.gz", parser.getSupportedExtension());
+    }
+
+    @Test
+    void testFactoryRejectsBareCodecExtension() {
+        ConversionException exception = assertThrows(ConversionException.class,
+                () -> ParserFactory.createParser("data.gz"));
+        assertTrue(exception.getMessage().contains("'.gz'"));
+    }
+
+    @Test
+    void testParseGzipCsv() throws IOException {
+        Path file = compress("data.csv.gz", "id,name\n1,John\n2,Jane\n", Codec.GZIP);
+
+        List<DataRecord> records = ParserFactory.createParser(file.toString()).parse(file.toString());
+
+        assertEquals(List.of(
+                new DataRecord(Map.of("id", "1", "name", "John")),
+                new DataRecord(Map.of("id", "2", "name", "Jane"))), records);
+    }
+
+    @Test
+    void testStreamDeflateJson() throws IOException {
+        Path file = compress("data.json.deflate", "[{\"id\":\"1\"},{\"id\":\"2\"}]", Codec.DEFLATE);
+
+        try (RecordReader reader = ParserFactory.createParser(file.toString()).stream(file.toString())) {
+            assertEquals(2, reader.readAll().size());
+        }
+    }
+
+    @Test
+    void testParseColumnarFromStream() throws IOException {
+        Path plain = tempDir.resolve("data.fcol");
+        new com.converter.generator.ColumnarGenerator().generate(
+                List.of(new DataRecord(Map.of("id", "1"))), plain.toString());
+
+        try (RecordReader reader = new ColumnarParser().stream(
+                new ByteArrayInputStream(Files.readAllBytes(plain)), "data.fcol")) {
+            assertEquals(List.of(new DataRecord(Map.of("id", "1"))), reader.readAll());
+        }
+    }
+
+    @Test
+    void testParseCorruptInputThrowsParseException() throws IOException {
+        Path file = tempDir.resolve("broken.csv.gz");
+        Files.writeString(file, "not gzip");
+
+        Parser parser = ParserFactory.createParser(file.toString());
+        assertThrows(ParseException.class, () -> parser.parse(file.toString()));
+    }
+}
@@ -1,15 +1,19 @@
 package com.converter.parser;
 
+import com.converter.compression.CompressionOptions;
 import com.converter.exception.ParseException;
 import com.converter.model.DataRecord;
+import com.converter.model.RecordBatch;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -152,4 +156,128 @@ class CsvParserTest {
         assertEquals("booker12", records.get(0).getField("Username"));
         assertEquals("grey07", records.get(1).getField("Username"));
     }
+
+    @Test
+    void testStreamReadsRowsIncrementally() throws IOException {
+        String csv = """
+                id;name
+                1;John
+
+                2;Jane
+                """;
+        Path file = tempDir.resolve("stream.csv");
+        Files.writeString(file, csv);
+
+        try (RecordReader reader = parser.stream(file.toString())) {
+            assertEquals("John", reader.next().getField("name"));
+            assertEquals("Jane", reader.next().getField("name"));
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test
+    void testParseBatchSharesHeaderSchema() throws IOException {
+        String csv = """
+                id, name
+                1,John
+                2
+                """;
+        Path file = tempDir.resolve("batch.csv");
+        Files.writeString(file, csv);
+
+        RecordBatch batch = parser.parseBatch(file.toString());
+
+        assertEquals(List.of("id", "name"), batch.getSchema().getNames());
+        assertEquals(2, batch.size());
+        assertEquals("John", batch.getValue(0, 1));
+        assertEquals("", batch.getValue(1, 1));
+        assertEquals(parser.parse(file.toString()), batch.asRecords());
+    }
+
+    @Test
+    void testParallelParseMatchesSequential() throws IOException {
+        StringBuilder csv = new StringBuilder(" id ;name;note\n");
+        for (int i = 0; i < 500; i++) {
+            csv.append(i).append(";\"Name ").append(i).append("\";");
+            if (i % 7 == 0) {
+                csv.append("\"multi\nline; \"\"quoted\"\"\"");
+            } else if (i % 11 == 0) {
+                csv.append("\n;;");
+            } else {
+                csv.append(" plain ");
+            }
+            csv.append("\n");
+        }
+        Path file = tempDir.resolve("parallel.csv");
+        Files.writeString(file, csv.toString());
+
+        CsvParser parallel = new CsvParser(CsvParser.Mode.PARALLEL, 256,
+                ForkJoinPool.commonPool());
+
+        List<DataRecord> expected = parser.parse(file.toString());
+        assertEquals(expected, parallel.parse(file.toString()));
+        assertEquals("multi\nline; \"quoted\"",
+                expected.get(0).getField("note"));
+    }
+
+    @Test
+    void testFactorySelectsParallelParserOnRequest() {
+        Parser parallel = ParserFactory.createParserByExtension("csv", CompressionOptions.DEFAULT, true);
+        Parser sequential = ParserFactory.createParserByExtension("csv", CompressionOptions.DEFAULT, false);
+
+        assertEquals(CsvParser.Mode.PARALLEL, ((CsvParser) parallel).getMode());
+        assertEquals(CsvParser.Mode.SEQUENTIAL, ((CsvParser) sequential).getMode());
+        assertSame(sequential, ParserFactory.createParserByExtension("csv"));
+        assertSame(ParserFactory.createParserByExtension("json"),
+                ParserFactory.createParserByExtension("json", CompressionOptions.DEFAULT, true));
+    }
+
+    @Test
+    void testParallelParseHeaderOnlyAndEmpty() throws IOException {
+        CsvParser parallel = new CsvParser(CsvParser.Mode.PARALLEL);
+        Path headerOnly = tempDir.resolve("header.csv");
+        Files.writeString(headerOnly, "id,name");
+        Path empty = tempDir.resolve("empty.csv");
+        Files.writeString(empty, "");
+
+        assertTrue(parallel.parse(headerOnly.toString()).isEmpty());
+        assertTrue(parallel.parse(empty.toString()).isEmpty());
+    }
+
+    @Test
+    void testParallelParseReportsFileLineNumber() throws IOException {
+        StringBuilder csv = new StringBuilder("id,name\n");
+        for (int i = 0; i < 50; i++) {
+            csv.append(i).append(",name").append(i).append("\n");
+        }
+        csv.append("51,\"unterminated\n");
+        Path file = tempDir.resolve("broken.csv");
+        Files.writeString(file, csv.toString());
+
+        CsvParser parallel = new CsvParser(CsvParser.Mode.PARALLEL, 64,
+                ForkJoinPool.commonPool());
+
+        ParseException sequential = assertThrows(ParseException.class,
+                () -> parser.parse(file.toString()));
+        ParseException chunked = assertThrows(ParseException.class,
+                () -> parallel.parse(file.toString()));
+        assertEquals(sequential.getMessage(), chunked.getMessage());
+    }
+
+    @Test
+    void testChunkerCarriesEscapeAcrossWindows() throws IOException {
+        String csv = "id,note\n1,\"a\\\"\nb\"\n2,\"c\\\\\"\n3,x\\\"y\n";
+        Path file = tempDir.resolve("escaped.csv");
+        Files.writeString(file, csv);
+
+        assertEquals(3, parser.parse(file.toString()).size());
+        try (FileChannel channel = FileChannel.open(file)) {
+            List<CsvChunker.Chunk> expected = CsvChunker.split(channel, 1, ',');
+            assertEquals(4, expected.size());
+            for (int window = 1; window <= csv.length(); window++) {
+                assertEquals(expected, CsvChunker.split(channel, 1, ',', window),
+                        "window of " + window + " bytes");
+            }
+        }
+    }
 }
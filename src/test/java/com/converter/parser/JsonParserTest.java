@@ -124,4 +124,54 @@ class JsonParserTest {
 
         assertTrue(records.isEmpty());
     }
+
+    @Test
+    void testStreamingAndTreeModesProduceSameRecords() throws IOException {
+        String json = """
+                [
+                  {"id": 1, "price": 1.50, "active": true, "note": null},
+                  {"id": 12345678901, "price": 2e3, "active": false, "note": "x"}
+                ]
+                """;
+        Path file = tempDir.resolve("modes.json");
+        Files.writeString(file, json);
+
+        List<DataRecord> streamed = new JsonParser(JsonParser.Mode.STREAMING)
+                .parse(file.toString());
+        List<DataRecord> tree = new JsonParser(JsonParser.Mode.TREE)
+                .parse(file.toString());
+
+        assertEquals(tree, streamed);
+        assertEquals("1.5", streamed.get(0).getField("price"));
+        assertEquals("true", streamed.get(0).getField("active"));
+    }
+
+    @Test
+    void testStreamReportsLineOfSyntaxError() throws IOException {
+        String json = """
+                [
+                  {"id": "1"},
+                  {"id": "2",,}
+                ]
+                """;
+        Path file = tempDir.resolve("broken.json");
+        Files.writeString(file, json);
+
+        try (RecordReader reader = parser.stream(file.toString())) {
+            assertEquals("1", reader.next().getField("id"));
+            ParseException exception = assertThrows(ParseException.class,
+                    reader::next);
+            assertTrue(exception.getMessage().contains("at line 3"));
+        }
+    }
+
+    @Test
+    void testStreamRejectsNonObjectArrayElements() throws IOException {
+        Path file = tempDir.resolve("scalars.json");
+        Files.writeString(file, "[1, 2]");
+
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> parser.parse(file.toString()));
+        assertTrue(exception.getMessage().contains("Array elements must be objects"));
+    }
 }
@@ -0,0 +1,102 @@
+package com.converter.parser;
+
+import com.converter.exception.ParseException;
+import com.converter.exception.ValidationException;
+import com.converter.model.DataRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NdjsonParserTest {
+
+    private NdjsonParser parser;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        parser = new NdjsonParser();
+    }
+
+    @Test
+    void testGetSupportedExtension() {
+        assertEquals("ndjson", parser.getSupportedExtension());
+    }
+
+    @Test
+    void testParseValidNdjson() throws IOException {
+        Path file = tempDir.resolve("test.ndjson");
+        Files.writeString(file, """
+                {"id": 1, "name": "John", "score": 1.5}
+
+                {"id": 2, "name": null}
+                """);
+
+        List<DataRecord> records = parser.parse(file.toString());
+
+        assertEquals(2, records.size());
+        assertEquals("1", records.get(0).getField("id"));
+        assertEquals("1.5", records.get(0).getField("score"));
+        assertEquals("", records.get(1).getField("name"));
+    }
+
+    @Test
+    void testParseMatchesJsonParser() throws IOException {
+        Path ndjson = tempDir.resolve("test.jsonl");
+        Files.writeString(ndjson, "{\"a\": 1e3, \"b\": true}\n{\"a\": \"x\"}");
+        Path json = tempDir.resolve("test.json");
+        Files.writeString(json, "[{\"a\": 1e3, \"b\": true}, {\"a\": \"x\"}]");
+
+        assertEquals(new JsonParser().parse(json.toString()), parser.parse(ndjson.toString()));
+    }
+
+    @Test
+    void testParseNestedObject() throws IOException {
+        Path file = tempDir.resolve("nested.ndjson");
+        Files.writeString(file, "{\"id\": \"1\"}\n{\"address\": {\"city\": \"Kyiv\"}}\n");
+
+        ValidationException e = assertThrows(ValidationException.class, () -> parser.parse(file.toString()));
+        assertTrue(e.getMessage().contains("Nested structures"));
+    }
+
+    @Test
+    void testParseNonObjectLine() throws IOException {
+        Path file = tempDir.resolve("array.ndjson");
+        Files.writeString(file, "{\"id\": \"1\"}\n[1, 2]\n");
+
+        ValidationException e = assertThrows(ValidationException.class, () -> parser.parse(file.toString()));
+        assertEquals("Error: Line 2 must be a JSON object", e.getMessage());
+    }
+
+    @Test
+    void testParseInvalidSyntaxReportsLine() throws IOException {
+        Path file = tempDir.resolve("invalid.ndjson");
+        Files.writeString(file, "{\"id\": \"1\"}\n{\"id\": \"2\"}\n{\"id\": }\n");
+
+        ParseException e = assertThrows(ParseException.class, () -> parser.parse(file.toString()));
+        assertTrue(e.getMessage().startsWith("Error: Invalid JSON syntax at line 3"));
+    }
+
+    @Test
+    void testParseTwoObjectsOnOneLine() throws IOException {
+        Path file = tempDir.resolve("joined.ndjson");
+        Files.writeString(file, "{\"id\": \"1\"} {\"id\": \"2\"}\n");
+
+        ParseException e = assertThrows(ParseException.class, () -> parser.parse(file.toString()));
+        assertTrue(e.getMessage().contains("one object per line"));
+    }
+
+    @Test
+    void testParseFileNotFound() {
+        ParseException e = assertThrows(ParseException.class, () -> parser.parse("missing.ndjson"));
+        assertTrue(e.getMessage().contains("not found"));
+    }
+}
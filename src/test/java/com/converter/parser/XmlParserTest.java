@@ -1,5 +1,6 @@
 package com.converter.parser;
 
+import com.converter.compression.CompressionOptions;
 import com.converter.exception.ParseException;
 import com.converter.exception.ValidationException;
 import com.converter.model.DataRecord;
@@ -8,9 +9,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -137,4 +140,133 @@ class XmlParserTest {
         assertEquals("1", records.get(0).getField("id"));
         assertEquals("", records.get(0).getField("name"));
     }
+
+    @Test
+    void testStreamReturnsRecordsInOrder() throws IOException {
+        String xml = """
+                <?xml version="1.0"?>
+                <records>
+                  <record><id>1</id></record>
+                  <record><id>2</id></record>
+                </records>
+                """;
+        Path file = tempDir.resolve("stream.xml");
+        Files.writeString(file, xml);
+
+        try (RecordReader reader = parser.stream(file.toString())) {
+            assertTrue(reader.hasNext());
+            assertEquals("1", reader.next().getField("id"));
+            assertTrue(reader.hasNext());
+            assertEquals("2", reader.next().getField("id"));
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test
+    void testFactorySelectsParallelParserOnRequest() {
+        Parser parallel = ParserFactory.createParserByExtension("xml", CompressionOptions.DEFAULT, true);
+
+        assertEquals(XmlParser.Mode.PARALLEL, ((XmlParser) parallel).getMode());
+        assertSame(parallel, ParserFactory.createParserByExtension("xml", CompressionOptions.DEFAULT, true));
+        assertEquals(XmlParser.Mode.SEQUENTIAL,
+                ((XmlParser) ParserFactory.createParserByExtension("xml")).getMode());
+    }
+
+    @Test
+    void testParallelParseMatchesSequential() throws IOException {
+        StringBuilder xml = new StringBuilder("""
+                <?xml version="1.0" encoding="UTF-8"?>
+                <!-- export <record> list -->
+                <records xmlns:p="urn:people" note="a > b">
+                """);
+        for (int i = 0; i < 500; i++) {
+            if (i % 13 == 0) {
+                xml.append("  <!-- <record><id>fake</id></record> -->\n");
+            }
+            if (i % 17 == 0) {
+                xml.append("  <record/>\n");
+                continue;
+            }
+            xml.append("  <record kind='x>y'>\n")
+                    .append("    <id>").append(i).append("</id>\n")
+                    .append("    <p:name>Name ").append(i).append("</p:name>\n")
+                    .append("    <note><![CDATA[<not><a>tag</a></not>]]></note>\n")
+                    .append("    <?skip <record>?>\n")
+                    .append("  </record>\n");
+        }
+        xml.append("</records>\n<!-- trailing -->\n");
+        Path file = tempDir.resolve("parallel.xml");
+        Files.writeString(file, xml.toString());
+
+        XmlParser parallel = new XmlParser(XmlParser.Mode.PARALLEL, 256,
+                ForkJoinPool.commonPool());
+
+        List<DataRecord> expected = parser.parse(file.toString());
+        assertEquals(500, expected.size());
+        assertEquals(expected, parallel.parse(file.toString()));
+        assertEquals("Name 1", expected.get(1).getField("name"));
+    }
+
+    @Test
+    void testParallelParseRejectsNestedStructures() throws IOException {
+        StringBuilder xml = new StringBuilder("<records>");
+        for (int i = 0; i < 100; i++) {
+            xml.append("<record><id>").append(i).append("</id></record>");
+        }
+        xml.append("<record><address><city>NYC</city></address></record></records>");
+        Path file = tempDir.resolve("nested-parallel.xml");
+        Files.writeString(file, xml.toString());
+
+        XmlParser parallel = new XmlParser(XmlParser.Mode.PARALLEL, 128,
+                ForkJoinPool.commonPool());
+
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> parallel.parse(file.toString()));
+        assertTrue(exception.getMessage().contains("Nested structures are not supported"));
+    }
+
+    @Test
+    void testParallelParseReportsFileLocation() throws IOException {
+        String multiLine = "\uFEFF<?xml version=\"1.0\"?>\r\n<records\n    kind=\"log\">\r\n"
+                + "  <record><id>1</id></record>\r\n".repeat(40)
+                + "  <record>\n    <id>x</idx>\n  </record>\n</records>\n";
+        String oneLine = "<records>"
+                + "<record><city>Z\u00fcrich \uD83D\uDE00</city></record>".repeat(40)
+                + "<record><city>\u00e9</cityx></record></records>";
+
+        for (String xml : List.of(multiLine, oneLine)) {
+            Path file = tempDir.resolve("located.xml");
+            Files.writeString(file, xml);
+            String expected = assertThrows(ParseException.class,
+                    () -> parser.parse(file.toString())).getMessage();
+
+            for (int chunkBytes : new int[] {16, 100, 1000}) {
+                XmlParser parallel = new XmlParser(XmlParser.Mode.PARALLEL, chunkBytes,
+                        ForkJoinPool.commonPool());
+                ParseException chunked = assertThrows(ParseException.class,
+                        () -> parallel.parse(file.toString()));
+                assertEquals(expected, chunked.getMessage(), "chunks of " + chunkBytes);
+            }
+        }
+    }
+
+        @Test
+    void testParallelParseEdgeCases() throws IOException {
+        XmlParser parallel = new XmlParser(XmlParser.Mode.PARALLEL, 16,
+                ForkJoinPool.commonPool());
+        Path emptyRoot = tempDir.resolve("empty-root.xml");
+        Files.writeString(emptyRoot, "<?xml version=\"1.0\"?>\n<records/>\n");
+        Path latin = tempDir.resolve("latin.xml");
+        Files.write(latin, "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?><records><record><city>Z\u00fcrich</city></record></records>"
+                .getBytes(StandardCharsets.ISO_8859_1));
+        Path trailing = tempDir.resolve("trailing.xml");
+        Files.writeString(trailing, "<records><record><id>1</id></record></records><extra/>");
+        Path unclosed = tempDir.resolve("unclosed.xml");
+        Files.writeString(unclosed, "<records><record><id>1</id></record>");
+
+        assertTrue(parallel.parse(emptyRoot.toString()).isEmpty());
+        assertEquals("Z\u00fcrich", parallel.parse(latin.toString()).get(0).getField("city"));
+        assertThrows(ParseException.class, () -> parallel.parse(trailing.toString()));
+        assertThrows(ParseException.class, () -> parallel.parse(unclosed.toString()));
+    }
 }
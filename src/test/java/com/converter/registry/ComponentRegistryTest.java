@@ -0,0 +1,33 @@
+package com.converter.registry;
+
+import com.converter.generator.GeneratorFactory;
+import com.converter.parser.ParserFactory;
+import org.junit.jupiter.api.Test;
+
+import javax.xml.stream.XMLInputFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ComponentRegistryTest {
+
+    @Test
+    void testComponentsAreShared() {
+        assertSame(ComponentRegistry.jsonMapper(), ComponentRegistry.jsonMapper());
+        assertSame(ComponentRegistry.xmlInputFactory(), ComponentRegistry.xmlInputFactory());
+        assertSame(ComponentRegistry.xmlOutputFactory(), ComponentRegistry.xmlOutputFactory());
+    }
+
+    @Test
+    void testXmlInputFactoryDisablesExternalEntities() {
+        XMLInputFactory factory = ComponentRegistry.xmlInputFactory();
+
+        assertEquals(false, factory.getProperty(XMLInputFactory.SUPPORT_DTD));
+        assertEquals(false, factory.getProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES));
+    }
+
+    @Test
+    void testFactoriesReturnSharedInstances() {
+        assertSame(ParserFactory.createParser("a.json"), ParserFactory.createParser("b.JSON"));
+        assertSame(GeneratorFactory.createGenerator("a.xml"), GeneratorFactory.createGenerator("b.xml"));
+    }
+}
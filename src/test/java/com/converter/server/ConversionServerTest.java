@@ -0,0 +1,176 @@
+package com.converter.server;
+
+import com.converter.cli.ConverterFacade;
+import com.converter.compression.CompressionOptions;
+import com.converter.exception.ValidationException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConversionServerTest {
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1).build();
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private ConversionServer server;
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    private void startServer(final int concurrency, final int queue) {
+        server = new ConversionServer(0, concurrency, queue, new ConverterFacade(), CompressionOptions.DEFAULT);
+        server.start();
+    }
+
+    private URI uri(final String pathAndQuery) {
+        return URI.create("http://127.0.0.1:" + server.getPort() + pathAndQuery);
+    }
+
+    private HttpResponse<String> post(final String pathAndQuery, final String body) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(pathAndQuery))
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> get(final String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(path)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void testConvertRequestBody() throws Exception {
+        startServer(2, 4);
+
+        HttpResponse<String> response = post("/convert?from=csv&to=json", "id,name\n1,John\n2,Jane\n");
+
+        assertEquals(200, response.statusCode());
+        assertEquals("application/json", response.headers().firstValue("Content-Type").orElse(""));
+        JsonNode json = mapper.readTree(response.body());
+        assertEquals(2, json.size());
+        assertEquals("Jane", json.get(1).get("name").asText());
+    }
+
+    @Test
+    void testConvertFilePaths() throws Exception {
+        startServer(2, 4);
+        Path input = tempDir.resolve("in.json");
+        Path output = tempDir.resolve("out.xml");
+        Files.writeString(input, "[{\"id\": \"1\"}]");
+
+        HttpResponse<String> response = post("/convert?input="
+                + URLEncoder.encode(input.toString(), StandardCharsets.UTF_8)
+                + "&output=" + URLEncoder.encode(output.toString(), StandardCharsets.UTF_8), "");
+
+        assertEquals(200, response.statusCode());
+        assertEquals(1, mapper.readTree(response.body()).get("records").asLong());
+        assertTrue(Files.readString(output).contains("<id>1</id>"));
+    }
+
+    @Test
+    void testBadRequests() throws Exception {
+        startServer(2, 4);
+
+        assertEquals(400, post("/convert?from=csv", "id\n1\n").statusCode());
+        HttpResponse<String> unsupported = post("/convert?from=csv&to=yaml", "id\n1\n");
+        assertEquals(400, unsupported.statusCode());
+        assertTrue(unsupported.body().contains("Unsupported file format"));
+        assertEquals(405, get("/convert").statusCode());
+        assertEquals(404, get("/convert/extra").statusCode());
+        assertEquals(404, get("/unknown").statusCode());
+    }
+
+    @Test
+    void testInvalidInputIsUnprocessable() throws Exception {
+        startServer(2, 4);
+
+        HttpResponse<String> response = post("/convert?from=json&to=csv", "[{\"id\": ");
+
+        assertEquals(422, response.statusCode());
+        assertTrue(response.body().startsWith("Error: Invalid JSON syntax"));
+    }
+
+    @Test
+    void testHealthAndMetrics() throws Exception {
+        startServer(3, 5);
+        post("/convert?from=csv&to=ndjson", "id\n1\n2\n");
+        post("/convert?from=json&to=csv", "not json");
+
+        JsonNode health = mapper.readTree(get("/health").body());
+        assertEquals("UP", health.get("status").asText());
+        assertEquals(3, health.get("maxConcurrent").asInt());
+        assertEquals(5, health.get("queueCapacity").asInt());
+
+        JsonNode metrics = mapper.readTree(get("/metrics").body());
+        assertEquals(2, metrics.get("requests").asLong());
+        assertEquals(1, metrics.get("succeeded").asLong());
+        assertEquals(1, metrics.get("failed").asLong());
+        assertEquals(2, metrics.get("records").asLong());
+        assertEquals(0, metrics.get("active").asInt());
+    }
+
+    @Test
+    void testFullQueueIsRejected() throws Exception {
+        startServer(1, 0);
+
+        try (Socket slow = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            OutputStream out = slow.getOutputStream();
+            out.write(("POST /convert?from=csv&to=json HTTP/1.1\r\n"
+                    + "Host: 127.0.0.1\r\nContent-Length: 10\r\nConnection: close\r\n\r\nid\n1\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            while (mapper.readTree(get("/health").body()).get("active").asInt() == 0) {
+                Thread.sleep(10);
+            }
+
+            HttpResponse<String> second = post("/convert?from=csv&to=json", "id\n2\n");
+            assertEquals(503, second.statusCode());
+            assertTrue(second.headers().firstValue("Retry-After").isPresent());
+
+            out.write("2\n3\n4\n".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            String status = new String(slow.getInputStream().readNBytes(12), StandardCharsets.US_ASCII);
+            assertEquals("HTTP/1.1 200", status);
+        }
+        assertEquals(1, mapper.readTree(get("/metrics").body()).get("rejected").asLong());
+    }
+
+    @Test
+    void testParseQuery() {
+        assertEquals(Map.of("from", "csv", "input", "a b/c.csv", "flag", ""),
+                ConversionServer.parseQuery("from=csv&input=a+b%2Fc.csv&flag"));
+        assertTrue(ConversionServer.parseQuery(null).isEmpty());
+    }
+
+    @Test
+    void testInvalidLimitsRejected() {
+        ConverterFacade facade = new ConverterFacade();
+        assertThrows(ValidationException.class,
+                () -> new ConversionServer(0, 0, 1, facade, CompressionOptions.DEFAULT));
+        assertThrows(ValidationException.class,
+                () -> new ConversionServer(0, 1, -1, facade, CompressionOptions.DEFAULT));
+    }
+}